@@ -0,0 +1,520 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        AlgebraicSimplifier.java                                   ---*
+ *---                                                                   ---*
+ *---        This file declares a class that rewrites instructions by   ---*
+ *---    algebraic identities, and divisions by constants into cheaper  ---*
+ *---    operations.                                                    ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.List;
+
+class AlgebraicSimplifier
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to simplify instructions, obtaining the
+  //	constants it needs from 'newStore'.  No return value.
+  protected
+  AlgebraicSimplifier		(VarStore	newStore)
+  {
+    store_	= newStore;
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'var' is the integer constant 'value',
+  //	or 'false' otherwise.
+  protected static
+  boolean	isInteger	(Variable	var,
+				 long		value
+				)
+  {
+    return(var.isConstant()  &&
+	   (var.getType() == Type.INTEGER)  &&
+	   (var.getValue().getInteger() == value)
+	  );
+  }
+
+  //  PURPOSE:  To return 'true' if 'var' is the real constant 'value', with
+  //	the same sign if it is zero, or 'false' otherwise.
+  protected static
+  boolean	isReal		(Variable	var,
+				 double		value
+				)
+  {
+    return(var.isConstant()  &&
+	   (var.getType() == Type.REAL)  &&
+	   (Double.doubleToLongBits(var.getValue().getReal())
+	    == Double.doubleToLongBits(value)
+	   )
+	  );
+  }
+
+  //  PURPOSE:  To return 'true' if 'var' is the boolean constant 'value',
+  //	or 'false' otherwise.
+  protected static
+  boolean	isBoolean	(Variable	var,
+				 boolean	value
+				)
+  {
+    return(var.isConstant()  &&
+	   (var.getType() == Type.BOOLEAN)  &&
+	   (var.getValue().getBoolean() == value)
+	  );
+  }
+
+  //  PURPOSE:  To return the exponent 'k' if 'value' is '2^k' for 'k' at
+  //	least 1, or -1 otherwise.
+  protected static
+  int		exponentOf	(long	value)
+  {
+    return(((value > 1)  &&  ((value & (value - 1)) == 0))
+	   ? Long.numberOfTrailingZeros(value)
+	   : -1
+	  );
+  }
+
+  //  PURPOSE:  To return the reciprocal of 'value' if it and 'value' are
+  //	both normal powers of two, so that multiplying by it rounds exactly
+  //	as dividing by 'value' does, or 0.0 otherwise.
+  protected static
+  double	exactReciprocalOf
+				(double	value)
+  {
+    double	reciprocal	= 1.0 / value;
+
+    if  ((Math.abs(value) < Double.MIN_NORMAL)  ||
+	 (Math.abs(reciprocal) < Double.MIN_NORMAL)  ||
+	 Double.isInfinite(value)  ||  Double.isInfinite(reciprocal)  ||
+	 ((Double.doubleToLongBits(value) & MANTISSA_MASK) != 0)
+	)
+    {
+      return(0.0);
+    }
+
+    return(reciprocal);
+  }
+
+  //  PURPOSE:  To return 'true' if 'after' does the division 'before' does
+  //	more cheaply, rather than by an identity, or 'false' otherwise.
+  protected static
+  boolean	isStrengthReduced
+				(PotentialInstruction	before,
+				 PotentialInstruction	after
+				)
+  {
+    if  (after == null)
+    {
+      return(false);
+    }
+
+    switch  (after.getOp())
+    {
+    case INT_DIV_SHIFT_VM_OP :
+    case MOD_SHIFT_VM_OP :
+    case INT_DIV_MAGIC_VM_OP :
+    case MOD_MAGIC_VM_OP :
+      return(true);
+
+    case REAL_MUL_VM_OP :
+      return(before.getOp() == VmOperation.REAL_DIV_VM_OP);
+    }
+
+    return(false);
+  }
+
+  //  PURPOSE:  To return an instruction that sets 'dest' to 'src', or
+  //	'null' if they are the same variable.
+  protected static
+  PotentialInstruction
+		copyOf		(Variable	dest,
+				 Variable	src
+				)
+  {
+    if  (dest == src)
+    {
+      return(null);
+    }
+
+    return(new VarVarPotentialInstruction
+			(GlobalValueNumbering.copyOpOf(dest.getType()),
+			 dest,
+			 src
+			)
+	  );
+  }
+
+  //  PURPOSE:  To return an instruction that sets 'dest' to the constant
+  //	'value'.
+  protected
+  PotentialInstruction
+		constantOf	(Variable	dest,
+				 Value		value
+				)
+  {
+    return(copyOf(dest,store_.obtainConstVar(value)));
+  }
+
+  //  PURPOSE:  To return the instruction that divides or takes the
+  //	remainder of 'src' by integer constant 'divisor' into 'dest' without
+  //	'INT_DIV_VM_OP' or 'MOD_VM_OP', or 'instruct' if there is none.
+  //	The remainder by '-d' is the remainder by 'd'.
+  protected
+  PotentialInstruction
+		divisionOf	(PotentialInstruction	instruct,
+				 Variable		dest,
+				 Variable		src,
+				 Variable		divisor
+				)
+  {
+    boolean	isMod	= (instruct.getOp() == VmOperation.MOD_VM_OP);
+    long	d	= divisor.getValue().getInteger();
+    int		k;
+
+    if  (isMod  &&  (d < 0)  &&  (d != Long.MIN_VALUE))
+    {
+      d		= -d;
+      divisor	= store_.obtainConstVar(new IntegerValue(d));
+    }
+
+    if  (d == 1)
+    {
+      return(isMod ? constantOf(dest,new IntegerValue(0)) : copyOf(dest,src));
+    }
+
+    if  ((d == -1)  &&  !isMod)
+    {
+      return(new VarVarVarPotentialInstruction
+			(VmOperation.INT_SUB_VM_OP,
+			 dest,
+			 store_.obtainConstVar(new IntegerValue(0)),
+			 src
+			)
+	    );
+    }
+
+    k	= exponentOf(d);
+
+    if  (k > 0)
+    {
+      return(new VarVarVarPotentialInstruction
+			(isMod ? VmOperation.MOD_SHIFT_VM_OP
+			       : VmOperation.INT_DIV_SHIFT_VM_OP,
+			 dest,
+			 src,
+			 store_.obtainConstVar(new IntegerValue(k))
+			)
+	    );
+    }
+
+    if  (d >= 3)
+    {
+      return(new VarVarVarPotentialInstruction
+			(isMod ? VmOperation.MOD_MAGIC_VM_OP
+			       : VmOperation.INT_DIV_MAGIC_VM_OP,
+			 dest,
+			 src,
+			 divisor
+			)
+	    );
+    }
+
+    return(instruct);
+  }
+
+  //  PURPOSE:  To return the instruction equivalent to three-variable
+  //	'instruct', or 'instruct' itself if it cannot be simplified.
+  protected
+  PotentialInstruction
+		simplifyThreeVar
+				(VarVarVarPotentialInstruction	instruct)
+  {
+    Variable	dest	= instruct.getDest();
+    Variable	src0	= instruct.getSrc0();
+    Variable	src1	= instruct.getSrc1();
+
+    switch  (instruct.getOp())
+    {
+    case INT_ADD_VM_OP :
+      if  (isInteger(src1,0))	return(copyOf(dest,src0));
+      if  (isInteger(src0,0))	return(copyOf(dest,src1));
+      break;
+
+    case INT_SUB_VM_OP :
+      if  (isInteger(src1,0))	return(copyOf(dest,src0));
+      if  (src0 == src1)	return(constantOf(dest,new IntegerValue(0)));
+      break;
+
+    case INT_MUL_VM_OP :
+      if  (isInteger(src0,0)  ||  isInteger(src1,0))
+      {
+	return(constantOf(dest,new IntegerValue(0)));
+      }
+
+      if  (isInteger(src1,1))	return(copyOf(dest,src0));
+      if  (isInteger(src0,1))	return(copyOf(dest,src1));
+
+      if  (isInteger(src0,2)  ||  isInteger(src1,2))
+      {
+	Variable	other	= isInteger(src1,2) ? src0 : src1;
+
+	return(new VarVarVarPotentialInstruction
+			(VmOperation.INT_ADD_VM_OP,dest,other,other)
+	      );
+      }
+      break;
+
+    case INT_DIV_VM_OP :
+    case MOD_VM_OP :
+      if  (src1.isConstant()  &&  (src1.getValue().getInteger() != 0))
+      {
+	return(divisionOf(instruct,dest,src0,src1));
+      }
+      break;
+
+    case REAL_MUL_VM_OP :
+      if  (isReal(src1,1.0))	return(copyOf(dest,src0));
+      if  (isReal(src0,1.0))	return(copyOf(dest,src1));
+      break;
+
+    case REAL_SUB_VM_OP :
+      //  Only +0.0: '-0.0 - +0.0' is '-0.0', but '-0.0 - -0.0' is '+0.0'.
+      if  (isReal(src1,0.0))	return(copyOf(dest,src0));
+      break;
+
+    case REAL_DIV_VM_OP :
+      if  (isReal(src1,1.0))	return(copyOf(dest,src0));
+
+      if  (src1.isConstant()  &&
+	   (exactReciprocalOf(src1.getValue().getReal()) != 0.0)
+	  )
+      {
+	return(new VarVarVarPotentialInstruction
+			(VmOperation.REAL_MUL_VM_OP,
+			 dest,
+			 src0,
+			 store_.obtainConstVar
+				(new RealValue
+					(exactReciprocalOf
+						(src1.getValue().getReal())
+					)
+				)
+			)
+	      );
+      }
+      break;
+
+    case LOGIC_AND_VM_OP :
+      if  (isBoolean(src0,false)  ||  isBoolean(src1,false))
+      {
+	return(constantOf(dest,new BooleanValue(false)));
+      }
+
+      if  (isBoolean(src1,true)  ||  (src0 == src1))
+      {
+	return(copyOf(dest,src0));
+      }
+
+      if  (isBoolean(src0,true))	return(copyOf(dest,src1));
+      break;
+
+    case LOGIC_OR_VM_OP :
+      if  (isBoolean(src0,true)  ||  isBoolean(src1,true))
+      {
+	return(constantOf(dest,new BooleanValue(true)));
+      }
+
+      if  (isBoolean(src1,false)  ||  (src0 == src1))
+      {
+	return(copyOf(dest,src0));
+      }
+
+      if  (isBoolean(src0,false))	return(copyOf(dest,src1));
+      break;
+
+    //  Real comparisons are left alone: NaN is not equal to itself.
+    case INT_EQUAL_VM_OP :
+    case INT_LESSER_EQUAL_VM_OP :
+    case INT_GREATER_EQUAL_VM_OP :
+      if  (src0 == src1)	return(constantOf(dest,new BooleanValue(true)));
+      break;
+
+    case INT_NOT_EQUAL_VM_OP :
+    case INT_LESSER_VM_OP :
+    case INT_GREATER_VM_OP :
+      if  (src0 == src1)	return(constantOf(dest,new BooleanValue(false)));
+      break;
+    }
+
+    return(instruct);
+  }
+
+  //  PURPOSE:  To return the instruction equivalent to two-variable
+  //	'instruct', 'null' if it does nothing, or 'instruct' itself if it
+  //	cannot be simplified.
+  protected
+  PotentialInstruction
+		simplifyTwoVar	(VarVarPotentialInstruction	instruct)
+  {
+    Variable	dest	= instruct.getDest();
+    Variable	src0	= instruct.getSrc0();
+
+    switch  (instruct.getOp())
+    {
+    case INT_COPY_VM_OP :
+    case REAL_COPY_VM_OP :
+    case IDEA_COPY_VM_OP :
+      if  (dest == src0)	return(null);
+      break;
+
+    case INT_ADD_VAR_VAR_VM_OP :
+      if  (isInteger(src0,0))	return(null);
+      break;
+
+    case INT_SUB_VAR_VAR_VM_OP :
+      if  (isInteger(src0,0))	return(null);
+      if  (dest == src0)	return(constantOf(dest,new IntegerValue(0)));
+      break;
+
+    case INT_MUL_VAR_VAR_VM_OP :
+      if  (isInteger(src0,1))	return(null);
+      if  (isInteger(src0,0))	return(constantOf(dest,new IntegerValue(0)));
+
+      if  (isInteger(src0,2))
+      {
+	return(new VarVarPotentialInstruction
+			(VmOperation.INT_ADD_VAR_VAR_VM_OP,dest,dest)
+	      );
+      }
+      break;
+
+    case REAL_MUL_VAR_VAR_VM_OP :
+      if  (isReal(src0,1.0))	return(null);
+      break;
+
+    case REAL_SUB_VAR_VAR_VM_OP :
+      if  (isReal(src0,0.0))	return(null);
+      break;
+    }
+
+    return(instruct);
+  }
+
+  //  PURPOSE:  To return the instruction equivalent to 'instruct', 'null'
+  //	if it does nothing, or 'instruct' itself if it cannot be simplified.
+  //	A replacement keeps the label of 'instruct'.
+  protected
+  PotentialInstruction
+		simplify	(PotentialInstruction	instruct)
+  {
+    PotentialInstruction	returnMe	= instruct;
+
+    if  (instruct.getGotoAddressLabel() != PotentialInstruction.NO_ADDRESS_LABEL)
+    {
+      return(instruct);
+    }
+
+    if  (instruct instanceof VarVarVarPotentialInstruction)
+    {
+      returnMe	= simplifyThreeVar((VarVarVarPotentialInstruction)instruct);
+    }
+    else
+    if  (instruct instanceof VarVarPotentialInstruction)
+    {
+      returnMe	= simplifyTwoVar((VarVarPotentialInstruction)instruct);
+    }
+
+    if  (returnMe == instruct)
+    {
+      return(instruct);
+    }
+
+    if  (isStrengthReduced(instruct,returnMe))
+    {
+      if  (instruct.getOp() == VmOperation.REAL_DIV_VM_OP)
+      {
+	numRealDivisions_++;
+      }
+      else
+      {
+	numDivisions_++;
+      }
+    }
+    else
+    {
+      numIdentities_++;
+    }
+
+    if  (returnMe == null)
+    {
+      return(DeadCodeEliminator.keepLabelOf(instruct));
+    }
+
+    returnMe.setAddressLabel(instruct.getAddressLabel());
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which instructions that an algebraic identity
+  //	makes trivial have been replaced by copies or removed, integer
+  //	divisions and remainders by constants are done with shifts or a
+  //	multiply-high, and real divisions by powers of two are done by
+  //	multiplying by the reciprocal.  Constants are obtained from 'store'.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    AlgebraicSimplifier		simplifier	= new AlgebraicSimplifier(store);
+    List<PotentialInstruction>	returnMe	= new ArrayList<>();
+
+    for  (PotentialInstruction instruct : instructList)
+    {
+      PotentialInstruction	simplified	= simplifier.simplify(instruct);
+
+      if  (simplified != null)
+      {
+	returnMe.add(simplified);
+      }
+    }
+
+    CompileReport.get().record
+	("algebra",
+	 simplifier.numIdentities_ + " identities simplified, " +
+	 simplifier.numDivisions_ + " divisions by constants strength-reduced, " +
+	 simplifier.numRealDivisions_ + " real divisions made multiplications"
+	);
+    return(returnMe);
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To tell which bits of a double hold its mantissa.
+  protected static final
+  long				MANTISSA_MASK	= 0x000fffffffffffffL;
+
+  //  PURPOSE:  To hold where constants are obtained.
+  protected
+  VarStore			store_;
+
+  //  PURPOSE:  To count the instructions simplified, by kind.
+  protected
+  int				numIdentities_		= 0;
+
+  protected
+  int				numDivisions_		= 0;
+
+  protected
+  int				numRealDivisions_	= 0;
+
+}
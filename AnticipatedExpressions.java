@@ -0,0 +1,111 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        AnticipatedExpressions.java                                ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds which expressions    ---*
+ *---    will be computed on every path from each block of a            ---*
+ *---    ControlFlowGraph before any operand is written.                ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.BitSet;
+
+class AnticipatedExpressions extends DataflowAnalysis
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the solved anticipated (very
+  //	busy) expressions of the graph of 'newAvailable', over the same
+  //	universe of expression facts.  No return value.
+  public
+  AnticipatedExpressions	(AvailableExpressions	newAvailable)
+  {
+    super(newAvailable.getCfg(),false,false);
+
+    int		numBlocks	= cfg_.getNumBlocks();
+
+    available_		= newAvailable;
+    universeSize_	= newAvailable.getUniverseSize();
+    localArray_		= new BitSet[numBlocks];
+    killArray_		= new BitSet[numBlocks];
+    solve();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the expressions 'block' computes before writing
+  //	any of their operands.  The returned set must not be changed.
+  public
+  BitSet	getLocal	(BasicBlock	block)
+  {
+    return(localArray_[block.getIndex()]);
+  }
+
+  //  PURPOSE:  To return the expressions an operand of which 'block'
+  //	writes.  The returned set must not be changed.
+  public
+  BitSet	getKill		(BasicBlock	block)
+  {
+    return(killArray_[block.getIndex()]);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To set 'gen' to the expressions 'block' computes before
+  //	writing any of their operands, and 'kill' to those whose operands
+  //	it writes.  Both are kept for 'getLocal()' and 'getKill()'.  No
+  //	return value.
+  @Override
+  protected
+  void		computeTransfer	(BasicBlock	block,
+				 BitSet		gen,
+				 BitSet		kill
+				)
+  {
+    for  (int i = block.getFirst();  i < block.getEnd();  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+      AvailableExpressions.Expression
+				expr
+				= AvailableExpressions.Expression.of(instruct);
+      Variable			def		= instruct.getDefinedVar();
+
+      if  (expr != null)
+      {
+	int	fact	= available_.getFact(expr);
+
+	if  ((fact >= 0)  &&  !kill.get(fact))
+	{
+	  gen.set(fact);
+	}
+      }
+
+      if  ((def != null)  &&  (available_.getFactsUsing(def) != null))
+      {
+	kill.or(available_.getFactsUsing(def));
+      }
+    }
+
+    localArray_[block.getIndex()]	= (BitSet)gen.clone();
+    killArray_[block.getIndex()]	= (BitSet)kill.clone();
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the analysis whose expression facts are used.
+  protected
+  AvailableExpressions		available_;
+
+  //  PURPOSE:  To hold, by block, the expressions it computes before
+  //	writing their operands, and those whose operands it writes.
+  protected
+  BitSet[]			localArray_;
+
+  protected
+  BitSet[]			killArray_;
+
+}
@@ -0,0 +1,229 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        AstInterpreter.java                                        ---*
+ *---                                                                   ---*
+ *---        This file declares a class that runs a checked and folded  ---*
+ *---    ParseNode tree directly, without generating instructions:      ---*
+ *---    walking it as it is, letting its nodes rewrite themselves      ---*
+ *---    into ones specialized to their types and slots, or compiling   ---*
+ *---    it once into closures over those slots.                        ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+class AstInterpreter
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to run trees over the variables in
+  //	'varCollection', writing to 'newOut'.  Each node rewrites itself the
+  //	first time it runs if 'newIsSpecializing', and is walked as it is
+  //	every time otherwise.  No return value.
+  public
+  AstInterpreter	(Collection<Variable>	varCollection,
+			 PrintStream		newOut,
+			 boolean		newIsSpecializing
+			)
+  {
+    int[]	countArray	= new int[Type.values().length];
+
+    out_		= newOut;
+    isSpecializing_	= newIsSpecializing;
+
+    for  (Variable var : varCollection)
+    {
+      slotOfVar_.put(var,countArray[var.getType().ordinal()]++);
+    }
+
+    ints_	= new long[countArray[Type.INTEGER.ordinal()]];
+    reals_	= new double[countArray[Type.REAL.ordinal()]];
+    bools_	= new boolean[countArray[Type.BOOLEAN.ordinal()]];
+    strings_	= new String[countArray[Type.STRING.ordinal()]];
+
+    for  (Map.Entry<Variable,Integer> entry : slotOfVar_.entrySet())
+    {
+      Variable	var	= entry.getKey();
+      int	slot	= entry.getValue();
+
+      switch  (var.getType())
+      {
+      case INTEGER :	ints_[slot]	= var.getValue().getInteger();	break;
+      case REAL :	reals_[slot]	= var.getValue().getReal();	break;
+      case BOOLEAN :	bools_[slot]	= var.getValue().getBoolean();	break;
+      case STRING :	strings_[slot]	= var.getValue().getString();	break;
+      }
+    }
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return 'true' if nodes should rewrite themselves the
+  //	first time they run, or 'false' if they should be walked as they
+  //	are.
+  public
+  boolean	isSpecializing	()
+  {
+    return(isSpecializing_);
+  }
+
+  //  PURPOSE:  To return the slot of 'var' within the array of its type,
+  //	or throw IllegalArgumentException if 'var' has no slot.
+  public
+  int		getSlot		(Variable	var)
+  {
+    Integer	slot	= slotOfVar_.get(var);
+
+    if  (slot == null)
+    {
+      throw new IllegalArgumentException
+			("Variable " + var.getNameStr() + " has no slot");
+    }
+
+    return(slot);
+  }
+
+  //  PURPOSE:  To return the integer, real, boolean and string slots.
+  public
+  long[]	getInts		()
+  {
+    return(ints_);
+  }
+
+  public
+  double[]	getReals	()
+  {
+    return(reals_);
+  }
+
+  public
+  boolean[]	getBools	()
+  {
+    return(bools_);
+  }
+
+  public
+  String[]	getStrings	()
+  {
+    return(strings_);
+  }
+
+  //  PURPOSE:  To return where the program writes.
+  public
+  PrintStream	getOut		()
+  {
+    return(out_);
+  }
+
+  //  PURPOSE:  To return how many nodes have rewritten themselves.
+  public
+  int		getNumSpecialized
+				()
+  {
+    return(numSpecialized_);
+  }
+
+  //  III. Mutators:
+  //  PURPOSE:  To note that one more node has rewritten itself.  No
+  //	parameters.  No return value.
+  public
+  void		noteSpecialized	()
+  {
+    numSpecialized_++;
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To run the program whose tree is 'program'.  The tree is
+  //	rewritten as it runs if 'isSpecializing()', so it can run only once
+  //	then.  Throws ArithmeticException on integer division by zero.  No
+  //	return value.
+  public
+  void		run		(ParseNode	program)
+  {
+    program.adoptChildren();
+
+    try
+    {
+      program.execute(this);
+    }
+    finally
+    {
+      out_.flush();
+    }
+
+    if  (isSpecializing_)
+    {
+      CompileReport.get().record("ast interpreter",
+				 numSpecialized_ + " nodes specialized"
+				);
+    }
+  }
+
+  //  PURPOSE:  To return the program whose tree is 'program' compiled into
+  //	one closure over the slots of 'this', to be run by 'runCompiled()'.
+  public
+  Runnable	compile		(ParseNode	program)
+  {
+    long	startTime	= System.nanoTime();
+    Runnable	compiled	= program.compileStatement(this);
+
+    CompileReport.get().record("closure compiler",
+			       String.format("tree compiled in %.2f ms",
+					     (System.nanoTime() - startTime) / 1e6
+					    )
+			      );
+    return(compiled);
+  }
+
+  //  PURPOSE:  To run 'compiled', as returned by 'compile()'.  Throws
+  //	ArithmeticException on integer division by zero.  No return value.
+  public
+  void		runCompiled	(Runnable	compiled)
+  {
+    try
+    {
+      compiled.run();
+    }
+    finally
+    {
+      out_.flush();
+    }
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold where the program writes.
+  protected final
+  PrintStream			out_;
+
+  //  PURPOSE:  To tell whether nodes rewrite themselves when they first
+  //	run.
+  protected final
+  boolean			isSpecializing_;
+
+  //  PURPOSE:  To map each variable to its slot in the array of its type.
+  protected final
+  Map<Variable,Integer>		slotOfVar_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the integer, real, boolean and string slots.
+  protected final
+  long[]			ints_;
+
+  protected final
+  double[]			reals_;
+
+  protected final
+  boolean[]			bools_;
+
+  protected final
+  String[]			strings_;
+
+  //  PURPOSE:  To hold how many nodes have rewritten themselves.
+  protected
+  int				numSpecialized_	= 0;
+
+}
@@ -0,0 +1,255 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        AvailableExpressions.java                                  ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds which expressions    ---*
+ *---    have been computed on every path to each block of a            ---*
+ *---    ControlFlowGraph, with no operand written since.               ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+class AvailableExpressions extends DataflowAnalysis
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the solved available expressions
+  //	of 'newCfg'.  The universe is every distinct pure expression whose
+  //	operands are all non-local, since only those can be available when
+  //	a block that reuses them starts.  No return value.
+  public
+  AvailableExpressions	(ControlFlowGraph	newCfg)
+  {
+    super(newCfg,true,false);
+
+    for  (int i = 0;  i < newCfg.getNumInstructs();  i++)
+    {
+      Expression	expr	= Expression.of(newCfg.getInstruct(i));
+
+      if  ((expr != null)  &&
+	   (newCfg.getNonLocalIndex(expr.getSrc0()) >= 0)  &&
+	   ((expr.getSrc1() == null)  ||
+	    (newCfg.getNonLocalIndex(expr.getSrc1()) >= 0)
+	   )  &&
+	   !indexOfExpr_.containsKey(expr)
+	  )
+      {
+	int	index	= exprList_.size();
+
+	indexOfExpr_.put(expr,index);
+	exprList_.add(expr);
+	exprsUsing(expr.getSrc0()).set(index);
+
+	if  (expr.getSrc1() != null)
+	{
+	  exprsUsing(expr.getSrc1()).set(index);
+	}
+      }
+    }
+
+    universeSize_	= exprList_.size();
+    solve();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the expression fact 'fact' stands for.
+  public
+  Expression	getExpression	(int	fact)
+  {
+    return(exprList_.get(fact));
+  }
+
+  //  PURPOSE:  To return the fact of 'expr', or -1 if it is not in the
+  //	universe.
+  public
+  int		getFact		(Expression	expr)
+  {
+    Integer	index	= indexOfExpr_.get(expr);
+
+    return((index == null) ? -1 : index);
+  }
+
+  //  PURPOSE:  To return 'true' if 'expr' is available when control enters
+  //	'block', or 'false' otherwise.
+  public
+  boolean	isAvailableIn	(BasicBlock	block,
+				 Expression	expr
+				)
+  {
+    int	fact	= getFact(expr);
+
+    return((fact >= 0)  &&  getIn(block).get(fact));
+  }
+
+  //  PURPOSE:  To return the facts of the expressions that read 'var', or
+  //	'null' if none do.  The returned set must not be changed.
+  public
+  BitSet	getFactsUsing	(Variable	var)
+  {
+    return(exprsUsingVar_.get(var));
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the facts of the expressions that read 'var',
+  //	creating the set if needed.
+  protected
+  BitSet	exprsUsing	(Variable	var)
+  {
+    return(exprsUsingVar_.computeIfAbsent(var,v -> new BitSet()));
+  }
+
+  //  PURPOSE:  To set 'gen' to the expressions 'block' computes and does
+  //	not later invalidate, and 'kill' to those whose operands it writes.
+  //	No return value.
+  @Override
+  protected
+  void		computeTransfer	(BasicBlock	block,
+				 BitSet		gen,
+				 BitSet		kill
+				)
+  {
+    for  (int i = block.getFirst();  i < block.getEnd();  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+      Expression		expr		= Expression.of(instruct);
+      Variable			def		= instruct.getDefinedVar();
+
+      if  (expr != null)
+      {
+	int	fact	= getFact(expr);
+
+	if  (fact >= 0)
+	{
+	  gen.set(fact);
+	}
+      }
+
+      if  ((def != null)  &&  exprsUsingVar_.containsKey(def))
+      {
+	BitSet	invalid	= exprsUsingVar_.get(def);
+
+	gen.andNot(invalid);
+	kill.or(invalid);
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the expressions of the universe, and the fact of
+  //	each.
+  protected
+  List<Expression>		exprList_	= new ArrayList<>();
+
+  protected
+  Map<Expression,Integer>	indexOfExpr_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the facts of the expressions that read each
+  //	variable.
+  protected
+  Map<Variable,BitSet>		exprsUsingVar_	= new HashMap<>();
+
+
+  //  PURPOSE:  To represent the value a pure instruction computes: its
+  //	operation and operands, but not where it puts the result.
+  static
+  class	Expression
+  {
+    //  PURPOSE:  To return the expression 'instruct' computes, or 'null' if
+    //	it is not a pure computation of its sources.  Two-variable
+    //	arithmetic reads its destination, so only three-variable operations
+    //	and conversions qualify.
+    static
+    Expression	of		(PotentialInstruction	instruct)
+    {
+      if  (instruct instanceof VarVarVarPotentialInstruction)
+      {
+	VarVarVarPotentialInstruction	varVarVar
+				= (VarVarVarPotentialInstruction)instruct;
+
+	return(new Expression(instruct.getOp(),
+			      varVarVar.getSrc0(),
+			      varVarVar.getSrc1()
+			     )
+	      );
+      }
+
+      if  (instruct.getOp() == VmOperation.INT_TO_REAL_VM_OP)
+      {
+	return(new Expression(instruct.getOp(),
+			      ((VarVarPotentialInstruction)instruct).getSrc0(),
+			      null
+			     )
+	      );
+      }
+
+      return(null);
+    }
+
+    //  PURPOSE:  To initialize 'this' to be 'newOp' applied to 'newSrc0' and
+    //	'newSrc1', which is 'null' for one-operand operations.
+    Expression	(VmOperation	newOp,
+		 Variable	newSrc0,
+		 Variable	newSrc1
+		)
+    {
+      op_	= newOp;
+      src0_	= newSrc0;
+      src1_	= newSrc1;
+    }
+
+    //  PURPOSE:  To return the operation and operands.
+    VmOperation	getOp		()	{ return(op_); }
+    Variable	getSrc0		()	{ return(src0_); }
+    Variable	getSrc1		()	{ return(src1_); }
+
+    //  PURPOSE:  To return 'true' if 'other' computes the same operation on
+    //	the same variables, or 'false' otherwise.
+    @Override
+    public
+    boolean	equals		(Object	other)
+    {
+      if  (!(other instanceof Expression))
+      {
+	return(false);
+      }
+
+      Expression	expr	= (Expression)other;
+
+      return((op_ == expr.op_)  &&
+	     (src0_ == expr.src0_)  &&
+	     (src1_ == expr.src1_)
+	    );
+    }
+
+    //  PURPOSE:  To return a hash code consistent with 'equals()'.
+    @Override
+    public
+    int		hashCode	()
+    {
+      return(Objects.hash(op_,
+			  System.identityHashCode(src0_),
+			  System.identityHashCode(src1_)
+			 )
+	    );
+    }
+
+    //  PURPOSE:  To hold the operation and operands.
+    VmOperation	op_;
+    Variable	src0_;
+    Variable	src1_;
+  }
+
+}
@@ -0,0 +1,125 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        BasicBlock.java                                            ---*
+ *---                                                                   ---*
+ *---        This file declares a class that represents a maximal run   ---*
+ *---    of instructions that is only entered at its first instruction  ---*
+ *---    and only left after its last.                                  ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.List;
+
+class BasicBlock
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be block number 'newIndex', holding
+  //	the instructions at positions 'newFirst' up to but not including
+  //	'newEnd'.  No return value.
+  public
+  BasicBlock	(int	newIndex,
+		 int	newFirst,
+		 int	newEnd
+		)
+  {
+    index_	= newIndex;
+    first_	= newFirst;
+    end_	= newEnd;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the number of 'this' block within its graph.
+  public
+  int		getIndex	()
+  {
+    return(index_);
+  }
+
+  //  PURPOSE:  To return the position of the first instruction of 'this'.
+  public
+  int		getFirst	()
+  {
+    return(first_);
+  }
+
+  //  PURPOSE:  To return the position just past the last instruction of
+  //	'this'.
+  public
+  int		getEnd		()
+  {
+    return(end_);
+  }
+
+  //  PURPOSE:  To return the position of the last instruction of 'this'.
+  public
+  int		getLast		()
+  {
+    return(end_ - 1);
+  }
+
+  //  PURPOSE:  To return the blocks control may go to after 'this'.
+  public
+  List<BasicBlock>
+		getSuccList	()
+  {
+    return(succList_);
+  }
+
+  //  PURPOSE:  To return the blocks control may come to 'this' from.
+  public
+  List<BasicBlock>
+		getPredList	()
+  {
+    return(predList_);
+  }
+
+  //  III. Mutators:
+  //  PURPOSE:  To record an edge from 'this' to 'succ', unless there is one
+  //	already.  No return value.
+  public
+  void		addSucc		(BasicBlock	succ)
+  {
+    if  (!succList_.contains(succ))
+    {
+      succList_.add(succ);
+      succ.predList_.add(this);
+    }
+  }
+
+  //  IV. Protected methods:
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a short description of 'this' for debugging.
+  @Override
+  public
+  String	toString	()
+  {
+    return("B" + index_ + "[" + first_ + "," + end_ + ")");
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the number of 'this' block within its graph.
+  protected final
+  int				index_;
+
+  //  PURPOSE:  To hold the positions of the first instruction and just
+  //	past the last one.
+  protected final
+  int				first_;
+
+  protected final
+  int				end_;
+
+  //  PURPOSE:  To hold the edges out of and into 'this'.
+  protected
+  List<BasicBlock>		succList_	= new ArrayList<>(2);
+
+  protected
+  List<BasicBlock>		predList_	= new ArrayList<>(2);
+
+}
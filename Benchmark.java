@@ -0,0 +1,854 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        Benchmark.java                                             ---*
+ *---                                                                   ---*
+ *---        This file declares a class that times the ways ourPascal   ---*
+ *---    programs can be executed on a small corpus of loop-heavy       ---*
+ *---    programs.                                                      ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+public class Benchmark
+{
+  // 0. Constants:
+  //  PURPOSE:  To tell how many untimed runs precede the timed ones.
+  public static final
+  int		NUM_WARMUP_RUNS		= 3;
+
+  //  PURPOSE:  To tell how many timed runs are averaged.
+  public static final
+  int		NUM_TIMED_RUNS		= 5;
+
+  //  PURPOSE:  To hold the corpus: pairs of program name and source.
+  public static final
+  String	PROGRAM_ARRAY[][]
+		= {
+		    { "nestedFor",
+		      "program nestedFor;\n"				+
+		      "var i : integer; j : integer; s : integer;\n"	+
+		      "begin\n"						+
+		      "  s := 0;\n"					+
+		      "  for i := 1 to 2000 do\n"			+
+		      "    for j := 1 to 1000 do\n"			+
+		      "      s := s + (i * j) mod 7;\n"			+
+		      "  writeln(s)\n"					+
+		      "end.\n"
+		    },
+		    { "tripleFor",
+		      "program tripleFor;\n"				+
+		      "var i : integer; j : integer; k : integer;\n"	+
+		      "    s : integer; x : real;\n"			+
+		      "begin\n"						+
+		      "  s := 0;\n"					+
+		      "  x := 0.0;\n"					+
+		      "  for i := 1 to 200 do\n"			+
+		      "    for j := 1 to 200 do\n"			+
+		      "      for k := 1 to 100 do\n"			+
+		      "      begin\n"					+
+		      "        s := s + i * j - k;\n"			+
+		      "        x := x + k / j\n"				+
+		      "      end;\n"					+
+		      "  writeln(s);\n"					+
+		      "  writeln(x)\n"					+
+		      "end.\n"
+		    },
+		    { "collatz",
+		      "program collatz;\n"				+
+		      "var n : integer; k : integer; r : integer;\n"	+
+		      "    steps : integer;\n"				+
+		      "begin\n"						+
+		      "  steps := 0;\n"					+
+		      "  k := 1;\n"					+
+		      "  while k < 30000 do\n"				+
+		      "  begin\n"					+
+		      "    n := k;\n"					+
+		      "    while n <> 1 do\n"				+
+		      "    begin\n"					+
+		      "      r := n mod 2;\n"				+
+		      "      if r = 0 then n := n div 2;\n"		+
+		      "      if r = 1 then n := 3 * n + 1;\n"		+
+		      "      steps := steps + 1\n"			+
+		      "    end;\n"					+
+		      "    k := k + 1\n"				+
+		      "  end;\n"					+
+		      "  writeln(steps)\n"				+
+		      "end.\n"
+		    },
+		    { "realRepeat",
+		      "program realRepeat;\n"				+
+		      "var i : integer; x : real; s : real;\n"		+
+		      "begin\n"						+
+		      "  s := 0.0;\n"					+
+		      "  x := 0.5;\n"					+
+		      "  i := 0;\n"					+
+		      "  repeat\n"					+
+		      "    s := s + x * x / 3.0;\n"			+
+		      "    x := x + 0.001;\n"				+
+		      "    i := i + 1\n"				+
+		      "  until i = 1000000;\n"				+
+		      "  writeln(s)\n"					+
+		      "end.\n"
+		    },
+		    { "filter",
+		      "program filter;\n"				+
+		      "var i : integer; j : integer; n : integer;\n"	+
+		      "begin\n"						+
+		      "  n := 0;\n"					+
+		      "  for i := 1 to 1000 do\n"			+
+		      "    for j := 1 to 1000 do\n"			+
+		      "      if (j mod 16 = 0) and\n"			+
+		      "         ((i * j + i) mod 7 + (i - j) mod 5 = 3)\n"	+
+		      "      then n := n + 1;\n"			+
+		      "  writeln(n)\n"					+
+		      "end.\n"
+		    },
+		    { "gcdWhile",
+		      "program gcdWhile;\n"				+
+		      "var a : integer; b : integer; k : integer;\n"	+
+		      "    s : integer;\n"				+
+		      "begin\n"						+
+		      "  s := 0;\n"					+
+		      "  k := 1;\n"					+
+		      "  while k <= 20000 do\n"				+
+		      "  begin\n"					+
+		      "    a := k;\n"					+
+		      "    b := 360;\n"				+
+		      "    while (a <> b) and (b > 0) do\n"		+
+		      "      if a > b then a := a - b else b := b - a;\n"	+
+		      "    s := s + a;\n"				+
+		      "    k := k + 1\n"				+
+		      "  end;\n"					+
+		      "  writeln(s)\n"					+
+		      "end.\n"
+		    },
+		    { "partial",
+		      "program partial;\n"				+
+		      "var i : integer; j : integer; s : integer;\n"	+
+		      "    x : real; y : real;\n"			+
+		      "begin\n"						+
+		      "  s := 0;\n"					+
+		      "  x := 0.0;\n"					+
+		      "  for i := 1 to 300000 do\n"			+
+		      "  begin\n"					+
+		      "    j := i mod 3;\n"				+
+		      "    if j = 0 then s := s + i * j else s := s - 1;\n"	+
+		      "    s := s + i * j;\n"				+
+		      "    if j = 1 then x := x + i / 3 else y := 2.0;\n"	+
+		      "    x := x + i / 4\n"				+
+		      "  end;\n"					+
+		      "  writeln(s);\n"					+
+		      "  writeln(x)\n"					+
+		      "end.\n"
+		    }
+		  };
+
+  //  PURPOSE:  To hold the statements the dataflow benchmark repeats to
+  //	make programs of growing size, and the variables they use.
+  public static final
+  String	DATAFLOW_VARS
+		= "var i : integer; s : integer; t : integer;\n"	+
+		  "    x : real; y : real;\n";
+
+  public static final
+  String	DATAFLOW_BODY
+		= "  for i := 1 to 10 do\n"				+
+		  "  begin\n"						+
+		  "    t := s * i + 3;\n"				+
+		  "    if t mod 2 = 0 then s := s + t else s := s - i;\n"	+
+		  "    while s > 1000 do s := s div 2;\n"		+
+		  "    x := x + s / 7;\n"				+
+		  "    y := x * 2.0 - i\n"				+
+		  "  end;\n";
+
+  //  PURPOSE:  To tell how many copies of 'DATAFLOW_BODY' the smallest
+  //	dataflow program has, and how many sizes, each double the last, are
+  //	timed.
+  public static final
+  int		DATAFLOW_MIN_COPIES	= 500;
+
+  public static final
+  int		NUM_DATAFLOW_SIZES	= 5;
+
+  //  PURPOSE:  To tell how many bytes of stack the thread that parses the
+  //	large dataflow programs gets.  The parser recurses once per
+  //	statement of a list.
+  public static final
+  long		DEEP_STACK_BYTES	= 1L << 30;
+
+  //  PURPOSE:  To tell how many bytes one run of a program may allocate and
+  //	still count as allocation-free: enough for the VirtualMachine and its
+  //	frame, and for formatting what the program prints, but far less than
+  //	one object per instruction executed.
+  public static final
+  long		ALLOCATION_LIMIT_BYTES	= 4096;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To compile 'source' from scratch and return its
+  //	instructions.  Its variables are left in 'VarStore.get()'.
+  protected static
+  List<PotentialInstruction>
+		compile		(String		source
+				)
+				throws Exception
+  {
+    VarStore.get().reset();
+    CompileReport.get().reset();
+    return(OurPascal.compile(new StringReader(source)));
+  }
+
+  //  PURPOSE:  To return a PrintStream that discards what it is given.
+  protected static
+  PrintStream	newNullStream	()
+  {
+    return(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  //  PURPOSE:  To time the in-process VirtualMachine on each program of the
+  //	corpus and to print its throughput in instructions per second.  No
+  //	return value.
+  protected static
+  void		benchmarkVm	()
+				throws Exception
+  {
+    System.out.println("Program\t\tInstructions/run\tInstructions/sec");
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      VmProgram	program		= VmProgram.assemble
+					(compile(entry[1]),VarStore.get());
+      long	numExecuted	= 0;
+      long	startTime;
+
+      for  (int run = 0;  run < NUM_WARMUP_RUNS;  run++)
+      {
+	new VirtualMachine(program,newNullStream()).run();
+      }
+
+      startTime	= System.nanoTime();
+
+      for  (int run = 0;  run < NUM_TIMED_RUNS;  run++)
+      {
+	VirtualMachine	vm	= new VirtualMachine(program,newNullStream());
+
+	vm.run();
+	numExecuted	+= vm.getNumExecuted();
+      }
+
+      double	seconds	= (System.nanoTime() - startTime) / 1e9;
+
+      System.out.printf("%-15s\t%,d\t\t%,.0f\n",
+			entry[0],
+			numExecuted / NUM_TIMED_RUNS,
+			numExecuted / seconds
+		       );
+    }
+  }
+
+  //  PURPOSE:  To compare, on each program of the corpus, the text-assembly
+  //	path (printing '$beginPreAsm' text and interpreting the same
+  //	instructions) with compiling them to JVM bytecode.  No return value.
+  protected static
+  void		benchmarkJit	()
+				throws Exception
+  {
+    System.out.println("Program\t\tText ms\tVM ms\tJIT compile ms\t" +
+		       "JIT ms\tSpeedup"
+		      );
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      List<PotentialInstruction>
+		list		= compile(entry[1]);
+      VmProgram	program		= VmProgram.assemble(list,VarStore.get());
+      long	startTime	= System.nanoTime();
+
+      OurPascal.toAssembly(newNullStream(),list);
+
+      double	textMs		= (System.nanoTime() - startTime) / 1e6;
+
+      startTime	= System.nanoTime();
+
+      BytecodeProgram
+		compiled	= BytecodeCompiler.compile(program);
+      double	compileMs	= (System.nanoTime() - startTime) / 1e6;
+
+      double	vmMs		= timeMs(() -> new VirtualMachine
+						(program,newNullStream()).run()
+				);
+      double	jitMs		= timeMs(() -> compiled.run(newNullStream()));
+
+      System.out.printf("%-15s\t%.2f\t%.1f\t%.2f\t\t%.1f\t%.1fx\n",
+			entry[0],
+			textMs,
+			vmMs,
+			compileMs,
+			jitMs,
+			vmMs / jitMs
+		       );
+    }
+  }
+
+  //  PURPOSE:  To compare, on each program of the corpus, running it as
+  //	threaded MethodHandles with interpreting it on the VirtualMachine
+  //	and compiling it to JVM bytecode.  No return value.
+  protected static
+  void		benchmarkMethodHandles
+				()
+				throws Exception
+  {
+    System.out.println("Program		VM ms	MH build ms	MH ms	" +
+		       "JIT compile ms	JIT ms	MH/JIT"
+		      );
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      VmProgram	program		= VmProgram.assemble
+					(compile(entry[1]),VarStore.get());
+      long	startTime	= System.nanoTime();
+
+      MethodHandleProgram
+		threaded	= MethodHandleCompiler.compile(program);
+      double	buildMs		= (System.nanoTime() - startTime) / 1e6;
+
+      startTime	= System.nanoTime();
+
+      BytecodeProgram
+		compiled	= BytecodeCompiler.compile(program);
+      double	compileMs	= (System.nanoTime() - startTime) / 1e6;
+
+      double	vmMs		= timeMs(() -> new VirtualMachine
+						(program,newNullStream()).run()
+				);
+      double	mhMs		= timeMs(() -> threaded.run(newNullStream()));
+      double	jitMs		= timeMs(() -> compiled.run(newNullStream()));
+
+      System.out.printf("%-15s\t%.1f\t%.2f\t\t%.1f\t%.2f\t\t%.1f\t%.1fx\n",
+			entry[0],
+			vmMs,
+			buildMs,
+			mhMs,
+			compileMs,
+			jitMs,
+			mhMs / jitMs
+		       );
+    }
+  }
+
+  //  PURPOSE:  To compare, on each program of the corpus, the tiered
+  //	VirtualMachine with interpreting it throughout and with compiling it
+  //	all to JVM bytecode first, counting the compile in.  Each run is
+  //	from a cold start, so loops are compiled again every run.  No return
+  //	value.
+  protected static
+  void		benchmarkTiered	()
+				throws Exception
+  {
+    System.out.println("Program		VM ms	Tiered ms	JIT ms	" +
+		       "Loops	Entries	(threshold " +
+		       TieredVirtualMachine.getThreshold() + ")"
+		      );
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      VmProgram	program		= VmProgram.assemble
+					(compile(entry[1]),VarStore.get());
+      TieredVirtualMachine
+		tiered		= new TieredVirtualMachine
+					(program,newNullStream());
+
+      tiered.run();
+
+      double	vmMs		= timeMs(() -> new VirtualMachine
+						(program,newNullStream()).run()
+				);
+      double	tieredMs	= timeMs(() -> new TieredVirtualMachine
+						(program,newNullStream()).run()
+				);
+      double	jitMs		= timeMs(() ->
+				  {
+				    try
+				    {
+				      BytecodeCompiler.compile(program)
+					.run(newNullStream());
+				    }
+				    catch  (ReflectiveOperationException error)
+				    {
+				      throw new IllegalStateException(error);
+				    }
+				  }
+				);
+
+      System.out.printf("%-15s\t%.1f\t%.1f\t\t%.1f\t%d\t%d\n",
+			entry[0],
+			vmMs,
+			tieredMs,
+			jitMs,
+			tiered.getNumCompiled(),
+			tiered.getNumEntries()
+		       );
+    }
+  }
+
+  //  PURPOSE:  To count, on each program of the corpus, the instructions
+  //	the VirtualMachine runs with and without partial redundancy
+  //	elimination, and how many it saves.  No return value.
+  protected static
+  void		benchmarkPre	()
+				throws Exception
+  {
+    long	totalSaved	= 0;
+
+    System.out.println("Program\t\tWithout PRE\tWith PRE\tSaved");
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      long	numWithout;
+      long	numWith;
+
+      LazyCodeMotion.setEnabled(false);
+      numWithout	= countExecuted(entry[1]);
+      LazyCodeMotion.setEnabled(true);
+      numWith		= countExecuted(entry[1]);
+      totalSaved	+= numWithout - numWith;
+
+      System.out.printf("%-15s\t%,d\t%,d\t%,d\n",
+			entry[0],
+			numWithout,
+			numWith,
+			numWithout - numWith
+		       );
+    }
+
+    System.out.printf("Total saved\t\t\t\t%,d\n",totalSaved);
+  }
+
+  //  PURPOSE:  To return how many instructions the VirtualMachine runs for
+  //	'source'.
+  protected static
+  long		countExecuted	(String		source
+				)
+				throws Exception
+  {
+    VmProgram		program	= VmProgram.assemble(compile(source),
+						     VarStore.get()
+						    );
+    VirtualMachine	vm	= new VirtualMachine(program,newNullStream());
+
+    vm.run();
+    return(vm.getNumExecuted());
+  }
+
+  //  PURPOSE:  To return a program of 'numCopies' copies of
+  //	'DATAFLOW_BODY'.
+  protected static
+  String	newDataflowSource
+				(int		numCopies
+				)
+  {
+    StringBuilder	source	= new StringBuilder();
+
+    source.append("program dataflow;\n").append(DATAFLOW_VARS);
+    source.append("begin\n  s := 0;\n  x := 0.0;\n");
+
+    for  (int copy = 0;  copy < numCopies;  copy++)
+    {
+      source.append(DATAFLOW_BODY);
+    }
+
+    source.append("  writeln(s);\n  writeln(y)\nend.\n");
+    return(source.toString());
+  }
+
+  //  PURPOSE:  To time building the ControlFlowGraph and solving liveness,
+  //	reaching definitions and available expressions on programs of
+  //	doubling size, to show that the cost per instruction stays flat.
+  //	No return value.
+  protected static
+  void		benchmarkDataflow
+				()
+				throws Exception
+  {
+    System.out.println("Instructs\tBlocks\tCFG ms\tLive ms\tReach ms\t" +
+		       "Avail ms\tns/instruct"
+		      );
+
+    for  (int size = 0;  size < NUM_DATAFLOW_SIZES;  size++)
+    {
+      List<PotentialInstruction>
+			list	= compile(newDataflowSource
+					  (DATAFLOW_MIN_COPIES << size)
+					 );
+      ControlFlowGraph	cfg	= new ControlFlowGraph(list);
+      double		cfgMs	= timeMs(() -> new ControlFlowGraph(list));
+      double		liveMs	= timeMs(() -> new Liveness(cfg));
+      double		reachMs	= timeMs(() -> new ReachingDefinitions(cfg));
+      double		availMs	= timeMs(() -> new AvailableExpressions(cfg));
+      double		totalMs	= cfgMs + liveMs + reachMs + availMs;
+
+      System.out.printf("%,d\t\t%,d\t%.1f\t%.1f\t%.1f\t\t%.1f\t\t%.0f\n",
+			cfg.getNumInstructs(),
+			cfg.getNumBlocks(),
+			cfgMs,
+			liveMs,
+			reachMs,
+			availMs,
+			totalMs * 1e6 / cfg.getNumInstructs()
+		       );
+    }
+  }
+
+  //  PURPOSE:  To run 'benchmarkDataflow()' on a thread whose stack is deep
+  //	enough to parse its programs.  No return value.
+  protected static
+  void		runDeepStacked	()
+				throws Exception
+  {
+    Exception[]	error	= new Exception[1];
+    Thread	thread	= new Thread(null,
+				     () ->
+				     {
+				       try
+				       {
+					 benchmarkDataflow();
+				       }
+				       catch  (Exception caught)
+				       {
+					 error[0]	= caught;
+				       }
+				     },
+				     "dataflow",
+				     DEEP_STACK_BYTES
+				    );
+
+    thread.start();
+    thread.join();
+
+    if  (error[0] != null)
+    {
+      throw error[0];
+    }
+  }
+
+  //  PURPOSE:  To return the average number of milliseconds the
+  //	AstInterpreter engine named 'engineName' ("tree", "ast" or
+  //	"closure") takes to run 'source', after 'NUM_WARMUP_RUNS' untimed
+  //	runs.  A specializing run rewrites its tree, so each run gets a
+  //	freshly parsed one; neither the parse nor building closures is
+  //	timed.
+  protected static
+  double	timeAstMs	(String		source,
+				 String		engineName
+				)
+				throws Exception
+  {
+    long	totalNanos	= 0;
+
+    for  (int run = 0;  run < NUM_WARMUP_RUNS + NUM_TIMED_RUNS;  run++)
+    {
+      VarStore.get().reset();
+      CompileReport.get().reset();
+
+      ParseNode		node	= OurPascal.parse(new StringReader(source));
+      AstInterpreter	interp	= new AstInterpreter
+					(VarStore.get().getVariables(),
+					 newNullStream(),
+					 engineName.equals("ast")
+					);
+      Runnable		compiled
+				= engineName.equals("closure")
+				  ? interp.compile(node)
+				  : () -> interp.run(node);
+      long		startTime	= System.nanoTime();
+
+      compiled.run();
+
+      if  (run >= NUM_WARMUP_RUNS)
+      {
+	totalNanos	+= System.nanoTime() - startTime;
+      }
+    }
+
+    return(totalNanos / 1e6 / NUM_TIMED_RUNS);
+  }
+
+  //  PURPOSE:  To compare, on each program of the corpus, walking its tree
+  //	as it is with letting its nodes specialize themselves, and both with
+  //	compiling it for the VirtualMachine.  No return value.
+  protected static
+  void		benchmarkAst	()
+				throws Exception
+  {
+    System.out.println("Program		Parse ms	Compile ms	Tree ms	" +
+		       "AST ms	VM ms	AST speedup"
+		      );
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      long	startTime	= System.nanoTime();
+
+      VarStore.get().reset();
+      OurPascal.parse(new StringReader(entry[1]));
+
+      double	parseMs		= (System.nanoTime() - startTime) / 1e6;
+
+      startTime	= System.nanoTime();
+
+      VmProgram	program		= VmProgram.assemble
+					(compile(entry[1]),VarStore.get());
+      double	compileMs	= (System.nanoTime() - startTime) / 1e6;
+
+      double	vmMs		= timeMs(() -> new VirtualMachine
+						(program,newNullStream()).run()
+				);
+      double	treeMs		= timeAstMs(entry[1],"tree");
+      double	astMs		= timeAstMs(entry[1],"ast");
+
+      System.out.printf("%-15s\t%.2f\t\t%.2f\t\t%.1f\t%.1f\t%.1f\t%.1fx\n",
+			entry[0],
+			parseMs,
+			compileMs,
+			treeMs,
+			astMs,
+			vmMs,
+			treeMs / astMs
+		       );
+    }
+  }
+
+  //  PURPOSE:  To compare, on each program of the corpus, compiling its
+  //	tree once into closures and running them with the other ways to run
+  //	it soon after parsing: the specializing AstInterpreter, and compiling
+  //	for the VirtualMachine or to JVM bytecode.  Build times are of a
+  //	single cold build.  No return value.
+  protected static
+  void		benchmarkClosure
+				()
+				throws Exception
+  {
+    System.out.println("Program		Build ms	Closure ms	AST ms	" +
+		       "Compile ms	VM ms	JIT ms"
+		      );
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      VarStore.get().reset();
+
+      ParseNode		node	= OurPascal.parse(new StringReader(entry[1]));
+      AstInterpreter	interp	= new AstInterpreter
+					(VarStore.get().getVariables(),
+					 newNullStream(),
+					 false
+					);
+      long		startTime	= System.nanoTime();
+
+      interp.compile(node);
+
+      double	buildMs		= (System.nanoTime() - startTime) / 1e6;
+
+      startTime	= System.nanoTime();
+
+      VmProgram	program		= VmProgram.assemble
+					(compile(entry[1]),VarStore.get());
+      BytecodeProgram
+		compiled	= BytecodeCompiler.compile(program);
+      double	compileMs	= (System.nanoTime() - startTime) / 1e6;
+
+      double	vmMs		= timeMs(() -> new VirtualMachine
+						(program,newNullStream()).run()
+				);
+      double	jitMs		= timeMs(() -> compiled.run(newNullStream()));
+      double	closureMs	= timeAstMs(entry[1],"closure");
+      double	astMs		= timeAstMs(entry[1],"ast");
+
+      System.out.printf("%-15s\t%.2f\t\t%.1f\t\t%.1f\t%.2f\t\t%.1f\t%.1f\n",
+			entry[0],
+			buildMs,
+			closureMs,
+			astMs,
+			compileMs,
+			vmMs,
+			jitMs
+		       );
+    }
+  }
+
+  //  PURPOSE:  To check, on each program of the corpus, that running it
+  //	on the VirtualMachine, as JVM bytecode and as threaded method handles
+  //	allocates a fixed few bytes however many instructions it executes,
+  //	since every instruction only reads and writes the slots of its frame.
+  //	The tiered VirtualMachine is left out: it compiles its loops again on
+  //	every run.  Throws IllegalStateException if a run allocates more than
+  //	'ALLOCATION_LIMIT_BYTES'.  No return value.
+  protected static
+  void		benchmarkAllocation
+				()
+				throws Exception
+  {
+    long	worstBytes	= 0;
+
+    System.out.println("Program		Instructions/run	VM bytes	JIT bytes	" +
+		       "MH bytes"
+		      );
+
+    for  (String[] entry : PROGRAM_ARRAY)
+    {
+      VmProgram		program	= VmProgram.assemble
+					(compile(entry[1]),VarStore.get());
+      PrintStream	out	= newNullStream();
+      BytecodeProgram	jit	= BytecodeCompiler.compile(program);
+      MethodHandleProgram
+			mh	= MethodHandleCompiler.compile(program);
+      long		vmBytes	= allocatedBytes(() -> new VirtualMachine
+						    (program,out).run()
+					);
+      long		jitBytes = allocatedBytes(() -> jit.run(out));
+      long		mhBytes	= allocatedBytes(() -> mh.run(out));
+
+      worstBytes	= Math.max(worstBytes,
+				   Math.max(vmBytes,Math.max(jitBytes,mhBytes))
+				  );
+      System.out.printf("%-15s\t%,d\t\t%,d\t\t%,d\t\t%,d\n",
+			entry[0],
+			countExecuted(entry[1]),
+			vmBytes,
+			jitBytes,
+			mhBytes
+		       );
+    }
+
+    if  (worstBytes > ALLOCATION_LIMIT_BYTES)
+    {
+      throw new IllegalStateException
+		("A run allocated " + worstBytes + " bytes, more than " +
+		 ALLOCATION_LIMIT_BYTES
+		);
+    }
+
+    System.out.println("Every run allocated at most " + worstBytes +
+		       " bytes"
+		      );
+  }
+
+  //  PURPOSE:  To return the most bytes any one of 'NUM_TIMED_RUNS' runs
+  //	of 'runner' allocates on this thread, after 'NUM_WARMUP_RUNS'
+  //	uncounted runs.
+  protected static
+  long		allocatedBytes	(Runnable	runner
+				)
+  {
+    com.sun.management.ThreadMXBean
+		bean	= (com.sun.management.ThreadMXBean)
+			  ManagementFactory.getThreadMXBean();
+    long	threadId	= Thread.currentThread().getId();
+    long	mostBytes	= 0;
+
+    for  (int run = 0;  run < NUM_WARMUP_RUNS;  run++)
+    {
+      runner.run();
+    }
+
+    for  (int run = 0;  run < NUM_TIMED_RUNS;  run++)
+    {
+      long	startBytes	= bean.getThreadAllocatedBytes(threadId);
+
+      runner.run();
+      mostBytes	= Math.max(mostBytes,
+			   bean.getThreadAllocatedBytes(threadId) - startBytes
+			  );
+    }
+
+    return(mostBytes);
+  }
+
+  //  PURPOSE:  To return the average number of milliseconds 'runner'
+  //	takes, after 'NUM_WARMUP_RUNS' untimed runs.
+  protected static
+  double	timeMs		(Runnable	runner
+				)
+  {
+    for  (int run = 0;  run < NUM_WARMUP_RUNS;  run++)
+    {
+      runner.run();
+    }
+
+    long	startTime	= System.nanoTime();
+
+    for  (int run = 0;  run < NUM_TIMED_RUNS;  run++)
+    {
+      runner.run();
+    }
+
+    return((System.nanoTime() - startTime) / 1e6 / NUM_TIMED_RUNS);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To run the benchmark named by 'args[0]', or the VM
+  //	benchmark if no name is given.  No return value.
+  public static
+  void		main		(String[]	args
+				)
+				throws Exception
+  {
+    String	name	= (args.length == 0) ? "vm" : args[0];
+
+    switch  (name)
+    {
+    case "vm" :
+      benchmarkVm();
+      break;
+
+    case "jit" :
+      benchmarkJit();
+      break;
+
+    case "dataflow" :
+      runDeepStacked();
+      break;
+
+    case "pre" :
+      benchmarkPre();
+      break;
+
+    case "ast" :
+      benchmarkAst();
+      break;
+
+    case "closure" :
+      benchmarkClosure();
+      break;
+
+    case "mh" :
+      benchmarkMethodHandles();
+      break;
+
+    case "tiered" :
+      benchmarkTiered();
+      break;
+
+    case "alloc" :
+      benchmarkAllocation();
+      break;
+
+    default :
+      System.err.println("Usage\tjava Benchmark [vm|jit|dataflow|pre|ast|closure|mh|tiered|alloc]");
+      break;
+    }
+  }
+
+}
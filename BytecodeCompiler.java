@@ -0,0 +1,1236 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        BytecodeCompiler.java                                      ---*
+ *---                                                                   ---*
+ *---        This file declares classes that translate a VmProgram into ---*
+ *---    a JVM hidden class, so that HotSpot can JIT-compile it.        ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+class BytecodeCompiler
+{
+  // 0. Constants:
+  //  PURPOSE:  To hold the name given to generated classes.
+  public static final
+  String	CLASS_NAME		= "OurPascalProgram";
+
+  //  PURPOSE:  To hold the name and type of the generated method.  It
+  //	loads every slot of the frame into a JVM local of the slot's type,
+  //	runs, and stores the locals back into the frame before returning.
+  public static final
+  String	METHOD_NAME		= "run";
+
+  public static final
+  String	METHOD_DESCRIPTOR
+		= "([J[Ljava/lang/String;Ljava/io/PrintStream;)V";
+
+  public static final
+  MethodType	METHOD_TYPE
+		= MethodType.methodType(void.class,
+					long[].class,
+					String[].class,
+					PrintStream.class
+				       );
+
+  //  PURPOSE:  To hold the type of the method generated for a region of a
+  //	program, which returns the VM pc at which the region was left.
+  public static final
+  String	REGION_METHOD_DESCRIPTOR
+		= "([J[Ljava/lang/String;Ljava/io/PrintStream;)I";
+
+  public static final
+  MethodType	REGION_METHOD_TYPE
+		= METHOD_TYPE.changeReturnType(int.class);
+
+  //  PURPOSE:  To hold the JVM locals of the method's parameters.
+  protected static final int	FRAME_LOCAL		= 0;
+  protected static final int	STRINGS_LOCAL		= 1;
+  protected static final int	OUT_LOCAL		= 2;
+  protected static final int	FIRST_SLOT_LOCAL	= 3;
+
+  //  PURPOSE:  To hold the largest number of JVM locals a method may have.
+  protected static final
+  int		MAX_LOCALS		= 65535;
+
+  //  PURPOSE:  To hold the JVM opcodes that are emitted.
+  protected static final int	ICONST_0	= 0x03;
+  protected static final int	ICONST_1	= 0x04;
+  protected static final int	LCONST_0	= 0x09;
+  protected static final int	LCONST_1	= 0x0a;
+  protected static final int	DCONST_0	= 0x0e;
+  protected static final int	BIPUSH		= 0x10;
+  protected static final int	SIPUSH		= 0x11;
+  protected static final int	LDC_W		= 0x13;
+  protected static final int	LDC2_W		= 0x14;
+  protected static final int	ILOAD		= 0x15;
+  protected static final int	LLOAD		= 0x16;
+  protected static final int	DLOAD		= 0x18;
+  protected static final int	ALOAD		= 0x19;
+  protected static final int	LALOAD		= 0x2f;
+  protected static final int	AALOAD		= 0x32;
+  protected static final int	ISTORE		= 0x36;
+  protected static final int	LSTORE		= 0x37;
+  protected static final int	DSTORE		= 0x39;
+  protected static final int	LASTORE		= 0x50;
+  protected static final int	DUP2		= 0x5c;
+  protected static final int	LADD		= 0x61;
+  protected static final int	DADD		= 0x63;
+  protected static final int	ISUB		= 0x64;
+  protected static final int	LSUB		= 0x65;
+  protected static final int	DSUB		= 0x67;
+  protected static final int	LMUL		= 0x69;
+  protected static final int	DMUL		= 0x6b;
+  protected static final int	LDIV		= 0x6d;
+  protected static final int	DDIV		= 0x6f;
+  protected static final int	LREM		= 0x71;
+  protected static final int	LNEG		= 0x75;
+  protected static final int	LSHR		= 0x7b;
+  protected static final int	LUSHR		= 0x7d;
+  protected static final int	IAND		= 0x7e;
+  protected static final int	LAND		= 0x7f;
+  protected static final int	IOR		= 0x80;
+  protected static final int	I2L		= 0x85;
+  protected static final int	L2I		= 0x88;
+  protected static final int	L2D		= 0x8a;
+  protected static final int	LCMP		= 0x94;
+  protected static final int	DCMPL		= 0x97;
+  protected static final int	DCMPG		= 0x98;
+  protected static final int	IFEQ		= 0x99;
+  protected static final int	IFNE		= 0x9a;
+  protected static final int	IFLT		= 0x9b;
+  protected static final int	IFGE		= 0x9c;
+  protected static final int	IFGT		= 0x9d;
+  protected static final int	IFLE		= 0x9e;
+  protected static final int	GOTO		= 0xa7;
+  protected static final int	IRETURN		= 0xac;
+  protected static final int	RETURN		= 0xb1;
+  protected static final int	INVOKEVIRTUAL	= 0xb6;
+  protected static final int	INVOKESTATIC	= 0xb8;
+  protected static final int	WIDE		= 0xc4;
+  protected static final int	GOTO_W		= 0xc8;
+
+  //  PURPOSE:  To hold the largest branch offset that fits in a short
+  //	branch instruction.
+  protected static final
+  int		MAX_SHORT_BRANCH	= 32767;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To return a BytecodeProgram that implements 'program' as a
+  //	hidden class.  Throws UnsupportedOperationException if 'program' does
+  //	not fit in one JVM method.
+  public static
+  BytecodeProgram
+		compile		(VmProgram	program
+				)
+				throws ReflectiveOperationException
+  {
+    BytecodeCompiler	compiler	= new BytecodeCompiler(program);
+    byte[]		classBytes	= compiler.toClassBytes();
+    MethodHandles.Lookup
+			lookup		= MethodHandles.lookup()
+					  .defineHiddenClass(classBytes,true);
+    MethodHandle	handle		= lookup.findStatic
+						(lookup.lookupClass(),
+						 METHOD_NAME,
+						 METHOD_TYPE
+						);
+
+    return(new BytecodeProgram(program,handle,classBytes.length));
+  }
+
+  //  PURPOSE:  To return a BytecodeRegion that implements the instructions
+  //	of 'program' from pc 'firstPc' to pc 'lastPc' inclusive as a hidden
+  //	class, entered at 'firstPc'.  Throws UnsupportedOperationException if
+  //	'program' has too many slots for one JVM method.
+  public static
+  BytecodeRegion
+		compileRegion	(VmProgram	program,
+				 int		firstPc,
+				 int		lastPc
+				)
+				throws ReflectiveOperationException
+  {
+    BytecodeCompiler	compiler	= new BytecodeCompiler(program);
+
+    compiler.isRegion_	= true;
+    compiler.firstPc_	= firstPc;
+    compiler.lastPc_	= lastPc;
+
+    byte[]		classBytes	= compiler.toClassBytes();
+    MethodHandles.Lookup
+			lookup		= MethodHandles.lookup()
+					  .defineHiddenClass(classBytes,true);
+    MethodHandle	handle		= lookup.findStatic
+						(lookup.lookupClass(),
+						 METHOD_NAME,
+						 REGION_METHOD_TYPE
+						);
+
+    return(new BytecodeRegion(firstPc,lastPc,handle));
+  }
+
+  //  PURPOSE:  To initialize 'this' to translate 'newProgram'.  No return
+  //	value.
+  protected
+  BytecodeCompiler	(VmProgram	newProgram)
+  {
+    program_	= newProgram;
+    writer_	= new ClassFileWriter(CLASS_NAME);
+    lastPc_	= newProgram.getLength();
+
+    Variable[]	slotVars	= newProgram.getSlotVars();
+
+    localOfSlot_	= new int[slotVars.length];
+    maxLocals_		= FIRST_SLOT_LOCAL;
+
+    for  (int slot = 0;  slot < slotVars.length;  slot++)
+    {
+      Type	type	= slotVars[slot].getType();
+
+      localOfSlot_[slot]	= maxLocals_;
+      maxLocals_		+= ((type == Type.INTEGER)  ||  (type == Type.REAL))
+				   ? 2
+				   : 1;
+    }
+
+    if  (maxLocals_ > MAX_LOCALS)
+    {
+      throw new UnsupportedOperationException
+		("Program needs " + maxLocals_ + " JVM locals");
+    }
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the bytes of the class that implements 'program_'.
+  //	Short branches are tried first; if the method is too big for them it
+  //	is regenerated with wide branches.  No parameters.
+  protected
+  byte[]	toClassBytes	()
+  {
+    useWideBranches_	= false;
+    emitMethod();
+
+    if  (length_ > MAX_SHORT_BRANCH)
+    {
+      useWideBranches_	= true;
+      emitMethod();
+    }
+
+    writer_.addMethod(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_STATIC,
+		      METHOD_NAME,
+		      isRegion_ ? REGION_METHOD_DESCRIPTOR : METHOD_DESCRIPTOR,
+		      MAX_STACK,
+		      maxLocals_,
+		      code_,
+		      length_
+		     );
+    return(writer_.toByteArray());
+  }
+
+  //  PURPOSE:  To fill 'code_' with the body of the generated method.  For
+  //	a region, every way out of it, including falling off its end, leads
+  //	to an exit that stores the slots back and returns the pc to resume
+  //	at.  No parameters.  No return value.
+  protected
+  void		emitMethod	()
+  {
+    int[]	vmCode	= program_.getCode();
+    int		numPcs	= program_.getLength() + 1;
+
+    length_		= 0;
+    offsetOfPc_		= new int[numPcs];
+    fixupList_.clear();
+    exitPcSet_.clear();
+
+    emitSlotTransfer(true);
+
+    for  (int pc = firstPc_;  pc <= lastPc_;  pc++)
+    {
+      int	index	= pc * VmProgram.STRIDE;
+      int	opcode	= vmCode[index + VmProgram.OPCODE_OFFSET];
+
+      offsetOfPc_[pc]	= length_;
+
+      if  (isRegion_  &&  (opcode == VmProgram.OP_HALT))
+      {
+	emitExit(pc);
+	continue;
+      }
+
+      emitInstruct(opcode,
+		   vmCode[index + VmProgram.OPERAND_A_OFFSET],
+		   vmCode[index + VmProgram.OPERAND_B_OFFSET],
+		   vmCode[index + VmProgram.OPERAND_C_OFFSET]
+		  );
+    }
+
+    if  (isRegion_)
+    {
+      exitPcSet_.remove(lastPc_ + 1);
+      offsetOfPc_[lastPc_ + 1]	= length_;
+      emitExit(lastPc_ + 1);
+
+      for  (int exitPc : exitPcSet_)
+      {
+	offsetOfPc_[exitPc]	= length_;
+	emitExit(exitPc);
+      }
+    }
+
+    for  (int[] fixup : fixupList_)
+    {
+      int	at	= fixup[0];
+      int	offset	= offsetOfPc_[fixup[1]] - at;
+
+      if  (useWideBranches_)
+      {
+	patch4(at + 1,offset);
+      }
+      else
+      {
+	patch2(at + 1,offset);
+      }
+    }
+  }
+
+  //  PURPOSE:  To emit code that either loads every slot of the frame into
+  //	its JVM local (when 'isLoad' is 'true') or stores every JVM local
+  //	back into its slot.  Integers move as they are; reals, booleans and
+  //	string indices are converted from and to the longs of the frame.  No
+  //	return value.
+  protected
+  void		emitSlotTransfer(boolean	isLoad)
+  {
+    Variable[]	slotVars	= program_.getSlotVars();
+
+    for  (int slot = 0;  slot < slotVars.length;  slot++)
+    {
+      int	local	= localOf(slot);
+
+      emitLocal(ALOAD,FRAME_LOCAL);
+      emitIntConst(slot);
+
+      switch  (slotVars[slot].getType())
+      {
+      case INTEGER :
+	if  (isLoad)
+	{
+	  emit1(LALOAD);
+	  emitLocal(LSTORE,local);
+	}
+	else
+	{
+	  emitLocal(LLOAD,local);
+	  emit1(LASTORE);
+	}
+	break;
+
+      case REAL :
+	if  (isLoad)
+	{
+	  emit1(LALOAD);
+	  emitInvokeStatic("java/lang/Double","longBitsToDouble","(J)D");
+	  emitLocal(DSTORE,local);
+	}
+	else
+	{
+	  emitLocal(DLOAD,local);
+	  emitInvokeStatic("java/lang/Double","doubleToRawLongBits","(D)J");
+	  emit1(LASTORE);
+	}
+	break;
+
+      case BOOLEAN :
+      case STRING :
+	if  (isLoad)
+	{
+	  emit1(LALOAD);
+	  emit1(L2I);
+	  emitLocal(ISTORE,local);
+	}
+	else
+	{
+	  emitLocal(ILOAD,local);
+	  emit1(I2L);
+	  emit1(LASTORE);
+	}
+	break;
+      }
+    }
+  }
+
+  //  PURPOSE:  To emit a call to static method 'className.methodName' of
+  //	type 'descriptor'.  No return value.
+  protected
+  void		emitInvokeStatic(String	className,
+				 String	methodName,
+				 String	descriptor
+				)
+  {
+    emit1(INVOKESTATIC);
+    emit2(writer_.methodRef(className,methodName,descriptor));
+  }
+
+  //  PURPOSE:  To emit the bytecode for one decoded VM instruction.  No
+  //	return value.
+  protected
+  void		emitInstruct	(int	opcode,
+				 int	a,
+				 int	b,
+				 int	c
+				)
+  {
+    switch  (opcode)
+    {
+    case VmProgram.OP_HALT :
+      emitSlotTransfer(false);
+      emit1(RETURN);
+      break;
+
+    case VmProgram.OP_BOOL_CLEAR :
+      emit1(ICONST_0);
+      emitLocal(ISTORE,localOf(a));
+      break;
+    case VmProgram.OP_INT_CLEAR :
+      emit1(LCONST_0);
+      emitLocal(LSTORE,localOf(a));
+      break;
+    case VmProgram.OP_REAL_CLEAR :
+      emit1(DCONST_0);
+      emitLocal(DSTORE,localOf(a));
+      break;
+
+    case VmProgram.OP_BOOL_PRINT :
+      emitPrint(ILOAD,localOf(a),"print","(Z)V");
+      break;
+    case VmProgram.OP_INT_PRINT :
+      emitPrint(LLOAD,localOf(a),"print","(J)V");
+      break;
+    case VmProgram.OP_REAL_PRINT :
+      emitPrint(DLOAD,localOf(a),"print","(D)V");
+      break;
+    case VmProgram.OP_STRING_PRINT :
+      emitStringPrint(a,"print");
+      break;
+    case VmProgram.OP_BOOL_PRINTLN :
+      emitPrint(ILOAD,localOf(a),"println","(Z)V");
+      break;
+    case VmProgram.OP_INT_PRINTLN :
+      emitPrint(LLOAD,localOf(a),"println","(J)V");
+      break;
+    case VmProgram.OP_REAL_PRINTLN :
+      emitPrint(DLOAD,localOf(a),"println","(D)V");
+      break;
+    case VmProgram.OP_STRING_PRINTLN :
+      emitStringPrint(a,"println");
+      break;
+
+    case VmProgram.OP_BOOL_COPY :
+      emitLocal(ILOAD,localOf(b));
+      emitLocal(ISTORE,localOf(a));
+      break;
+    case VmProgram.OP_INT_COPY :
+      emitLocal(LLOAD,localOf(b));
+      emitLocal(LSTORE,localOf(a));
+      break;
+    case VmProgram.OP_REAL_COPY :
+      emitLocal(DLOAD,localOf(b));
+      emitLocal(DSTORE,localOf(a));
+      break;
+    case VmProgram.OP_STRING_COPY :
+      emitLocal(ILOAD,localOf(b));
+      emitLocal(ISTORE,localOf(a));
+      break;
+
+    case VmProgram.OP_INT_ADD_VAR_VAR :	emitIntArith(LADD,a,a,b);	break;
+    case VmProgram.OP_REAL_ADD_VAR_VAR :	emitRealArith(DADD,a,a,b);	break;
+    case VmProgram.OP_INT_SUB_VAR_VAR :	emitIntArith(LSUB,a,a,b);	break;
+    case VmProgram.OP_REAL_SUB_VAR_VAR :	emitRealArith(DSUB,a,a,b);	break;
+    case VmProgram.OP_INT_MUL_VAR_VAR :	emitIntArith(LMUL,a,a,b);	break;
+    case VmProgram.OP_REAL_MUL_VAR_VAR :	emitRealArith(DMUL,a,a,b);	break;
+
+    case VmProgram.OP_INT_TO_REAL :
+      emitLocal(LLOAD,localOf(b));
+      emit1(L2D);
+      emitLocal(DSTORE,localOf(a));
+      break;
+
+    case VmProgram.OP_INT_ADD :		emitIntArith(LADD,a,b,c);	break;
+    case VmProgram.OP_REAL_ADD :	emitRealArith(DADD,a,b,c);	break;
+    case VmProgram.OP_INT_SUB :		emitIntArith(LSUB,a,b,c);	break;
+    case VmProgram.OP_REAL_SUB :	emitRealArith(DSUB,a,b,c);	break;
+    case VmProgram.OP_INT_MUL :		emitIntArith(LMUL,a,b,c);	break;
+    case VmProgram.OP_REAL_MUL :	emitRealArith(DMUL,a,b,c);	break;
+    case VmProgram.OP_INT_DIV :		emitIntArith(LDIV,a,b,c);	break;
+    case VmProgram.OP_REAL_DIV :	emitRealArith(DDIV,a,b,c);	break;
+    case VmProgram.OP_MOD :		emitIntArith(LREM,a,b,c);	break;
+
+    case VmProgram.OP_INT_DIV_SHIFT :
+      emitRoundedToPowerOf2(b,c);
+      emitIntConst(c);
+      emit1(LSHR);
+      emitLocal(LSTORE,localOf(a));
+      break;
+    case VmProgram.OP_MOD_SHIFT :
+      emitRoundedToPowerOf2(b,c);
+      emitLongConst(-1L << c);
+      emit1(LAND);
+      emitLocal(LLOAD,localOf(b));
+      emit1(LSUB);
+      emit1(LNEG);
+      emitLocal(LSTORE,localOf(a));
+      break;
+    case VmProgram.OP_INT_DIV_MAGIC :
+      emitMagicQuotient(b,c);
+      emitLocal(LSTORE,localOf(a));
+      break;
+    case VmProgram.OP_MOD_MAGIC :
+      emitMagicQuotient(b,c);
+      emitLongConst(program_.getMagicArray()
+			[c + VmProgram.MAGIC_DIVISOR_OFFSET]
+		   );
+      emit1(LMUL);
+      emitLocal(LLOAD,localOf(b));
+      emit1(LSUB);
+      emit1(LNEG);
+      emitLocal(LSTORE,localOf(a));
+      break;
+
+    case VmProgram.OP_LOGIC_AND :
+    case VmProgram.OP_LOGIC_OR :
+      emitLocal(ILOAD,localOf(b));
+      emitLocal(ILOAD,localOf(c));
+      emit1((opcode == VmProgram.OP_LOGIC_AND) ? IAND : IOR);
+      emitLocal(ISTORE,localOf(a));
+      break;
+
+    case VmProgram.OP_INT_EQUAL :	  emitIntCompare(IFEQ,a,b,c);	break;
+    case VmProgram.OP_INT_NOT_EQUAL :	  emitIntCompare(IFNE,a,b,c);	break;
+    case VmProgram.OP_INT_LESSER :	  emitIntCompare(IFLT,a,b,c);	break;
+    case VmProgram.OP_INT_LESSER_EQUAL :  emitIntCompare(IFLE,a,b,c);	break;
+    case VmProgram.OP_INT_GREATER :	  emitIntCompare(IFGT,a,b,c);	break;
+    case VmProgram.OP_INT_GREATER_EQUAL : emitIntCompare(IFGE,a,b,c);	break;
+
+    //  'dcmpg' answers 1 and 'dcmpl' answers -1 for NaN, so that every
+    //	comparison involving NaN is false as it is in the VM, except '<>'.
+    case VmProgram.OP_REAL_EQUAL :	   emitRealCompare(DCMPL,IFEQ,a,b,c); break;
+    case VmProgram.OP_REAL_NOT_EQUAL :	   emitRealCompare(DCMPL,IFNE,a,b,c); break;
+    case VmProgram.OP_REAL_LESSER :	   emitRealCompare(DCMPG,IFLT,a,b,c); break;
+    case VmProgram.OP_REAL_LESSER_EQUAL :  emitRealCompare(DCMPG,IFLE,a,b,c); break;
+    case VmProgram.OP_REAL_GREATER :	   emitRealCompare(DCMPL,IFGT,a,b,c); break;
+    case VmProgram.OP_REAL_GREATER_EQUAL : emitRealCompare(DCMPL,IFGE,a,b,c); break;
+
+    case VmProgram.OP_BOOL_EQUAL :	   emitBoolCompare(IFEQ,a,b,c);	break;
+    case VmProgram.OP_BOOL_NOT_EQUAL :	   emitBoolCompare(IFNE,a,b,c);	break;
+    case VmProgram.OP_STRING_EQUAL :	   emitStringCompare(IFEQ,a,b,c); break;
+    case VmProgram.OP_STRING_NOT_EQUAL :   emitStringCompare(IFNE,a,b,c); break;
+    case VmProgram.OP_BOOL_LESSER :	   emitBoolCompare(IFLT,a,b,c);	break;
+    case VmProgram.OP_BOOL_LESSER_EQUAL :  emitBoolCompare(IFLE,a,b,c);	break;
+    case VmProgram.OP_BOOL_GREATER :	   emitBoolCompare(IFGT,a,b,c);	break;
+    case VmProgram.OP_BOOL_GREATER_EQUAL : emitBoolCompare(IFGE,a,b,c);	break;
+    case VmProgram.OP_STRING_LESSER :	   emitStringCompare(IFLT,a,b,c); break;
+    case VmProgram.OP_STRING_LESSER_EQUAL :emitStringCompare(IFLE,a,b,c); break;
+    case VmProgram.OP_STRING_GREATER :	   emitStringCompare(IFGT,a,b,c); break;
+    case VmProgram.OP_STRING_GREATER_EQUAL:emitStringCompare(IFGE,a,b,c); break;
+
+    case VmProgram.OP_GOTO :
+      emitBranch(GOTO,a);
+      break;
+
+    case VmProgram.OP_IF_FALSE_GOTO :
+      emitLocal(ILOAD,localOf(a));
+      emitBranch(IFEQ,b);
+      break;
+
+    case VmProgram.OP_IF_TRUE_GOTO :
+      emitLocal(ILOAD,localOf(a));
+      emitBranch(IFNE,b);
+      break;
+
+    case VmProgram.OP_INT_EQUAL_GOTO :	      emitIntCompareBranch(IFEQ,a,b,c);	break;
+    case VmProgram.OP_INT_NOT_EQUAL_GOTO :    emitIntCompareBranch(IFNE,a,b,c);	break;
+    case VmProgram.OP_INT_LESSER_GOTO :	      emitIntCompareBranch(IFLT,a,b,c);	break;
+    case VmProgram.OP_INT_LESSER_EQUAL_GOTO : emitIntCompareBranch(IFLE,a,b,c);	break;
+    case VmProgram.OP_INT_GREATER_GOTO :      emitIntCompareBranch(IFGT,a,b,c);	break;
+    case VmProgram.OP_INT_GREATER_EQUAL_GOTO :emitIntCompareBranch(IFGE,a,b,c);	break;
+
+    case VmProgram.OP_REAL_EQUAL_GOTO :
+      emitRealCompareBranch(DCMPL,IFEQ,a,b,c);
+      break;
+    case VmProgram.OP_REAL_NOT_EQUAL_GOTO :
+      emitRealCompareBranch(DCMPL,IFNE,a,b,c);
+      break;
+    case VmProgram.OP_REAL_LESSER_GOTO :
+      emitRealCompareBranch(DCMPG,IFLT,a,b,c);
+      break;
+    case VmProgram.OP_REAL_LESSER_EQUAL_GOTO :
+      emitRealCompareBranch(DCMPG,IFLE,a,b,c);
+      break;
+    case VmProgram.OP_REAL_GREATER_GOTO :
+      emitRealCompareBranch(DCMPL,IFGT,a,b,c);
+      break;
+    case VmProgram.OP_REAL_GREATER_EQUAL_GOTO :
+      emitRealCompareBranch(DCMPL,IFGE,a,b,c);
+      break;
+
+    case VmProgram.OP_INT_INC_LESSER_EQUAL_GOTO :
+      emitIntStep(LADD,a);
+      emitIntCompareBranch(IFLE,a,b,c);
+      break;
+
+    case VmProgram.OP_INT_DEC_GREATER_GOTO :
+      emitIntStep(LSUB,a);
+      emitIntCompareBranch(IFGT,a,b,c);
+      break;
+
+    default :
+      throw new IllegalArgumentException("Cannot compile opcode " + opcode);
+    }
+  }
+
+  //  PURPOSE:  To emit 'out.<methodName>(value)' where 'value' is loaded
+  //	from JVM local 'local' with 'loadOp'.  No return value.
+  protected
+  void		emitPrint	(int	loadOp,
+				 int	local,
+				 String	methodName,
+				 String	descriptor
+				)
+  {
+    emitLocal(ALOAD,OUT_LOCAL);
+    emitLocal(loadOp,local);
+    emit1(INVOKEVIRTUAL);
+    emit2(writer_.methodRef("java/io/PrintStream",methodName,descriptor));
+  }
+
+  //  PURPOSE:  To emit 'out.<methodName>(strings[slot])', where JVM local of
+  //	'slot' holds an index into the string table.  No return value.
+  protected
+  void		emitStringPrint	(int	slot,
+				 String	methodName
+				)
+  {
+    emitLocal(ALOAD,OUT_LOCAL);
+    emitLocal(ALOAD,STRINGS_LOCAL);
+    emitLocal(ILOAD,localOf(slot));
+    emit1(AALOAD);
+    emit1(INVOKEVIRTUAL);
+    emit2(writer_.methodRef("java/io/PrintStream",
+			    methodName,
+			    "(Ljava/lang/String;)V"
+			   )
+	 );
+  }
+
+  //  PURPOSE:  To emit 'ints[dest] = ints[src0] <arithOp> ints[src1]'.  No
+  //	return value.
+  protected
+  void		emitIntArith	(int	arithOp,
+				 int	dest,
+				 int	src0,
+				 int	src1
+				)
+  {
+    emitLocal(LLOAD,localOf(src0));
+    emitLocal(LLOAD,localOf(src1));
+    emit1(arithOp);
+    emitLocal(LSTORE,localOf(dest));
+  }
+
+  //  PURPOSE:  To emit 'reals[dest] = reals[src0] <arithOp> reals[src1]'.
+  //	No return value.
+  protected
+  void		emitRealArith	(int	arithOp,
+				 int	dest,
+				 int	src0,
+				 int	src1
+				)
+  {
+    emitLocal(DLOAD,localOf(src0));
+    emitLocal(DLOAD,localOf(src1));
+    emit1(arithOp);
+    emitLocal(DSTORE,localOf(dest));
+  }
+
+  //  PURPOSE:  To emit code leaving 'ints[src]' on the stack, biased
+  //	toward zero by '2^exponent - 1' when negative, so that clearing its
+  //	low 'exponent' bits or shifting them out rounds toward zero as
+  //	'ldiv' does.  No return value.
+  protected
+  void		emitRoundedToPowerOf2
+				(int	src,
+				 int	exponent
+				)
+  {
+    emitLocal(LLOAD,localOf(src));
+    emitLocal(LLOAD,localOf(src));
+    emitIntConst(63);
+    emit1(LSHR);
+    emitIntConst(64 - exponent);
+    emit1(LUSHR);
+    emit1(LADD);
+  }
+
+  //  PURPOSE:  To emit code leaving 'ints[src]' divided by the divisor of
+  //	entry 'magicIndex' of the program's table of constant divisors on
+  //	the stack, with 'Math.multiplyHigh()' in place of 'ldiv'.  No return
+  //	value.
+  protected
+  void		emitMagicQuotient
+				(int	src,
+				 int	magicIndex
+				)
+  {
+    long[]	magic		= program_.getMagicArray();
+    long	multiplier	= magic[magicIndex
+					+ VmProgram.MAGIC_MULTIPLIER_OFFSET
+				       ];
+
+    emitLocal(LLOAD,localOf(src));
+    emitLongConst(multiplier);
+    emitInvokeStatic("java/lang/Math","multiplyHigh","(JJ)J");
+
+    if  (multiplier < 0)
+    {
+      emitLocal(LLOAD,localOf(src));
+      emit1(LADD);
+    }
+
+    emitIntConst((int)magic[magicIndex + VmProgram.MAGIC_SHIFT_OFFSET]);
+    emit1(LSHR);
+    emit1(DUP2);
+    emitIntConst(63);
+    emit1(LUSHR);
+    emit1(LADD);
+  }
+
+  //  PURPOSE:  To emit 'bools[dest] = ints[src0] <cond> ints[src1]', where
+  //	'ifOp' is the branch that tests the result of 'lcmp'.  No return
+  //	value.
+  protected
+  void		emitIntCompare	(int	ifOp,
+				 int	dest,
+				 int	src0,
+				 int	src1
+				)
+  {
+    emitLocal(LLOAD,localOf(src0));
+    emitLocal(LLOAD,localOf(src1));
+    emit1(LCMP);
+    emitBooleanOf(ifOp);
+    emitLocal(ISTORE,localOf(dest));
+  }
+
+  //  PURPOSE:  To emit 'bools[dest] = reals[src0] <cond> reals[src1]', where
+  //	'cmpOp' compares and 'ifOp' tests its result.  No return value.
+  protected
+  void		emitRealCompare	(int	cmpOp,
+				 int	ifOp,
+				 int	dest,
+				 int	src0,
+				 int	src1
+				)
+  {
+    emitLocal(DLOAD,localOf(src0));
+    emitLocal(DLOAD,localOf(src1));
+    emit1(cmpOp);
+    emitBooleanOf(ifOp);
+    emitLocal(ISTORE,localOf(dest));
+  }
+
+  //  PURPOSE:  To emit 'bools[dest] = bools[src0] <cond> bools[src1]',
+  //	where 'ifOp' tests their difference, so that 'false' orders before
+  //	'true'.  No return value.
+  protected
+  void		emitBoolCompare	(int	ifOp,
+				 int	dest,
+				 int	src0,
+				 int	src1
+				)
+  {
+    emitLocal(ILOAD,localOf(src0));
+    emitLocal(ILOAD,localOf(src1));
+    emit1(ISUB);
+    emitBooleanOf(ifOp);
+    emitLocal(ISTORE,localOf(dest));
+  }
+
+  //  PURPOSE:  To emit 'bools[dest] = strings[src0] <cond> strings[src1]',
+  //	where 'ifOp' tests the result of 'String.compareTo()'.  The JVM
+  //	locals of string slots hold indices into the string table.  No
+  //	return value.
+  protected
+  void		emitStringCompare
+				(int	ifOp,
+				 int	dest,
+				 int	src0,
+				 int	src1
+				)
+  {
+    emitLocal(ALOAD,STRINGS_LOCAL);
+    emitLocal(ILOAD,localOf(src0));
+    emit1(AALOAD);
+    emitLocal(ALOAD,STRINGS_LOCAL);
+    emitLocal(ILOAD,localOf(src1));
+    emit1(AALOAD);
+    emit1(INVOKEVIRTUAL);
+    emit2(writer_.methodRef("java/lang/String",
+			    "compareTo",
+			    "(Ljava/lang/String;)I"
+			   )
+	 );
+    emitBooleanOf(ifOp);
+    emitLocal(ISTORE,localOf(dest));
+  }
+
+  //  PURPOSE:  To emit 'ints[var] = ints[var] <op> 1', where 'arithOp' is
+  //	'ladd' or 'lsub'.  No return value.
+  protected
+  void		emitIntStep	(int	arithOp,
+				 int	var
+				)
+  {
+    emitLocal(LLOAD,localOf(var));
+    emit1(LCONST_1);
+    emit1(arithOp);
+    emitLocal(LSTORE,localOf(var));
+  }
+
+  //  PURPOSE:  To emit a branch to the code of VM pc 'targetPc' taken when
+  //	'ints[src0] <cond> ints[src1]', where 'ifOp' is the branch that tests
+  //	the result of 'lcmp'.  No return value.
+  protected
+  void		emitIntCompareBranch
+				(int	ifOp,
+				 int	src0,
+				 int	src1,
+				 int	targetPc
+				)
+  {
+    emitLocal(LLOAD,localOf(src0));
+    emitLocal(LLOAD,localOf(src1));
+    emit1(LCMP);
+    emitBranch(ifOp,targetPc);
+  }
+
+  //  PURPOSE:  To emit a branch to the code of VM pc 'targetPc' taken when
+  //	'reals[src0] <cond> reals[src1]'.  'cmpOp' is chosen so that a NaN
+  //	operand makes 'ifOp' fall through.  No return value.
+  protected
+  void		emitRealCompareBranch
+				(int	cmpOp,
+				 int	ifOp,
+				 int	src0,
+				 int	src1,
+				 int	targetPc
+				)
+  {
+    emitLocal(DLOAD,localOf(src0));
+    emitLocal(DLOAD,localOf(src1));
+    emit1(cmpOp);
+    emitBranch(ifOp,targetPc);
+  }
+
+  //  PURPOSE:  To emit code that replaces the int on top of the stack with
+  //	1 if 'ifOp' would branch on it and 0 otherwise.  No return value.
+  protected
+  void		emitBooleanOf	(int	ifOp)
+  {
+    emit1(ifOp);
+    emit2(7);
+    emit1(ICONST_0);
+    emit1(GOTO);
+    emit2(4);
+    emit1(ICONST_1);
+  }
+
+  //  PURPOSE:  To emit branch 'branchOp' to the code of VM pc 'targetPc'.
+  //	No return value.
+  protected
+  void		emitBranch	(int	branchOp,
+				 int	targetPc
+				)
+  {
+    if  ((targetPc < firstPc_)  ||  (targetPc > lastPc_))
+    {
+      exitPcSet_.add(targetPc);
+    }
+
+    if  (!useWideBranches_)
+    {
+      fixupList_.add(new int[] { length_, targetPc });
+      emit1(branchOp);
+      emit2(0);
+    }
+    else
+    if  (branchOp == GOTO)
+    {
+      fixupList_.add(new int[] { length_, targetPc });
+      emit1(GOTO_W);
+      emit4(0);
+    }
+    else
+    {
+      //  Branch over a 'goto_w' on the opposite condition:
+      emit1(((branchOp - IFEQ) ^ 1) + IFEQ);
+      emit2(3 + 5);
+      fixupList_.add(new int[] { length_, targetPc });
+      emit1(GOTO_W);
+      emit4(0);
+    }
+  }
+
+  //  PURPOSE:  To emit the way out of a region that resumes the
+  //	VirtualMachine at pc 'exitPc'.  No return value.
+  protected
+  void		emitExit	(int	exitPc)
+  {
+    emitSlotTransfer(false);
+    emitIntConst(exitPc);
+    emit1(IRETURN);
+  }
+
+  //  PURPOSE:  To emit load or store 'op' of JVM local 'local'.  No return
+  //	value.
+  protected
+  void		emitLocal	(int	op,
+				 int	local
+				)
+  {
+    if  (local <= 255)
+    {
+      emit1(op);
+      emit1(local);
+    }
+    else
+    {
+      emit1(WIDE);
+      emit1(op);
+      emit2(local);
+    }
+  }
+
+  //  PURPOSE:  To emit code that pushes int 'value'.  No return value.
+  protected
+  void		emitIntConst	(int	value)
+  {
+    if  ((value >= -1)  &&  (value <= 5))
+    {
+      emit1(ICONST_0 + value);
+    }
+    else
+    if  ((value >= Byte.MIN_VALUE)  &&  (value <= Byte.MAX_VALUE))
+    {
+      emit1(BIPUSH);
+      emit1(value);
+    }
+    else
+    if  ((value >= Short.MIN_VALUE)  &&  (value <= Short.MAX_VALUE))
+    {
+      emit1(SIPUSH);
+      emit2(value);
+    }
+    else
+    {
+      emit1(LDC_W);
+      emit2(writer_.intConst(value));
+    }
+  }
+
+  //  PURPOSE:  To emit code pushing the long 'value'.  No return value.
+  protected
+  void		emitLongConst	(long	value)
+  {
+    if  ((value == 0)  ||  (value == 1))
+    {
+      emit1(LCONST_0 + (int)value);
+    }
+    else
+    {
+      emit1(LDC2_W);
+      emit2(writer_.longConst(value));
+    }
+  }
+
+  //  PURPOSE:  To return the JVM local that holds frame slot 'slot' while
+  //	the method runs.
+  protected
+  int		localOf		(int	slot)
+  {
+    return(localOfSlot_[slot]);
+  }
+
+  //  PURPOSE:  To append 1, 2 or 4 bytes of 'value' to 'code_'.  No return
+  //	value.
+  protected
+  void		emit1		(int	value)
+  {
+    if  (length_ == code_.length)
+    {
+      code_	= Arrays.copyOf(code_,2 * code_.length);
+    }
+
+    code_[length_++]	= (byte)value;
+  }
+
+  protected
+  void		emit2		(int	value)
+  {
+    emit1(value >> 8);
+    emit1(value);
+  }
+
+  protected
+  void		emit4		(int	value)
+  {
+    emit2(value >> 16);
+    emit2(value);
+  }
+
+  //  PURPOSE:  To overwrite the 2 or 4 bytes at 'at' with 'value'.  No
+  //	return value.
+  protected
+  void		patch2		(int	at,
+				 int	value
+				)
+  {
+    code_[at]		= (byte)(value >> 8);
+    code_[at + 1]	= (byte)value;
+  }
+
+  protected
+  void		patch4		(int	at,
+				 int	value
+				)
+  {
+    patch2(at,value >> 16);
+    patch2(at + 2,value);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the deepest operand stack any emitted sequence
+  //	needs: two longs and a shift count, when dividing by a constant.
+  protected static final
+  int				MAX_STACK	= 5;
+
+  //  PURPOSE:  To hold the program being translated.
+  protected final
+  VmProgram			program_;
+
+  //  PURPOSE:  To hold the class file being built.
+  protected final
+  ClassFileWriter		writer_;
+
+  //  PURPOSE:  To hold the JVM local of each frame slot: two words for an
+  //	integer or real, one for a boolean or string index.  And to hold the
+  //	number of JVM locals used.
+  protected
+  int[]				localOfSlot_;
+
+  protected
+  int				maxLocals_;
+
+  //  PURPOSE:  To hold the bytecode emitted so far and its length.
+  protected
+  byte[]			code_		= new byte[1024];
+
+  protected
+  int				length_;
+
+  //  PURPOSE:  To hold the bytecode offset of the code of each VM pc.
+  protected
+  int[]				offsetOfPc_;
+
+  //  PURPOSE:  To hold, for each branch to patch, the offset of its
+  //	instruction and the VM pc it goes to.
+  protected
+  List<int[]>			fixupList_	= new ArrayList<>();
+
+  //  PURPOSE:  To hold 'true' if branches must be emitted in their wide
+  //	form, because the method is too long for short offsets.
+  protected
+  boolean			useWideBranches_;
+
+  //  PURPOSE:  To hold 'true' if only the pcs from 'firstPc_' to 'lastPc_'
+  //	are translated, as a region that returns where it was left, or
+  //	'false' if the whole program is.
+  protected
+  boolean			isRegion_	= false;
+
+  protected
+  int				firstPc_	= 0;
+
+  protected
+  int				lastPc_;
+
+  //  PURPOSE:  To hold the pcs outside the region that it branches to.
+  protected
+  SortedSet<Integer>		exitPcSet_	= new TreeSet<>();
+
+}
+
+
+class BytecodeProgram
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to run 'newHandle', the compiled form of
+  //	'newProgram', whose class file was 'newClassLength' bytes long.  No
+  //	return value.
+  public
+  BytecodeProgram	(VmProgram	newProgram,
+			 MethodHandle	newHandle,
+			 int		newClassLength
+			)
+  {
+    program_		= newProgram;
+    handle_		= newHandle;
+    classLength_	= newClassLength;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the number of bytes of the generated class file.
+  public
+  int		getClassLength	()
+  {
+    return(classLength_);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To run the compiled program from its start with freshly
+  //	initialized variables, writing to 'out'.  Throws ArithmeticException
+  //	on integer division by zero.  No return value.
+  public
+  void		run		(PrintStream	out)
+  {
+    long[]	frame	= program_.newFrame();
+
+    try
+    {
+      handle_.invokeExact(frame,program_.getStringTable(),out);
+    }
+    catch  (RuntimeException | Error error)
+    {
+      throw error;
+    }
+    catch  (Throwable error)
+    {
+      throw new IllegalStateException(error);
+    }
+    finally
+    {
+      out.flush();
+    }
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the program that was compiled.
+  protected final
+  VmProgram			program_;
+
+  //  PURPOSE:  To hold the static method of the hidden class.
+  protected final
+  MethodHandle			handle_;
+
+  //  PURPOSE:  To hold the number of bytes of the generated class file.
+  protected final
+  int				classLength_;
+
+}
+
+
+class BytecodeRegion
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to run 'newHandle', the compiled form of
+  //	the pcs from 'newFirstPc' to 'newLastPc'.  No return value.
+  public
+  BytecodeRegion	(int		newFirstPc,
+			 int		newLastPc,
+			 MethodHandle	newHandle
+			)
+  {
+    firstPc_	= newFirstPc;
+    lastPc_	= newLastPc;
+    handle_	= newHandle;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the first and last pcs compiled.
+  public
+  int		getFirstPc	()
+  {
+    return(firstPc_);
+  }
+
+  public
+  int		getLastPc	()
+  {
+    return(lastPc_);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To run the region from its first pc on the variables held
+  //	in 'frame', which it updates, with string slots indexing 'strings',
+  //	writing to 'out'.  Returns the pc at which the VirtualMachine should resume.
+  //	Throws ArithmeticException on integer division by zero.
+  public
+  int		run		(long[]		frame,
+				 String[]	strings,
+				 PrintStream	out
+				)
+  {
+    try
+    {
+      return((int)handle_.invokeExact(frame,strings,out));
+    }
+    catch  (RuntimeException | Error error)
+    {
+      throw error;
+    }
+    catch  (Throwable error)
+    {
+      throw new IllegalStateException(error);
+    }
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the first and last pcs compiled.
+  protected final
+  int				firstPc_;
+
+  protected final
+  int				lastPc_;
+
+  //  PURPOSE:  To hold the static method of the hidden class.
+  protected final
+  MethodHandle			handle_;
+
+}
@@ -0,0 +1,343 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        ClassFileWriter.java                                       ---*
+ *---                                                                   ---*
+ *---        This file declares a class that assembles the bytes of a   ---*
+ *---    JVM class file holding static methods only.                    ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+class ClassFileWriter
+{
+  // 0. Constants:
+  //  PURPOSE:  To tell the class file version written.  Version 49 class
+  //	files are verified by type inference, so no StackMapTable attributes
+  //	have to be computed.
+  public static final
+  int		MAJOR_VERSION		= 49;
+
+  //  PURPOSE:  To hold the access flags used by the class and its methods.
+  public static final
+  int		ACC_PUBLIC		= 0x0001;
+
+  public static final
+  int		ACC_STATIC		= 0x0008;
+
+  public static final
+  int		ACC_FINAL		= 0x0010;
+
+  public static final
+  int		ACC_SUPER		= 0x0020;
+
+  //  PURPOSE:  To hold the largest number of bytes one method may hold.
+  public static final
+  int		MAX_CODE_LENGTH		= 65535;
+
+  //  PURPOSE:  To hold the constant pool tags that are written.
+  protected static final int	CONSTANT_UTF8		= 1;
+  protected static final int	CONSTANT_INTEGER	= 3;
+  protected static final int	CONSTANT_LONG		= 5;
+  protected static final int	CONSTANT_DOUBLE		= 6;
+  protected static final int	CONSTANT_CLASS		= 7;
+  protected static final int	CONSTANT_STRING		= 8;
+  protected static final int	CONSTANT_FIELDREF	= 9;
+  protected static final int	CONSTANT_METHODREF	= 10;
+  protected static final int	CONSTANT_NAME_AND_TYPE	= 12;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to write a final class named
+  //	'newClassName' that extends java.lang.Object.  No return value.
+  public
+  ClassFileWriter	(String	newClassName)
+  {
+    thisClassIndex_	= classRef(newClassName);
+    superClassIndex_	= classRef("java/lang/Object");
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+  //  PURPOSE:  To return the constant pool index of the Utf8 entry for
+  //	'text', adding it if needed.
+  public
+  int		utf8		(String	text)
+  {
+    return(intern("U" + text,CONSTANT_UTF8,text,0,0,1));
+  }
+
+  //  PURPOSE:  To return the constant pool index of the Class entry for
+  //	internal name 'name', adding it if needed.
+  public
+  int		classRef	(String	name)
+  {
+    return(intern("C" + name,CONSTANT_CLASS,null,utf8(name),0,1));
+  }
+
+  //  PURPOSE:  To return the constant pool index of the String entry for
+  //	'text', adding it if needed.
+  public
+  int		stringConst	(String	text)
+  {
+    return(intern("S" + text,CONSTANT_STRING,null,utf8(text),0,1));
+  }
+
+  //  PURPOSE:  To return the constant pool index of the Integer entry for
+  //	'value', adding it if needed.
+  public
+  int		intConst	(int	value)
+  {
+    return(intern("I" + value,CONSTANT_INTEGER,value,0,0,1));
+  }
+
+  //  PURPOSE:  To return the constant pool index of the Long entry for
+  //	'value', adding it if needed.
+  public
+  int		longConst	(long	value)
+  {
+    return(intern("J" + value,CONSTANT_LONG,value,0,0,2));
+  }
+
+  //  PURPOSE:  To return the constant pool index of the Double entry for
+  //	'value', adding it if needed.
+  public
+  int		doubleConst	(double	value)
+  {
+    long	bits	= Double.doubleToRawLongBits(value);
+
+    return(intern("D" + bits,CONSTANT_DOUBLE,bits,0,0,2));
+  }
+
+  //  PURPOSE:  To return the constant pool index of the Fieldref entry for
+  //	field 'name' of type 'descriptor' in class 'owner'.
+  public
+  int		fieldRef	(String	owner,
+				 String	name,
+				 String	descriptor
+				)
+  {
+    return(intern("F" + owner + "." + name + ":" + descriptor,
+		  CONSTANT_FIELDREF,
+		  null,
+		  classRef(owner),
+		  nameAndType(name,descriptor),
+		  1
+		 )
+	  );
+  }
+
+  //  PURPOSE:  To return the constant pool index of the Methodref entry for
+  //	method 'name' of type 'descriptor' in class 'owner'.
+  public
+  int		methodRef	(String	owner,
+				 String	name,
+				 String	descriptor
+				)
+  {
+    return(intern("M" + owner + "." + name + descriptor,
+		  CONSTANT_METHODREF,
+		  null,
+		  classRef(owner),
+		  nameAndType(name,descriptor),
+		  1
+		 )
+	  );
+  }
+
+  //  PURPOSE:  To add a method named 'name' of type 'descriptor' whose
+  //	bytecode is 'code[0..codeLength-1]'.  Throws
+  //	UnsupportedOperationException if the code is too long for one
+  //	method.  No return value.
+  public
+  void		addMethod	(int	accessFlags,
+				 String	name,
+				 String	descriptor,
+				 int	maxStack,
+				 int	maxLocals,
+				 byte[]	code,
+				 int	codeLength
+				)
+  {
+    if  (codeLength > MAX_CODE_LENGTH)
+    {
+      throw new UnsupportedOperationException
+		("Method " + name + " needs " + codeLength + " bytes of code");
+    }
+
+    try
+    {
+      methodCount_++;
+      methods_.writeShort(accessFlags);
+      methods_.writeShort(utf8(name));
+      methods_.writeShort(utf8(descriptor));
+      methods_.writeShort(1);
+      methods_.writeShort(utf8("Code"));
+      methods_.writeInt(12 + codeLength);
+      methods_.writeShort(maxStack);
+      methods_.writeShort(maxLocals);
+      methods_.writeInt(codeLength);
+      methods_.write(code,0,codeLength);
+      methods_.writeShort(0);		// exception table
+      methods_.writeShort(0);		// attributes
+    }
+    catch  (IOException error)
+    {
+      throw new UncheckedIOException(error);
+    }
+  }
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the constant pool index of the NameAndType entry
+  //	for 'name' and 'descriptor'.
+  protected
+  int		nameAndType	(String	name,
+				 String	descriptor
+				)
+  {
+    return(intern("N" + name + ":" + descriptor,
+		  CONSTANT_NAME_AND_TYPE,
+		  null,
+		  utf8(name),
+		  utf8(descriptor),
+		  1
+		 )
+	  );
+  }
+
+  //  PURPOSE:  To return the index of the constant pool entry known by
+  //	'key', first appending it with tag 'tag' if it is new.  'value' holds
+  //	the payload of Utf8, Integer, Long and Double entries, 'ref0' and
+  //	'ref1' the indices other entries refer to.  'width' is the number of
+  //	pool slots the entry takes.
+  protected
+  int		intern		(String	key,
+				 int	tag,
+				 Object	value,
+				 int	ref0,
+				 int	ref1,
+				 int	width
+				)
+  {
+    Integer	index	= indexOfKey_.get(key);
+
+    if  (index != null)
+    {
+      return(index);
+    }
+
+    try
+    {
+      pool_.writeByte(tag);
+
+      switch  (tag)
+      {
+      case CONSTANT_UTF8 :
+	pool_.writeUTF((String)value);
+	break;
+      case CONSTANT_INTEGER :
+	pool_.writeInt((Integer)value);
+	break;
+      case CONSTANT_LONG :
+      case CONSTANT_DOUBLE :
+	pool_.writeLong((Long)value);
+	break;
+      case CONSTANT_CLASS :
+      case CONSTANT_STRING :
+	pool_.writeShort(ref0);
+	break;
+      default :
+	pool_.writeShort(ref0);
+	pool_.writeShort(ref1);
+	break;
+      }
+    }
+    catch  (IOException error)
+    {
+      throw new UncheckedIOException(error);
+    }
+
+    index		 = nextPoolIndex_;
+    nextPoolIndex_	+= width;
+    indexOfKey_.put(key,index);
+    return(index);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return the bytes of the class file.  No parameters.
+  public
+  byte[]	toByteArray	()
+  {
+    ByteArrayOutputStream	bytes	= new ByteArrayOutputStream();
+    DataOutputStream		file	= new DataOutputStream(bytes);
+
+    try
+    {
+      file.writeInt(0xCAFEBABE);
+      file.writeShort(0);
+      file.writeShort(MAJOR_VERSION);
+      file.writeShort(nextPoolIndex_);
+      file.write(poolBytes_.toByteArray());
+      file.writeShort(ACC_FINAL | ACC_SUPER);
+      file.writeShort(thisClassIndex_);
+      file.writeShort(superClassIndex_);
+      file.writeShort(0);		// interfaces
+      file.writeShort(0);		// fields
+      file.writeShort(methodCount_);
+      file.write(methodBytes_.toByteArray());
+      file.writeShort(0);		// attributes
+    }
+    catch  (IOException error)
+    {
+      throw new UncheckedIOException(error);
+    }
+
+    return(bytes.toByteArray());
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the bytes of the constant pool entries.
+  protected
+  ByteArrayOutputStream		poolBytes_	= new ByteArrayOutputStream();
+
+  protected
+  DataOutputStream		pool_		= new DataOutputStream(poolBytes_);
+
+  //  PURPOSE:  To map a key describing each constant pool entry to its
+  //	index.
+  protected
+  Map<String,Integer>		indexOfKey_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the index the next constant pool entry will get.
+  protected
+  int				nextPoolIndex_	= 1;
+
+  //  PURPOSE:  To hold the bytes of the method_info structures.
+  protected
+  ByteArrayOutputStream		methodBytes_	= new ByteArrayOutputStream();
+
+  protected
+  DataOutputStream		methods_	= new DataOutputStream(methodBytes_);
+
+  //  PURPOSE:  To hold the number of methods added.
+  protected
+  int				methodCount_;
+
+  //  PURPOSE:  To hold the constant pool indices of this class and of its
+  //	super class.
+  protected
+  int				thisClassIndex_;
+
+  protected
+  int				superClassIndex_;
+
+}
@@ -0,0 +1,78 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        CompileReport.java                                         ---*
+ *---                                                                   ---*
+ *---        This file declares a class that collects what the compiler ---*
+ *---    and its optimization passes did to a program.                  ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompileReport
+{
+  //  I.  Constructor:
+
+  //  II.  Accessor(s):
+  //  PURPOSE:  To return the reference to the singleton instance.
+  public static
+  CompileReport	get		()
+  {
+    return singleton_static;
+  }
+
+  //  III.  Mutator(s):
+  //  PURPOSE:  To record that the stage named 'stageName' did what
+  //	'message' says.  No return value.
+  public
+  void		record		(String		stageName,
+				 String		message
+				)
+  {
+    lineList_.add(stageName + ": " + message);
+  }
+
+  //  PURPOSE:  To forget everything recorded so far.  No parameters.  No
+  //	return value.
+  public
+  void		reset		()
+  {
+    lineList_.clear();
+  }
+
+  //  IV.  Methods that do the main and misc. work of class:
+  //  PURPOSE:  To print every recorded line to 'file'.  No return value.
+  public
+  void		print		(PrintStream	file
+				)
+  {
+    for  (String line : lineList_)
+    {
+      file.println(line);
+    }
+  }
+
+  //  V.  Member vars:
+  //  PURPOSE:  To hold the recorded lines in the order they were recorded.
+  private
+  List<String>			lineList_;
+
+  //  PURPOSE: To hold the singleton instance of this class.
+  private static
+  CompileReport			singleton_static	= new CompileReport();
+
+  //  PURPOSE: To initialize 'this' to be empty. No parameters.
+  //	No return value.
+  private
+  CompileReport			()
+  {
+    this.lineList_	= new ArrayList<>();
+  }
+
+}
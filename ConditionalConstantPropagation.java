@@ -0,0 +1,938 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        ConditionalConstantPropagation.java                        ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds the values that are  ---*
+ *---    constant on every path that can run, and the branches that     ---*
+ *---    always go the same way, and rewrites the code to match.        ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ConditionalConstantPropagation
+{
+  //  0. Constants:
+  //  PURPOSE:  To tell what is known of an SSA name: nothing yet, because
+  //	nothing that can run has written it; one constant value; or that
+  //	it may take more than one value.
+  protected static final
+  int		UNDEFINED	= 0;
+
+  protected static final
+  int		CONSTANT	= 1;
+
+  protected static final
+  int		VARYING		= 2;
+
+  //  PURPOSE:  To tell which ways a branch may go: neither yet, only to
+  //	its target, only on to the next instruction, or both.
+  protected static final
+  int		GOES_NOWHERE	= 0;
+
+  protected static final
+  int		GOES_TO_TARGET	= 1;
+
+  protected static final
+  int		GOES_ON		= 2;
+
+  protected static final
+  int		GOES_BOTH	= GOES_TO_TARGET | GOES_ON;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to propagate the constants of
+  //	'newCfg', taking constant variables from 'newStore'.  No return
+  //	value.
+  protected
+  ConditionalConstantPropagation
+		(ControlFlowGraph	newCfg,
+		 VarStore		newStore
+		)
+  {
+    Dominators	dominators	= new Dominators(newCfg);
+    int		numNames;
+
+    cfg_		= newCfg;
+    store_		= newStore;
+    ssa_		= new SsaForm(newCfg,dominators);
+    editor_		= new LoopEditor(newCfg);
+    numNames		= ssa_.getNumNames();
+    stateOfName_	= new int[numNames];
+    valueOfName_	= new Value[numNames];
+    isVisitedArray_	= new boolean[newCfg.getNumBlocks()];
+    userListArray_	= new ArrayList<>
+				(Collections.nCopies(numNames,
+						     Collections.emptyList()
+						    )
+				);
+    phiBlockListArray_	= new ArrayList<>
+				(Collections.nCopies(numNames,
+						     Collections.emptyList()
+						    )
+				);
+    findUsers();
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'value0' and 'value1' are the same
+  //	constant, or 'false' otherwise.
+  protected static
+  boolean	isSameValue	(Value	value0,
+				 Value	value1
+				)
+  {
+    if  (value0.getType() != value1.getType())
+    {
+      return(false);
+    }
+
+    switch  (value0.getType())
+    {
+    case INTEGER :
+      return(value0.getInteger() == value1.getInteger());
+    case REAL :
+      return(Double.doubleToRawLongBits(value0.getReal())
+	     == Double.doubleToRawLongBits(value1.getReal())
+	    );
+    case BOOLEAN :
+      return(value0.getBoolean() == value1.getBoolean());
+    }
+
+    return(value0.getString().equals(value1.getString()));
+  }
+
+  //  PURPOSE:  To return whether 'value0' and 'value1' compare equal with
+  //	'=', which the front end also writes as a real comparison for
+  //	booleans and strings.
+  protected static
+  boolean	isEqual		(Value	value0,
+				 Value	value1
+				)
+  {
+    switch  (value0.getType())
+    {
+    case BOOLEAN :
+      return(value0.getBoolean() == value1.getBoolean());
+    case STRING :
+      return(value0.getString().equals(value1.getString()));
+    }
+
+    return(value0.getReal() == value1.getReal());
+  }
+
+  //  PURPOSE:  To return 'true' if 'value' is an integer or a real, or
+  //	'false' otherwise.
+  protected static
+  boolean	isNumeric	(Value	value
+				)
+  {
+    return((value != null)  &&
+	   ((value.getType() == Type.INTEGER)  ||
+	    (value.getType() == Type.REAL)
+	   )
+	  );
+  }
+
+  //  PURPOSE:  To return how 'value0' orders against 'value1', negative,
+  //	zero or positive, when both are booleans, with 'false' before
+  //	'true', or both are strings, in lexicographic order, or 'null' when
+  //	they are not.
+  protected static
+  Integer	orderOf		(Value	value0,
+				 Value	value1
+				)
+  {
+    if  ((value0 == null)  ||  (value1 == null)  ||
+	 (value0.getType() != value1.getType())
+	)
+    {
+      return(null);
+    }
+
+    switch  (value0.getType())
+    {
+    case BOOLEAN :
+      return(Boolean.compare(value0.getBoolean(),value1.getBoolean()));
+    case STRING :
+      return(value0.getString().compareTo(value1.getString()));
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To return whether comparison 'op', either the kind that
+  //	writes a boolean or the kind that jumps, holds for 'value0' and
+  //	'value1', or 'null' if 'op' is not a comparison or its operands do
+  //	not order.  The front end writes '<', '<=', '>' and '>=' on booleans
+  //	and strings as real comparisons too.
+  protected static
+  Boolean	compare		(VmOperation	op,
+				 Value		value0,
+				 Value		value1
+				)
+  {
+    if  (!isNumeric(value0)  ||  !isNumeric(value1))
+    {
+      Integer	order	= orderOf(value0,value1);
+
+      switch  (op)
+      {
+      case REAL_LESSER_VM_OP :
+      case REAL_LESSER_GOTO_VM_OP :
+	return((order == null) ? null : (order < 0));
+      case REAL_LESSER_EQUAL_VM_OP :
+      case REAL_LESSER_EQUAL_GOTO_VM_OP :
+	return((order == null) ? null : (order <= 0));
+      case REAL_GREATER_VM_OP :
+      case REAL_GREATER_GOTO_VM_OP :
+	return((order == null) ? null : (order > 0));
+      case REAL_GREATER_EQUAL_VM_OP :
+      case REAL_GREATER_EQUAL_GOTO_VM_OP :
+	return((order == null) ? null : (order >= 0));
+      }
+    }
+
+    switch  (op)
+    {
+    case INT_EQUAL_VM_OP :
+    case INT_EQUAL_GOTO_VM_OP :
+      return(value0.getInteger() == value1.getInteger());
+    case INT_NOT_EQUAL_VM_OP :
+    case INT_NOT_EQUAL_GOTO_VM_OP :
+      return(value0.getInteger() != value1.getInteger());
+    case INT_LESSER_VM_OP :
+    case INT_LESSER_GOTO_VM_OP :
+      return(value0.getInteger() < value1.getInteger());
+    case INT_LESSER_EQUAL_VM_OP :
+    case INT_LESSER_EQUAL_GOTO_VM_OP :
+      return(value0.getInteger() <= value1.getInteger());
+    case INT_GREATER_VM_OP :
+    case INT_GREATER_GOTO_VM_OP :
+      return(value0.getInteger() > value1.getInteger());
+    case INT_GREATER_EQUAL_VM_OP :
+    case INT_GREATER_EQUAL_GOTO_VM_OP :
+      return(value0.getInteger() >= value1.getInteger());
+    case REAL_EQUAL_VM_OP :
+    case REAL_EQUAL_GOTO_VM_OP :
+      return(isEqual(value0,value1));
+    case REAL_NOT_EQUAL_VM_OP :
+    case REAL_NOT_EQUAL_GOTO_VM_OP :
+      return(!isEqual(value0,value1));
+    case REAL_LESSER_VM_OP :
+    case REAL_LESSER_GOTO_VM_OP :
+      return(value0.getReal() < value1.getReal());
+    case REAL_LESSER_EQUAL_VM_OP :
+    case REAL_LESSER_EQUAL_GOTO_VM_OP :
+      return(value0.getReal() <= value1.getReal());
+    case REAL_GREATER_VM_OP :
+    case REAL_GREATER_GOTO_VM_OP :
+      return(value0.getReal() > value1.getReal());
+    case REAL_GREATER_EQUAL_VM_OP :
+    case REAL_GREATER_EQUAL_GOTO_VM_OP :
+      return(value0.getReal() >= value1.getReal());
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To return the value three-variable operation 'op' computes
+  //	from 'value0' and 'value1', or 'null' if it cannot be computed now.
+  //	A division by zero is left for run time, where it fails.
+  protected static
+  Value		fold		(VmOperation	op,
+				 Value		value0,
+				 Value		value1
+				)
+  {
+    Boolean	comparison	= compare(op,value0,value1);
+
+    if  (comparison != null)
+    {
+      return(new BooleanValue(comparison));
+    }
+
+    switch  (op)
+    {
+    case INT_ADD_VM_OP :
+      return(new IntegerValue(value0.getInteger() + value1.getInteger()));
+    case INT_SUB_VM_OP :
+      return(new IntegerValue(value0.getInteger() - value1.getInteger()));
+    case INT_MUL_VM_OP :
+      return(new IntegerValue(value0.getInteger() * value1.getInteger()));
+    case INT_DIV_VM_OP :
+      return((value1.getInteger() == 0)
+	     ? null
+	     : new IntegerValue(value0.getInteger() / value1.getInteger())
+	    );
+    case MOD_VM_OP :
+      return((value1.getInteger() == 0)
+	     ? null
+	     : new IntegerValue(value0.getInteger() % value1.getInteger())
+	    );
+    case REAL_ADD_VM_OP :
+      return(new RealValue(value0.getReal() + value1.getReal()));
+    case REAL_SUB_VM_OP :
+      return(new RealValue(value0.getReal() - value1.getReal()));
+    case REAL_MUL_VM_OP :
+      return(new RealValue(value0.getReal() * value1.getReal()));
+    case REAL_DIV_VM_OP :
+      return(new RealValue(value0.getReal() / value1.getReal()));
+    case LOGIC_AND_VM_OP :
+      return(new BooleanValue(value0.getBoolean() & value1.getBoolean()));
+    case LOGIC_OR_VM_OP :
+      return(new BooleanValue(value0.getBoolean() | value1.getBoolean()));
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To note, for each SSA name, the instructions and the blocks
+  //	with phis that read it.  No parameters.  No return value.
+  protected
+  void		findUsers	()
+  {
+    List<Variable>	useList	= new ArrayList<>();
+
+    for  (BasicBlock block : cfg_.getReversePostorder())
+    {
+      for  (SsaForm.Phi phi : ssa_.getPhiList(block))
+      {
+	isPhiName_.add(phi.getName());
+
+	for  (int i = 0;  i < phi.getNumOperands();  i++)
+	{
+	  if  (phi.getOperandName(i) != SsaForm.NO_NAME)
+	  {
+	    addUser(phiBlockListArray_,phi.getOperandName(i),block.getIndex());
+	  }
+	}
+      }
+
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	useList.clear();
+	cfg_.getInstruct(i).addUsedVars(useList);
+
+	for  (Variable var : useList)
+	{
+	  addUser(userListArray_,ssa_.getUseName(i,var),i);
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To add 'user' to the list of 'name' in 'listArray'.  No
+  //	return value.
+  protected static
+  void		addUser		(List<List<Integer>>	listArray,
+				 int			name,
+				 int			user
+				)
+  {
+    if  (listArray.get(name).isEmpty())
+    {
+      listArray.set(name,new ArrayList<>(2));
+    }
+
+    listArray.get(name).add(user);
+  }
+
+  //  PURPOSE:  To return what is known of SSA name 'name'.  A value on
+  //	entry is constant only for a constant variable: temporaries may
+  //	share a slot, so their initial values mean nothing.
+  protected
+  int		stateOf		(int	name)
+  {
+    if  ((ssa_.getDefPosition(name) < 0)  &&  !isPhiName_.contains(name))
+    {
+      return(ssa_.getVariable(name).isConstant() ? CONSTANT : VARYING);
+    }
+
+    return(stateOfName_[name]);
+  }
+
+  //  PURPOSE:  To return the constant value of SSA name 'name', whose
+  //	state is 'CONSTANT'.
+  protected
+  Value		valueOf		(int	name)
+  {
+    return((ssa_.getDefPosition(name) < 0)  &&  !isPhiName_.contains(name)
+	   ? ssa_.getVariable(name).getValue()
+	   : valueOfName_[name]
+	  );
+  }
+
+  //  PURPOSE:  To lower what is known of SSA name 'name' to 'state' and
+  //	'value', queueing its readers if that tells them something new.
+  //	No return value.
+  protected
+  void		lower		(int	name,
+				 int	state,
+				 Value	value
+				)
+  {
+    if  ((state == CONSTANT)  &&  (stateOfName_[name] == CONSTANT)  &&
+	 !isSameValue(value,valueOfName_[name])
+	)
+    {
+      state	= VARYING;
+    }
+
+    if  (state <= stateOfName_[name])
+    {
+      return;
+    }
+
+    stateOfName_[name]	= state;
+    valueOfName_[name]	= (state == CONSTANT) ? value : null;
+    nameWorkList_.add(name);
+  }
+
+  //  PURPOSE:  To lower the name the instruction at 'position' writes to
+  //	what its operands now say.  No return value.
+  protected
+  void		evaluateInstruct(int	position)
+  {
+    PotentialInstruction	instruct	= cfg_.getInstruct(position);
+    Variable			def		= instruct.getDefinedVar();
+    int				defName		= ssa_.getDefName(position);
+    List<Variable>		operandList	= new ArrayList<>(3);
+    VmOperation			op		= instruct.getOp();
+    int				state		= CONSTANT;
+    Value			value		= null;
+
+    if  (def == null)
+    {
+      return;
+    }
+
+    //  The operands in the order the operation takes them:
+    if  (instruct instanceof VarVarVarPotentialInstruction)
+    {
+      operandList.add(((VarVarVarPotentialInstruction)instruct).getSrc0());
+      operandList.add(((VarVarVarPotentialInstruction)instruct).getSrc1());
+    }
+    else
+    if  (instruct instanceof VarVarPotentialInstruction)
+    {
+      if  (Peephole.threeVarOpOf(op) != null)
+      {
+	operandList.add(def);
+	op	= Peephole.threeVarOpOf(op);
+      }
+
+      operandList.add(((VarVarPotentialInstruction)instruct).getSrc0());
+    }
+    else
+    if  (instruct instanceof VarVarAddrPotentialInstruction)
+    {
+      operandList.add(((VarVarAddrPotentialInstruction)instruct).getSrc0());
+    }
+
+    for  (Variable var : operandList)
+    {
+      state	= Math.max(state,stateOf(ssa_.getUseName(position,var)));
+    }
+
+    if  (state == CONSTANT)
+    {
+      Value	value0	= operandList.isEmpty()
+			  ? null
+			  : valueOf(ssa_.getUseName(position,operandList.get(0)));
+      Value	value1	= (operandList.size() < 2)
+			  ? null
+			  : valueOf(ssa_.getUseName(position,operandList.get(1)));
+
+      switch  (op)
+      {
+      case BOOL_CLEAR_VM_OP :	value	= new BooleanValue(false);	break;
+      case INT_CLEAR_VM_OP :	value	= new IntegerValue(0);		break;
+      case REAL_CLEAR_VM_OP :	value	= new RealValue(0.0);		break;
+
+      case INT_COPY_VM_OP :
+      case REAL_COPY_VM_OP :
+      case IDEA_COPY_VM_OP :
+	value	= value0;
+	break;
+
+      case INT_TO_REAL_VM_OP :
+	value	= new RealValue(value0.getInteger());
+	break;
+
+      case INT_INC_LESSER_EQUAL_GOTO_VM_OP :
+	value	= new IntegerValue(value0.getInteger() + 1);
+	break;
+
+      case INT_DEC_GREATER_GOTO_VM_OP :
+	value	= new IntegerValue(value0.getInteger() - 1);
+	break;
+
+      default :
+	value	= (value1 == null) ? null : fold(op,value0,value1);
+      }
+
+      if  ((value == null)  ||  (value.getType() != def.getType()))
+      {
+	state	= VARYING;
+      }
+    }
+
+    lower(defName,state,value);
+  }
+
+  //  PURPOSE:  To lower the name phi 'phi' of 'block' gives to the meet
+  //	of its operands on the edges that can run.  No return value.
+  protected
+  void		evaluatePhi	(BasicBlock	block,
+				 SsaForm.Phi	phi
+				)
+  {
+    List<BasicBlock>	predList	= block.getPredList();
+
+    for  (int i = 0;  i < phi.getNumOperands();  i++)
+    {
+      int	name	= phi.getOperandName(i);
+
+      //  The last operand of a phi at the entry is the value on entry:
+      if  ((name == SsaForm.NO_NAME)  ||
+	   ((i < predList.size())  &&
+	    !isExecutable(predList.get(i),block)
+	   )
+	  )
+      {
+	continue;
+      }
+
+      lower(phi.getName(),
+	    stateOf(name),
+	    (stateOf(name) == CONSTANT) ? valueOf(name) : null
+	   );
+    }
+  }
+
+  //  PURPOSE:  To return which ways the branch ending 'block' may go, as
+  //	far as is known now.
+  protected
+  int		branchOutcome	(BasicBlock	block)
+  {
+    int				position	= block.getLast();
+    PotentialInstruction	instruct	= cfg_.getInstruct(position);
+    VmOperation			op		= instruct.getOp();
+    List<Variable>		operandList	= new ArrayList<>(2);
+    int				state		= CONSTANT;
+    Boolean			isTaken;
+
+    if  (instruct.getGotoAddressLabel() == PotentialInstruction.NO_ADDRESS_LABEL)
+    {
+      return(instruct.canFallThrough() ? GOES_ON : GOES_NOWHERE);
+    }
+
+    if  (op == VmOperation.GOTO_VM_OP)
+    {
+      return(GOES_TO_TARGET);
+    }
+
+    if  (instruct instanceof VarAddrPotentialInstruction)
+    {
+      operandList.add(((VarAddrPotentialInstruction)instruct).getVar());
+    }
+    else
+    {
+      operandList.add(((VarVarAddrPotentialInstruction)instruct).getSrc0());
+      operandList.add(((VarVarAddrPotentialInstruction)instruct).getSrc1());
+    }
+
+    for  (Variable var : operandList)
+    {
+      state	= Math.max(state,stateOf(ssa_.getUseName(position,var)));
+    }
+
+    if  (state != CONSTANT)
+    {
+      return((state == UNDEFINED) ? GOES_NOWHERE : GOES_BOTH);
+    }
+
+    Value	value0	= valueOf(ssa_.getUseName(position,operandList.get(0)));
+    Value	value1	= (operandList.size() < 2)
+			  ? null
+			  : valueOf(ssa_.getUseName(position,operandList.get(1)));
+
+    switch  (op)
+    {
+    case IF_FALSE_GOTO_VM_OP :
+      isTaken	= !value0.getBoolean();
+      break;
+
+    case IF_TRUE_GOTO_VM_OP :
+      isTaken	= value0.getBoolean();
+      break;
+
+    case INT_INC_LESSER_EQUAL_GOTO_VM_OP :
+      isTaken	= (value0.getInteger() + 1 <= value1.getInteger());
+      break;
+
+    case INT_DEC_GREATER_GOTO_VM_OP :
+      isTaken	= (value0.getInteger() - 1 > value1.getInteger());
+      break;
+
+    default :
+      isTaken	= compare(op,value0,value1);
+    }
+
+    if  (isTaken == null)
+    {
+      return(GOES_BOTH);
+    }
+
+    return(isTaken ? GOES_TO_TARGET : GOES_ON);
+  }
+
+  //  PURPOSE:  To return 'true' if control can go from 'pred' to 'succ',
+  //	as far as is known now, or 'false' otherwise.
+  protected
+  boolean	isExecutable	(BasicBlock	pred,
+				 BasicBlock	succ
+				)
+  {
+    return(executableEdgeSet_.contains((long)pred.getIndex()
+				       * cfg_.getNumBlocks()
+				       + succ.getIndex()
+				      )
+	  );
+  }
+
+  //  PURPOSE:  To mark the edges out of 'block' that its branch now may
+  //	take, and visit the blocks they lead to.  No return value.
+  protected
+  void		followBranch	(BasicBlock	block)
+  {
+    int		outcome	= branchOutcome(block);
+    long	target	= cfg_.getInstruct(block.getLast()).getGotoAddressLabel();
+
+    if  ((outcome & GOES_TO_TARGET) != 0)
+    {
+      addEdge(block,cfg_.getBlockOfLabel(target));
+    }
+
+    if  (((outcome & GOES_ON) != 0)  &&
+	 (block.getEnd() < cfg_.getNumInstructs())
+	)
+    {
+      addEdge(block,cfg_.getBlockOf(block.getEnd()));
+    }
+  }
+
+  //  PURPOSE:  To mark the edge from 'pred' to 'succ' as one that can run,
+  //	re-evaluating the phis of 'succ' and, the first time it is reached,
+  //	its instructions.  No return value.
+  protected
+  void		addEdge		(BasicBlock	pred,
+				 BasicBlock	succ
+				)
+  {
+    if  (executableEdgeSet_.add((long)pred.getIndex() * cfg_.getNumBlocks()
+				+ succ.getIndex()
+			       )
+	)
+    {
+      blockWorkList_.add(succ);
+    }
+  }
+
+  //  PURPOSE:  To evaluate 'block', reached by a new edge: its phis always,
+  //	and its instructions and branch the first time.  No return value.
+  protected
+  void		visitBlock	(BasicBlock	block)
+  {
+    for  (SsaForm.Phi phi : ssa_.getPhiList(block))
+    {
+      evaluatePhi(block,phi);
+    }
+
+    if  (isVisitedArray_[block.getIndex()])
+    {
+      return;
+    }
+
+    isVisitedArray_[block.getIndex()]	= true;
+
+    for  (int i = block.getFirst();  i < block.getEnd();  i++)
+    {
+      evaluateInstruct(i);
+    }
+
+    followBranch(block);
+  }
+
+  //  PURPOSE:  To run the two work lists until neither has anything left:
+  //	blocks newly reached, and names whose readers must be evaluated
+  //	again.  No parameters.  No return value.
+  protected
+  void		solve		()
+  {
+    blockWorkList_.add(cfg_.getEntry());
+
+    while  (!blockWorkList_.isEmpty()  ||  !nameWorkList_.isEmpty())
+    {
+      while  (!blockWorkList_.isEmpty())
+      {
+	visitBlock(blockWorkList_.remove());
+      }
+
+      while  (!nameWorkList_.isEmpty()  &&  blockWorkList_.isEmpty())
+      {
+	int	name	= nameWorkList_.remove();
+
+	for  (int blockIndex : phiBlockListArray_.get(name))
+	{
+	  BasicBlock	block	= cfg_.getBlockList().get(blockIndex);
+
+	  for  (SsaForm.Phi phi : ssa_.getPhiList(block))
+	  {
+	    evaluatePhi(block,phi);
+	  }
+	}
+
+	for  (int position : userListArray_.get(name))
+	{
+	  BasicBlock	block	= cfg_.getBlockOf(position);
+
+	  if  (isVisitedArray_[block.getIndex()])
+	  {
+	    evaluateInstruct(position);
+
+	    if  (position == block.getLast())
+	    {
+	      followBranch(block);
+	    }
+	  }
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To rewrite the instruction at 'position' of block 'block',
+  //	which can run: a branch that always goes one way becomes a goto or
+  //	nothing, an instruction whose result is constant becomes a copy of
+  //	a constant, and reads of constant values read constants instead.
+  //	No return value.
+  protected
+  void		rewrite		(BasicBlock	block,
+				 int		position
+				)
+  {
+    PotentialInstruction	instruct	= cfg_.getInstruct(position);
+    Variable			def		= instruct.getDefinedVar();
+    int				defName		= ssa_.getDefName(position);
+    long			target		= instruct.getGotoAddressLabel();
+    Map<Variable,Variable>	constMap	= new HashMap<>(4);
+    List<Variable>		useList		= new ArrayList<>(3);
+    int				outcome		= branchOutcome(block);
+    boolean			isConstantDef	= (def != null)  &&
+						  (stateOfName_[defName]
+						   == CONSTANT
+						  );
+
+    if  ((target != PotentialInstruction.NO_ADDRESS_LABEL)  &&
+	 (instruct.getOp() != VmOperation.GOTO_VM_OP)  &&
+	 ((outcome == GOES_TO_TARGET)  ||  (outcome == GOES_ON))
+	)
+    {
+      //  Only a counted-loop step writes a variable as well as jumping:
+      if  (def != null)
+      {
+	editor_.insertBefore
+		(position,
+		 new VarVarPotentialInstruction
+			(VmOperation.INT_COPY_VM_OP,
+			 def,
+			 store_.obtainConstVar(valueOfName_[defName])
+			)
+		);
+      }
+
+      editor_.replace(position,
+		      (outcome == GOES_TO_TARGET)
+		      ? new AddrPotentialInstruction(VmOperation.GOTO_VM_OP,target)
+		      : null
+		     );
+      numBranchesResolved_++;
+      return;
+    }
+
+    //  A clear already writes a constant:
+    if  (isConstantDef  &&
+	 (target == PotentialInstruction.NO_ADDRESS_LABEL)  &&
+	 !(instruct instanceof VarPotentialInstruction)
+	)
+    {
+      Variable	constVar	= store_.obtainConstVar(valueOfName_[defName]);
+
+      if  (!(instruct instanceof VarVarPotentialInstruction)  ||
+	   (((VarVarPotentialInstruction)instruct).getSrc0() != constVar)  ||
+	   (Peephole.threeVarOpOf(instruct.getOp()) != null)
+	  )
+      {
+	editor_.replace(position,
+			new VarVarPotentialInstruction
+				(GlobalValueNumbering.copyOpOf(def.getType()),
+				 def,
+				 constVar
+				)
+		       );
+	numFolded_++;
+      }
+
+      return;
+    }
+
+    instruct.addUsedVars(useList);
+
+    for  (Variable var : useList)
+    {
+      int	name	= ssa_.getUseName(position,var);
+
+      if  ((var != def)  &&
+	   !var.isConstant()  &&
+	   (stateOf(name) == CONSTANT)
+	  )
+      {
+	constMap.put(var,store_.obtainConstVar(valueOf(name)));
+      }
+    }
+
+    if  (!constMap.isEmpty())
+    {
+      editor_.replace(position,
+		      instruct.remapVars(v -> constMap.getOrDefault(v,v))
+		     );
+      numUsesRewritten_	+= constMap.size();
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which every value that is the same constant on
+  //	every path that can run, found by sparse conditional constant
+  //	propagation over the SSA form, is read as a constant, and every
+  //	branch that can only go one way is a goto or gone.  Code that can
+  //	no longer run is left for dead code elimination.  Constants come
+  //	from 'store'.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    ControlFlowGraph		cfg		= new ControlFlowGraph(instructList);
+    ConditionalConstantPropagation
+				propagation;
+
+    if  (cfg.getEntry() == null)
+    {
+      return(instructList);
+    }
+
+    propagation	= new ConditionalConstantPropagation(cfg,store);
+    propagation.solve();
+
+    for  (BasicBlock block : cfg.getBlockList())
+    {
+      if  (propagation.isVisitedArray_[block.getIndex()])
+      {
+	for  (int i = block.getFirst();  i < block.getEnd();  i++)
+	{
+	  propagation.rewrite(block,i);
+	}
+      }
+    }
+
+    CompileReport.get().record
+		("constant propagation",
+		 propagation.numFolded_ + " results made constant, " +
+		 propagation.numUsesRewritten_ + " reads made constant, " +
+		 propagation.numBranchesResolved_ + " branches resolved"
+		);
+    return(new LinkedList<>(propagation.editor_.apply()));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph, its SSA form, and where constants come
+  //	from.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  SsaForm			ssa_;
+
+  protected
+  VarStore			store_;
+
+  //  PURPOSE:  To collect the rewrites.
+  protected
+  LoopEditor			editor_;
+
+  //  PURPOSE:  To hold, by SSA name, what is known of it and its value if
+  //	constant.
+  protected
+  int[]				stateOfName_;
+
+  protected
+  Value[]			valueOfName_;
+
+  //  PURPOSE:  To hold the SSA names that phis give.
+  protected
+  Set<Integer>			isPhiName_		= new HashSet<>();
+
+  //  PURPOSE:  To hold, by SSA name, the positions of the instructions and
+  //	the indices of the blocks with phis that read it.
+  protected
+  List<List<Integer>>		userListArray_;
+
+  protected
+  List<List<Integer>>		phiBlockListArray_;
+
+  //  PURPOSE:  To hold which blocks have been reached, and which edges
+  //	can run, keyed by 'predIndex * numBlocks + succIndex'.
+  protected
+  boolean[]			isVisitedArray_;
+
+  protected
+  Set<Long>			executableEdgeSet_	= new HashSet<>();
+
+  //  PURPOSE:  To hold the blocks newly reached and the names newly
+  //	lowered, still to be followed up.
+  protected
+  Deque<BasicBlock>		blockWorkList_		= new ArrayDeque<>();
+
+  protected
+  Deque<Integer>		nameWorkList_		= new ArrayDeque<>();
+
+  //  PURPOSE:  To count the rewrites of each kind.
+  protected
+  int				numFolded_;
+
+  protected
+  int				numUsesRewritten_;
+
+  protected
+  int				numBranchesResolved_;
+
+}
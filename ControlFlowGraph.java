@@ -0,0 +1,382 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        ControlFlowGraph.java                                      ---*
+ *---                                                                   ---*
+ *---        This file declares a class that splits a list of           ---*
+ *---    instructions into basic blocks joined by the jumps and         ---*
+ *---    fall-throughs between them.                                    ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ControlFlowGraph
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the graph of 'instructList'.
+  //	Throws IllegalArgumentException if an instruction jumps to a label
+  //	that no instruction has.  No return value.
+  public
+  ControlFlowGraph	(List<PotentialInstruction>	instructList)
+  {
+    instructs_	= new ArrayList<>(instructList);
+    findBlocks();
+    linkBlocks();
+    orderBlocks();
+    findNonLocalVars();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the instructions, in program order.
+  public
+  List<PotentialInstruction>
+		getInstructList	()
+  {
+    return(instructs_);
+  }
+
+  //  PURPOSE:  To return the instruction at position 'index'.
+  public
+  PotentialInstruction
+		getInstruct	(int	index)
+  {
+    return(instructs_.get(index));
+  }
+
+  //  PURPOSE:  To return the number of instructions.
+  public
+  int		getNumInstructs	()
+  {
+    return(instructs_.size());
+  }
+
+  //  PURPOSE:  To return the blocks, in program order.
+  public
+  List<BasicBlock>
+		getBlockList	()
+  {
+    return(blockList_);
+  }
+
+  //  PURPOSE:  To return the number of blocks.
+  public
+  int		getNumBlocks	()
+  {
+    return(blockList_.size());
+  }
+
+  //  PURPOSE:  To return the block control enters first, or 'null' if
+  //	there are no instructions.
+  public
+  BasicBlock	getEntry	()
+  {
+    return(blockList_.isEmpty() ? null : blockList_.get(0));
+  }
+
+  //  PURPOSE:  To return the block that holds the instruction at position
+  //	'index'.
+  public
+  BasicBlock	getBlockOf	(int	index)
+  {
+    return(blockList_.get(blockOfIndex_[index]));
+  }
+
+  //  PURPOSE:  To return the block that starts at label 'label'.  Throws
+  //	IllegalArgumentException if no instruction has that label.
+  public
+  BasicBlock	getBlockOfLabel	(long	label)
+  {
+    Integer	index	= indexOfLabel_.get(label);
+
+    if  (index == null)
+    {
+      throw new IllegalArgumentException("Jump to undefined label " + label);
+    }
+
+    return(getBlockOf(index));
+  }
+
+  //  PURPOSE:  To return 'true' if control may leave the program after
+  //	'block', or 'false' otherwise.
+  public
+  boolean	isExit		(BasicBlock	block)
+  {
+    return(block.getSuccList().isEmpty()  ||
+	   ((block.getEnd() == instructs_.size())  &&
+	    instructs_.get(block.getLast()).canFallThrough()
+	   )
+	  );
+  }
+
+  //  PURPOSE:  To return the blocks reachable from the entry in reverse
+  //	postorder, so that every block comes before its successors except
+  //	along back edges.
+  public
+  List<BasicBlock>
+		getReversePostorder
+				()
+  {
+    return(reversePostorder_);
+  }
+
+  //  PURPOSE:  To return 'true' if 'block' can be reached from the entry,
+  //	or 'false' otherwise.
+  public
+  boolean	isReachable	(BasicBlock	block)
+  {
+    return(rpoNumber_[block.getIndex()] >= 0);
+  }
+
+  //  PURPOSE:  To return the position of 'block' in reverse postorder, or
+  //	-1 if it is unreachable.
+  public
+  int		getRpoNumber	(BasicBlock	block)
+  {
+    return(rpoNumber_[block.getIndex()]);
+  }
+
+  //  PURPOSE:  To return the variables some block reads before writing.
+  //	Only these can carry a value from one block into another, so they
+  //	are the universe of the dataflow analyses.
+  public
+  List<Variable>
+		getNonLocalVars	()
+  {
+    return(nonLocalList_);
+  }
+
+  //  PURPOSE:  To return the index of 'var' within 'getNonLocalVars()', or
+  //	-1 if it never carries a value between blocks.
+  public
+  int		getNonLocalIndex
+				(Variable	var)
+  {
+    Integer	index	= nonLocalIndexOfVar_.get(var);
+
+    return((index == null) ? -1 : index);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To split 'instructs_' into blocks.  A block starts at the
+  //	first instruction, at every labelled instruction, and after every
+  //	instruction that may jump or cannot fall through.  No parameters.
+  //	No return value.
+  protected
+  void		findBlocks	()
+  {
+    int		numInstructs	= instructs_.size();
+    boolean[]	isLeader	= new boolean[numInstructs + 1];
+    int		first		= 0;
+
+    isLeader[0]	= true;
+
+    for  (int i = 0;  i < numInstructs;  i++)
+    {
+      PotentialInstruction	instruct	= instructs_.get(i);
+
+      if  (instruct.getAddressLabel() != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	indexOfLabel_.put(instruct.getAddressLabel(),i);
+	isLeader[i]	= true;
+      }
+
+      if  ((instruct.getGotoAddressLabel() != PotentialInstruction.NO_ADDRESS_LABEL)
+	   ||  !instruct.canFallThrough()
+	  )
+      {
+	isLeader[i + 1]	= true;
+      }
+    }
+
+    blockOfIndex_	= new int[numInstructs];
+
+    for  (int i = 1;  i <= numInstructs;  i++)
+    {
+      if  (isLeader[i]  ||  (i == numInstructs))
+      {
+	blockList_.add(new BasicBlock(blockList_.size(),first,i));
+	first	= i;
+      }
+    }
+
+    for  (BasicBlock block : blockList_)
+    {
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	blockOfIndex_[i]	= block.getIndex();
+      }
+    }
+  }
+
+  //  PURPOSE:  To add the edges between the blocks.  No parameters.  No
+  //	return value.
+  protected
+  void		linkBlocks	()
+  {
+    for  (BasicBlock block : blockList_)
+    {
+      PotentialInstruction	last	= instructs_.get(block.getLast());
+      long			label	= last.getGotoAddressLabel();
+
+      if  (last.canFallThrough()  &&  (block.getEnd() < instructs_.size()))
+      {
+	block.addSucc(getBlockOf(block.getEnd()));
+      }
+
+      if  (label != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	block.addSucc(getBlockOfLabel(label));
+      }
+    }
+  }
+
+  //  PURPOSE:  To number the blocks reachable from the entry in reverse
+  //	postorder.  Iterative, so deep graphs do not overflow the stack.  No
+  //	parameters.  No return value.
+  protected
+  void		orderBlocks	()
+  {
+    int			numBlocks	= blockList_.size();
+    boolean[]		isVisited	= new boolean[numBlocks];
+    int[]		nextSucc	= new int[numBlocks];
+    Deque<BasicBlock>	stack		= new ArrayDeque<>();
+    List<BasicBlock>	postorder	= new ArrayList<>(numBlocks);
+
+    rpoNumber_	= new int[numBlocks];
+
+    if  (numBlocks > 0)
+    {
+      stack.push(getEntry());
+      isVisited[0]	= true;
+    }
+
+    while  (!stack.isEmpty())
+    {
+      BasicBlock	block	= stack.peek();
+      List<BasicBlock>	succs	= block.getSuccList();
+
+      if  (nextSucc[block.getIndex()] < succs.size())
+      {
+	BasicBlock	succ	= succs.get(nextSucc[block.getIndex()]++);
+
+	if  (!isVisited[succ.getIndex()])
+	{
+	  isVisited[succ.getIndex()]	= true;
+	  stack.push(succ);
+	}
+      }
+      else
+      {
+	postorder.add(stack.pop());
+      }
+    }
+
+    Collections.reverse(postorder);
+    reversePostorder_	= postorder;
+
+    Arrays.fill(rpoNumber_,-1);
+
+    for  (int i = 0;  i < reversePostorder_.size();  i++)
+    {
+      rpoNumber_[reversePostorder_.get(i).getIndex()]	= i;
+    }
+  }
+
+  //  PURPOSE:  To find the variables that some block reads before it
+  //	writes them.  No parameters.  No return value.
+  protected
+  void		findNonLocalVars()
+  {
+    Set<Variable>	definedSet	= new HashSet<>();
+    List<Variable>	useList		= new ArrayList<>();
+
+    for  (BasicBlock block : blockList_)
+    {
+      definedSet.clear();
+
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	PotentialInstruction	instruct	= instructs_.get(i);
+
+	useList.clear();
+	instruct.addUsedVars(useList);
+
+	for  (Variable var : useList)
+	{
+	  if  (!definedSet.contains(var)  &&
+	       !nonLocalIndexOfVar_.containsKey(var)
+	      )
+	  {
+	    nonLocalIndexOfVar_.put(var,nonLocalList_.size());
+	    nonLocalList_.add(var);
+	  }
+	}
+
+	if  (instruct.getDefinedVar() != null)
+	{
+	  definedSet.add(instruct.getDefinedVar());
+	}
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a new list of the instructions, in program order.
+  public
+  List<PotentialInstruction>
+		toList		()
+  {
+    return(new LinkedList<>(instructs_));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the instructions, in program order.
+  protected
+  List<PotentialInstruction>	instructs_;
+
+  //  PURPOSE:  To hold the blocks, in program order.
+  protected
+  List<BasicBlock>		blockList_	= new ArrayList<>();
+
+  //  PURPOSE:  To hold the number of the block of each instruction.
+  protected
+  int[]				blockOfIndex_;
+
+  //  PURPOSE:  To map each label to the position of its instruction.
+  protected
+  Map<Long,Integer>		indexOfLabel_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the reachable blocks in reverse postorder, and the
+  //	position of each block in that order or -1.
+  protected
+  List<BasicBlock>		reversePostorder_;
+
+  protected
+  int[]				rpoNumber_;
+
+  //  PURPOSE:  To hold the variables some block reads before writing, and
+  //	the index of each.
+  protected
+  List<Variable>		nonLocalList_	= new ArrayList<>();
+
+  protected
+  Map<Variable,Integer>		nonLocalIndexOfVar_
+							= new HashMap<>();
+
+}
@@ -0,0 +1,281 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        DataflowAnalysis.java                                      ---*
+ *---                                                                   ---*
+ *---        This file declares an abstract class that solves a         ---*
+ *---    gen/kill dataflow problem over a ControlFlowGraph with bitsets ---*
+ *---    and a worklist.                                                ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+abstract class DataflowAnalysis
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to solve a problem over 'newCfg' that
+  //	flows forward from the entry if 'newIsForward' or backward from the
+  //	exits otherwise, and that meets at joins by union if 'newIsUnion'
+  //	or by intersection otherwise.  Subclasses set up their universe and
+  //	then call 'solve()'.  No return value.
+  protected
+  DataflowAnalysis	(ControlFlowGraph	newCfg,
+			 boolean		newIsForward,
+			 boolean		newIsUnion
+			)
+  {
+    cfg_	= newCfg;
+    isForward_	= newIsForward;
+    isUnion_	= newIsUnion;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the graph 'this' analyses.
+  public
+  ControlFlowGraph
+		getCfg		()
+  {
+    return(cfg_);
+  }
+
+  //  PURPOSE:  To return the facts that hold on entry to 'block'.  The
+  //	returned set must not be changed.
+  public
+  BitSet	getIn		(BasicBlock	block)
+  {
+    return(inArray_[block.getIndex()]);
+  }
+
+  //  PURPOSE:  To return the facts that hold on exit from 'block'.  The
+  //	returned set must not be changed.
+  public
+  BitSet	getOut		(BasicBlock	block)
+  {
+    return(outArray_[block.getIndex()]);
+  }
+
+  //  PURPOSE:  To return the number of facts the problem is over.
+  public
+  int		getUniverseSize	()
+  {
+    return(universeSize_);
+  }
+
+  //  PURPOSE:  To return how many times a block's transfer function was
+  //	applied before the solution settled.
+  public
+  long		getNumBlockVisits
+				()
+  {
+    return(numBlockVisits_);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To set 'gen' to the facts 'block' makes true and 'kill' to
+  //	the facts it makes false, in the direction of the flow.  Both start
+  //	empty.  No return value.
+  protected abstract
+  void		computeTransfer	(BasicBlock	block,
+				 BitSet		gen,
+				 BitSet		kill
+				);
+
+  //  PURPOSE:  To return the facts that hold at the entry of a forward
+  //	problem or at the exits of a backward one.  Defaults to none.
+  protected
+  BitSet	getBoundary	()
+  {
+    return(new BitSet());
+  }
+
+  //  PURPOSE:  To return the set of every fact.
+  protected
+  BitSet	newFullSet	()
+  {
+    BitSet	returnMe	= new BitSet(universeSize_);
+
+    returnMe.set(0,universeSize_);
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the first position set in 'pending' at or after
+  //	'from', wrapping around to the start, or -1 if none is set.
+  protected static
+  int		nextPending	(BitSet	pending,
+				 int	from
+				)
+  {
+    int	returnMe	= pending.nextSetBit(from);
+
+    return((returnMe >= 0) ? returnMe : pending.nextSetBit(0));
+  }
+
+  //  PURPOSE:  To solve the problem, filling 'inArray_' and 'outArray_'.
+  //	Blocks are visited in reverse postorder (forward) or postorder
+  //	(backward), so acyclic regions settle in one sweep and each level of
+  //	loop nesting costs about one more.  Unreachable blocks are solved
+  //	too.  No parameters.  No return value.
+  protected
+  void		solve		()
+  {
+    int			numBlocks	= cfg_.getNumBlocks();
+    BitSet		boundary	= getBoundary();
+    BitSet[]		genArray	= new BitSet[numBlocks];
+    BitSet[]		killArray	= new BitSet[numBlocks];
+    BitSet[]		resultArray;
+    int[]		positionOfBlock	= new int[numBlocks];
+    BitSet		pending		= new BitSet(numBlocks);
+    List<BasicBlock>	order		= new ArrayList<>(cfg_.getReversePostorder());
+
+    inArray_	= new BitSet[numBlocks];
+    outArray_	= new BitSet[numBlocks];
+
+    for  (BasicBlock block : cfg_.getBlockList())
+    {
+      int	index	= block.getIndex();
+
+      genArray[index]	= new BitSet();
+      killArray[index]	= new BitSet();
+      computeTransfer(block,genArray[index],killArray[index]);
+
+      inArray_[index]	= isUnion_ ? new BitSet() : newFullSet();
+      outArray_[index]	= isUnion_ ? new BitSet() : newFullSet();
+
+      if  (!cfg_.isReachable(block))
+      {
+	order.add(block);
+      }
+    }
+
+    if  (!isForward_)
+    {
+      Collections.reverse(order);
+    }
+
+    for  (int position = 0;  position < order.size();  position++)
+    {
+      positionOfBlock[order.get(position).getIndex()]	= position;
+    }
+
+    pending.set(0,order.size());
+
+    //  'resultArray' is what the transfer function produces, the other
+    //  array what the meet produces:
+    resultArray	= isForward_ ? outArray_ : inArray_;
+
+    //  Sweep through 'order' visiting the pending blocks, then start over,
+    //  until none are pending.  A change only makes later blocks pending,
+    //  except along a back edge, so each sweep settles one more level of
+    //  loop nesting:
+    for  (int position = nextPending(pending,0);
+	  position >= 0;
+	  position = nextPending(pending,position + 1)
+	 )
+    {
+      BasicBlock	block		= order.get(position);
+      int		index		= block.getIndex();
+      List<BasicBlock>	sourceList	= isForward_ ? block.getPredList()
+						     : block.getSuccList();
+      BitSet		met;
+      BitSet		result;
+
+      pending.clear(position);
+      numBlockVisits_++;
+
+      met	= null;
+
+      if  (isForward_ ? (block == cfg_.getEntry()) : cfg_.isExit(block))
+      {
+	met	= (BitSet)boundary.clone();
+      }
+
+      for  (BasicBlock source : sourceList)
+      {
+	BitSet	other	= resultArray[source.getIndex()];
+
+	if  (met == null)
+	{
+	  met	= (BitSet)other.clone();
+	}
+	else
+	if  (isUnion_)
+	{
+	  met.or(other);
+	}
+	else
+	{
+	  met.and(other);
+	}
+      }
+
+      if  (met == null)
+      {
+	met	= isUnion_ ? new BitSet() : newFullSet();
+      }
+
+      result	= (BitSet)met.clone();
+      result.andNot(killArray[index]);
+      result.or(genArray[index]);
+
+      if  (isForward_)
+      {
+	inArray_[index]	= met;
+      }
+      else
+      {
+	outArray_[index]	= met;
+      }
+
+      if  (!result.equals(resultArray[index]))
+      {
+	resultArray[index]	= result;
+
+	for  (BasicBlock next : isForward_ ? block.getSuccList()
+					   : block.getPredList())
+	{
+	  pending.set(positionOfBlock[next.getIndex()]);
+	}
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph analysed.
+  protected
+  ControlFlowGraph		cfg_;
+
+  //  PURPOSE:  To hold the direction of the flow and the kind of meet.
+  protected
+  boolean			isForward_;
+
+  protected
+  boolean			isUnion_;
+
+  //  PURPOSE:  To hold the number of facts.  Set by subclasses before
+  //	'solve()'.
+  protected
+  int				universeSize_;
+
+  //  PURPOSE:  To hold the facts on entry to and exit from each block.
+  protected
+  BitSet[]			inArray_;
+
+  protected
+  BitSet[]			outArray_;
+
+  //  PURPOSE:  To hold the number of transfer function applications.
+  protected
+  long				numBlockVisits_;
+
+}
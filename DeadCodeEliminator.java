@@ -0,0 +1,227 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        DeadCodeEliminator.java                                    ---*
+ *---                                                                   ---*
+ *---        This file declares a class that removes instructions that  ---*
+ *---    can never run or whose results are never read, and the         ---*
+ *---    variables that no instruction refers to any more.              ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+class DeadCodeEliminator
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if removing 'instruct' cannot change what
+  //	the program does apart from the value of the variable it writes, or
+  //	'false' otherwise.  Integer division and modulus may stop the
+  //	program by dividing by zero, unless the divisor is a non-zero
+  //	constant.  Counted-loop instructions also branch, so they stay.
+  protected static
+  boolean	isRemovable	(PotentialInstruction	instruct)
+  {
+    if  ((instruct.getDefinedVar() == null)  ||
+	 (instruct.getGotoAddressLabel() != PotentialInstruction.NO_ADDRESS_LABEL)
+	)
+    {
+      return(false);
+    }
+
+    if  ((instruct.getOp() == VmOperation.INT_DIV_VM_OP)  ||
+	 (instruct.getOp() == VmOperation.MOD_VM_OP)
+	)
+    {
+      Variable	divisor	= ((VarVarVarPotentialInstruction)instruct).getSrc1();
+
+      return(divisor.isConstant()  &&  (divisor.getValue().getInteger() != 0));
+    }
+
+    return(true);
+  }
+
+  //  PURPOSE:  To return 'instruct' stripped down to the label it carries,
+  //	or 'null' if it carries none.
+  protected static
+  PotentialInstruction
+		keepLabelOf	(PotentialInstruction	instruct)
+  {
+    if  (instruct.getAddressLabel() == PotentialInstruction.NO_ADDRESS_LABEL)
+    {
+      return(null);
+    }
+
+    PotentialInstruction	returnMe
+				= new PotentialInstruction(VmOperation.NO_VM_OP);
+
+    returnMe.setAddressLabel(instruct.getAddressLabel());
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the instructions of 'cfg' less those in blocks
+  //	that cannot be reached from the entry.  Adds the number removed to
+  //	'counts[0]'.
+  protected static
+  List<PotentialInstruction>
+		removeUnreachable
+				(ControlFlowGraph	cfg,
+				 int[]			counts
+				)
+  {
+    List<PotentialInstruction>	returnMe	= new ArrayList<>();
+
+    for  (BasicBlock block : cfg.getBlockList())
+    {
+      if  (!cfg.isReachable(block))
+      {
+	counts[0]	+= block.getEnd() - block.getFirst();
+	continue;
+      }
+
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	returnMe.add(cfg.getInstruct(i));
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the instructions of 'cfg' less those that write a
+  //	variable no later instruction reads.  Adds the number removed to
+  //	'counts[0]'.
+  protected static
+  List<PotentialInstruction>
+		removeDeadStores
+				(ControlFlowGraph	cfg,
+				 int[]			counts
+				)
+  {
+    Liveness			liveness	= new Liveness(cfg);
+    PotentialInstruction[]	kept
+			= new PotentialInstruction[cfg.getNumInstructs()];
+    Set<Variable>		liveSet		= new HashSet<>();
+    List<Variable>		useList		= new ArrayList<>();
+    List<PotentialInstruction>	returnMe	= new ArrayList<>();
+
+    for  (BasicBlock block : cfg.getBlockList())
+    {
+      liveSet.clear();
+      liveness.addLiveOutVars(block,liveSet);
+
+      for  (int i = block.getLast();  i >= block.getFirst();  i--)
+      {
+	PotentialInstruction	instruct	= cfg.getInstruct(i);
+	Variable		def		= instruct.getDefinedVar();
+
+	if  (isRemovable(instruct)  &&  !liveSet.contains(def))
+	{
+	  kept[i]	= keepLabelOf(instruct);
+	  counts[0]++;
+	  continue;
+	}
+
+	kept[i]	= instruct;
+	liveSet.remove(def);
+	useList.clear();
+	instruct.addUsedVars(useList);
+	liveSet.addAll(useList);
+      }
+    }
+
+    for  (PotentialInstruction instruct : kept)
+    {
+      if  (instruct != null)
+      {
+	returnMe.add(instruct);
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To remove from 'store' every variable that no instruction
+  //	of 'instructList' refers to.  Returns how many were removed.
+  protected static
+  int		removeUnusedVars(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    Set<Variable>	usedSet		= new HashSet<>();
+    List<Variable>	useList		= new ArrayList<>();
+    int			returnMe	= 0;
+
+    for  (PotentialInstruction instruct : instructList)
+    {
+      useList.clear();
+      instruct.addUsedVars(useList);
+      usedSet.addAll(useList);
+      usedSet.add(instruct.getDefinedVar());
+    }
+
+    for  (Variable var : new ArrayList<>(store.getVariables()))
+    {
+      if  (!usedSet.contains(var))
+      {
+	store.remove(var);
+	returnMe++;
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' without the blocks that cannot be reached and the
+  //	writes that are never read, and to remove from 'store' the
+  //	variables the result does not refer to.  Removing a write can make
+  //	the writes feeding it dead too, so this repeats until nothing
+  //	changes.
+  public static
+  List<PotentialInstruction>
+		eliminate	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    int[]			numUnreachable	= new int[1];
+    int[]			numDeadStores	= new int[1];
+    int				numBefore;
+    List<PotentialInstruction>	list		= instructList;
+
+    do
+    {
+      numBefore	= numUnreachable[0] + numDeadStores[0];
+      list	= removeUnreachable(new ControlFlowGraph(list),numUnreachable);
+      list	= removeDeadStores(new ControlFlowGraph(list),numDeadStores);
+    }
+    while  (numUnreachable[0] + numDeadStores[0] > numBefore);
+
+    int	numUnusedVars	= removeUnusedVars(list,store);
+
+    CompileReport.get().record
+		("dead code",
+		 numUnreachable[0] + " unreachable instructions, " +
+		 numDeadStores[0] + " dead stores and " +
+		 numUnusedVars + " unused variables removed"
+		);
+    return(new LinkedList<>(list));
+  }
+
+  //  VI. Member vars:
+
+}
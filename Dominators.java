@@ -0,0 +1,250 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        Dominators.java                                            ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds which blocks of a    ---*
+ *---    ControlFlowGraph every path from the entry to each block       ---*
+ *---    passes through.                                                ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Dominators
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to hold the immediate dominator of
+  //	every reachable block of 'newCfg'.  Uses the iterative algorithm of
+  //	Cooper, Harvey and Kennedy, which keeps one link per block rather
+  //	than a set of dominators per block.  No return value.
+  public
+  Dominators	(ControlFlowGraph	newCfg)
+  {
+    cfg_	= newCfg;
+    idomArray_	= new BasicBlock[newCfg.getNumBlocks()];
+    solve();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the immediate dominator of 'block', 'block' itself
+  //	for the entry, or 'null' if 'block' is unreachable.
+  public
+  BasicBlock	getIdom		(BasicBlock	block)
+  {
+    return(idomArray_[block.getIndex()]);
+  }
+
+  //  PURPOSE:  To return 'true' if every path from the entry to 'block'
+  //	passes through 'dominator', or 'false' otherwise.  A block dominates
+  //	itself.  Unreachable blocks dominate nothing.
+  public
+  boolean	dominates	(BasicBlock	dominator,
+				 BasicBlock	block
+				)
+  {
+    int	limit	= cfg_.getRpoNumber(dominator);
+
+    if  ((limit < 0)  ||  !cfg_.isReachable(block))
+    {
+      return(false);
+    }
+
+    //  Dominators come earlier in reverse postorder, so climb until
+    //  passing 'dominator's position:
+    while  (cfg_.getRpoNumber(block) > limit)
+    {
+      block	= getIdom(block);
+    }
+
+    return(block == dominator);
+  }
+
+  //  PURPOSE:  To return the blocks 'block' immediately dominates, its
+  //	children in the dominator tree, in reverse postorder.
+  public
+  List<BasicBlock>
+		getChildList	(BasicBlock	block)
+  {
+    findTreeAndFrontiers();
+    return(childListArray_.get(block.getIndex()));
+  }
+
+  //  PURPOSE:  To return the dominance frontier of 'block': the blocks
+  //	with a predecessor 'block' dominates that 'block' does not strictly
+  //	dominate.  These are where a value defined in 'block' meets others.
+  public
+  List<BasicBlock>
+		getFrontier	(BasicBlock	block)
+  {
+    findTreeAndFrontiers();
+    return(frontierArray_.get(block.getIndex()));
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the nearest common dominator of 'block0' and
+  //	'block1', both of which have their dominators set.
+  protected
+  BasicBlock	intersect	(BasicBlock	block0,
+				 BasicBlock	block1
+				)
+  {
+    while  (block0 != block1)
+    {
+      while  (cfg_.getRpoNumber(block0) > cfg_.getRpoNumber(block1))
+      {
+	block0	= getIdom(block0);
+      }
+
+      while  (cfg_.getRpoNumber(block1) > cfg_.getRpoNumber(block0))
+      {
+	block1	= getIdom(block1);
+      }
+    }
+
+    return(block0);
+  }
+
+  //  PURPOSE:  To fill 'idomArray_', sweeping the reachable blocks in
+  //	reverse postorder until no immediate dominator changes.  An empty
+  //	program has no blocks, so nothing is filled.  No parameters.  No
+  //	return value.
+  protected
+  void		solve		()
+  {
+    List<BasicBlock>	order		= cfg_.getReversePostorder();
+    boolean		hasChanged	= true;
+
+    if  (cfg_.getEntry() == null)
+    {
+      return;
+    }
+
+    idomArray_[cfg_.getEntry().getIndex()]	= cfg_.getEntry();
+
+    while  (hasChanged)
+    {
+      hasChanged	= false;
+
+      for  (BasicBlock block : order)
+      {
+	BasicBlock	newIdom	= null;
+
+	if  (block == cfg_.getEntry())
+	{
+	  continue;
+	}
+
+	for  (BasicBlock pred : block.getPredList())
+	{
+	  if  (getIdom(pred) == null)
+	  {
+	    continue;
+	  }
+
+	  newIdom	= (newIdom == null) ? pred : intersect(pred,newIdom);
+	}
+
+	if  (newIdom != getIdom(block))
+	{
+	  idomArray_[block.getIndex()]	= newIdom;
+	  hasChanged			= true;
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To fill 'childListArray_' and 'frontierArray_' the first
+  //	time either is needed.  A join walks up from each predecessor to the
+  //	join's immediate dominator, adding itself to the frontier of every
+  //	block passed.  No parameters.  No return value.
+  protected
+  void		findTreeAndFrontiers
+				()
+  {
+    if  (childListArray_ != null)
+    {
+      return;
+    }
+
+    childListArray_	= new ArrayList<>(cfg_.getNumBlocks());
+    frontierArray_	= new ArrayList<>(cfg_.getNumBlocks());
+
+    for  (int i = 0;  i < cfg_.getNumBlocks();  i++)
+    {
+      childListArray_.add(new ArrayList<>(2));
+      frontierArray_.add(new ArrayList<>(2));
+    }
+
+    for  (BasicBlock block : cfg_.getReversePostorder())
+    {
+      BasicBlock	idom	= getIdom(block);
+
+      if  (block != idom)
+      {
+	childListArray_.get(idom.getIndex()).add(block);
+      }
+
+      //  Control also enters the entry from outside, so any jump back to
+      //  it makes it a join that no block strictly dominates:
+      if  (block == cfg_.getEntry())
+      {
+	idom	= null;
+      }
+      else
+      if  (block.getPredList().size() < 2)
+      {
+	continue;
+      }
+
+      for  (BasicBlock pred : block.getPredList())
+      {
+	BasicBlock		runner	= pred;
+
+	while  ((runner != null)  &&
+		(runner != idom)  &&
+		(getIdom(runner) != null)
+	       )
+	{
+	  List<BasicBlock>	frontier
+				= frontierArray_.get(runner.getIndex());
+
+	  if  (frontier.isEmpty()  ||
+	       (frontier.get(frontier.size() - 1) != block)
+	      )
+	  {
+	    frontier.add(block);
+	  }
+
+	  runner	= (runner == getIdom(runner)) ? null : getIdom(runner);
+	}
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph analysed.
+  protected
+  ControlFlowGraph		cfg_;
+
+  //  PURPOSE:  To hold the immediate dominator of each block, by index.
+  protected
+  BasicBlock[]			idomArray_;
+
+  //  PURPOSE:  To hold, by index, the children of each block in the
+  //	dominator tree and its dominance frontier, or 'null' until needed.
+  protected
+  List<List<BasicBlock>>	childListArray_;
+
+  protected
+  List<List<BasicBlock>>	frontierArray_;
+
+}
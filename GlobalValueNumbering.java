@@ -0,0 +1,498 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        GlobalValueNumbering.java                                  ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds instructions that    ---*
+ *---    compute a value some dominating instruction already computed,  ---*
+ *---    and replaces them with copies of it.                           ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+class GlobalValueNumbering
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to number the values of 'newCfg'.  No
+  //	return value.
+  protected
+  GlobalValueNumbering	(ControlFlowGraph	newCfg)
+  {
+    cfg_	= newCfg;
+    dominators_	= new Dominators(newCfg);
+    ssa_	= new SsaForm(newCfg,dominators_);
+    editor_	= new LoopEditor(newCfg);
+    vnOfName_	= new int[ssa_.getNumNames()];
+
+    //  Until shown equal to an earlier one, each value is its own number:
+    for  (int name = 0;  name < vnOfName_.length;  name++)
+    {
+      vnOfName_[name]	= name;
+    }
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'op' gives the same result with its two
+  //	operands swapped, or 'false' otherwise.
+  protected static
+  boolean	isCommutative	(VmOperation	op)
+  {
+    switch  (op)
+    {
+    case INT_ADD_VM_OP :
+    case REAL_ADD_VM_OP :
+    case INT_MUL_VM_OP :
+    case REAL_MUL_VM_OP :
+    case LOGIC_AND_VM_OP :
+    case LOGIC_OR_VM_OP :
+    case INT_EQUAL_VM_OP :
+    case INT_NOT_EQUAL_VM_OP :
+    case REAL_EQUAL_VM_OP :
+    case REAL_NOT_EQUAL_VM_OP :
+      return(true);
+    }
+
+    return(false);
+  }
+
+  //  PURPOSE:  To return the copy operation for values of type 'type'.
+  protected static
+  VmOperation	copyOpOf	(Type	type)
+  {
+    switch  (type)
+    {
+    case INTEGER :	return(VmOperation.INT_COPY_VM_OP);
+    case REAL :		return(VmOperation.REAL_COPY_VM_OP);
+    }
+
+    return(VmOperation.IDEA_COPY_VM_OP);
+  }
+
+  //  PURPOSE:  To return the value number of the value of 'var' read at
+  //	'position'.
+  protected
+  int		vnOfUse		(int		position,
+				 Variable	var
+				)
+  {
+    return(vnOfName_[ssa_.getUseName(position,var)]);
+  }
+
+  //  PURPOSE:  To return the expression the instruction at 'position'
+  //	computes, in terms of the value numbers of its operands, or 'null'
+  //	if it is not a pure computation (or is a copy).  Two-variable
+  //	arithmetic is keyed as its three-variable form, so 'x := x + y'
+  //	matches 'z := x + y'.
+  protected
+  Expression	expressionAt	(int	position)
+  {
+    PotentialInstruction	instruct	= cfg_.getInstruct(position);
+    VmOperation			op		= instruct.getOp();
+
+    switch  (op)
+    {
+    case BOOL_CLEAR_VM_OP :
+    case INT_CLEAR_VM_OP :
+    case REAL_CLEAR_VM_OP :
+      return(new Expression(op,SsaForm.NO_NAME,SsaForm.NO_NAME));
+
+    case INT_TO_REAL_VM_OP :
+      return(new Expression
+		(op,
+		 vnOfUse(position,((VarVarPotentialInstruction)instruct).getSrc0()),
+		 SsaForm.NO_NAME
+		)
+	    );
+
+    case INT_ADD_VAR_VAR_VM_OP :
+    case REAL_ADD_VAR_VAR_VM_OP :
+    case INT_SUB_VAR_VAR_VM_OP :
+    case REAL_SUB_VAR_VAR_VM_OP :
+    case INT_MUL_VAR_VAR_VM_OP :
+    case REAL_MUL_VAR_VAR_VM_OP :
+      {
+	VarVarPotentialInstruction
+			varVar	= (VarVarPotentialInstruction)instruct;
+
+	return(new Expression(Peephole.threeVarOpOf(op),
+			      vnOfUse(position,varVar.getDest()),
+			      vnOfUse(position,varVar.getSrc0())
+			     )
+	      );
+      }
+    }
+
+    if  (instruct instanceof VarVarVarPotentialInstruction)
+    {
+      VarVarVarPotentialInstruction
+			varVarVar	= (VarVarVarPotentialInstruction)instruct;
+
+      return(new Expression(op,
+			    vnOfUse(position,varVarVar.getSrc0()),
+			    vnOfUse(position,varVarVar.getSrc1())
+			   )
+	    );
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To return a variable of type 'type' that holds the value
+  //	numbered 'vn' now, or 'null' if none does.  The earliest holder
+  //	still holding it is preferred.
+  protected
+  Variable	holderOf	(int	vn,
+				 Type	type
+				)
+  {
+    List<Variable>	holderList	= holderListMap_.get(vn);
+
+    if  (holderList != null)
+    {
+      for  (Variable holder : holderList)
+      {
+	if  ((holder.getType() == type)  &&
+	     (currentVnMap_.get(holder) == vn)
+	    )
+	{
+	  return(holder);
+	}
+      }
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To record that 'var' now holds the value numbered 'vn',
+  //	logging how to undo it on leaving the current block.  No return
+  //	value.
+  protected
+  void		setHolding	(Variable	var,
+				 int		vn
+				)
+  {
+    undoVarList_.add(var);
+    undoVnList_.add(currentVnMap_.put(var,vn));
+    holderListMap_.computeIfAbsent(vn,v -> new ArrayList<>(2)).add(var);
+  }
+
+  //  PURPOSE:  To number the values of the instruction at 'position', and
+  //	to plan replacing it when a holder of its value already exists.
+  //	No return value.
+  protected
+  void		numberInstruct	(int	position)
+  {
+    PotentialInstruction	instruct	= cfg_.getInstruct(position);
+    Variable			def		= instruct.getDefinedVar();
+    List<Variable>		useList		= new ArrayList<>(3);
+    Map<Variable,Variable>	forwardMap	= new HashMap<>(4);
+    Expression			expression	= expressionAt(position);
+    int				vn		= ssa_.getDefName(position);
+
+    instruct.addUsedVars(useList);
+
+    //  Read each temporary from the earliest holder of its value, so the
+    //  copies this pass makes into temporaries become dead:
+    for  (Variable var : useList)
+    {
+      int	useVn	= vnOfUse(position,var);
+      Variable	holder	= holderOf(useVn,var.getType());
+
+      if  (currentVnMap_.get(var) == null)
+      {
+	setHolding(var,useVn);
+      }
+
+      if  (var.isTemp()  &&  (var != def)  &&
+	   (holder != null)  &&  (holder != var)
+	  )
+      {
+	forwardMap.put(var,holder);
+      }
+    }
+
+    if  (!forwardMap.isEmpty())
+    {
+      instruct	= instruct.remapVars(v -> forwardMap.getOrDefault(v,v));
+      editor_.replace(position,instruct);
+      numForwarded_	+= forwardMap.size();
+    }
+
+    if  (def == null)
+    {
+      return;
+    }
+
+    if  (((instruct.getOp() == VmOperation.INT_COPY_VM_OP)  ||
+	  (instruct.getOp() == VmOperation.REAL_COPY_VM_OP)  ||
+	  (instruct.getOp() == VmOperation.IDEA_COPY_VM_OP)
+	 )  &&
+	 (((VarVarPotentialInstruction)instruct).getSrc0().getType()
+	  == def.getType()
+	 )
+	)
+    {
+      vn	= vnOfUse(position,
+		  ((VarVarPotentialInstruction)cfg_.getInstruct(position))
+							.getSrc0()
+		 );
+
+      if  (currentVnMap_.get(def) != null  &&  (currentVnMap_.get(def) == vn))
+      {
+	editor_.replace(position,null);
+	numRemoved_++;
+      }
+    }
+    else
+    if  (expression != null)
+    {
+      Integer	knownVn	= expressionMap_.get(expression);
+
+      if  (knownVn == null)
+      {
+	undoExpressionList_.add(expression);
+	expressionMap_.put(expression,vn);
+      }
+      else
+      {
+	Variable	holder	= holderOf(knownVn,def.getType());
+
+	vn	= knownVn;
+
+	if  (holder == def)
+	{
+	  editor_.replace(position,null);
+	  numRemoved_++;
+	}
+	else
+	if  (holder != null)
+	{
+	  editor_.replace(position,
+			  new VarVarPotentialInstruction(copyOpOf(def.getType()),
+							 def,
+							 holder
+							)
+			 );
+	  numReplaced_++;
+	}
+      }
+    }
+
+    vnOfName_[ssa_.getDefName(position)]	= vn;
+    setHolding(def,vn);
+  }
+
+  //  PURPOSE:  To number every reachable block, walking the dominator tree
+  //	so that the expressions and holders known in a block are those of
+  //	the blocks that dominate it.  A phi's value is taken to be new.
+  //	No parameters.  No return value.
+  protected
+  void		numberBlocks	()
+  {
+    List<BasicBlock>	blockStack	= new ArrayList<>();
+    Deque<int[]>	markStack	= new ArrayDeque<>();
+
+    blockStack.add(cfg_.getEntry());
+
+    while  (!blockStack.isEmpty())
+    {
+      BasicBlock	block	= blockStack.remove(blockStack.size() - 1);
+
+      //  A 'null' marks leaving the block whose undo marks are on top:
+      if  (block == null)
+      {
+	int[]	mark	= markStack.pop();
+
+	while  (undoVarList_.size() > mark[0])
+	{
+	  int		last	= undoVarList_.size() - 1;
+	  Variable	var	= undoVarList_.remove(last);
+	  Integer	vn	= undoVnList_.remove(last);
+	  List<Variable>
+			holderList
+				= holderListMap_.get(currentVnMap_.get(var));
+
+	  holderList.remove(holderList.size() - 1);
+
+	  if  (vn == null)
+	  {
+	    currentVnMap_.remove(var);
+	  }
+	  else
+	  {
+	    currentVnMap_.put(var,vn);
+	  }
+	}
+
+	while  (undoExpressionList_.size() > mark[1])
+	{
+	  expressionMap_.remove
+		(undoExpressionList_.remove(undoExpressionList_.size() - 1));
+	}
+
+	continue;
+      }
+
+      markStack.push(new int[] { undoVarList_.size(),
+				 undoExpressionList_.size()
+			       }
+		    );
+      blockStack.add(null);
+
+      for  (SsaForm.Phi phi : ssa_.getPhiList(block))
+      {
+	setHolding(phi.getVariable(),vnOfName_[phi.getName()]);
+      }
+
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	numberInstruct(i);
+      }
+
+      List<BasicBlock>	childList	= dominators_.getChildList(block);
+
+      for  (int i = childList.size() - 1;  i >= 0;  i--)
+      {
+	blockStack.add(childList.get(i));
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which each pure computation whose value a
+  //	variable already holds, because a dominating instruction computed
+  //	it from the same values, is replaced by a copy of that variable or
+  //	removed.  Temporaries are read from the variable that first held
+  //	their value, which leaves the copies into them dead.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList)
+  {
+    ControlFlowGraph		cfg		= new ControlFlowGraph(instructList);
+    GlobalValueNumbering	numbering	= new GlobalValueNumbering(cfg);
+
+    if  (cfg.getEntry() != null)
+    {
+      numbering.numberBlocks();
+    }
+
+    CompileReport.get().record
+		("value numbering",
+		 numbering.numReplaced_ + " redundant expressions copied, " +
+		 numbering.numRemoved_ + " removed, " +
+		 numbering.numForwarded_ + " temp reads forwarded"
+		);
+    return(new LinkedList<>(numbering.editor_.apply()));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph numbered, its dominators and its SSA form.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  Dominators			dominators_;
+
+  protected
+  SsaForm			ssa_;
+
+  //  PURPOSE:  To collect the replacements.
+  protected
+  LoopEditor			editor_;
+
+  //  PURPOSE:  To hold the value number of each SSA name.
+  protected
+  int[]				vnOfName_;
+
+  //  PURPOSE:  To hold the value number of each expression computed in
+  //	the dominating blocks, what each variable holds now, and which
+  //	variables have held each value number, with logs to undo them.
+  protected
+  Map<Expression,Integer>	expressionMap_		= new HashMap<>();
+
+  protected
+  Map<Variable,Integer>		currentVnMap_		= new HashMap<>();
+
+  protected
+  Map<Integer,List<Variable>>	holderListMap_		= new HashMap<>();
+
+  protected
+  List<Expression>		undoExpressionList_	= new ArrayList<>();
+
+  protected
+  List<Variable>		undoVarList_		= new ArrayList<>();
+
+  protected
+  List<Integer>			undoVnList_		= new ArrayList<>();
+
+  //  PURPOSE:  To count the changes of each kind.
+  protected
+  int				numReplaced_;
+
+  protected
+  int				numRemoved_;
+
+  protected
+  int				numForwarded_;
+
+
+  //  PURPOSE:  To represent an operation applied to numbered values, as a
+  //	key for finding where the same operation was applied to them.
+  static
+  class	Expression
+  {
+    //  PURPOSE:  To initialize 'this' to be 'newOp' applied to the values
+    //	numbered 'vn0' and 'vn1' ('SsaForm.NO_NAME' for none).  Operands of
+    //	commutative operations are put in order.
+    Expression	(VmOperation	newOp,
+		 int		vn0,
+		 int		vn1
+		)
+    {
+      boolean	isSwapped	= isCommutative(newOp)  &&  (vn1 < vn0);
+
+      op_	= newOp;
+      vn0_	= isSwapped ? vn1 : vn0;
+      vn1_	= isSwapped ? vn0 : vn1;
+    }
+
+    @Override
+    public
+    boolean	equals		(Object	other)
+    {
+      return((other instanceof Expression)  &&
+	     (((Expression)other).op_ == op_)  &&
+	     (((Expression)other).vn0_ == vn0_)  &&
+	     (((Expression)other).vn1_ == vn1_)
+	    );
+    }
+
+    @Override
+    public
+    int		hashCode	()
+    {
+      return((op_.ordinal() * 31 + vn0_) * 31 + vn1_);
+    }
+
+    //  PURPOSE:  To hold the operation and the numbers of its operands.
+    VmOperation	op_;
+    int		vn0_;
+    int		vn1_;
+  }
+
+}
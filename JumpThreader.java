@@ -0,0 +1,422 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        JumpThreader.java                                          ---*
+ *---                                                                   ---*
+ *---        This file declares a class that sends jumps straight to    ---*
+ *---    their final destinations, removes branches around gotos and    ---*
+ *---    jumps to the next instruction, and merges labels so each one   ---*
+ *---    marks a real instruction.                                      ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+class JumpThreader
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to simplify the jumps of
+  //	'instructList'.  No return value.
+  protected
+  JumpThreader	(List<PotentialInstruction>	instructList)
+  {
+    setList(instructList);
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+  //  PURPOSE:  To make 'instructList' the list simplified, and to note
+  //	where each of its labels is.  No return value.
+  protected
+  void		setList		(List<PotentialInstruction>	instructList)
+  {
+    instructList_	= new ArrayList<>(instructList);
+    positionOfLabel_.clear();
+
+    for  (int i = 0;  i < instructList_.size();  i++)
+    {
+      long	label	= instructList_.get(i).getAddressLabel();
+
+      if  (label != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	positionOfLabel_.put(label,i);
+      }
+    }
+  }
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the operation that jumps exactly when 'op' does
+  //	not, or 'null' if there is none.  A NaN makes every real ordering
+  //	false, so only real equality tests can be negated.
+  protected static
+  VmOperation	negatedOp	(VmOperation	op)
+  {
+    switch  (op)
+    {
+    case IF_FALSE_GOTO_VM_OP :		return(VmOperation.IF_TRUE_GOTO_VM_OP);
+    case IF_TRUE_GOTO_VM_OP :		return(VmOperation.IF_FALSE_GOTO_VM_OP);
+    case INT_EQUAL_GOTO_VM_OP :		return(VmOperation.INT_NOT_EQUAL_GOTO_VM_OP);
+    case INT_NOT_EQUAL_GOTO_VM_OP :	return(VmOperation.INT_EQUAL_GOTO_VM_OP);
+    case REAL_EQUAL_GOTO_VM_OP :	return(VmOperation.REAL_NOT_EQUAL_GOTO_VM_OP);
+    case REAL_NOT_EQUAL_GOTO_VM_OP :	return(VmOperation.REAL_EQUAL_GOTO_VM_OP);
+    case INT_LESSER_GOTO_VM_OP :	return(VmOperation.INT_GREATER_EQUAL_GOTO_VM_OP);
+    case INT_GREATER_EQUAL_GOTO_VM_OP :	return(VmOperation.INT_LESSER_GOTO_VM_OP);
+    case INT_LESSER_EQUAL_GOTO_VM_OP :	return(VmOperation.INT_GREATER_GOTO_VM_OP);
+    case INT_GREATER_GOTO_VM_OP :	return(VmOperation.INT_LESSER_EQUAL_GOTO_VM_OP);
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To return a conditional jump to 'label' that is taken
+  //	exactly when 'branch' is not taken, or 'null' if there is none.
+  protected static
+  PotentialInstruction
+		negatedBranch	(PotentialInstruction	branch,
+				 long			label
+				)
+  {
+    VmOperation	op	= negatedOp(branch.getOp());
+
+    if  (op == null)
+    {
+      return(null);
+    }
+
+    if  (branch instanceof VarAddrPotentialInstruction)
+    {
+      return(new VarAddrPotentialInstruction
+			(op,((VarAddrPotentialInstruction)branch).getVar(),label)
+	    );
+    }
+
+    return(new VarVarAddrPotentialInstruction
+			(op,
+			 ((VarVarAddrPotentialInstruction)branch).getSrc0(),
+			 ((VarVarAddrPotentialInstruction)branch).getSrc1(),
+			 label
+			)
+	  );
+  }
+
+  //  PURPOSE:  To return the position of the first instruction at or after
+  //	'position' that is not a placeholder, or the size of the list if
+  //	there is none.
+  protected
+  int		realPosition	(int	position)
+  {
+    while  ((position < instructList_.size())  &&
+	    (instructList_.get(position).getOp() == VmOperation.NO_VM_OP)
+	   )
+    {
+      position++;
+    }
+
+    return(position);
+  }
+
+  //  PURPOSE:  To return the position of the first instruction that runs
+  //	after a jump to 'label'.
+  protected
+  int		targetPosition	(long	label)
+  {
+    return(realPosition(positionOfLabel_.get(label)));
+  }
+
+  //  PURPOSE:  To return the label a jump to 'label' finally gets to,
+  //	following any gotos it lands on.  A cycle of gotos ends the search.
+  protected
+  long		finalLabel	(long	label)
+  {
+    Set<Long>	visitedSet	= new HashSet<>();
+
+    while  (visitedSet.add(label))
+    {
+      int	position	= targetPosition(label);
+
+      if  ((position >= instructList_.size())  ||
+	   (instructList_.get(position).getOp() != VmOperation.GOTO_VM_OP)
+	  )
+      {
+	break;
+      }
+
+      label	= instructList_.get(position).getGotoAddressLabel();
+    }
+
+    return(label);
+  }
+
+  //  PURPOSE:  To return 'true' if an instruction after 'first' up to and
+  //	including 'last' carries a label, or 'false' otherwise.
+  protected
+  boolean	hasLabelAfter	(int	first,
+				 int	last
+				)
+  {
+    for  (int i = first + 1;  i <= last;  i++)
+    {
+      if  (instructList_.get(i).getAddressLabel()
+	   != PotentialInstruction.NO_ADDRESS_LABEL
+	  )
+      {
+	return(true);
+      }
+    }
+
+    return(false);
+  }
+
+  //  PURPOSE:  To return a copy of 'instruct' that carries 'label'.
+  protected static
+  PotentialInstruction
+		withLabel	(PotentialInstruction	instruct,
+				 long			label
+				)
+  {
+    PotentialInstruction	returnMe
+				= instruct.remapVars(UnaryOperator.identity());
+
+    returnMe.setAddressLabel(label);
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To make one pass over the list, threading jumps through
+  //	gotos, negating each conditional jump over a goto into a jump to
+  //	where the goto went, and removing jumps to the instruction that
+  //	would run anyway.  Returns 'true' if anything changed, or 'false'
+  //	otherwise.
+  protected
+  boolean	simplify	()
+  {
+    List<PotentialInstruction>	outList		= new ArrayList<>();
+    boolean			isChanged	= false;
+
+    for  (int i = 0;  i < instructList_.size();  i++)
+    {
+      PotentialInstruction	instruct	= instructList_.get(i);
+      long			target		= instruct.getGotoAddressLabel();
+      long			label		= instruct.getAddressLabel();
+
+      if  (target == PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	outList.add(instruct);
+	continue;
+      }
+
+      if  (finalLabel(target) != target)
+      {
+	target		= finalLabel(target);
+	instruct	= instruct.retarget(target);
+	numThreaded_++;
+	isChanged	= true;
+      }
+
+      //  A jump with no side effect to where control goes anyway:
+      if  ((instruct.getDefinedVar() == null)  &&
+	   (targetPosition(target) == realPosition(i + 1))
+	  )
+      {
+	if  (label != PotentialInstruction.NO_ADDRESS_LABEL)
+	{
+	  outList.add(withLabel(new PotentialInstruction(VmOperation.NO_VM_OP),
+				label
+			       )
+		     );
+	}
+
+	numRemoved_++;
+	isChanged	= true;
+	continue;
+      }
+
+      //  A conditional jump over an unlabelled goto:
+      if  (instruct.canFallThrough())
+      {
+	int	next	= realPosition(i + 1);
+
+	if  ((next < instructList_.size())  &&
+	     (instructList_.get(next).getOp() == VmOperation.GOTO_VM_OP)  &&
+	     !hasLabelAfter(i,next)  &&
+	     (targetPosition(target) == realPosition(next + 1))
+	    )
+	{
+	  PotentialInstruction	negated
+		= negatedBranch(instruct,
+				instructList_.get(next).getGotoAddressLabel()
+			       );
+
+	  if  (negated != null)
+	  {
+	    negated.setAddressLabel(label);
+	    outList.add(negated);
+	    numNegated_++;
+	    isChanged	= true;
+	    i		= next;
+	    continue;
+	  }
+	}
+      }
+
+      outList.add(instruct);
+    }
+
+    setList(outList);
+    return(isChanged);
+  }
+
+  //  PURPOSE:  To give each run of placeholders and the instruction after
+  //	them one label, used by every jump to any of them, dropping labels
+  //	nothing jumps to and the placeholders themselves.  A run at the end
+  //	keeps one placeholder for its label.  No return value.
+  protected
+  void		mergeLabels	()
+  {
+    Map<Long,Long>		canonicalMap	= new HashMap<>();
+    Set<Long>			usedSet		= new HashSet<>();
+    List<PotentialInstruction>	outList		= new ArrayList<>();
+    long			runLabel	= PotentialInstruction.NO_ADDRESS_LABEL;
+
+    //  Choose one label for each run, preferring one already on the real
+    //  instruction at its end:
+    for  (int i = 0;  i < instructList_.size();  )
+    {
+      int	end		= Math.min(realPosition(i),instructList_.size() - 1);
+      long	canonical	= instructList_.get(end).getAddressLabel();
+
+      for  (int j = i;  j <= end;  j++)
+      {
+	long	label	= instructList_.get(j).getAddressLabel();
+
+	if  (canonical == PotentialInstruction.NO_ADDRESS_LABEL)
+	{
+	  canonical	= label;
+	}
+
+	if  (label != PotentialInstruction.NO_ADDRESS_LABEL)
+	{
+	  canonicalMap.put(label,canonical);
+	}
+      }
+
+      i	= end + 1;
+    }
+
+    for  (PotentialInstruction instruct : instructList_)
+    {
+      long	target	= instruct.getGotoAddressLabel();
+
+      if  (target != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	usedSet.add(canonicalMap.get(target));
+      }
+    }
+
+    for  (PotentialInstruction instruct : instructList_)
+    {
+      long	target	= instruct.getGotoAddressLabel();
+      long	label	= instruct.getAddressLabel();
+
+      if  (label != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	runLabel	= canonicalMap.get(label);
+
+	if  (label != runLabel)
+	{
+	  numMerged_++;
+	}
+      }
+
+      //  Keep a placeholder only at the end, for its run's label:
+      if  ((instruct.getOp() == VmOperation.NO_VM_OP)  &&
+	   ((instruct != instructList_.get(instructList_.size() - 1))  ||
+	    !usedSet.contains(runLabel)
+	   )
+	  )
+      {
+	continue;
+      }
+
+      if  (!usedSet.contains(runLabel))
+      {
+	runLabel	= PotentialInstruction.NO_ADDRESS_LABEL;
+      }
+
+      if  (target != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	instruct	= instruct.retarget(canonicalMap.get(target));
+      }
+
+      if  (runLabel != instruct.getAddressLabel())
+      {
+	instruct	= withLabel(instruct,runLabel);
+      }
+
+      outList.add(instruct);
+      runLabel	= PotentialInstruction.NO_ADDRESS_LABEL;
+    }
+
+    setList(outList);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which no jump lands on a goto, no conditional
+  //	jump only skips a goto, no jump goes to where control would go
+  //	anyway, and every label that is jumped to marks a real instruction
+  //	(or the end).
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList)
+  {
+    JumpThreader	threader	= new JumpThreader(instructList);
+
+    while  (threader.simplify())
+    {
+    }
+
+    threader.mergeLabels();
+    CompileReport.get().record
+		("jump threading",
+		 threader.numThreaded_ + " jumps retargeted, " +
+		 threader.numNegated_ + " branches over gotos negated, " +
+		 threader.numRemoved_ + " jumps to the next instruction removed, " +
+		 threader.numMerged_ + " labels merged"
+		);
+    return(new LinkedList<>(threader.instructList_));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the instructions being simplified.
+  protected
+  List<PotentialInstruction>	instructList_;
+
+  //  PURPOSE:  To hold the position of the instruction each label marks.
+  protected
+  Map<Long,Integer>		positionOfLabel_	= new HashMap<>();
+
+  //  PURPOSE:  To count the changes of each kind.
+  protected
+  int				numThreaded_;
+
+  protected
+  int				numNegated_;
+
+  protected
+  int				numRemoved_;
+
+  protected
+  int				numMerged_;
+
+}
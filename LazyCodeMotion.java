@@ -0,0 +1,651 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        LazyCodeMotion.java                                        ---*
+ *---                                                                   ---*
+ *---        This file declares a class that removes computations that  ---*
+ *---    are redundant on some paths but not all, by computing them     ---*
+ *---    instead on the paths that lacked them, as late as possible.    ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class LazyCodeMotion
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to move the computations of 'newCfg',
+  //	taking new variables from 'newStore'.  No return value.
+  protected
+  LazyCodeMotion	(ControlFlowGraph	newCfg,
+			 VarStore		newStore
+			)
+  {
+    cfg_		= newCfg;
+    store_		= newStore;
+    available_		= new AvailableExpressions(newCfg);
+    anticipated_	= new AnticipatedExpressions(available_);
+    editor_		= new LoopEditor(newCfg);
+    laterInArray_	= new BitSet[newCfg.getNumBlocks()];
+    findLaterIn();
+    findVarUses();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return 'true' if partial redundancies are removed, or
+  //	'false' otherwise.
+  public static
+  boolean	isEnabled	()
+  {
+    return(isEnabled_static);
+  }
+
+  //  III. Mutators:
+  //  PURPOSE:  To turn the removal of partial redundancies on if
+  //	'newIsEnabled' or off otherwise.  No return value.
+  public static
+  void		setEnabled	(boolean	newIsEnabled)
+  {
+    isEnabled_static	= newIsEnabled;
+  }
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the expressions whose computation could first be
+  //	put on the edge from 'pred' to 'succ': those anticipated at 'succ'
+  //	that are neither available after 'pred' nor could have been put
+  //	any earlier.
+  protected
+  BitSet	earliest	(BasicBlock	pred,
+				 BasicBlock	succ
+				)
+  {
+    BitSet	returnMe	= (BitSet)anticipated_.getIn(succ).clone();
+    BitSet	tooLate		= (BitSet)anticipated_.getOut(pred).clone();
+
+    tooLate.andNot(anticipated_.getKill(pred));
+    returnMe.andNot(available_.getOut(pred));
+    returnMe.andNot(tooLate);
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the expressions whose computation could be put
+  //	on the edge from 'pred' to 'succ' or later.
+  protected
+  BitSet	later		(BasicBlock	pred,
+				 BasicBlock	succ
+				)
+  {
+    BitSet	returnMe	= earliest(pred,succ);
+    BitSet	passedOn	= (BitSet)laterInArray_[pred.getIndex()].clone();
+
+    passedOn.andNot(anticipated_.getLocal(pred));
+    returnMe.or(passedOn);
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the expressions computed on the edge from 'pred'
+  //	to 'succ', or into the entry if 'pred' is 'null'.
+  protected
+  BitSet	insertedOn	(BasicBlock	pred,
+				 BasicBlock	succ
+				)
+  {
+    BitSet	returnMe	= (pred == null)
+				  ? (BitSet)anticipated_.getIn(succ).clone()
+				  : later(pred,succ);
+
+    returnMe.andNot(laterInArray_[succ.getIndex()]);
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the expressions whose first computation in
+  //	'block' is removed.
+  protected
+  BitSet	deletedIn	(BasicBlock	block)
+  {
+    BitSet	returnMe	= (BitSet)anticipated_.getLocal(block).clone();
+
+    returnMe.andNot(laterInArray_[block.getIndex()]);
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To find, for each reachable block, the expressions whose
+  //	computation could still be put off until it starts.  Control
+  //	enters the entry along one more edge, on which everything
+  //	anticipated there could first be computed.  No parameters.  No
+  //	return value.
+  protected
+  void		findLaterIn	()
+  {
+    List<BasicBlock>	order		= cfg_.getReversePostorder();
+    BitSet		full		= new BitSet();
+    boolean		isChanged	= true;
+
+    full.set(0,available_.getUniverseSize());
+
+    for  (BasicBlock block : cfg_.getBlockList())
+    {
+      laterInArray_[block.getIndex()]	= (BitSet)full.clone();
+    }
+
+    while  (isChanged)
+    {
+      isChanged	= false;
+
+      for  (BasicBlock block : order)
+      {
+	BitSet	laterIn	= (block == cfg_.getEntry())
+			  ? (BitSet)anticipated_.getIn(block).clone()
+			  : (BitSet)full.clone();
+
+	for  (BasicBlock pred : block.getPredList())
+	{
+	  if  (cfg_.isReachable(pred))
+	  {
+	    laterIn.and(later(pred,block));
+	  }
+	}
+
+	if  (!laterIn.equals(laterInArray_[block.getIndex()]))
+	{
+	  laterInArray_[block.getIndex()]	= laterIn;
+	  isChanged				= true;
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To note how many times each variable is written, and the
+  //	positions that read it.  No parameters.  No return value.
+  protected
+  void		findVarUses	()
+  {
+    List<Variable>	useList	= new ArrayList<>();
+
+    for  (int i = 0;  i < cfg_.getNumInstructs();  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+      Variable			def		= instruct.getDefinedVar();
+
+      if  (def != null)
+      {
+	numDefsOfVar_.merge(def,1,Integer::sum);
+      }
+
+      useList.clear();
+      instruct.addUsedVars(useList);
+
+      for  (Variable var : useList)
+      {
+	usePositionListOfVar_.computeIfAbsent(var,v -> new ArrayList<>())
+			     .add(i);
+      }
+    }
+  }
+
+  //  PURPOSE:  To return the last position that reads the result of the
+  //	computation at 'position', or -1 if the result cannot be renamed:
+  //	it must go to a temporary written only there and read only later
+  //	in the same block.
+  protected
+  int		lastUseOf	(int	position)
+  {
+    Variable	def		= cfg_.getInstruct(position).getDefinedVar();
+    int		end		= cfg_.getBlockOf(position).getEnd();
+    int		returnMe	= position;
+
+    if  (!def.isTemp()  ||  (numDefsOfVar_.get(def) != 1))
+    {
+      return(-1);
+    }
+
+    for  (int use : usePositionListOfVar_.getOrDefault(def,List.of()))
+    {
+      if  ((use <= position)  ||  (use >= end))
+      {
+	return(-1);
+      }
+
+      returnMe	= Math.max(returnMe,use);
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return where to compute an expression on the edge from
+  //	'pred' to 'succ', or into the entry if 'pred' is 'null', or 'null'
+  //	if it has nowhere to go.  It goes at the start of 'succ' if only
+  //	'pred' leads there, else at the end of 'pred' if it leads only to
+  //	'succ', else just after 'pred' if 'succ' is where it falls through
+  //	to.  Else 'pred' jumps to a new block put just before 'succ', if
+  //	nothing falls into 'succ' from there.
+  protected
+  Placement	placementOf	(BasicBlock	pred,
+				 BasicBlock	succ
+				)
+  {
+    PotentialInstruction	last;
+    int				before	= succ.getFirst() - 1;
+
+    if  ((pred == null)  ||
+	 ((succ != cfg_.getEntry())  &&  (succ.getPredList().size() == 1))
+	)
+    {
+      return(new Placement(succ.getFirst(),false,null));
+    }
+
+    last	= cfg_.getInstruct(pred.getLast());
+
+    if  (last.getGotoAddressLabel() == PotentialInstruction.NO_ADDRESS_LABEL)
+    {
+      return(new Placement(pred.getLast(),true,null));
+    }
+
+    if  (pred.getSuccList().size() == 1)
+    {
+      return((last.getDefinedVar() == null)
+	     ? new Placement(pred.getLast(),false,null)
+	     : null
+	    );
+    }
+
+    if  ((succ.getFirst() == pred.getEnd())  &&  last.canFallThrough())
+    {
+      return(new Placement(pred.getLast(),true,null));
+    }
+
+    if  ((before >= 0)  &&
+	 !cfg_.getInstruct(before).canFallThrough()  &&
+	 (splitPredOfSucc_.getOrDefault(succ,pred) == pred)
+	)
+    {
+      return(new Placement(before,true,pred));
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To plan the placements of expression fact 'fact' on every
+  //	edge it is inserted on, returning them, or 'null' if one has
+  //	nowhere to go.
+  protected
+  List<Placement>
+		placementsOf	(int	fact)
+  {
+    List<Placement>	returnMe	= new ArrayList<>();
+    BasicBlock		entry		= cfg_.getEntry();
+    Map<Integer,BasicBlock>
+			splitPredMap	= new HashMap<>();
+
+    if  (insertedOn(null,entry).get(fact))
+    {
+      if  (!entry.getPredList().isEmpty())
+      {
+	return(null);
+      }
+
+      returnMe.add(placementOf(null,entry));
+    }
+
+    for  (BasicBlock block : cfg_.getReversePostorder())
+    {
+      for  (BasicBlock pred : block.getPredList())
+      {
+	if  (cfg_.isReachable(pred)  &&  insertedOn(pred,block).get(fact))
+	{
+	  Placement	placement	= placementOf(pred,block);
+
+	  //  One new block can go before 'block', for one predecessor:
+	  if  ((placement == null)  ||
+	       ((placement.splitPred_ != null)  &&
+		(splitPredMap.computeIfAbsent(placement.position_,p -> pred)
+		 != pred
+		)
+	       )
+	      )
+	  {
+	    return(null);
+	  }
+
+	  returnMe.add(placement);
+	}
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To remove the partial redundancies of expression fact
+  //	'fact', if any of its computations is redundant and every one can
+  //	be made to leave its result in one new temporary.  No return value.
+  protected
+  void		moveExpression	(int	fact)
+  {
+    AvailableExpressions.Expression
+			expr		= available_.getExpression(fact);
+    List<Integer>	positionList	= new ArrayList<>();
+    Set<Integer>	deleteSet	= new HashSet<>();
+    List<Placement>	placementList;
+    Variable		result		= null;
+
+    //  Division could trap somewhere it would not have:
+    if  ((expr.getOp() == VmOperation.INT_DIV_VM_OP)  ||
+	 (expr.getOp() == VmOperation.MOD_VM_OP)
+	)
+    {
+      return;
+    }
+
+    for  (BasicBlock block : cfg_.getReversePostorder())
+    {
+      boolean	isFirst	= true;
+
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	if  (expr.equals(AvailableExpressions.Expression.of
+				(cfg_.getInstruct(i))
+			)
+	    )
+	{
+	  if  (isFirst  &&  deletedIn(block).get(fact))
+	  {
+	    deleteSet.add(i);
+	  }
+
+	  isFirst	= false;
+	  positionList.add(i);
+	}
+      }
+    }
+
+    if  (deleteSet.isEmpty()  ||
+	 ((placementList = placementsOf(fact)) == null)
+	)
+    {
+      return;
+    }
+
+    //  The result of each computation is renamed to the new temporary, so
+    //  the temporary must not be written again before the last read:
+    for  (int position : positionList)
+    {
+      int	lastUse	= lastUseOf(position);
+
+      if  (lastUse < 0)
+      {
+	return;
+      }
+
+      for  (int other : positionList)
+      {
+	if  ((other > position)  &&  (other <= lastUse))
+	{
+	  return;
+	}
+      }
+
+      for  (Placement placement : placementList)
+      {
+	int	gap	= placement.isAfter_ ? placement.position_ + 1
+					     : placement.position_;
+
+	if  ((gap > position)  &&  (gap <= lastUse))
+	{
+	  return;
+	}
+      }
+    }
+
+    for  (int position : positionList)
+    {
+      Variable	def	= cfg_.getInstruct(position).getDefinedVar();
+
+      if  (result == null)
+      {
+	result	= store_.obtainTempVar(def.getType());
+      }
+
+      renameMap_.put(def,result);
+    }
+
+    for  (Placement placement : placementList)
+    {
+      insert(placement,expr,result);
+    }
+
+    deleteSet_.addAll(deleteSet);
+    numMoved_++;
+    numDeleted_	+= deleteSet.size();
+  }
+
+  //  PURPOSE:  To put the computation of 'expr' into 'result' where
+  //	'placement' says.  No return value.
+  protected
+  void		insert		(Placement			placement,
+				 AvailableExpressions.Expression
+								expr,
+				 Variable			result
+				)
+  {
+    PotentialInstruction	instruct
+		= (expr.getSrc1() == null)
+		  ? new VarVarPotentialInstruction(expr.getOp(),
+						   result,
+						   expr.getSrc0()
+						  )
+		  : new VarVarVarPotentialInstruction(expr.getOp(),
+						      result,
+						      expr.getSrc0(),
+						      expr.getSrc1()
+						     );
+
+    numInserted_++;
+
+    if  (!placement.isAfter_)
+    {
+      editor_.insertBefore(placement.position_,instruct);
+      return;
+    }
+
+    //  The first computation on a split edge starts the new block:
+    if  ((placement.splitPred_ != null)  &&
+	 !retargetMap_.containsKey(placement.splitPred_.getLast())
+	)
+    {
+      long	label	= PotentialInstruction.getNextAddressLabel();
+
+      splitPredOfSucc_.put(cfg_.getBlockOf(placement.position_ + 1),
+			   placement.splitPred_
+			  );
+      retargetMap_.put(placement.splitPred_.getLast(),label);
+      instruct.setAddressLabel(label);
+    }
+
+    editor_.insertAfter(placement.position_,instruct);
+  }
+
+  //  PURPOSE:  To make the changes planned: the redundant computations go,
+  //	the results of the others are renamed, and the jumps along split
+  //	edges go to their new blocks.  No parameters.  No return value.
+  protected
+  void		rewrite		()
+  {
+    List<Variable>	useList	= new ArrayList<>();
+
+    for  (int i = 0;  i < cfg_.getNumInstructs();  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+      boolean			isRenamed;
+
+      if  (deleteSet_.contains(i))
+      {
+	editor_.replace(i,null);
+	continue;
+      }
+
+      useList.clear();
+      instruct.addUsedVars(useList);
+      isRenamed	= renameMap_.containsKey(instruct.getDefinedVar());
+
+      for  (Variable var : useList)
+      {
+	isRenamed	|= renameMap_.containsKey(var);
+      }
+
+      if  (retargetMap_.containsKey(i))
+      {
+	instruct	= instruct.retarget(retargetMap_.get(i));
+      }
+
+      if  (isRenamed)
+      {
+	instruct	= instruct.remapVars(v -> renameMap_.getOrDefault(v,v));
+      }
+
+      if  (instruct != cfg_.getInstruct(i))
+      {
+	editor_.replace(i,instruct);
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which computations that are redundant on some
+  //	paths are made redundant on all, by lazy code motion: each is
+  //	computed on the edges that lacked it, at the latest point that is
+  //	no later than it is needed and that adds it to no path, and the
+  //	redundant ones are removed.  An edge that has nowhere to put it,
+  //	or a result that cannot be given one temporary, leaves the
+  //	expression alone.  New variables come from 'store'.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    ControlFlowGraph	cfg		= new ControlFlowGraph(instructList);
+    LazyCodeMotion	motion;
+
+    if  (!isEnabled_static  ||  (cfg.getEntry() == null))
+    {
+      return(instructList);
+    }
+
+    motion	= new LazyCodeMotion(cfg,store);
+
+    for  (int fact = 0;  fact < motion.available_.getUniverseSize();  fact++)
+    {
+      motion.moveExpression(fact);
+    }
+
+    motion.rewrite();
+    CompileReport.get().record
+		("partial redundancy",
+		 motion.numMoved_ + " expressions moved, " +
+		 motion.numInserted_ + " computations inserted, " +
+		 motion.numDeleted_ + " removed"
+		);
+    return(motion.editor_.apply());
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold 'true' if partial redundancies are removed.
+  protected static
+  boolean			isEnabled_static	= true;
+
+  //  PURPOSE:  To hold the graph changed and what is known about it.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  AvailableExpressions		available_;
+
+  protected
+  AnticipatedExpressions	anticipated_;
+
+  //  PURPOSE:  To hold, by block, the expressions whose computation could
+  //	still be put off until it starts.
+  protected
+  BitSet[]			laterInArray_;
+
+  //  PURPOSE:  To hold how many times each variable is written, and the
+  //	positions that read it.
+  protected
+  Map<Variable,Integer>		numDefsOfVar_		= new HashMap<>();
+
+  protected
+  Map<Variable,List<Integer>>	usePositionListOfVar_	= new HashMap<>();
+
+  //  PURPOSE:  To hold where new variables come from.
+  protected
+  VarStore			store_;
+
+  //  PURPOSE:  To collect the changes: the positions of the computations
+  //	removed, the temporaries each result is renamed to, and, for each
+  //	block entered along a split edge, the one predecessor it was split
+  //	for and the new label that predecessor's last instruction jumps to.
+  protected
+  LoopEditor			editor_;
+
+  protected
+  Set<Integer>			deleteSet_		= new HashSet<>();
+
+  protected
+  Map<Variable,Variable>	renameMap_		= new HashMap<>();
+
+  protected
+  Map<BasicBlock,BasicBlock>	splitPredOfSucc_	= new HashMap<>();
+
+  protected
+  Map<Integer,Long>		retargetMap_		= new HashMap<>();
+
+  //  PURPOSE:  To count the expressions moved, and the computations
+  //	inserted and removed.
+  protected
+  int				numMoved_;
+
+  protected
+  int				numInserted_;
+
+  protected
+  int				numDeleted_;
+
+
+  //  PURPOSE:  To represent where a computation goes on an edge: before
+  //	or after the instruction at a position.  After is where control
+  //	falling through from that instruction goes, or, on a split edge,
+  //	the start of a new block that the predecessor jumps to instead.
+  static
+  class	Placement
+  {
+    //  PURPOSE:  To initialize 'this' to go after 'newPosition' if
+    //	'newIsAfter' or before it otherwise, in a new block jumped to from
+    //	'newSplitPred' unless that is 'null'.
+    Placement	(int		newPosition,
+		 boolean	newIsAfter,
+		 BasicBlock	newSplitPred
+		)
+    {
+      position_		= newPosition;
+      isAfter_		= newIsAfter;
+      splitPred_	= newSplitPred;
+    }
+
+    //  PURPOSE:  To hold where the computation goes, and the predecessor
+    //	a split edge leaves.
+    int		position_;
+    boolean	isAfter_;
+    BasicBlock	splitPred_;
+  }
+
+}
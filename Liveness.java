@@ -0,0 +1,138 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        Liveness.java                                              ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds which variables may  ---*
+ *---    still be read after each block of a ControlFlowGraph.          ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+class Liveness extends DataflowAnalysis
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the solved liveness of the
+  //	non-local variables of 'newCfg'.  Bit 'i' stands for
+  //	'newCfg.getNonLocalVars().get(i)'.  No return value.
+  public
+  Liveness	(ControlFlowGraph	newCfg)
+  {
+    super(newCfg,false,true);
+    universeSize_	= newCfg.getNonLocalVars().size();
+    solve();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return 'true' if 'var' may be read after control enters
+  //	'block' before it is written, or 'false' otherwise.
+  public
+  boolean	isLiveIn	(BasicBlock	block,
+				 Variable	var
+				)
+  {
+    int	index	= cfg_.getNonLocalIndex(var);
+
+    return((index >= 0)  &&  getIn(block).get(index));
+  }
+
+  //  PURPOSE:  To return 'true' if 'var' may be read after control leaves
+  //	'block' before it is written, or 'false' otherwise.
+  public
+  boolean	isLiveOut	(BasicBlock	block,
+				 Variable	var
+				)
+  {
+    int	index	= cfg_.getNonLocalIndex(var);
+
+    return((index >= 0)  &&  getOut(block).get(index));
+  }
+
+  //  PURPOSE:  To add the variables live on exit from 'block' to
+  //	'varCollection'.  No return value.
+  public
+  void		addLiveOutVars	(BasicBlock		block,
+				 Collection<Variable>	varCollection
+				)
+  {
+    addVars(getOut(block),varCollection);
+  }
+
+  //  PURPOSE:  To add the variables live on entry to 'block' to
+  //	'varCollection'.  No return value.
+  public
+  void		addLiveInVars	(BasicBlock		block,
+				 Collection<Variable>	varCollection
+				)
+  {
+    addVars(getIn(block),varCollection);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To set 'gen' to the non-local variables 'block' reads before
+  //	writing and 'kill' to those it writes.  No return value.
+  @Override
+  protected
+  void		computeTransfer	(BasicBlock	block,
+				 BitSet		gen,
+				 BitSet		kill
+				)
+  {
+    List<Variable>	useList	= new ArrayList<>();
+
+    for  (int i = block.getFirst();  i < block.getEnd();  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+      int			defIndex;
+
+      useList.clear();
+      instruct.addUsedVars(useList);
+
+      for  (Variable var : useList)
+      {
+	int	index	= cfg_.getNonLocalIndex(var);
+
+	if  ((index >= 0)  &&  !kill.get(index))
+	{
+	  gen.set(index);
+	}
+      }
+
+      defIndex	= cfg_.getNonLocalIndex(instruct.getDefinedVar());
+
+      if  (defIndex >= 0)
+      {
+	kill.set(defIndex);
+      }
+    }
+  }
+
+  //  PURPOSE:  To add the variables whose bits are set in 'bits' to
+  //	'varCollection'.  No return value.
+  protected
+  void		addVars		(BitSet			bits,
+				 Collection<Variable>	varCollection
+				)
+  {
+    List<Variable>	nonLocalList	= cfg_.getNonLocalVars();
+
+    for  (int i = bits.nextSetBit(0);  i >= 0;  i = bits.nextSetBit(i + 1))
+    {
+      varCollection.add(nonLocalList.get(i));
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+
+}
@@ -0,0 +1,246 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        LoopEditor.java                                            ---*
+ *---                                                                   ---*
+ *---        This file declares a class that collects changes to the    ---*
+ *---    instructions of a ControlFlowGraph, including new preheaders   ---*
+ *---    for its loops, and then builds the changed instruction list.   ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class LoopEditor
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to make no changes yet to the
+  //	instructions of 'newCfg'.  No return value.
+  public
+  LoopEditor	(ControlFlowGraph	newCfg)
+  {
+    cfg_	= newCfg;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return 'true' if any change has been asked for, or
+  //	'false' otherwise.
+  public
+  boolean	hasChanges	()
+  {
+    return(!preheaderListMap_.isEmpty()  ||
+	   !insertBeforeMap_.isEmpty()  ||
+	   !insertAfterMap_.isEmpty()  ||
+	   !replacementMap_.isEmpty()
+	  );
+  }
+
+  //  PURPOSE:  To return 'true' if 'loop' can be given a preheader, or
+  //	'false' otherwise.  Only a labelled header can be jumped to.
+  public
+  boolean	canAddPreheader	(NaturalLoop	loop)
+  {
+    return(cfg_.getInstruct(loop.getHeader().getFirst()).getAddressLabel()
+	   != PotentialInstruction.NO_ADDRESS_LABEL
+	  );
+  }
+
+  //  III. Mutators:
+  //  PURPOSE:  To put 'instruct' before the instruction at 'position'.
+  //	If that instruction carries a label, the first instruction put
+  //	before it takes the label.  No return value.
+  public
+  void		insertBefore	(int			position,
+				 PotentialInstruction	instruct
+				)
+  {
+    insertBeforeMap_.computeIfAbsent(position,p -> new ArrayList<>())
+		    .add(instruct);
+  }
+
+  //  PURPOSE:  To put 'instruct' after the instruction at 'position',
+  //	where only control falling through from it, or jumping to a label
+  //	'instruct' carries, reaches it.  No return value.
+  public
+  void		insertAfter	(int			position,
+				 PotentialInstruction	instruct
+				)
+  {
+    insertAfterMap_.computeIfAbsent(position,p -> new ArrayList<>())
+		   .add(instruct);
+  }
+
+  //  PURPOSE:  To put 'instruct' in place of the instruction at
+  //	'position', or to remove that instruction if 'instruct' is 'null'.
+  //	Its label stays where it was.  No return value.
+  public
+  void		replace		(int			position,
+				 PotentialInstruction	instruct
+				)
+  {
+    replacementMap_.put(position,instruct);
+  }
+
+  //  PURPOSE:  To add 'instruct' to the end of the preheader of 'loop',
+  //	creating the preheader on first use: a labelled block just before
+  //	the header that every entry from outside the loop goes through.  A
+  //	loop block that used to fall into the header jumps over it instead.
+  //	'canAddPreheader(loop)' must be 'true'.  No return value.
+  public
+  void		addToPreheader	(NaturalLoop		loop,
+				 PotentialInstruction	instruct
+				)
+  {
+    BasicBlock	header		= loop.getHeader();
+    int		first		= header.getFirst();
+    long	headerLabel	= cfg_.getInstruct(first).getAddressLabel();
+
+    if  (!preheaderListMap_.containsKey(first))
+    {
+      List<PotentialInstruction>	preheaderList	= new ArrayList<>();
+      PotentialInstruction		placeholder
+			= new PotentialInstruction(VmOperation.NO_VM_OP);
+      long				preheaderLabel
+			= PotentialInstruction.getNextAddressLabel();
+
+      if  (first > 0)
+      {
+	BasicBlock	before	= cfg_.getBlockOf(first - 1);
+
+	if  (loop.contains(before)  &&
+	     cfg_.getInstruct(before.getLast()).canFallThrough()
+	    )
+	{
+	  preheaderList.add
+		(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP,
+					      headerLabel
+					     )
+		);
+	}
+      }
+
+      placeholder.setAddressLabel(preheaderLabel);
+      preheaderList.add(placeholder);
+      preheaderListMap_.put(first,preheaderList);
+
+      for  (BasicBlock pred : header.getPredList())
+      {
+	int	last	= pred.getLast();
+
+	if  (!loop.contains(pred)  &&
+	     (cfg_.getInstruct(last).getGotoAddressLabel() == headerLabel)
+	    )
+	{
+	  replace(last,getCurrent(last).retarget(preheaderLabel));
+	}
+      }
+    }
+
+    preheaderListMap_.get(first).add(instruct);
+  }
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the instruction at 'position' as changed so far.
+  protected
+  PotentialInstruction
+		getCurrent	(int	position)
+  {
+    return(replacementMap_.containsKey(position)
+	   ? replacementMap_.get(position)
+	   : cfg_.getInstruct(position)
+	  );
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return the instructions of the graph with every change
+  //	made.  No parameters.
+  public
+  List<PotentialInstruction>
+		apply		()
+  {
+    List<PotentialInstruction>	returnMe	= new ArrayList<>();
+
+    for  (int i = 0;  i < cfg_.getNumInstructs();  i++)
+    {
+      PotentialInstruction	original	= cfg_.getInstruct(i);
+      PotentialInstruction	instruct	= getCurrent(i);
+      long			label		= original.getAddressLabel();
+
+      if  (preheaderListMap_.containsKey(i))
+      {
+	returnMe.addAll(preheaderListMap_.get(i));
+      }
+
+      if  (insertBeforeMap_.containsKey(i))
+      {
+	List<PotentialInstruction>	insertList	= insertBeforeMap_.get(i);
+
+	insertList.get(0).setAddressLabel(label);
+	returnMe.addAll(insertList);
+	label	= PotentialInstruction.NO_ADDRESS_LABEL;
+      }
+
+      if  ((instruct == null)  &&
+	   (label != PotentialInstruction.NO_ADDRESS_LABEL)
+	  )
+      {
+	instruct	= new PotentialInstruction(VmOperation.NO_VM_OP);
+      }
+
+      if  (instruct != null)
+      {
+	if  (instruct != original)
+	{
+	  instruct.setAddressLabel(label);
+	}
+	else
+	if  (label != original.getAddressLabel())
+	{
+	  instruct	= instruct.remapVars(v -> v);
+	  instruct.setAddressLabel(label);
+	}
+
+	returnMe.add(instruct);
+      }
+
+      if  (insertAfterMap_.containsKey(i))
+      {
+	returnMe.addAll(insertAfterMap_.get(i));
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph whose instructions are changed.
+  protected
+  ControlFlowGraph		cfg_;
+
+  //  PURPOSE:  To hold, by position of a loop header's first instruction,
+  //	the preheader that goes before it.
+  protected
+  Map<Integer,List<PotentialInstruction>>
+				preheaderListMap_	= new HashMap<>();
+
+  //  PURPOSE:  To hold, by position, the instructions to put before an
+  //	instruction, those to put after it, and those to put in its place.
+  protected
+  Map<Integer,List<PotentialInstruction>>
+				insertBeforeMap_	= new HashMap<>();
+
+  protected
+  Map<Integer,List<PotentialInstruction>>
+				insertAfterMap_		= new HashMap<>();
+
+  protected
+  Map<Integer,PotentialInstruction>
+				replacementMap_		= new HashMap<>();
+
+}
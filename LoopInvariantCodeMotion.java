@@ -0,0 +1,275 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        LoopInvariantCodeMotion.java                               ---*
+ *---                                                                   ---*
+ *---        This file declares a class that moves computations whose   ---*
+ *---    result is the same on every iteration of a loop into a block   ---*
+ *---    that runs once before the loop starts.                         ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+class LoopInvariantCodeMotion
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to move the invariants out of the
+  //	loops of 'newCfg'.  No return value.
+  protected
+  LoopInvariantCodeMotion	(ControlFlowGraph	newCfg)
+  {
+    cfg_	= newCfg;
+    dominators_	= new Dominators(newCfg);
+    liveness_	= new Liveness(newCfg);
+    editor_	= new LoopEditor(newCfg);
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'var' has the same value everywhere in
+  //	the loop: it is a constant, the loop never writes it, or it is
+  //	written only by an instruction already chosen to be hoisted.
+  protected
+  boolean	isInvariant	(Variable		var,
+				 Map<Variable,Integer>	numDefsOfVar,
+				 Set<Variable>		hoistedVarSet
+				)
+  {
+    return(var.isConstant()  ||
+	   !numDefsOfVar.containsKey(var)  ||
+	   hoistedVarSet.contains(var)
+	  );
+  }
+
+  //  PURPOSE:  To return 'true' if 'instruct', in 'block' of 'loop', may
+  //	run once before the loop instead of on every iteration, or 'false'
+  //	otherwise.  It must be pure, be the only write in the loop of a
+  //	variable whose earlier value the loop does not read, and read only
+  //	invariants.  Its variable must also be written whenever the loop is
+  //	left, or not be read after it.
+  protected
+  boolean	isHoistable	(PotentialInstruction	instruct,
+				 BasicBlock		block,
+				 NaturalLoop		loop,
+				 Map<Variable,Integer>	numDefsOfVar,
+				 Set<Variable>		hoistedVarSet
+				)
+  {
+    Variable		def	= instruct.getDefinedVar();
+    List<Variable>	useList	= new ArrayList<>();
+
+    if  (!DeadCodeEliminator.isRemovable(instruct)  ||
+	 (numDefsOfVar.get(def) != 1)  ||
+	 liveness_.isLiveIn(loop.getHeader(),def)
+	)
+    {
+      return(false);
+    }
+
+    instruct.addUsedVars(useList);
+
+    for  (Variable var : useList)
+    {
+      if  (!isInvariant(var,numDefsOfVar,hoistedVarSet))
+      {
+	return(false);
+      }
+    }
+
+    for  (BasicBlock exiting : loop.getExitingList())
+    {
+      if  (dominators_.dominates(block,exiting))
+      {
+	continue;
+      }
+
+      for  (BasicBlock succ : exiting.getSuccList())
+      {
+	if  (!loop.contains(succ)  &&  liveness_.isLiveIn(succ,def))
+	{
+	  return(false);
+	}
+      }
+    }
+
+    return(true);
+  }
+
+  //  PURPOSE:  To choose the invariants of 'loop' and have 'editor_' move
+  //	them into its preheader.  Returns 'true' if any were found, or
+  //	'false' otherwise.
+  protected
+  boolean	planLoop	(NaturalLoop	loop)
+  {
+    Map<Variable,Integer>	numDefsOfVar	= new HashMap<>();
+    Set<Variable>		hoistedVarSet	= new HashSet<>();
+    Set<Integer>		hoistedSet	= new HashSet<>();
+    boolean			hasFound	= true;
+
+    if  (!editor_.canAddPreheader(loop))
+    {
+      return(false);
+    }
+
+    for  (BasicBlock block : loop.getBlockList())
+    {
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	Variable	def	= cfg_.getInstruct(i).getDefinedVar();
+
+	if  (def != null)
+	{
+	  numDefsOfVar.merge(def,1,Integer::sum);
+	}
+      }
+    }
+
+    //  Hoisting one instruction can make those reading its result
+    //  invariant, so sweep until none is found:
+    while  (hasFound)
+    {
+      hasFound	= false;
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	for  (int i = block.getFirst();  i < block.getEnd();  i++)
+	{
+	  PotentialInstruction	instruct	= cfg_.getInstruct(i);
+
+	  if  (!hoistedSet.contains(i)  &&
+	       isHoistable(instruct,block,loop,numDefsOfVar,hoistedVarSet)
+	      )
+	  {
+	    PotentialInstruction	moved
+			= instruct.remapVars(UnaryOperator.identity());
+
+	    moved.setAddressLabel(PotentialInstruction.NO_ADDRESS_LABEL);
+	    editor_.addToPreheader(loop,moved);
+	    editor_.replace(i,null);
+	    hoistedSet.add(i);
+	    hoistedVarSet.add(instruct.getDefinedVar());
+	    hasFound	= true;
+	  }
+	}
+      }
+    }
+
+    if  (hoistedSet.isEmpty())
+    {
+      return(false);
+    }
+
+    numHoisted_	+= hoistedSet.size();
+    numLoops_++;
+    return(true);
+  }
+
+  //  PURPOSE:  To plan the hoisting for every loop that does not overlap a
+  //	loop already changed, innermost first.  An enclosing loop is left
+  //	for the next round, when its inner loops' preheaders are part of
+  //	it.  Returns 'true' if any loop was changed, or 'false' otherwise.
+  protected
+  boolean	plan		()
+  {
+    boolean[]	isChangedArray	= new boolean[cfg_.getNumBlocks()];
+    boolean	returnMe	= false;
+
+    for  (NaturalLoop loop : NaturalLoop.findAll(cfg_,dominators_))
+    {
+      boolean	isOverlapping	= false;
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	isOverlapping	|= isChangedArray[block.getIndex()];
+      }
+
+      if  (isOverlapping  ||  !planLoop(loop))
+      {
+	continue;
+      }
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	isChangedArray[block.getIndex()]	= true;
+      }
+
+      returnMe	= true;
+    }
+
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' with the loop-invariant computations of each natural
+  //	loop moved into a preheader, so they run once per entry to the loop.
+  //	Repeats until nothing moves, so invariants of nested loops travel
+  //	out as far as they can.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList)
+  {
+    List<PotentialInstruction>	list		= instructList;
+    int				numHoisted	= 0;
+    int				numLoops	= 0;
+
+    while  (true)
+    {
+      LoopInvariantCodeMotion	motion
+		= new LoopInvariantCodeMotion(new ControlFlowGraph(list));
+
+      if  (!motion.plan())
+      {
+	break;
+      }
+
+      list	 = motion.editor_.apply();
+      numHoisted += motion.numHoisted_;
+      numLoops	 += motion.numLoops_;
+    }
+
+    CompileReport.get().record
+		("loop invariants",
+		 numHoisted + " instructions hoisted into " +
+		 numLoops + " preheaders"
+		);
+    return(new LinkedList<>(list));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph changed and what is known about it.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  Dominators			dominators_;
+
+  protected
+  Liveness			liveness_;
+
+  //  PURPOSE:  To collect the changes to the graph.
+  protected
+  LoopEditor			editor_;
+
+  //  PURPOSE:  To count the instructions hoisted and the preheaders made.
+  protected
+  int				numHoisted_;
+
+  protected
+  int				numLoops_;
+
+}
@@ -0,0 +1,628 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        LoopUnroller.java                                          ---*
+ *---                                                                   ---*
+ *---        This file declares a class that copies the bodies of       ---*
+ *---    counted loops, so fewer instructions are spent stepping and    ---*
+ *---    testing the counter.                                           ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+class LoopUnroller
+{
+  // 0. Constants:
+  //  PURPOSE:  To tell how many copies of a body a loop is unrolled into
+  //	unless told otherwise.
+  public static final
+  int		DEFAULT_FACTOR		= 4;
+
+  //  PURPOSE:  To tell how many instructions the copies of one loop's body
+  //	may come to when the loop is unrolled completely, and when it is
+  //	unrolled by the factor.
+  public static final
+  int		FULL_UNROLL_BUDGET	= 64;
+
+  public static final
+  int		PARTIAL_UNROLL_BUDGET	= 128;
+
+  //  PURPOSE:  To tell how many blocks before a loop are searched for the
+  //	constant its counter starts at.
+  public static final
+  int		MAX_BLOCKS_SEARCHED	= 4;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to unroll the counted loops of
+  //	'newCfg' not in 'newDoneSet', taking any new variables from
+  //	'newStore'.  No return value.
+  protected
+  LoopUnroller	(ControlFlowGraph		newCfg,
+		 VarStore			newStore,
+		 Set<PotentialInstruction>	newDoneSet
+		)
+  {
+    cfg_	= newCfg;
+    store_	= newStore;
+    doneSet_	= newDoneSet;
+    dominators_	= new Dominators(newCfg);
+    editor_	= new LoopEditor(newCfg);
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return how many copies of a body loops are unrolled into.
+  public static
+  int		getFactor	()
+  {
+    return(factor_static);
+  }
+
+  //  III. Mutators:
+  //  PURPOSE:  To make loops be unrolled into 'newFactor' copies of their
+  //	body, where 1 turns partial unrolling off.  No return value.
+  public static
+  void		setFactor	(int	newFactor)
+  {
+    if  (newFactor < 1)
+    {
+      throw new IllegalArgumentException("Unroll factor must be at least 1");
+    }
+
+    factor_static	= newFactor;
+  }
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'op' steps a counted loop, or 'false'
+  //	otherwise.
+  protected static
+  boolean	isCountedLoopOp	(VmOperation	op)
+  {
+    return((op == VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP)  ||
+	   (op == VmOperation.INT_DEC_GREATER_GOTO_VM_OP)
+	  );
+  }
+
+  //  PURPOSE:  To return the instruction that closes 'loop' if it is a
+  //	counted loop this class can unroll, or 'null' otherwise.  The loop
+  //	must be laid out as one run of instructions ending in its only
+  //	exit, a counted-loop instruction back to its labelled header, and
+  //	nothing else in it may write the counter or the limit.
+  protected
+  VarVarAddrPotentialInstruction
+		countedLoopOp	(NaturalLoop	loop)
+  {
+    BasicBlock		header	= loop.getHeader();
+    BasicBlock		latch;
+    PotentialInstruction	last;
+    VarVarAddrPotentialInstruction	counted;
+    int			numInstructs	= 0;
+
+    if  ((loop.getLatchList().size() != 1)  ||
+	 (loop.getExitingList().size() != 1)  ||
+	 (loop.getExitingList().get(0) != loop.getLatchList().get(0))  ||
+	 !editor_.canAddPreheader(loop)
+	)
+    {
+      return(null);
+    }
+
+    latch	= loop.getLatchList().get(0);
+    last	= cfg_.getInstruct(latch.getLast());
+
+    if  (!isCountedLoopOp(last.getOp())  ||
+	 doneSet_.contains(last)  ||
+	 (last.getGotoAddressLabel()
+	  != cfg_.getInstruct(header.getFirst()).getAddressLabel()
+	 )  ||
+	 (latch.getEnd() >= cfg_.getNumInstructs())
+	)
+    {
+      return(null);
+    }
+
+    for  (BasicBlock block : loop.getBlockList())
+    {
+      if  ((block.getFirst() < header.getFirst())  ||
+	   (block.getEnd() > latch.getEnd())
+	  )
+      {
+	return(null);
+      }
+
+      numInstructs	+= block.getEnd() - block.getFirst();
+    }
+
+    if  (numInstructs != latch.getEnd() - header.getFirst())
+    {
+      return(null);
+    }
+
+    counted	= (VarVarAddrPotentialInstruction)last;
+
+    for  (int i = header.getFirst();  i < latch.getLast();  i++)
+    {
+      Variable	def	= cfg_.getInstruct(i).getDefinedVar();
+
+      if  ((def == counted.getSrc0())  ||  (def == counted.getSrc1()))
+      {
+	return(null);
+      }
+    }
+
+    return(counted);
+  }
+
+  //  PURPOSE:  To return the constant 'var' holds when control enters
+  //	'loop' from outside, or 'null' if it is not known.  Searches back
+  //	from the entry through blocks with one predecessor.
+  protected
+  Long		entryConstant	(NaturalLoop	loop,
+				 Variable	var
+				)
+  {
+    BasicBlock	block	= null;
+
+    for  (BasicBlock pred : loop.getHeader().getPredList())
+    {
+      if  (!loop.contains(pred))
+      {
+	if  (block != null)
+	{
+	  return(null);
+	}
+
+	block	= pred;
+      }
+    }
+
+    for  (int numSearched = 0;
+	  (block != null)  &&  (numSearched < MAX_BLOCKS_SEARCHED);
+	  numSearched++
+	 )
+    {
+      for  (int i = block.getLast();  i >= block.getFirst();  i--)
+      {
+	PotentialInstruction	instruct	= cfg_.getInstruct(i);
+
+	if  (instruct.getDefinedVar() != var)
+	{
+	  continue;
+	}
+
+	if  ((instruct.getOp() == VmOperation.INT_COPY_VM_OP)  &&
+	     ((VarVarPotentialInstruction)instruct).getSrc0().isConstant()
+	    )
+	{
+	  return(((VarVarPotentialInstruction)instruct).getSrc0()
+						       .getValue()
+						       .getInteger()
+		);
+	}
+
+	return(null);
+      }
+
+      block	= (block.getPredList().size() == 1)
+		  ? block.getPredList().get(0)
+		  : null;
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To return the instructions from position 'first' up to but
+  //	not including 'end', with every label they define replaced by a
+  //	new one and every variable mapped by 'mapper'.  Placeholders that
+  //	mark no label are left out.
+  protected
+  List<PotentialInstruction>
+		copyBody	(int			first,
+				 int			end,
+				 UnaryOperator<Variable>	mapper
+				)
+  {
+    Map<Long,Long>		labelMap	= new HashMap<>();
+    List<PotentialInstruction>	returnMe	= new ArrayList<>();
+
+    for  (int i = first;  i < end;  i++)
+    {
+      long	label	= cfg_.getInstruct(i).getAddressLabel();
+
+      if  (label != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	labelMap.put(label,PotentialInstruction.getNextAddressLabel());
+      }
+    }
+
+    for  (int i = first;  i < end;  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+      PotentialInstruction	copy		= instruct.remapVars(mapper);
+      long			target		= instruct.getGotoAddressLabel();
+
+      if  ((instruct.getOp() == VmOperation.NO_VM_OP)  &&
+	   (instruct.getAddressLabel() == PotentialInstruction.NO_ADDRESS_LABEL)
+	  )
+      {
+	continue;
+      }
+
+      if  (labelMap.containsKey(target))
+      {
+	copy	= copy.retarget(labelMap.get(target));
+      }
+
+      copy.setAddressLabel(labelMap.getOrDefault
+				(instruct.getAddressLabel(),
+				 PotentialInstruction.NO_ADDRESS_LABEL
+				)
+			  );
+      returnMe.add(copy);
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return the number of instructions, other than
+  //	placeholders, from position 'first' up to but not including 'end'.
+  protected
+  int		sizeOf		(int	first,
+				 int	end
+				)
+  {
+    int	returnMe	= 0;
+
+    for  (int i = first;  i < end;  i++)
+    {
+      if  (cfg_.getInstruct(i).getOp() != VmOperation.NO_VM_OP)
+      {
+	returnMe++;
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To return 'true' if an instruction from position 'first' up
+  //	to but not including 'end' reads 'var', or 'false' otherwise.
+  protected
+  boolean	isRead		(Variable	var,
+				 int		first,
+				 int		end
+				)
+  {
+    List<Variable>	useList	= new ArrayList<>();
+
+    for  (int i = first;  i < end;  i++)
+    {
+      useList.clear();
+      cfg_.getInstruct(i).addUsedVars(useList);
+
+      if  (useList.contains(var))
+      {
+	return(true);
+      }
+    }
+
+    return(false);
+  }
+
+  //  PURPOSE:  To replace 'loop', which 'counted' closes and which runs
+  //	'numTrips' times starting with its counter at 'start', by that many
+  //	copies of its body in its preheader, each reading the counter's
+  //	value for its trip as a constant, followed by setting the counter
+  //	to its value after the loop.  No return value.
+  protected
+  void		unrollFully	(NaturalLoop			loop,
+				 VarVarAddrPotentialInstruction	counted,
+				 long				start,
+				 long				numTrips
+				)
+  {
+    int		first		= loop.getHeader().getFirst();
+    int		last		= loop.getLatchList().get(0).getLast();
+    Variable	counter		= counted.getSrc0();
+    long	step		= (counted.getOp()
+				   == VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP
+				  ) ? 1 : -1;
+
+    for  (long trip = 0;  trip < numTrips;  trip++)
+    {
+      Variable	value
+		= store_.obtainConstVar(new IntegerValue(start + trip * step));
+
+      for  (PotentialInstruction copy
+		: copyBody(first,last,v -> (v == counter) ? value : v)
+	   )
+      {
+	editor_.addToPreheader(loop,copy);
+      }
+    }
+
+    editor_.addToPreheader
+	(loop,
+	 new VarVarPotentialInstruction
+		(VmOperation.INT_COPY_VM_OP,
+		 counter,
+		 store_.obtainConstVar(new IntegerValue(start + numTrips * step))
+		)
+	);
+
+    for  (int i = first;  i <= last;  i++)
+    {
+      editor_.replace(i,null);
+    }
+
+    numFullyUnrolled_++;
+  }
+
+  //  PURPOSE:  To put before 'loop', which 'counted' closes and whose body
+  //	does not read the counter, a loop that runs 'factor_static' copies
+  //	of the body per trip while that many trips remain.  The counter is
+  //	stepped once per trip, by the number of copies, and the original
+  //	loop runs whatever trips are left over.  No return value.
+  protected
+  void		unrollPartly	(NaturalLoop			loop,
+				 VarVarAddrPotentialInstruction	counted)
+  {
+    int		first		= loop.getHeader().getFirst();
+    int		last		= loop.getLatchList().get(0).getLast();
+    Variable	counter		= counted.getSrc0();
+    Variable	limit		= counted.getSrc1();
+    boolean	isUp		= (counted.getOp()
+				   == VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP
+				  );
+    long	endLabel	= cfg_.getInstruct(last + 1).getAddressLabel();
+    long	mainLabel	= PotentialInstruction.getNextAddressLabel();
+    long	restLabel	= PotentialInstruction.getNextAddressLabel();
+    Variable	mainLimit	= store_.obtainTempVar(Type.INTEGER);
+    Variable	extraSteps
+		= store_.obtainConstVar(new IntegerValue(factor_static - 1));
+    PotentialInstruction	mainLoopOp
+		= new VarVarAddrPotentialInstruction(counted.getOp(),
+						     counter,
+						     mainLimit,
+						     mainLabel
+						    );
+    PotentialInstruction	placeholder;
+
+    //  Do whole trips while the counter is at least 'factor_static - 1'
+    //  steps short of 'limit':
+    editor_.addToPreheader
+	(loop,
+	 new VarVarVarPotentialInstruction(isUp ? VmOperation.INT_SUB_VM_OP
+						: VmOperation.INT_ADD_VM_OP,
+					   mainLimit,
+					   limit,
+					   extraSteps
+					  )
+	);
+    editor_.addToPreheader
+	(loop,
+	 new VarVarAddrPotentialInstruction
+		(isUp ? VmOperation.INT_GREATER_GOTO_VM_OP
+		      : VmOperation.INT_LESSER_EQUAL_GOTO_VM_OP,
+		 counter,
+		 mainLimit,
+		 restLabel
+		)
+	);
+
+    placeholder	= new PotentialInstruction(VmOperation.NO_VM_OP);
+    placeholder.setAddressLabel(mainLabel);
+    editor_.addToPreheader(loop,placeholder);
+
+    for  (int copy = 0;  copy < factor_static;  copy++)
+    {
+      for  (PotentialInstruction instruct
+		: copyBody(first,last,UnaryOperator.identity())
+	   )
+      {
+	editor_.addToPreheader(loop,instruct);
+      }
+    }
+
+    editor_.addToPreheader
+	(loop,
+	 new VarVarPotentialInstruction(isUp ? VmOperation.INT_ADD_VAR_VAR_VM_OP
+					     : VmOperation.INT_SUB_VAR_VAR_VM_OP,
+					counter,
+					extraSteps
+				       )
+	);
+    editor_.addToPreheader(loop,mainLoopOp);
+
+    //  Leave if no trips are left over, else let the original loop do them:
+    placeholder	= new PotentialInstruction(VmOperation.NO_VM_OP);
+    placeholder.setAddressLabel(restLabel);
+    editor_.addToPreheader(loop,placeholder);
+    editor_.addToPreheader
+	(loop,
+	 new VarVarAddrPotentialInstruction
+		(isUp ? VmOperation.INT_GREATER_GOTO_VM_OP
+		      : VmOperation.INT_LESSER_EQUAL_GOTO_VM_OP,
+		 counter,
+		 limit,
+		 endLabel
+		)
+	);
+
+    doneSet_.add(counted);
+    doneSet_.add(mainLoopOp);
+    numPartlyUnrolled_++;
+  }
+
+  //  PURPOSE:  To unroll 'loop' if it is a counted loop within budget.
+  //	Returns 'true' if it was, or 'false' otherwise.
+  protected
+  boolean	planLoop	(NaturalLoop	loop)
+  {
+    VarVarAddrPotentialInstruction	counted	= countedLoopOp(loop);
+    int					first;
+    int					last;
+    int					bodySize;
+    Long				start;
+
+    if  (counted == null)
+    {
+      return(false);
+    }
+
+    first	= loop.getHeader().getFirst();
+    last	= loop.getLatchList().get(0).getLast();
+    bodySize	= sizeOf(first,last);
+    start	= entryConstant(loop,counted.getSrc0());
+
+    if  ((start != null)  &&  counted.getSrc1().isConstant())
+    {
+      long	limit		= counted.getSrc1().getValue().getInteger();
+      long	numTrips	= (counted.getOp()
+				   == VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP
+				  )
+				  ? limit - start + 1
+				  : start - limit;
+
+      if  ((numTrips > 0)  &&
+	   (numTrips <= FULL_UNROLL_BUDGET)  &&
+	   (numTrips * bodySize <= FULL_UNROLL_BUDGET)
+	  )
+      {
+	unrollFully(loop,counted,start,numTrips);
+	return(true);
+      }
+    }
+
+    if  ((factor_static > 1)  &&
+	 (bodySize * factor_static <= PARTIAL_UNROLL_BUDGET)  &&
+	 !isRead(counted.getSrc0(),first,last)  &&
+	 (cfg_.getInstruct(last + 1).getAddressLabel()
+	  != PotentialInstruction.NO_ADDRESS_LABEL
+	 )
+	)
+    {
+      unrollPartly(loop,counted);
+      return(true);
+    }
+
+    doneSet_.add(counted);
+    return(false);
+  }
+
+  //  PURPOSE:  To plan the unrolling of every loop that does not overlap a
+  //	loop already changed, innermost first.  Returns 'true' if any loop
+  //	was changed, or 'false' otherwise.
+  protected
+  boolean	plan		()
+  {
+    boolean[]	isChangedArray	= new boolean[cfg_.getNumBlocks()];
+    boolean	returnMe	= false;
+
+    for  (NaturalLoop loop : NaturalLoop.findAll(cfg_,dominators_))
+    {
+      boolean	isOverlapping	= false;
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	isOverlapping	|= isChangedArray[block.getIndex()];
+      }
+
+      if  (isOverlapping  ||  !planLoop(loop))
+      {
+	continue;
+      }
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	isChangedArray[block.getIndex()]	= true;
+      }
+
+      returnMe	= true;
+    }
+
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' with its counted loops unrolled: completely, into
+  //	straight-line code, when the trip count is a small constant, or
+  //	else by 'getFactor()' when the body is small and does not read the
+  //	counter.  New variables come from 'store'.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    List<PotentialInstruction>	list		= instructList;
+    Set<PotentialInstruction>	doneSet		= new HashSet<>();
+    int				numFully	= 0;
+    int				numPartly	= 0;
+
+    while  (true)
+    {
+      LoopUnroller	unroller
+		= new LoopUnroller(new ControlFlowGraph(list),store,doneSet);
+
+      if  (!unroller.plan())
+      {
+	break;
+      }
+
+      list	 = unroller.editor_.apply();
+      numFully	 += unroller.numFullyUnrolled_;
+      numPartly	 += unroller.numPartlyUnrolled_;
+    }
+
+    CompileReport.get().record
+		("unrolling",
+		 numFully + " loops unrolled completely, " +
+		 numPartly + " unrolled by " + factor_static
+		);
+    return(new LinkedList<>(list));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold how many copies of a body loops are unrolled into.
+  protected static
+  int				factor_static	= DEFAULT_FACTOR;
+
+  //  PURPOSE:  To hold the graph changed and what is known about it.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  Dominators			dominators_;
+
+  //  PURPOSE:  To hold where new variables come from.
+  protected
+  VarStore			store_;
+
+  //  PURPOSE:  To hold the counted-loop instructions of loops already
+  //	dealt with, which are not looked at again.
+  protected
+  Set<PotentialInstruction>	doneSet_;
+
+  //  PURPOSE:  To collect the changes to the graph.
+  protected
+  LoopEditor			editor_;
+
+  //  PURPOSE:  To count the loops unrolled each way.
+  protected
+  int				numFullyUnrolled_;
+
+  protected
+  int				numPartlyUnrolled_;
+
+}
@@ -0,0 +1,787 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        MethodHandleCompiler.java                                  ---*
+ *---                                                                   ---*
+ *---        This file declares classes that translate a VmProgram into ---*
+ *---    a graph of MethodHandles, so that HotSpot can inline it        ---*
+ *---    without any class file being generated.                        ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.PrintStream;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+class MethodHandleCompiler
+{
+  // 0. Constants:
+  //  PURPOSE:  To hold the block number that means the program halts.
+  public static final
+  int		HALT_BLOCK		= -1;
+
+  //  PURPOSE:  To hold the types of the static methods that do one
+  //	instruction, or test whether one branch is taken, given its three
+  //	operands and the frame.
+  protected static final
+  MethodType	STATEMENT_TYPE
+		= MethodType.methodType(void.class,
+					int.class,
+					int.class,
+					int.class,
+					Frame.class
+				       );
+
+  protected static final
+  MethodType	TEST_TYPE
+		= MethodType.methodType(boolean.class,
+					int.class,
+					int.class,
+					int.class,
+					Frame.class
+				       );
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To return a MethodHandleProgram that implements 'program' as
+  //	threaded code: each basic block is a chain of handles bound to the
+  //	slots its instructions use, and the blocks are dispatched by one
+  //	loop over a table switch.  Throws ReflectiveOperationException if a
+  //	handle cannot be found.
+  public static
+  MethodHandleProgram
+		compile		(VmProgram	program
+				)
+				throws ReflectiveOperationException
+  {
+    MethodHandleCompiler
+		compiler	= new MethodHandleCompiler(program);
+    MethodHandle
+		handle		= compiler.toDispatchHandle();
+
+    CompileReport.get().record
+		("method handles",
+		 compiler.numBlocks_ + " blocks threaded, " +
+		 compiler.numLoops_ + " inner single-block loops made loop combinators"
+		);
+    return(new MethodHandleProgram(program,new ConstantCallSite(handle)));
+  }
+
+  //  PURPOSE:  To initialize 'this' to translate 'newProgram'.  No return
+  //	value.
+  protected
+  MethodHandleCompiler	(VmProgram	newProgram)
+  {
+    program_	= newProgram;
+    code_	= newProgram.getCode();
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the opcode at 'pc'.
+  protected
+  int		opcodeAt	(int	pc)
+  {
+    return(code_[pc * VmProgram.STRIDE + VmProgram.OPCODE_OFFSET]);
+  }
+
+  //  PURPOSE:  To return operand 'offset' of the instruction at 'pc'.
+  protected
+  int		operandAt	(int	pc,
+				 int	offset
+				)
+  {
+    return(code_[pc * VmProgram.STRIDE + offset]);
+  }
+
+  //  PURPOSE:  To return 'true' if 'opcode' branches on a condition.
+  protected static
+  boolean	isConditionalBranch
+				(int	opcode)
+  {
+    return((opcode >= VmProgram.OP_IF_FALSE_GOTO)  &&
+	   (opcode <= VmProgram.OP_INT_DEC_GREATER_GOTO)
+	  );
+  }
+
+  //  PURPOSE:  To return 'true' if 'opcode' ends a basic block.
+  protected static
+  boolean	isTerminator	(int	opcode)
+  {
+    return((opcode == VmProgram.OP_HALT)  ||
+	   (opcode == VmProgram.OP_GOTO)  ||
+	   isConditionalBranch(opcode)
+	  );
+  }
+
+  //  PURPOSE:  To return the pc the branch or goto at 'pc' jumps to.
+  protected
+  int		targetAt	(int	pc)
+  {
+    switch  (opcodeAt(pc))
+    {
+    case VmProgram.OP_GOTO :
+      return(operandAt(pc,VmProgram.OPERAND_A_OFFSET));
+
+    case VmProgram.OP_IF_FALSE_GOTO :
+    case VmProgram.OP_IF_TRUE_GOTO :
+      return(operandAt(pc,VmProgram.OPERAND_B_OFFSET));
+    }
+
+    return(operandAt(pc,VmProgram.OPERAND_C_OFFSET));
+  }
+
+  //  PURPOSE:  To fill 'blockOfPc_' with the number of the block that
+  //	starts at each pc that starts one, and 'leaderList_' with those pcs
+  //	in order.  No parameters.  No return value.
+  protected
+  void		findBlocks	()
+  {
+    int		length		= program_.getLength();
+    boolean[]	isLeader	= new boolean[length + 1];
+
+    blockOfPc_	= new int[length + 1];
+    isLeader[0]	= true;
+
+    for  (int pc = 0;  pc < length;  pc++)
+    {
+      int	opcode	= opcodeAt(pc);
+
+      if  (isTerminator(opcode))
+      {
+	isLeader[pc + 1]	= true;
+
+	if  (opcode != VmProgram.OP_HALT)
+	{
+	  isLeader[targetAt(pc)]	= true;
+	}
+      }
+    }
+
+    for  (int pc = 0;  pc <= length;  pc++)
+    {
+      blockOfPc_[pc]	= HALT_BLOCK;
+
+      if  (isLeader[pc]  &&  (opcodeAt(pc) != VmProgram.OP_HALT))
+      {
+	blockOfPc_[pc]	= leaderList_.size();
+	leaderList_.add(pc);
+      }
+    }
+
+    numBlocks_	= leaderList_.size();
+  }
+
+  //  PURPOSE:  To return the name of the static method of this class that
+  //	does the instruction, or tests the branch, with opcode 'opcode'.
+  protected static
+  String	helperNameOf	(int	opcode)
+  {
+    switch  (opcode)
+    {
+    case VmProgram.OP_BOOL_CLEAR :		return("boolClear");
+    case VmProgram.OP_INT_CLEAR :		return("intClear");
+    case VmProgram.OP_REAL_CLEAR :		return("realClear");
+    case VmProgram.OP_BOOL_PRINT :		return("boolPrint");
+    case VmProgram.OP_INT_PRINT :		return("intPrint");
+    case VmProgram.OP_REAL_PRINT :		return("realPrint");
+    case VmProgram.OP_STRING_PRINT :		return("stringPrint");
+    case VmProgram.OP_BOOL_PRINTLN :		return("boolPrintln");
+    case VmProgram.OP_INT_PRINTLN :		return("intPrintln");
+    case VmProgram.OP_REAL_PRINTLN :		return("realPrintln");
+    case VmProgram.OP_STRING_PRINTLN :		return("stringPrintln");
+    case VmProgram.OP_BOOL_COPY :		return("boolCopy");
+    case VmProgram.OP_INT_COPY :		return("intCopy");
+    case VmProgram.OP_REAL_COPY :		return("realCopy");
+    case VmProgram.OP_STRING_COPY :		return("stringCopy");
+    case VmProgram.OP_INT_ADD_VAR_VAR :		return("intAddVarVar");
+    case VmProgram.OP_REAL_ADD_VAR_VAR :	return("realAddVarVar");
+    case VmProgram.OP_INT_SUB_VAR_VAR :		return("intSubVarVar");
+    case VmProgram.OP_REAL_SUB_VAR_VAR :	return("realSubVarVar");
+    case VmProgram.OP_INT_MUL_VAR_VAR :		return("intMulVarVar");
+    case VmProgram.OP_REAL_MUL_VAR_VAR :	return("realMulVarVar");
+    case VmProgram.OP_INT_TO_REAL :		return("intToReal");
+    case VmProgram.OP_INT_ADD :			return("intAdd");
+    case VmProgram.OP_REAL_ADD :		return("realAdd");
+    case VmProgram.OP_INT_SUB :			return("intSub");
+    case VmProgram.OP_REAL_SUB :		return("realSub");
+    case VmProgram.OP_INT_MUL :			return("intMul");
+    case VmProgram.OP_REAL_MUL :		return("realMul");
+    case VmProgram.OP_INT_DIV :			return("intDiv");
+    case VmProgram.OP_REAL_DIV :		return("realDiv");
+    case VmProgram.OP_MOD :			return("mod");
+    case VmProgram.OP_LOGIC_AND :		return("logicAnd");
+    case VmProgram.OP_LOGIC_OR :		return("logicOr");
+    case VmProgram.OP_INT_EQUAL :		return("intEqual");
+    case VmProgram.OP_INT_NOT_EQUAL :		return("intNotEqual");
+    case VmProgram.OP_REAL_EQUAL :		return("realEqual");
+    case VmProgram.OP_REAL_NOT_EQUAL :		return("realNotEqual");
+    case VmProgram.OP_INT_LESSER :		return("intLesser");
+    case VmProgram.OP_REAL_LESSER :		return("realLesser");
+    case VmProgram.OP_INT_LESSER_EQUAL :	return("intLesserEqual");
+    case VmProgram.OP_REAL_LESSER_EQUAL :	return("realLesserEqual");
+    case VmProgram.OP_INT_GREATER :		return("intGreater");
+    case VmProgram.OP_REAL_GREATER :		return("realGreater");
+    case VmProgram.OP_INT_GREATER_EQUAL :	return("intGreaterEqual");
+    case VmProgram.OP_REAL_GREATER_EQUAL :	return("realGreaterEqual");
+    case VmProgram.OP_BOOL_EQUAL :		return("boolEqual");
+    case VmProgram.OP_BOOL_NOT_EQUAL :		return("boolNotEqual");
+    case VmProgram.OP_STRING_EQUAL :		return("stringEqual");
+    case VmProgram.OP_STRING_NOT_EQUAL :	return("stringNotEqual");
+    case VmProgram.OP_BOOL_LESSER :		return("boolLesser");
+    case VmProgram.OP_BOOL_LESSER_EQUAL :	return("boolLesserEqual");
+    case VmProgram.OP_BOOL_GREATER :		return("boolGreater");
+    case VmProgram.OP_BOOL_GREATER_EQUAL :	return("boolGreaterEqual");
+    case VmProgram.OP_STRING_LESSER :		return("stringLesser");
+    case VmProgram.OP_STRING_LESSER_EQUAL :	return("stringLesserEqual");
+    case VmProgram.OP_STRING_GREATER :		return("stringGreater");
+    case VmProgram.OP_STRING_GREATER_EQUAL :	return("stringGreaterEqual");
+    case VmProgram.OP_INT_DIV_SHIFT :		return("intDivShift");
+    case VmProgram.OP_MOD_SHIFT :		return("modShift");
+    case VmProgram.OP_INT_DIV_MAGIC :		return("intDivMagic");
+    case VmProgram.OP_MOD_MAGIC :		return("modMagic");
+
+    case VmProgram.OP_IF_FALSE_GOTO :		return("isFalse");
+    case VmProgram.OP_IF_TRUE_GOTO :		return("isTrue");
+    case VmProgram.OP_INT_EQUAL_GOTO :		return("isIntEqual");
+    case VmProgram.OP_REAL_EQUAL_GOTO :		return("isRealEqual");
+    case VmProgram.OP_INT_NOT_EQUAL_GOTO :	return("isIntNotEqual");
+    case VmProgram.OP_REAL_NOT_EQUAL_GOTO :	return("isRealNotEqual");
+    case VmProgram.OP_INT_LESSER_GOTO :		return("isIntLesser");
+    case VmProgram.OP_REAL_LESSER_GOTO :	return("isRealLesser");
+    case VmProgram.OP_INT_LESSER_EQUAL_GOTO :	return("isIntLesserEqual");
+    case VmProgram.OP_REAL_LESSER_EQUAL_GOTO :	return("isRealLesserEqual");
+    case VmProgram.OP_INT_GREATER_GOTO :	return("isIntGreater");
+    case VmProgram.OP_REAL_GREATER_GOTO :	return("isRealGreater");
+    case VmProgram.OP_INT_GREATER_EQUAL_GOTO :	return("isIntGreaterEqual");
+    case VmProgram.OP_REAL_GREATER_EQUAL_GOTO :	return("isRealGreaterEqual");
+    case VmProgram.OP_INT_INC_LESSER_EQUAL_GOTO :return("isIncLesserEqual");
+    case VmProgram.OP_INT_DEC_GREATER_GOTO :	return("isDecGreater");
+    }
+
+    throw new IllegalArgumentException("Bad opcode " + opcode);
+  }
+
+  //  PURPOSE:  To return the helper of the instruction at 'pc', of type
+  //	'type', with its operands bound so that it takes only the frame.
+  protected
+  MethodHandle	boundHelperAt	(int		pc,
+				 MethodType	type
+				)
+				throws ReflectiveOperationException
+  {
+    MethodHandle	helper	= LOOKUP.findStatic(MethodHandleCompiler.class,
+						    helperNameOf(opcodeAt(pc)),
+						    type
+						   );
+
+    return(MethodHandles.insertArguments
+		(helper,
+		 0,
+		 operandAt(pc,VmProgram.OPERAND_A_OFFSET),
+		 operandAt(pc,VmProgram.OPERAND_B_OFFSET),
+		 operandAt(pc,VmProgram.OPERAND_C_OFFSET)
+		)
+	  );
+  }
+
+  //  PURPOSE:  To return a handle that takes the frame and returns block
+  //	number 'block'.
+  protected static
+  MethodHandle	constantBlock	(int	block)
+  {
+    return(MethodHandles.dropArguments
+		(MethodHandles.constant(int.class,block),0,Frame.class)
+	  );
+  }
+
+  //  PURPOSE:  To return one handle that runs 'handleList[from..to)', each
+  //	of type '(Frame)void', in order.  They are combined as a balanced
+  //	tree so a long block does not make a deep chain.
+  protected static
+  MethodHandle	sequence	(List<MethodHandle>	handleList,
+				 int			from,
+				 int			to
+				)
+  {
+    if  (from == to)
+    {
+      return(MethodHandles.empty(MethodType.methodType(void.class,Frame.class)));
+    }
+
+    if  (to - from == 1)
+    {
+      return(handleList.get(from));
+    }
+
+    int		middle	= (from + to) / 2;
+
+    return(MethodHandles.foldArguments(sequence(handleList,middle,to),
+				       sequence(handleList,from,middle)
+				      )
+	  );
+  }
+
+  //  PURPOSE:  To return the pc of the terminator of block number 'block',
+  //	or of the first instruction after it if it falls through.
+  protected
+  int		endOf		(int	block)
+  {
+    int		leader	= leaderList_.get(block);
+    int		pc	= leader;
+
+    while  ((pc < program_.getLength())  &&
+	    !isTerminator(opcodeAt(pc))  &&
+	    ((pc == leader)  ||  (blockOfPc_[pc] == HALT_BLOCK))
+	   )
+    {
+      pc++;
+    }
+
+    return(pc);
+  }
+
+  //  PURPOSE:  To return the numbers of the blocks that can run right after
+  //	block number 'block'.
+  protected
+  List<Integer>	successorsOf	(int	block)
+  {
+    List<Integer>	successorList	= new ArrayList<>();
+    int			pc		= endOf(block);
+    int			opcode		= (pc == program_.getLength())
+					  ? VmProgram.OP_HALT
+					  : opcodeAt(pc);
+
+    if  (!isTerminator(opcode))
+    {
+      successorList.add(blockOfPc_[pc]);
+    }
+    else
+    if  (opcode != VmProgram.OP_HALT)
+    {
+      successorList.add(blockOfPc_[targetAt(pc)]);
+
+      if  (opcode != VmProgram.OP_GOTO)
+      {
+	successorList.add(blockOfPc_[pc + 1]);
+      }
+    }
+
+    successorList.removeIf(successor -> (successor == HALT_BLOCK));
+    return(successorList);
+  }
+
+  //  PURPOSE:  To return 'true' if block number 'block' can run again after
+  //	leaving through an edge other than to itself, or 'false' otherwise:
+  //	that is, if it is inside some larger loop.
+  protected
+  boolean	isReentered	(int	block)
+  {
+    boolean[]		isVisited	= new boolean[numBlocks_];
+    List<Integer>	workList	= new ArrayList<>();
+
+    for  (int successor : successorsOf(block))
+    {
+      if  (successor != block)
+      {
+	workList.add(successor);
+      }
+    }
+
+    while  (!workList.isEmpty())
+    {
+      int	current	= workList.remove(workList.size() - 1);
+
+      if  (current == block)
+      {
+	return(true);
+      }
+
+      if  (!isVisited[current])
+      {
+	isVisited[current]	= true;
+	workList.addAll(successorsOf(current));
+      }
+    }
+
+    return(false);
+  }
+
+  //  PURPOSE:  To return the handle of block number 'block': it runs the
+  //	block's instructions and returns the number of the block to run
+  //	next.  A block whose last instruction branches back to its own start,
+  //	and that is inside a larger loop, becomes a 'doWhileLoop()': it runs
+  //	without going back through the dispatch handle until it exits, and
+  //	is entered often enough for HotSpot to inline its body into it.  An
+  //	outermost such block is entered once, so it goes back through the
+  //	dispatch handle on each iteration instead.
+  protected
+  MethodHandle	toBlockHandle	(int	block)
+				throws ReflectiveOperationException
+  {
+    List<MethodHandle>	statementList	= new ArrayList<>();
+    int			end		= endOf(block);
+    int			pc		= end;
+
+    for  (int i = leaderList_.get(block);  i < end;  i++)
+    {
+      statementList.add(boundHelperAt(i,STATEMENT_TYPE));
+    }
+
+    MethodHandle	body	= sequence(statementList,0,statementList.size());
+
+    if  ((pc == program_.getLength())  ||  !isTerminator(opcodeAt(pc)))
+    {
+      return(MethodHandles.foldArguments(constantBlock(blockOfPc_[pc]),body));
+    }
+
+    int			opcode	= opcodeAt(pc);
+
+    if  (opcode == VmProgram.OP_HALT)
+    {
+      return(MethodHandles.foldArguments(constantBlock(HALT_BLOCK),body));
+    }
+
+    if  (opcode == VmProgram.OP_GOTO)
+    {
+      return(MethodHandles.foldArguments(constantBlock(blockOfPc_[targetAt(pc)]),
+					 body
+					)
+	    );
+    }
+
+    MethodHandle	test	= boundHelperAt(pc,TEST_TYPE);
+    int			taken	= blockOfPc_[targetAt(pc)];
+    int			next	= blockOfPc_[pc + 1];
+
+    if  ((taken == block)  &&  isReentered(block))
+    {
+      numLoops_++;
+      return(MethodHandles.foldArguments
+		(constantBlock(next),
+		 MethodHandles.doWhileLoop(null,body,test)
+		)
+	    );
+    }
+
+    return(MethodHandles.foldArguments
+		(MethodHandles.guardWithTest(test,
+					     constantBlock(taken),
+					     constantBlock(next)
+					    ),
+		 body
+		)
+	  );
+  }
+
+  //  PURPOSE:  To return the handle that, given a block number and the
+  //	frame, runs that block through a table switch and returns the
+  //	number of the block to run next.  It is invoked once per block
+  //	run, rather than wrapped in a 'whileLoop()' that is invoked once per
+  //	program run, because HotSpot customizes, and so inlines through, a
+  //	handle only once it has been invoked often.
+  protected
+  MethodHandle	toDispatchHandle()
+				throws ReflectiveOperationException
+  {
+    findBlocks();
+
+    if  (numBlocks_ == 0)
+    {
+      return(MethodHandles.dropArguments(constantBlock(HALT_BLOCK),0,int.class));
+    }
+
+    MethodHandle[]	caseArray	= new MethodHandle[numBlocks_];
+
+    for  (int block = 0;  block < numBlocks_;  block++)
+    {
+      caseArray[block]	= MethodHandles.dropArguments
+				(toBlockHandle(block),0,int.class);
+    }
+
+    return(MethodHandles.tableSwitch
+		(LOOKUP.findStatic(MethodHandleCompiler.class,
+				   "badBlock",
+				   MethodType.methodType(int.class,
+							 int.class,
+							 Frame.class
+							)
+				  ),
+		 caseArray
+		)
+	  );
+  }
+
+  //  PURPOSE:  To refuse to dispatch to a block that does not exist.
+  protected static
+  int		badBlock	(int block, Frame f)
+  {
+    throw new IllegalStateException("Bad block " + block);
+  }
+
+  //  PURPOSE:  To do one instruction on 'f'.  Each takes all three
+  //	operands, used or not, so every one has 'STATEMENT_TYPE'.
+  static void boolClear	(int a, int b, int c, Frame f) { f.slots_[a] = 0; }
+  static void intClear	(int a, int b, int c, Frame f) { f.slots_[a] = 0; }
+  static void realClear	(int a, int b, int c, Frame f) { f.slots_[a] = 0; }
+
+  static void boolPrint	(int a, int b, int c, Frame f) { f.out_.print(f.slots_[a] != 0); }
+  static void intPrint	(int a, int b, int c, Frame f) { f.out_.print(f.slots_[a]); }
+  static void realPrint	(int a, int b, int c, Frame f) { f.out_.print(real(f.slots_[a])); }
+  static void stringPrint(int a, int b, int c, Frame f) { f.out_.print(f.strings_[(int)f.slots_[a]]); }
+  static void boolPrintln(int a, int b, int c, Frame f) { f.out_.println(f.slots_[a] != 0); }
+  static void intPrintln(int a, int b, int c, Frame f) { f.out_.println(f.slots_[a]); }
+  static void realPrintln(int a, int b, int c, Frame f) { f.out_.println(real(f.slots_[a])); }
+  static void stringPrintln(int a, int b, int c, Frame f) { f.out_.println(f.strings_[(int)f.slots_[a]]); }
+
+  static void boolCopy	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b]; }
+  static void intCopy	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b]; }
+  static void realCopy	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b]; }
+  static void stringCopy(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b]; }
+
+  static void intAddVarVar (int a, int b, int c, Frame f) { f.slots_[a] += f.slots_[b]; }
+  static void realAddVarVar(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[a]) + real(f.slots_[b])); }
+  static void intSubVarVar (int a, int b, int c, Frame f) { f.slots_[a] -= f.slots_[b]; }
+  static void realSubVarVar(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[a]) - real(f.slots_[b])); }
+  static void intMulVarVar (int a, int b, int c, Frame f) { f.slots_[a] *= f.slots_[b]; }
+  static void realMulVarVar(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[a]) * real(f.slots_[b])); }
+  static void intToReal	(int a, int b, int c, Frame f) { f.slots_[a] = bits((double)f.slots_[b]); }
+
+  static void intAdd	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] + f.slots_[c]; }
+  static void realAdd	(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[b]) + real(f.slots_[c])); }
+  static void intSub	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] - f.slots_[c]; }
+  static void realSub	(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[b]) - real(f.slots_[c])); }
+  static void intMul	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] * f.slots_[c]; }
+  static void realMul	(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[b]) * real(f.slots_[c])); }
+  static void intDiv	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] / f.slots_[c]; }
+  static void realDiv	(int a, int b, int c, Frame f) { f.slots_[a] = bits(real(f.slots_[b]) / real(f.slots_[c])); }
+  static void mod	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] % f.slots_[c]; }
+  static void logicAnd	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] & f.slots_[c]; }
+  static void logicOr	(int a, int b, int c, Frame f) { f.slots_[a] = f.slots_[b] | f.slots_[c]; }
+
+  static void intEqual	(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] == f.slots_[c]); }
+  static void intNotEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] != f.slots_[c]); }
+  static void realEqual	(int a, int b, int c, Frame f) { f.slots_[a] = bit(real(f.slots_[b]) == real(f.slots_[c])); }
+  static void realNotEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(real(f.slots_[b]) != real(f.slots_[c])); }
+  static void intLesser	(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] < f.slots_[c]); }
+  static void realLesser(int a, int b, int c, Frame f) { f.slots_[a] = bit(real(f.slots_[b]) < real(f.slots_[c])); }
+  static void intLesserEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] <= f.slots_[c]); }
+  static void realLesserEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(real(f.slots_[b]) <= real(f.slots_[c])); }
+  static void intGreater(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] > f.slots_[c]); }
+  static void realGreater(int a, int b, int c, Frame f) { f.slots_[a] = bit(real(f.slots_[b]) > real(f.slots_[c])); }
+  static void intGreaterEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] >= f.slots_[c]); }
+  static void realGreaterEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(real(f.slots_[b]) >= real(f.slots_[c])); }
+  static void boolEqual	(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] == f.slots_[c]); }
+  static void boolNotEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] != f.slots_[c]); }
+  static void stringEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(string(f,b).equals(string(f,c))); }
+  static void stringNotEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(!string(f,b).equals(string(f,c))); }
+  static void boolLesser(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] < f.slots_[c]); }
+  static void boolLesserEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] <= f.slots_[c]); }
+  static void boolGreater(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] > f.slots_[c]); }
+  static void boolGreaterEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(f.slots_[b] >= f.slots_[c]); }
+  static void stringLesser(int a, int b, int c, Frame f) { f.slots_[a] = bit(string(f,b).compareTo(string(f,c)) < 0); }
+  static void stringLesserEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(string(f,b).compareTo(string(f,c)) <= 0); }
+  static void stringGreater(int a, int b, int c, Frame f) { f.slots_[a] = bit(string(f,b).compareTo(string(f,c)) > 0); }
+  static void stringGreaterEqual(int a, int b, int c, Frame f) { f.slots_[a] = bit(string(f,b).compareTo(string(f,c)) >= 0); }
+
+  static
+  void		intDivShift	(int a, int b, int c, Frame f)
+  {
+    f.slots_[a]	= (f.slots_[b] + ((f.slots_[b] >> 63) >>> (64 - c))) >> c;
+  }
+
+  static
+  void		modShift	(int a, int b, int c, Frame f)
+  {
+    f.slots_[a]	= f.slots_[b]
+		  - ((f.slots_[b] + ((f.slots_[b] >> 63) >>> (64 - c))) & (-1L << c));
+  }
+
+  //  PURPOSE:  To return 'n' divided by the divisor of the entry at 'c' of
+  //	the table of constant divisors.
+  static
+  long		magicQuotient	(long n, int c, Frame f)
+  {
+    final long	multiplier	= f.magic_[c + VmProgram.MAGIC_MULTIPLIER_OFFSET];
+    long	q		= (Math.multiplyHigh(n,multiplier)
+				   + (n & (multiplier >> 63))
+				  )
+				  >> f.magic_[c + VmProgram.MAGIC_SHIFT_OFFSET];
+
+    return(q + (q >>> 63));
+  }
+
+  static
+  void		intDivMagic	(int a, int b, int c, Frame f)
+  {
+    f.slots_[a]	= magicQuotient(f.slots_[b],c,f);
+  }
+
+  static
+  void		modMagic	(int a, int b, int c, Frame f)
+  {
+    final long	n	= f.slots_[b];
+
+    f.slots_[a]	= n - magicQuotient(n,c,f)
+			* f.magic_[c + VmProgram.MAGIC_DIVISOR_OFFSET];
+  }
+
+  //  PURPOSE:  To return 'true' if the branch with these operands is taken
+  //	on 'f'.  Each has 'TEST_TYPE'.
+  static boolean isFalse(int a, int b, int c, Frame f) { return(f.slots_[a] == 0); }
+  static boolean isTrue	(int a, int b, int c, Frame f) { return(f.slots_[a] != 0); }
+  static boolean isIntEqual(int a, int b, int c, Frame f) { return(f.slots_[a] == f.slots_[b]); }
+  static boolean isRealEqual(int a, int b, int c, Frame f) { return(real(f.slots_[a]) == real(f.slots_[b])); }
+  static boolean isIntNotEqual(int a, int b, int c, Frame f) { return(f.slots_[a] != f.slots_[b]); }
+  static boolean isRealNotEqual(int a, int b, int c, Frame f) { return(real(f.slots_[a]) != real(f.slots_[b])); }
+  static boolean isIntLesser(int a, int b, int c, Frame f) { return(f.slots_[a] < f.slots_[b]); }
+  static boolean isRealLesser(int a, int b, int c, Frame f) { return(real(f.slots_[a]) < real(f.slots_[b])); }
+  static boolean isIntLesserEqual(int a, int b, int c, Frame f) { return(f.slots_[a] <= f.slots_[b]); }
+  static boolean isRealLesserEqual(int a, int b, int c, Frame f) { return(real(f.slots_[a]) <= real(f.slots_[b])); }
+  static boolean isIntGreater(int a, int b, int c, Frame f) { return(f.slots_[a] > f.slots_[b]); }
+  static boolean isRealGreater(int a, int b, int c, Frame f) { return(real(f.slots_[a]) > real(f.slots_[b])); }
+  static boolean isIntGreaterEqual(int a, int b, int c, Frame f) { return(f.slots_[a] >= f.slots_[b]); }
+  static boolean isRealGreaterEqual(int a, int b, int c, Frame f) { return(real(f.slots_[a]) >= real(f.slots_[b])); }
+  static boolean isIncLesserEqual(int a, int b, int c, Frame f) { return(++f.slots_[a] <= f.slots_[b]); }
+  static boolean isDecGreater(int a, int b, int c, Frame f) { return(--f.slots_[a] > f.slots_[b]); }
+
+  //  PURPOSE:  To convert between a real or boolean and the long a frame
+  //	slot holds it as, as 'VmProgram.newFrame()' lays it out.
+  static double	real	(long bits)	{ return(Double.longBitsToDouble(bits)); }
+  static long	bits	(double value)	{ return(Double.doubleToRawLongBits(value)); }
+  static long	bit	(boolean value)	{ return(value ? 1 : 0); }
+
+  //  PURPOSE:  To return the string that slot 'slot' of 'f' indexes.
+  static String	string	(Frame f, int slot) { return(f.strings_[(int)f.slots_[slot]]); }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To find the static methods of this class.
+  protected static final
+  MethodHandles.Lookup		LOOKUP		= MethodHandles.lookup();
+
+  //  PURPOSE:  To hold the program being translated, and its code.
+  protected final
+  VmProgram			program_;
+
+  protected final
+  int[]				code_;
+
+  //  PURPOSE:  To hold the number of the block that starts at each pc, or
+  //	'HALT_BLOCK' if none does, and the pc each block starts at.
+  protected
+  int[]				blockOfPc_;
+
+  protected
+  List<Integer>			leaderList_	= new ArrayList<>();
+
+  //  PURPOSE:  To hold how many blocks there are, and how many of them
+  //	became loop combinators.
+  protected
+  int				numBlocks_	= 0;
+
+  protected
+  int				numLoops_	= 0;
+
+
+  //  PURPOSE:  To hold the state a program's handles read and write: its
+  //	frame of slots and the string table they index, where it prints, and
+  //	its table of constant divisors.
+  static
+  class	Frame
+  {
+    Frame	(VmProgram	program,
+		 PrintStream	newOut
+		)
+    {
+      slots_	= program.newFrame();
+      strings_	= program.getStringTable();
+      magic_	= program.getMagicArray();
+      out_	= newOut;
+    }
+
+    final long[]		slots_;
+    final String[]		strings_;
+    final long[]		magic_;
+    final PrintStream		out_;
+  }
+
+}
+
+
+class MethodHandleProgram
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to run 'newCallSite', whose target is
+  //	the dispatch handle of 'newProgram'.  No return value.
+  public
+  MethodHandleProgram	(VmProgram		newProgram,
+			 ConstantCallSite	newCallSite
+			)
+  {
+    program_	= newProgram;
+    callSite_	= newCallSite;
+    invoker_	= newCallSite.dynamicInvoker();
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To run the program from its start with freshly initialized
+  //	variables, writing to 'out'.  Throws ArithmeticException on integer
+  //	division by zero.  No return value.
+  public
+  void		run		(PrintStream	out)
+  {
+    MethodHandleCompiler.Frame
+		frame	= new MethodHandleCompiler.Frame(program_,out);
+
+    try
+    {
+      for  (int block = 0;  block != MethodHandleCompiler.HALT_BLOCK; )
+      {
+	block	= (int)invoker_.invokeExact(block,frame);
+      }
+    }
+    catch  (RuntimeException | Error error)
+    {
+      throw error;
+    }
+    catch  (Throwable error)
+    {
+      throw new IllegalStateException(error);
+    }
+    finally
+    {
+      out.flush();
+    }
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the program that was compiled.
+  protected final
+  VmProgram			program_;
+
+  //  PURPOSE:  To hold the call site whose constant target is the dispatch
+  //	handle of the program, and the handle that invokes through it.
+  protected final
+  ConstantCallSite		callSite_;
+
+  protected final
+  MethodHandle			invoker_;
+
+}
@@ -0,0 +1,171 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        NaturalLoop.java                                           ---*
+ *---                                                                   ---*
+ *---        This file declares a class that represents a loop of a     ---*
+ *---    ControlFlowGraph: a header that dominates the blocks that jump ---*
+ *---    back to it, and every block that can reach those without       ---*
+ *---    passing the header.                                            ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+class NaturalLoop
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the loop headed by 'newHeader'
+  //	whose back edges come from 'newLatchList'.  No return value.
+  protected
+  NaturalLoop	(BasicBlock		newHeader,
+		 List<BasicBlock>	newLatchList
+		)
+  {
+    LinkedList<BasicBlock>	toVisit	= new LinkedList<>(newLatchList);
+
+    header_	= newHeader;
+    latchList_	= newLatchList;
+    blockSet_.add(newHeader);
+
+    while  (!toVisit.isEmpty())
+    {
+      BasicBlock	block	= toVisit.removeFirst();
+
+      if  (blockSet_.add(block))
+      {
+	toVisit.addAll(block.getPredList());
+      }
+    }
+
+    blockList_	= new ArrayList<>(blockSet_);
+    blockList_.sort(Comparator.comparingInt(BasicBlock::getIndex));
+
+    for  (BasicBlock block : blockList_)
+    {
+      for  (BasicBlock succ : block.getSuccList())
+      {
+	if  (!contains(succ))
+	{
+	  exitingList_.add(block);
+	  break;
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To return the loops of 'cfg', innermost first.  Back edges
+  //	to the same header make one loop.
+  public static
+  List<NaturalLoop>
+		findAll		(ControlFlowGraph	cfg,
+				 Dominators		dominators
+				)
+  {
+    List<NaturalLoop>	returnMe	= new ArrayList<>();
+
+    for  (BasicBlock header : cfg.getReversePostorder())
+    {
+      List<BasicBlock>	latchList	= new ArrayList<>();
+
+      for  (BasicBlock pred : header.getPredList())
+      {
+	if  (dominators.dominates(header,pred))
+	{
+	  latchList.add(pred);
+	}
+      }
+
+      if  (!latchList.isEmpty())
+      {
+	returnMe.add(new NaturalLoop(header,latchList));
+      }
+    }
+
+    returnMe.sort(Comparator.comparingInt(NaturalLoop::getNumBlocks));
+    return(returnMe);
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the block every iteration starts at.
+  public
+  BasicBlock	getHeader	()
+  {
+    return(header_);
+  }
+
+  //  PURPOSE:  To return the blocks that jump back to the header.
+  public
+  List<BasicBlock>
+		getLatchList	()
+  {
+    return(latchList_);
+  }
+
+  //  PURPOSE:  To return the blocks of 'this' loop in program order.
+  public
+  List<BasicBlock>
+		getBlockList	()
+  {
+    return(blockList_);
+  }
+
+  //  PURPOSE:  To return the number of blocks of 'this' loop.
+  public
+  int		getNumBlocks	()
+  {
+    return(blockList_.size());
+  }
+
+  //  PURPOSE:  To return the blocks of 'this' loop that may leave it.
+  public
+  List<BasicBlock>
+		getExitingList	()
+  {
+    return(exitingList_);
+  }
+
+  //  PURPOSE:  To return 'true' if 'block' is in 'this' loop, or 'false'
+  //	otherwise.
+  public
+  boolean	contains	(BasicBlock	block)
+  {
+    return(blockSet_.contains(block));
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the block every iteration starts at.
+  protected
+  BasicBlock			header_;
+
+  //  PURPOSE:  To hold the blocks that jump back to the header.
+  protected
+  List<BasicBlock>		latchList_;
+
+  //  PURPOSE:  To hold the blocks of the loop, as a set and in program
+  //	order.
+  protected
+  Set<BasicBlock>		blockSet_	= new HashSet<>();
+
+  protected
+  List<BasicBlock>		blockList_;
+
+  //  PURPOSE:  To hold the blocks that have a successor outside the loop.
+  protected
+  List<BasicBlock>		exitingList_	= new ArrayList<>();
+
+}
@@ -10,9 +10,14 @@
  *---                                                                   ---*
  *-------------------------------------------------------------------------*/
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects; // For Objects.requireNonNull
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 public abstract class ParseNode {
     //  I. Constructor(s):
@@ -20,16 +25,57 @@ public abstract class ParseNode {
     public ParseNode() {
     }
 
+    //  PURPOSE: To return a literal node that represents 'value'.
+    public static ParseNode newConstant(Value value) {
+        switch (value.getType()) {
+            case BOOLEAN:
+                return new BoolParseNode(value.getBoolean());
+            case INTEGER:
+                return new IntParseNode(value.getInteger());
+            case REAL:
+                return new RealParseNode(value.getReal());
+            case STRING:
+                return new StringParseNode(value.getString());
+            default:
+                throw new IllegalArgumentException("Constant has no type");
+        }
+    }
+
     //  II.  Accessor(s):
     //  PURPOSE: To tell the type that 'this' node returns, or 'NONE' if it
     //	does not return a value.
     public abstract Type getType();
 
+    //  PURPOSE: To return 'true' if 'this' node is a literal whose value is
+    //	known at compile time, or 'false' otherwise.
+    public boolean isConstant() {
+        return false;
+    }
+
+    //  PURPOSE: To return the value of 'this' literal node.
+    public Value getConstantValue() {
+        throw new UnsupportedOperationException("Node is not a constant");
+    }
+
     //  PURPOSE: To return the address of the variable being referenced.
     public Variable getVariable() {
         throw new UnsupportedOperationException("Node has no variable");
     }
 
+    //  PURPOSE: To return the node that holds 'this' as a child, or 'null'
+    //	if none does.
+    public ParseNode getParent() {
+        return parent_;
+    }
+
+    //  PURPOSE: To return the Sethi-Ullman number of 'this' node: how many
+    //	temporaries must be live at once while computing its value, when
+    //	the operand needing more of them is always computed first.
+    //	Variables and literals are read where they are, so need none.
+    public int getTempNeed() {
+        return 0;
+    }
+
     //  III. Mutator(s):
     //  PURPOSE: To set the address of the node on the left to 'node'.
     public void setLeft(ParseNode node) {
@@ -85,6 +131,14 @@ public abstract class ParseNode {
             throws Exception {
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Must be called after 'check()'.  Returns the node that should replace
+    //	'*this', which is '*this' itself unless it folded away entirely.
+    public ParseNode fold()
+            throws Exception {
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -92,7 +146,172 @@ public abstract class ParseNode {
     )
             throws Exception;
 
+    //  PURPOSE:  To convert '*this' boolean condition into PotentialInstruction
+    //	instances in 'list' that go to 'trueLabel' if it holds and to
+    //	'falseLabel' if it does not.  Either label, but not both, may be
+    //	'PotentialInstruction.NO_ADDRESS_LABEL' to fall through instead.  No
+    //	return value.
+    public void toBranch(List<PotentialInstruction> list,
+                         long trueLabel,
+                         long falseLabel
+    )
+            throws Exception {
+        if (isConstant()) {
+            long target = getConstantValue().getBoolean() ? trueLabel : falseLabel;
+
+            if (target != PotentialInstruction.NO_ADDRESS_LABEL)
+                list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP, target));
+
+            return;
+        }
+
+        Variable cond = toAssembly(list);
+
+        if (trueLabel == PotentialInstruction.NO_ADDRESS_LABEL) {
+            list.add(new VarAddrPotentialInstruction(VmOperation.IF_FALSE_GOTO_VM_OP, cond, falseLabel));
+            return;
+        }
+
+        list.add(new VarAddrPotentialInstruction(VmOperation.IF_TRUE_GOTO_VM_OP, cond, trueLabel));
+
+        if (falseLabel != PotentialInstruction.NO_ADDRESS_LABEL)
+            list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP, falseLabel));
+    }
+
+    //  PURPOSE:  To append to 'list' the placeholder instruction that marks
+    //	address 'label'.  No return value.
+    protected static void placeLabel(List<PotentialInstruction> list,
+                                     long label
+    ) {
+        PotentialInstruction instruct = new PotentialInstruction(VmOperation.NO_VM_OP);
+
+        instruct.setAddressLabel(label);
+        list.add(instruct);
+    }
+
+    //  PURPOSE:  To return 'child', or 'null' if it is, after making 'this'
+    //	its parent.
+    protected ParseNode adopt(ParseNode child) {
+        if (child != null)
+            child.parent_ = this;
+
+        return (child);
+    }
+
+    //  PURPOSE:  To make every node below '*this' the child of its parent,
+    //	so that it can 'replace()' itself.  No return value.
+    public void adoptChildren() {
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        throw new UnsupportedOperationException("Node has no children");
+    }
+
+    //  PURPOSE:  To put 'newNode' where '*this' is in its parent, and return
+    //	'newNode'.
+    public ParseNode replace(ParseNode newNode) {
+        if (parent_ != null)
+            parent_.replaceChild(this, newNode);
+
+        newNode.parent_ = parent_;
+        return (newNode);
+    }
+
+    //  PURPOSE:  To return the node, specialized to the types and slots that
+    //	'frame' has, that should replace '*this' the first time it runs.
+    public ParseNode specialize(AstInterpreter frame) {
+        return (this);
+    }
+
+    //  PURPOSE:  To replace '*this' by 'specialize(frame)' and return the
+    //	replacement.
+    protected ParseNode specializeIn(AstInterpreter frame) {
+        frame.noteSpecialized();
+        return (replace(specialize(frame)));
+    }
+
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    public void execute(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not a statement");
+    }
+
+    //  PURPOSE:  To return the value of '*this' integer expression on 'frame'.
+    public long executeInteger(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not an integer");
+    }
+
+    //  PURPOSE:  To return the value of '*this' real or integer expression on
+    //	'frame'.
+    public double executeReal(AstInterpreter frame) {
+        return (executeInteger(frame));
+    }
+
+    //  PURPOSE:  To return the value of '*this' boolean expression on
+    //	'frame'.
+    public boolean executeBoolean(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not a boolean");
+    }
+
+    //  PURPOSE:  To return the value of '*this' boolean expression on
+    //	'frame' where it decides a branch, as the condition of an 'if',
+    //	'while' or 'repeat'.
+    public boolean executeCondition(AstInterpreter frame) {
+        return (executeBoolean(frame));
+    }
+
+    //  PURPOSE:  To return the value of '*this' string expression on 'frame'.
+    public String executeString(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not a string");
+    }
+
+    //  PURPOSE:  To return '*this' statement compiled, once, into a closure
+    //	over the slots of 'frame'.
+    public Runnable compileStatement(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not a statement");
+    }
+
+    //  PURPOSE:  To return '*this' integer expression compiled into a
+    //	closure over the slots of 'frame'.
+    public LongSupplier compileInteger(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not an integer");
+    }
+
+    //  PURPOSE:  To return '*this' real or integer expression compiled into
+    //	a closure over the slots of 'frame'.
+    public DoubleSupplier compileReal(AstInterpreter frame) {
+        LongSupplier integer = compileInteger(frame);
+
+        return (() -> integer.getAsLong());
+    }
+
+    //  PURPOSE:  To return '*this' boolean expression compiled into a
+    //	closure over the slots of 'frame'.
+    public BooleanSupplier compileBoolean(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not a boolean");
+    }
+
+    //  PURPOSE:  To return '*this' boolean expression compiled into a
+    //	closure over the slots of 'frame' that decides a branch, as the
+    //	condition of an 'if', 'while' or 'repeat'.
+    public BooleanSupplier compileCondition(AstInterpreter frame) {
+        return (compileBoolean(frame));
+    }
+
+    //  PURPOSE:  To return '*this' string expression compiled into a
+    //	closure over the slots of 'frame'.
+    public Supplier<String> compileString(AstInterpreter frame) {
+        throw new UnsupportedOperationException("Node is not a string");
+    }
+
     //  V. Member vars:
+    //  PURPOSE: To hold the node that holds 'this' as a child, once
+    //	'adoptChildren()' has been called on an ancestor.
+    private
+    ParseNode parent_;
 
 }
 
@@ -112,6 +331,18 @@ class BoolParseNode extends ParseNode {
         return Type.BOOLEAN;
     }
 
+    //  PURPOSE: To return 'true' because 'this' node is a literal.
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
+    //  PURPOSE: To return the value of 'this' literal.
+    @Override
+    public Value getConstantValue() {
+        return (new BooleanValue(value_));
+    }
+
     //  III. Mutator(s):
 
     //  IV. Methods that do main and misc. work of class:
@@ -122,7 +353,21 @@ class BoolParseNode extends ParseNode {
     public Variable toAssembly(List<PotentialInstruction> list
     )
             throws Exception {
-        return (VarStore.get().obtainTempVar(new BooleanValue(value_)));
+        return (VarStore.get().obtainConstVar(new BooleanValue(value_)));
+    }
+
+    //  PURPOSE:  To return the value of '*this' literal.
+    @Override
+    public boolean executeBoolean(AstInterpreter frame) {
+        return (value_);
+    }
+
+    //  PURPOSE:  To return a closure that returns '*this' literal.
+    @Override
+    public BooleanSupplier compileBoolean(AstInterpreter frame) {
+        boolean value = value_;
+
+        return (() -> value);
     }
 
     //  V.  Member vars:
@@ -149,6 +394,18 @@ class IntParseNode extends ParseNode {
         return Type.INTEGER;
     }
 
+    //  PURPOSE: To return 'true' because 'this' node is a literal.
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
+    //  PURPOSE: To return the value of 'this' literal.
+    @Override
+    public Value getConstantValue() {
+        return (new IntegerValue(value_));
+    }
+
     //  III. Mutator(s):
 
     //  IV. Methods that do main and misc. work of class:
@@ -159,7 +416,21 @@ class IntParseNode extends ParseNode {
     public Variable toAssembly(List<PotentialInstruction> list
     )
             throws Exception {
-        return (VarStore.get().obtainTempVar(new IntegerValue(value_)));
+        return (VarStore.get().obtainConstVar(new IntegerValue(value_)));
+    }
+
+    //  PURPOSE:  To return the value of '*this' literal.
+    @Override
+    public long executeInteger(AstInterpreter frame) {
+        return (value_);
+    }
+
+    //  PURPOSE:  To return a closure that returns '*this' literal.
+    @Override
+    public LongSupplier compileInteger(AstInterpreter frame) {
+        long value = value_;
+
+        return (() -> value);
     }
 
     //  V. Member vars:
@@ -185,6 +456,18 @@ class RealParseNode extends ParseNode {
         return Type.REAL;
     }
 
+    //  PURPOSE: To return 'true' because 'this' node is a literal.
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
+    //  PURPOSE: To return the value of 'this' literal.
+    @Override
+    public Value getConstantValue() {
+        return (new RealValue(value_));
+    }
+
     //  III. Mutator(s):
 
     //  IV. Methods that do main and misc. work of class:
@@ -195,7 +478,21 @@ class RealParseNode extends ParseNode {
     public Variable toAssembly(List<PotentialInstruction> list
     )
             throws Exception {
-        return (VarStore.get().obtainTempVar(new RealValue(value_)));
+        return (VarStore.get().obtainConstVar(new RealValue(value_)));
+    }
+
+    //  PURPOSE:  To return the value of '*this' literal.
+    @Override
+    public double executeReal(AstInterpreter frame) {
+        return (value_);
+    }
+
+    //  PURPOSE:  To return a closure that returns '*this' literal.
+    @Override
+    public DoubleSupplier compileReal(AstInterpreter frame) {
+        double value = value_;
+
+        return (() -> value);
     }
 
     //  V.  Member vars:
@@ -221,6 +518,18 @@ class StringParseNode extends ParseNode {
         return Type.STRING;
     }
 
+    //  PURPOSE: To return 'true' because 'this' node is a literal.
+    @Override
+    public boolean isConstant() {
+        return true;
+    }
+
+    //  PURPOSE: To return the value of 'this' literal.
+    @Override
+    public Value getConstantValue() {
+        return (new StringValue(value_));
+    }
+
     //  III. Mutator(s):
 
     //  IV. Methods that do main and misc. work of class:
@@ -231,7 +540,21 @@ class StringParseNode extends ParseNode {
     public Variable toAssembly(List<PotentialInstruction> list
     )
             throws Exception {
-        return (VarStore.get().obtainTempVar(new StringValue(value_)));
+        return (VarStore.get().obtainConstVar(new StringValue(value_)));
+    }
+
+    //  PURPOSE:  To return the value of '*this' literal.
+    @Override
+    public String executeString(AstInterpreter frame) {
+        return (value_);
+    }
+
+    //  PURPOSE:  To return a closure that returns '*this' literal.
+    @Override
+    public Supplier<String> compileString(AstInterpreter frame) {
+        String value = value_;
+
+        return (() -> value);
     }
 
     //  V. Member vars:
@@ -307,6 +630,17 @@ class BinaryOpParseNode extends ParseNode {
         return right_;
     }
 
+    //  PURPOSE: To return how many temporaries must be live at once while
+    //	computing 'this': as many as the needier operand if they differ,
+    //	since the other then fits in the ones freed, or one more if not.
+    @Override
+    public int getTempNeed() {
+        int leftNeed = getLeft().getTempNeed();
+        int rightNeed = getRight().getTempNeed();
+
+        return ((leftNeed == rightNeed) ? leftNeed + 1 : Math.max(leftNeed, rightNeed));
+    }
+
     //  III. Mutator(s):
     // PURPOSE: To set the address of the node on the left to 'node'.
     @Override
@@ -385,6 +719,207 @@ class BinaryOpParseNode extends ParseNode {
         }
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Integer literals that would be converted to real are replaced by real
+    //	literals.  Returns the node that should replace '*this'.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        setLeft(getLeft().fold());
+        setRight(getRight().fold());
+
+        if (getLeft().isConstant() && getRight().isConstant()) {
+            Value value = evaluate(getOperation(),
+                    getLeft().getConstantValue(),
+                    getRight().getConstantValue()
+            );
+
+            if (value != null) {
+                return (newConstant(value));
+            }
+        }
+
+        if (((getOperation() == Operation.PLUS) || (getOperation() == Operation.STAR)) &&
+                (getType() == Type.INTEGER)
+        ) {
+            return (reassociate());
+        }
+
+        switch (getOperation()) {
+            case SLASH:
+                setLeft(promoteConstant(getLeft()));
+                setRight(promoteConstant(getRight()));
+                break;
+
+            case PLUS:
+            case MINUS:
+            case STAR:
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESSER:
+            case LESSER_EQUALS:
+            case GREATER:
+            case GREATER_EQUALS:
+                if (getLeft().getType() == Type.REAL) {
+                    setRight(promoteConstant(getRight()));
+                } else if (getRight().getType() == Type.REAL) {
+                    setLeft(promoteConstant(getLeft()));
+                }
+                break;
+        }
+
+        return (this);
+    }
+
+    //  PURPOSE:  To return a node equivalent to '*this' integer PLUS or STAR
+    //	chain, rebuilt leaning left with its operands in order of decreasing
+    //	temporary need and its literals combined into one, if that needs
+    //	fewer temporaries or combines literals.  Integer arithmetic wraps,
+    //	so the operands may be taken in any order.  Returns '*this'
+    //	otherwise.
+    private ParseNode reassociate() {
+        List<ParseNode> operandList = new ArrayList<>();
+        Value constant = null;
+        int numConstants = 0;
+        ParseNode chain;
+
+        for (ParseNode operand : operandsOf(this, getOperation(), new ArrayList<>())) {
+            if (operand.isConstant()) {
+                constant = (constant == null)
+                        ? operand.getConstantValue()
+                        : evaluate(getOperation(), constant, operand.getConstantValue());
+                numConstants++;
+            } else {
+                operandList.add(operand);
+            }
+        }
+
+        //  A stable sort, so operands that need the same keep their order:
+        operandList.sort((node0, node1) -> node1.getTempNeed() - node0.getTempNeed());
+
+        if (constant != null) {
+            operandList.add(newConstant(constant));
+        }
+
+        chain = operandList.get(0);
+
+        for (int i = 1; i < operandList.size(); i++) {
+            chain = new BinaryOpParseNode(getOperation(), chain, operandList.get(i));
+        }
+
+        return (((numConstants > 1) || (chain.getTempNeed() < getTempNeed())) ? chain : this);
+    }
+
+    //  PURPOSE:  To append to 'operandList' the operands of the chain of
+    //	'operation' rooted at 'node', from left to right, and return it.
+    private static List<ParseNode> operandsOf(ParseNode node,
+                                              Operation operation,
+                                              List<ParseNode> operandList
+    ) {
+        if ((node instanceof BinaryOpParseNode) &&
+                (((BinaryOpParseNode) node).getOperation() == operation)
+        ) {
+            operandsOf(((BinaryOpParseNode) node).getLeft(), operation, operandList);
+            operandsOf(((BinaryOpParseNode) node).getRight(), operation, operandList);
+        } else {
+            operandList.add(node);
+        }
+
+        return (operandList);
+    }
+
+    //  PURPOSE:  To return 'node', or a real literal in its place if it is
+    //	an integer literal.
+    protected static ParseNode promoteConstant(ParseNode node) {
+        if (node.isConstant() && (node.getType() == Type.INTEGER)) {
+            return (new RealParseNode(node.getConstantValue().getReal()));
+        }
+
+        return (node);
+    }
+
+    //  PURPOSE:  To return the result of applying 'operation' to 'left' and
+    //	'right' with the same semantics as the VM operations it lowers to,
+    //	or 'null' if it cannot be computed at compile time (e.g. DIV or MOD
+    //	by zero, which must fail when the program runs).
+    public static Value evaluate(Operation operation,
+                                 Value left,
+                                 Value right
+    ) {
+        boolean isInteger = (left.getType() == Type.INTEGER) &&
+                (right.getType() == Type.INTEGER);
+        boolean isNumeric = ((left.getType() == Type.INTEGER) ||
+                (left.getType() == Type.REAL)
+        ) &&
+                ((right.getType() == Type.INTEGER) ||
+                        (right.getType() == Type.REAL)
+                );
+
+        switch (operation) {
+            case AND:
+                return (new BooleanValue(left.getBoolean() && right.getBoolean()));
+            case OR:
+                return (new BooleanValue(left.getBoolean() || right.getBoolean()));
+
+            case DIV:
+                return ((right.getInteger() == 0)
+                        ? null : new IntegerValue(left.getInteger() / right.getInteger()));
+            case MOD:
+                return ((right.getInteger() == 0)
+                        ? null : new IntegerValue(left.getInteger() % right.getInteger()));
+
+            case SLASH:
+                return (new RealValue(left.getReal() / right.getReal()));
+        }
+
+        if (!isNumeric) {
+            return (null);
+        }
+
+        switch (operation) {
+            case PLUS:
+                return (isInteger
+                        ? new IntegerValue(left.getInteger() + right.getInteger())
+                        : new RealValue(left.getReal() + right.getReal()));
+            case MINUS:
+                return (isInteger
+                        ? new IntegerValue(left.getInteger() - right.getInteger())
+                        : new RealValue(left.getReal() - right.getReal()));
+            case STAR:
+                return (isInteger
+                        ? new IntegerValue(left.getInteger() * right.getInteger())
+                        : new RealValue(left.getReal() * right.getReal()));
+
+            case EQUALS:
+                return (new BooleanValue(isInteger
+                        ? left.getInteger() == right.getInteger()
+                        : left.getReal() == right.getReal()));
+            case NOT_EQUALS:
+                return (new BooleanValue(isInteger
+                        ? left.getInteger() != right.getInteger()
+                        : left.getReal() != right.getReal()));
+            case LESSER:
+                return (new BooleanValue(isInteger
+                        ? left.getInteger() < right.getInteger()
+                        : left.getReal() < right.getReal()));
+            case LESSER_EQUALS:
+                return (new BooleanValue(isInteger
+                        ? left.getInteger() <= right.getInteger()
+                        : left.getReal() <= right.getReal()));
+            case GREATER:
+                return (new BooleanValue(isInteger
+                        ? left.getInteger() > right.getInteger()
+                        : left.getReal() > right.getReal()));
+            case GREATER_EQUALS:
+                return (new BooleanValue(isInteger
+                        ? left.getInteger() >= right.getInteger()
+                        : left.getReal() >= right.getReal()));
+
+            default:
+                return (null);
+        }
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -395,9 +930,10 @@ class BinaryOpParseNode extends ParseNode {
         Type operandType;
         Variable leftConvert;
         Variable rightConvert;
+        Variable[] operandArray = operandsToAssembly(list);
+        Variable leftVar = operandArray[0];
+        Variable rightVar = operandArray[1];
         Variable result = VarStore.get().obtainTempVar(getType());
-        Variable leftVar = getLeft().toAssembly(list);
-        Variable rightVar = getRight().toAssembly(list);
         VmOperation vmOp = VmOperation.NO_VM_OP;
 
         switch (getOperation()) {
@@ -586,18 +1122,18 @@ class BinaryOpParseNode extends ParseNode {
                 switch (getOperation()) {
                     case PLUS:
                         vmOp = (getType() == Type.INTEGER)
-                                ? VmOperation.INT_ADD_VAR_VAR_VM_OP
-                                : VmOperation.REAL_ADD_VAR_VAR_VM_OP;
+                                ? VmOperation.INT_ADD_VM_OP
+                                : VmOperation.REAL_ADD_VM_OP;
                         break;
                     case MINUS:
                         vmOp = (getType() == Type.INTEGER)
-                                ? VmOperation.INT_SUB_VAR_VAR_VM_OP
-                                : VmOperation.REAL_SUB_VAR_VAR_VM_OP;
+                                ? VmOperation.INT_SUB_VM_OP
+                                : VmOperation.REAL_SUB_VM_OP;
                         break;
                     case STAR:
                         vmOp = (getType() == Type.INTEGER)
-                                ? VmOperation.INT_MUL_VAR_VAR_VM_OP
-                                : VmOperation.REAL_MUL_VAR_VAR_VM_OP;
+                                ? VmOperation.INT_MUL_VM_OP
+                                : VmOperation.REAL_MUL_VM_OP;
                         break;
 
                     default:
@@ -605,20 +1141,531 @@ class BinaryOpParseNode extends ParseNode {
                                 ("Non-handled op case in BinaryOpParseNode::toAssembly()");
                 }
 
-                list.add
-                        (new VarVarPotentialInstruction
-                                ((getType() == Type.INTEGER)
-                                        ? VmOperation.INT_COPY_VM_OP
-                                        : VmOperation.REAL_COPY_VM_OP,
-                                        result,
-                                        leftVar
-                                )
-                        );
-                list.add(new VarVarPotentialInstruction(vmOp, result, rightVar));
+                list.add(new VarVarVarPotentialInstruction(vmOp, result, leftVar, rightVar));
                 break;
         }
 
-        return (result);
+        return (result);
+    }
+
+    //  PURPOSE:  To convert '*this' boolean condition into PotentialInstruction
+    //	instances in 'list' that go to 'trueLabel' if it holds and to
+    //	'falseLabel' if it does not.  Comparisons of numbers become a single
+    //	compare-and-goto instruction instead of a boolean temporary tested
+    //	by 'IF_FALSE_GOTO_VM_OP'.  No return value.
+    @Override
+    public void toBranch(List<PotentialInstruction> list,
+                         long trueLabel,
+                         long falseLabel
+    )
+            throws Exception {
+        if ((getOperation() == Operation.AND) || (getOperation() == Operation.OR)) {
+            toShortCircuitBranch(list, trueLabel, falseLabel);
+            return;
+        }
+
+        if (!isNumericComparison()) {
+            super.toBranch(list, trueLabel, falseLabel);
+            return;
+        }
+
+        boolean isInteger = (getLeft().getType() == Type.INTEGER)
+                && (getRight().getType() == Type.INTEGER);
+        Variable[] operandArray = operandsToAssembly(list);
+        Variable leftVar = operandArray[0];
+        Variable rightVar = operandArray[1];
+
+        if (!isInteger) {
+            leftVar = toReal(list, leftVar);
+            rightVar = toReal(list, rightVar);
+        }
+
+        if (trueLabel != PotentialInstruction.NO_ADDRESS_LABEL) {
+            list.add(new VarVarAddrPotentialInstruction
+                    (compareGotoOp(getOperation(), isInteger), leftVar, rightVar, trueLabel));
+
+            if (falseLabel != PotentialInstruction.NO_ADDRESS_LABEL)
+                list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP, falseLabel));
+
+            return;
+        }
+
+        //  A NaN makes every ordering false, so a real ordering cannot be
+        //  negated; jump over the goto instead:
+        if (isInteger
+                || (getOperation() == Operation.EQUALS)
+                || (getOperation() == Operation.NOT_EQUALS)) {
+            list.add(new VarVarAddrPotentialInstruction
+                    (compareGotoOp(negate(getOperation()), isInteger), leftVar, rightVar, falseLabel));
+        } else {
+            long toSkip = PotentialInstruction.getNextAddressLabel();
+
+            list.add(new VarVarAddrPotentialInstruction
+                    (compareGotoOp(getOperation(), false), leftVar, rightVar, toSkip));
+            list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP, falseLabel));
+            placeLabel(list, toSkip);
+        }
+    }
+
+    //  PURPOSE:  To convert both operands of '*this' into PotentialInstruction
+    //	instances in 'list', the one that needs more temporaries first so
+    //	that fewer are live at once.  Neither has side effects, so either
+    //	order computes the same values.  Returns the Variables holding the
+    //	left and right values, in that order.
+    private Variable[] operandsToAssembly(List<PotentialInstruction> list
+    )
+            throws Exception {
+        Variable[] operandArray = new Variable[2];
+
+        if (getRight().getTempNeed() > getLeft().getTempNeed()) {
+            operandArray[1] = getRight().toAssembly(list);
+            operandArray[0] = getLeft().toAssembly(list);
+        } else {
+            operandArray[0] = getLeft().toAssembly(list);
+            operandArray[1] = getRight().toAssembly(list);
+        }
+
+        return (operandArray);
+    }
+
+    //  PURPOSE:  To convert '*this' AND or OR into PotentialInstruction
+    //	instances in 'list' that go to 'trueLabel' if it holds and to
+    //	'falseLabel' if it does not, evaluating the right side only when the
+    //	left side does not already decide the result.  No return value.
+    private void toShortCircuitBranch(List<PotentialInstruction> list,
+                                      long trueLabel,
+                                      long falseLabel
+    )
+            throws Exception {
+        boolean isAnd = (getOperation() == Operation.AND);
+        long decided = isAnd ? falseLabel : trueLabel;
+        long toEnd = PotentialInstruction.NO_ADDRESS_LABEL;
+
+        //  The left side needs somewhere to go when it decides the result
+        //  and the caller falls through on that outcome:
+        if (decided == PotentialInstruction.NO_ADDRESS_LABEL) {
+            toEnd = PotentialInstruction.getNextAddressLabel();
+            decided = toEnd;
+        }
+
+        if (isAnd)
+            getLeft().toBranch(list, PotentialInstruction.NO_ADDRESS_LABEL, decided);
+        else
+            getLeft().toBranch(list, decided, PotentialInstruction.NO_ADDRESS_LABEL);
+
+        getRight().toBranch(list, trueLabel, falseLabel);
+
+        if (toEnd != PotentialInstruction.NO_ADDRESS_LABEL)
+            placeLabel(list, toEnd);
+    }
+
+    //  PURPOSE:  To return 'true' if 'this' compares an integer or real with
+    //	an integer or real, or 'false' otherwise.
+    private boolean isNumericComparison() {
+        switch (getOperation()) {
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESSER:
+            case LESSER_EQUALS:
+            case GREATER:
+            case GREATER_EQUALS:
+                return (isNumeric(getLeft().getType()) && isNumeric(getRight().getType()));
+
+            default:
+                return (false);
+        }
+    }
+
+    //  PURPOSE:  To return 'true' if 'type' is INTEGER or REAL.
+    private static boolean isNumeric(Type type) {
+        return ((type == Type.INTEGER) || (type == Type.REAL));
+    }
+
+    //  PURPOSE:  To return 'var' if it is a real, or else a real temporary
+    //	that instructions added to 'list' set to its value.
+    private static Variable toReal(List<PotentialInstruction> list,
+                                   Variable var
+    ) {
+        if (var.getType() != Type.INTEGER)
+            return (var);
+
+        Variable converted = VarStore.get().obtainTempVar(Type.REAL);
+
+        list.add(new VarVarPotentialInstruction(VmOperation.INT_TO_REAL_VM_OP, converted, var));
+        return (converted);
+    }
+
+    //  PURPOSE:  To return the comparison that holds exactly when integer
+    //	comparison 'operation' does not.
+    private static Operation negate(Operation operation) {
+        switch (operation) {
+            case EQUALS:
+                return (Operation.NOT_EQUALS);
+            case NOT_EQUALS:
+                return (Operation.EQUALS);
+            case LESSER:
+                return (Operation.GREATER_EQUALS);
+            case LESSER_EQUALS:
+                return (Operation.GREATER);
+            case GREATER:
+                return (Operation.LESSER_EQUALS);
+            case GREATER_EQUALS:
+                return (Operation.LESSER);
+            default:
+                throw new IllegalArgumentException("Not a comparison: " + operation);
+        }
+    }
+
+    //  PURPOSE:  To return the compare-and-goto operation that does
+    //	comparison 'operation' on integers if 'isInteger' or on reals
+    //	otherwise.
+    private static VmOperation compareGotoOp(Operation operation,
+                                             boolean isInteger
+    ) {
+        switch (operation) {
+            case EQUALS:
+                return (isInteger ? VmOperation.INT_EQUAL_GOTO_VM_OP
+                        : VmOperation.REAL_EQUAL_GOTO_VM_OP);
+            case NOT_EQUALS:
+                return (isInteger ? VmOperation.INT_NOT_EQUAL_GOTO_VM_OP
+                        : VmOperation.REAL_NOT_EQUAL_GOTO_VM_OP);
+            case LESSER:
+                return (isInteger ? VmOperation.INT_LESSER_GOTO_VM_OP
+                        : VmOperation.REAL_LESSER_GOTO_VM_OP);
+            case LESSER_EQUALS:
+                return (isInteger ? VmOperation.INT_LESSER_EQUAL_GOTO_VM_OP
+                        : VmOperation.REAL_LESSER_EQUAL_GOTO_VM_OP);
+            case GREATER:
+                return (isInteger ? VmOperation.INT_GREATER_GOTO_VM_OP
+                        : VmOperation.REAL_GREATER_GOTO_VM_OP);
+            case GREATER_EQUALS:
+                return (isInteger ? VmOperation.INT_GREATER_EQUAL_GOTO_VM_OP
+                        : VmOperation.REAL_GREATER_EQUAL_GOTO_VM_OP);
+            default:
+                throw new IllegalArgumentException("Not a comparison: " + operation);
+        }
+    }
+
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(left_).adoptChildren();
+        adopt(right_).adoptChildren();
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        if (left_ == child)
+            left_ = newChild;
+        else
+            right_ = newChild;
+    }
+
+    //  PURPOSE:  To return the node that does 'getOperation()' on the types
+    //	of the operands alone.
+    @Override
+    public ParseNode specialize(AstInterpreter frame) {
+        return (SpecializedParseNode.newBinary(getOperation(), getLeft(), getRight()));
+    }
+
+    //  PURPOSE:  To return the value of '*this' integer expression on 'frame'.
+    @Override
+    public long executeInteger(AstInterpreter frame) {
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeInteger(frame));
+
+        long left = getLeft().executeInteger(frame);
+        long right = getRight().executeInteger(frame);
+
+        switch (getOperation()) {
+            case PLUS:
+                return (left + right);
+            case MINUS:
+                return (left - right);
+            case STAR:
+                return (left * right);
+            case DIV:
+                return (left / right);
+            case MOD:
+                return (left % right);
+            default:
+                throw new UnsupportedOperationException("Not an integer operation: " + getOperation());
+        }
+    }
+
+    //  PURPOSE:  To return the value of '*this' real or integer expression on
+    //	'frame'.
+    @Override
+    public double executeReal(AstInterpreter frame) {
+        if (getType() == Type.INTEGER)
+            return (executeInteger(frame));
+
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeReal(frame));
+
+        double left = getLeft().executeReal(frame);
+        double right = getRight().executeReal(frame);
+
+        switch (getOperation()) {
+            case PLUS:
+                return (left + right);
+            case MINUS:
+                return (left - right);
+            case STAR:
+                return (left * right);
+            case SLASH:
+                return (left / right);
+            default:
+                throw new UnsupportedOperationException("Not a real operation: " + getOperation());
+        }
+    }
+
+    //  PURPOSE:  To return the value of '*this' boolean expression on
+    //	'frame' where it decides a branch.  AND and OR evaluate their right
+    //	side only when the left does not decide the result, as 'toBranch()'
+    //	compiles them.
+    @Override
+    public boolean executeCondition(AstInterpreter frame) {
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeCondition(frame));
+
+        switch (getOperation()) {
+            case AND:
+                return (getLeft().executeCondition(frame) && getRight().executeCondition(frame));
+            case OR:
+                return (getLeft().executeCondition(frame) || getRight().executeCondition(frame));
+        }
+
+        return (executeBoolean(frame));
+    }
+
+    //  PURPOSE:  To return the value of '*this' boolean expression on
+    //	'frame'.  AND and OR evaluate both sides, as 'LOGIC_AND_VM_OP' and
+    //	'LOGIC_OR_VM_OP' do when a value is stored.
+    @Override
+    public boolean executeBoolean(AstInterpreter frame) {
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeBoolean(frame));
+
+        switch (getOperation()) {
+            case AND:
+                return (getLeft().executeBoolean(frame) & getRight().executeBoolean(frame));
+            case OR:
+                return (getLeft().executeBoolean(frame) | getRight().executeBoolean(frame));
+        }
+
+        Type leftType = getLeft().getType();
+        Type rightType = getRight().getType();
+
+        if ((leftType == Type.INTEGER) && (rightType == Type.INTEGER))
+            return (holds(getOperation(), Long.compare(getLeft().executeInteger(frame),
+                    getRight().executeInteger(frame))));
+
+        if (isNumeric(leftType) && isNumeric(rightType))
+            return (holds(getOperation(), getLeft().executeReal(frame), getRight().executeReal(frame)));
+
+        if (leftType == Type.BOOLEAN)
+            return (holds(getOperation(), Boolean.compare(getLeft().executeBoolean(frame),
+                    getRight().executeBoolean(frame))));
+
+        return (holds(getOperation(), getLeft().executeString(frame).compareTo(getRight().executeString(frame))));
+    }
+
+    //  PURPOSE:  To return '*this' integer expression compiled into a
+    //	closure that does 'getOperation()' with no further dispatch.
+    @Override
+    public LongSupplier compileInteger(AstInterpreter frame) {
+        LongSupplier left = getLeft().compileInteger(frame);
+        LongSupplier right = getRight().compileInteger(frame);
+
+        switch (getOperation()) {
+            case PLUS:
+                return (() -> left.getAsLong() + right.getAsLong());
+            case MINUS:
+                return (() -> left.getAsLong() - right.getAsLong());
+            case STAR:
+                return (() -> left.getAsLong() * right.getAsLong());
+            case DIV:
+                return (() -> left.getAsLong() / right.getAsLong());
+            case MOD:
+                return (() -> left.getAsLong() % right.getAsLong());
+            default:
+                throw new UnsupportedOperationException("Not an integer operation: " + getOperation());
+        }
+    }
+
+    //  PURPOSE:  To return '*this' real or integer expression compiled into
+    //	a closure that does 'getOperation()' with no further dispatch.
+    @Override
+    public DoubleSupplier compileReal(AstInterpreter frame) {
+        if (getType() == Type.INTEGER)
+            return (super.compileReal(frame));
+
+        DoubleSupplier left = getLeft().compileReal(frame);
+        DoubleSupplier right = getRight().compileReal(frame);
+
+        switch (getOperation()) {
+            case PLUS:
+                return (() -> left.getAsDouble() + right.getAsDouble());
+            case MINUS:
+                return (() -> left.getAsDouble() - right.getAsDouble());
+            case STAR:
+                return (() -> left.getAsDouble() * right.getAsDouble());
+            case SLASH:
+                return (() -> left.getAsDouble() / right.getAsDouble());
+            default:
+                throw new UnsupportedOperationException("Not a real operation: " + getOperation());
+        }
+    }
+
+    //  PURPOSE:  To return '*this' boolean expression compiled into a
+    //	closure that decides a branch.  AND and OR short-circuit as in
+    //	'executeCondition()'.
+    @Override
+    public BooleanSupplier compileCondition(AstInterpreter frame) {
+        Operation operation = getOperation();
+
+        if ((operation == Operation.AND) || (operation == Operation.OR)) {
+            BooleanSupplier left = getLeft().compileCondition(frame);
+            BooleanSupplier right = getRight().compileCondition(frame);
+
+            if (operation == Operation.AND)
+                return (() -> left.getAsBoolean() && right.getAsBoolean());
+
+            return (() -> left.getAsBoolean() || right.getAsBoolean());
+        }
+
+        return (compileBoolean(frame));
+    }
+
+    //  PURPOSE:  To return '*this' boolean expression compiled into a
+    //	closure that does 'getOperation()' on the types of its operands
+    //	with no further dispatch.  AND and OR evaluate both sides as in
+    //	'executeBoolean()'.
+    @Override
+    public BooleanSupplier compileBoolean(AstInterpreter frame) {
+        Operation operation = getOperation();
+        Type leftType = getLeft().getType();
+        Type rightType = getRight().getType();
+
+        if ((operation == Operation.AND) || (operation == Operation.OR)) {
+            BooleanSupplier left = getLeft().compileBoolean(frame);
+            BooleanSupplier right = getRight().compileBoolean(frame);
+
+            if (operation == Operation.AND)
+                return (() -> left.getAsBoolean() & right.getAsBoolean());
+
+            return (() -> left.getAsBoolean() | right.getAsBoolean());
+        }
+
+        if ((leftType == Type.INTEGER) && (rightType == Type.INTEGER)) {
+            LongSupplier left = getLeft().compileInteger(frame);
+            LongSupplier right = getRight().compileInteger(frame);
+
+            switch (operation) {
+                case EQUALS:
+                    return (() -> left.getAsLong() == right.getAsLong());
+                case NOT_EQUALS:
+                    return (() -> left.getAsLong() != right.getAsLong());
+                case LESSER:
+                    return (() -> left.getAsLong() < right.getAsLong());
+                case LESSER_EQUALS:
+                    return (() -> left.getAsLong() <= right.getAsLong());
+                case GREATER:
+                    return (() -> left.getAsLong() > right.getAsLong());
+                case GREATER_EQUALS:
+                    return (() -> left.getAsLong() >= right.getAsLong());
+                default:
+                    throw new IllegalArgumentException("Not a comparison: " + operation);
+            }
+        }
+
+        if (isNumeric(leftType) && isNumeric(rightType)) {
+            DoubleSupplier left = getLeft().compileReal(frame);
+            DoubleSupplier right = getRight().compileReal(frame);
+
+            switch (operation) {
+                case EQUALS:
+                    return (() -> left.getAsDouble() == right.getAsDouble());
+                case NOT_EQUALS:
+                    return (() -> left.getAsDouble() != right.getAsDouble());
+                case LESSER:
+                    return (() -> left.getAsDouble() < right.getAsDouble());
+                case LESSER_EQUALS:
+                    return (() -> left.getAsDouble() <= right.getAsDouble());
+                case GREATER:
+                    return (() -> left.getAsDouble() > right.getAsDouble());
+                case GREATER_EQUALS:
+                    return (() -> left.getAsDouble() >= right.getAsDouble());
+                default:
+                    throw new IllegalArgumentException("Not a comparison: " + operation);
+            }
+        }
+
+        if (leftType == Type.BOOLEAN) {
+            BooleanSupplier left = getLeft().compileBoolean(frame);
+            BooleanSupplier right = getRight().compileBoolean(frame);
+
+            return (() -> holds(operation, Boolean.compare(left.getAsBoolean(), right.getAsBoolean())));
+        }
+
+        Supplier<String> left = getLeft().compileString(frame);
+        Supplier<String> right = getRight().compileString(frame);
+
+        return (() -> holds(operation, left.get().compareTo(right.get())));
+    }
+
+    //  PURPOSE:  To return 'true' if comparison 'operation' holds of two
+    //	values whose 'compare()' is 'comparison', or 'false' otherwise.
+    public static boolean holds(Operation operation,
+                                int comparison
+    ) {
+        switch (operation) {
+            case EQUALS:
+                return (comparison == 0);
+            case NOT_EQUALS:
+                return (comparison != 0);
+            case LESSER:
+                return (comparison < 0);
+            case LESSER_EQUALS:
+                return (comparison <= 0);
+            case GREATER:
+                return (comparison > 0);
+            case GREATER_EQUALS:
+                return (comparison >= 0);
+            default:
+                throw new IllegalArgumentException("Not a comparison: " + operation);
+        }
+    }
+
+    //  PURPOSE:  To return 'true' if comparison 'operation' holds of reals
+    //	'left' and 'right', or 'false' otherwise.  Every ordering of a NaN
+    //	is false.
+    public static boolean holds(Operation operation,
+                                double left,
+                                double right
+    ) {
+        switch (operation) {
+            case EQUALS:
+                return (left == right);
+            case NOT_EQUALS:
+                return (left != right);
+            case LESSER:
+                return (left < right);
+            case LESSER_EQUALS:
+                return (left <= right);
+            case GREATER:
+                return (left > right);
+            case GREATER_EQUALS:
+                return (left >= right);
+            default:
+                throw new IllegalArgumentException("Not a comparison: " + operation);
+        }
     }
 
     //  V.  Member vars:
@@ -683,6 +1730,15 @@ class WriteParseNode extends ParseNode {
         //  YOUR CODE HERE
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns '*this'.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        this.expression_ = this.expression_.fold();
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -696,6 +1752,100 @@ class WriteParseNode extends ParseNode {
         return (null);
     }
 
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(expression_).adoptChildren();
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        expression_ = newChild;
+    }
+
+    //  PURPOSE:  To return the node that prints the type of the expression.
+    @Override
+    public ParseNode specialize(AstInterpreter frame) {
+        return (SpecializedParseNode.newWrite(expression_.getType(), shouldWriteNewline_, expression_));
+    }
+
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        if (frame.isSpecializing()) {
+            specializeIn(frame).execute(frame);
+            return;
+        }
+
+        PrintStream out = frame.getOut();
+
+        switch (expression_.getType()) {
+            case BOOLEAN:
+                out.print(expression_.executeBoolean(frame));
+                break;
+            case INTEGER:
+                out.print(expression_.executeInteger(frame));
+                break;
+            case REAL:
+                out.print(expression_.executeReal(frame));
+                break;
+            default:
+                out.print(expression_.executeString(frame));
+                break;
+        }
+
+        if (shouldWriteNewline_)
+            out.println();
+    }
+
+    //  PURPOSE:  To return '*this' statement compiled into a closure that
+    //	prints the type of the expression.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        PrintStream out = frame.getOut();
+        boolean shouldWriteNewline = shouldWriteNewline_;
+
+        switch (expression_.getType()) {
+            case BOOLEAN: {
+                BooleanSupplier expr = expression_.compileBoolean(frame);
+
+                if (shouldWriteNewline)
+                    return (() -> out.println(expr.getAsBoolean()));
+
+                return (() -> out.print(expr.getAsBoolean()));
+            }
+            case INTEGER: {
+                LongSupplier expr = expression_.compileInteger(frame);
+
+                if (shouldWriteNewline)
+                    return (() -> out.println(expr.getAsLong()));
+
+                return (() -> out.print(expr.getAsLong()));
+            }
+            case REAL: {
+                DoubleSupplier expr = expression_.compileReal(frame);
+
+                if (shouldWriteNewline)
+                    return (() -> out.println(expr.getAsDouble()));
+
+                return (() -> out.print(expr.getAsDouble()));
+            }
+            default: {
+                Supplier<String> expr = expression_.compileString(frame);
+
+                if (shouldWriteNewline)
+                    return (() -> out.println(expr.get()));
+
+                return (() -> out.print(expr.get()));
+            }
+        }
+    }
+
     //  V. Member vars:
     //  PURPOSE: To hold 'true' if 'this' node should print a newline after
     //	printing its expression value, or 'false' otherwise.
@@ -751,6 +1901,95 @@ class VariableParseNode extends ParseNode {
         return (getVariable());
     }
 
+    //  PURPOSE:  To return the node that reads the slot of the variable.
+    @Override
+    public ParseNode specialize(AstInterpreter frame) {
+        return (SpecializedParseNode.newRead(getType(), frame.getSlot(getVariable())));
+    }
+
+    //  PURPOSE:  To return the value of '*this' integer variable on 'frame'.
+    @Override
+    public long executeInteger(AstInterpreter frame) {
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeInteger(frame));
+
+        return (frame.getInts()[frame.getSlot(getVariable())]);
+    }
+
+    //  PURPOSE:  To return the value of '*this' real or integer variable on
+    //	'frame'.
+    @Override
+    public double executeReal(AstInterpreter frame) {
+        if (getType() == Type.INTEGER)
+            return (executeInteger(frame));
+
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeReal(frame));
+
+        return (frame.getReals()[frame.getSlot(getVariable())]);
+    }
+
+    //  PURPOSE:  To return the value of '*this' boolean variable on 'frame'.
+    @Override
+    public boolean executeBoolean(AstInterpreter frame) {
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeBoolean(frame));
+
+        return (frame.getBools()[frame.getSlot(getVariable())]);
+    }
+
+    //  PURPOSE:  To return the value of '*this' string variable on 'frame'.
+    @Override
+    public String executeString(AstInterpreter frame) {
+        if (frame.isSpecializing())
+            return (specializeIn(frame).executeString(frame));
+
+        return (frame.getStrings()[frame.getSlot(getVariable())]);
+    }
+
+    //  PURPOSE:  To return a closure that reads the slot of '*this' integer
+    //	variable.
+    @Override
+    public LongSupplier compileInteger(AstInterpreter frame) {
+        long[] ints = frame.getInts();
+        int slot = frame.getSlot(getVariable());
+
+        return (() -> ints[slot]);
+    }
+
+    //  PURPOSE:  To return a closure that reads the slot of '*this' real or
+    //	integer variable.
+    @Override
+    public DoubleSupplier compileReal(AstInterpreter frame) {
+        if (getType() == Type.INTEGER)
+            return (super.compileReal(frame));
+
+        double[] reals = frame.getReals();
+        int slot = frame.getSlot(getVariable());
+
+        return (() -> reals[slot]);
+    }
+
+    //  PURPOSE:  To return a closure that reads the slot of '*this' boolean
+    //	variable.
+    @Override
+    public BooleanSupplier compileBoolean(AstInterpreter frame) {
+        boolean[] bools = frame.getBools();
+        int slot = frame.getSlot(getVariable());
+
+        return (() -> bools[slot]);
+    }
+
+    //  PURPOSE:  To return a closure that reads the slot of '*this' string
+    //	variable.
+    @Override
+    public Supplier<String> compileString(AstInterpreter frame) {
+        String[] strings = frame.getStrings();
+        int slot = frame.getSlot(getVariable());
+
+        return (() -> strings[slot]);
+    }
+
     //  V.  Member vars:
     //  PURPOSE: To hold the address of the variable being referenced.
     private
@@ -811,6 +2050,15 @@ class AssignParseNode extends ParseNode {
         //  YOUR CODE HERE
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns '*this'.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        this.expr_ = this.expr_.fold();
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -833,6 +2081,90 @@ class AssignParseNode extends ParseNode {
         return (null);
     }
 
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(expr_).adoptChildren();
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        expr_ = newChild;
+    }
+
+    //  PURPOSE:  To return the node that writes the slot of the variable.
+    @Override
+    public ParseNode specialize(AstInterpreter frame) {
+        return (SpecializedParseNode.newAssign(varNode_.getType(),
+                frame.getSlot(varNode_.getVariable()),
+                expr_));
+    }
+
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        if (frame.isSpecializing()) {
+            specializeIn(frame).execute(frame);
+            return;
+        }
+
+        int slot = frame.getSlot(varNode_.getVariable());
+
+        switch (varNode_.getType()) {
+            case BOOLEAN:
+                frame.getBools()[slot] = expr_.executeBoolean(frame);
+                break;
+            case INTEGER:
+                frame.getInts()[slot] = expr_.executeInteger(frame);
+                break;
+            case REAL:
+                frame.getReals()[slot] = expr_.executeReal(frame);
+                break;
+            default:
+                frame.getStrings()[slot] = expr_.executeString(frame);
+                break;
+        }
+    }
+
+    //  PURPOSE:  To return '*this' statement compiled into a closure that
+    //	writes the slot of the variable.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        int slot = frame.getSlot(varNode_.getVariable());
+
+        switch (varNode_.getType()) {
+            case BOOLEAN: {
+                boolean[] bools = frame.getBools();
+                BooleanSupplier expr = expr_.compileBoolean(frame);
+
+                return (() -> bools[slot] = expr.getAsBoolean());
+            }
+            case INTEGER: {
+                long[] ints = frame.getInts();
+                LongSupplier expr = expr_.compileInteger(frame);
+
+                return (() -> ints[slot] = expr.getAsLong());
+            }
+            case REAL: {
+                double[] reals = frame.getReals();
+                DoubleSupplier expr = expr_.compileReal(frame);
+
+                return (() -> reals[slot] = expr.getAsDouble());
+            }
+            default: {
+                String[] strings = frame.getStrings();
+                Supplier<String> expr = expr_.compileString(frame);
+
+                return (() -> strings[slot] = expr.get());
+            }
+        }
+    }
+
     //  V.  Member vars:
     //  PURPOSE: To hold the address of the variable node.
     private
@@ -921,6 +2253,28 @@ class IfParseNode extends ParseNode {
     }
 
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns the branch that is taken if the condition folds to a
+    //	constant, or '*this' otherwise.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        this.cond_ = this.cond_.fold();
+        this.then_ = this.then_.fold();
+
+        if (this.else_ != null)
+            this.else_ = this.else_.fold();
+
+        if (this.cond_.isConstant()) {
+            if (this.cond_.getConstantValue().getBoolean())
+                return (this.then_);
+
+            return ((this.else_ != null) ? this.else_ : new BeginListParseNode());
+        }
+
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -929,37 +2283,81 @@ class IfParseNode extends ParseNode {
     )
             throws Exception {
         //  YOUR CODE HERE
+        long toEnd = PotentialInstruction.getNextAddressLabel();
+
         if(this.else_!=null) {
             long toElse = PotentialInstruction.getNextAddressLabel();
 
-            long toEnd = PotentialInstruction.getNextAddressLabel();
+            this.cond_.toBranch(list, PotentialInstruction.NO_ADDRESS_LABEL, toElse);
+            this.then_.toAssembly(list);
+            list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP, toEnd));
 
-            list.add(new VarAddrPotentialInstruction(VmOperation.IF_FALSE_GOTO_VM_OP, this.cond_.toAssembly(list), toElse));
+            placeLabel(list, toElse);
+            this.else_.toAssembly(list);
+        }else{
+            this.cond_.toBranch(list, PotentialInstruction.NO_ADDRESS_LABEL, toEnd);
             this.then_.toAssembly(list);
+        }
 
-            list.add(new VarAddrPotentialInstruction(VmOperation.IF_TRUE_GOTO_VM_OP, this.cond_.toAssembly(list), toEnd));
+        placeLabel(list, toEnd);
+        return (null);
+    }
 
-            PotentialInstruction instruct = new PotentialInstruction(VmOperation.NO_VM_OP);
-            instruct.setAddressLabel(toElse);
-            list.add(instruct);
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(this.cond_).adoptChildren();
+        adopt(this.then_).adoptChildren();
 
-            this.else_.toAssembly(list);
+        if (this.else_ != null)
+            adopt(this.else_).adoptChildren();
+    }
 
-            PotentialInstruction instruct2 = new PotentialInstruction(VmOperation.NO_VM_OP);
-            instruct2.setAddressLabel(toEnd);
-            list.add(instruct2);
-        }else{
-            long toEnd = PotentialInstruction.getNextAddressLabel();
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        if (this.cond_ == child)
+            this.cond_ = newChild;
+        else if (this.then_ == child)
+            this.then_ = newChild;
+        else
+            this.else_ = newChild;
+    }
 
-            list.add(new VarAddrPotentialInstruction(VmOperation.IF_FALSE_GOTO_VM_OP, this.cond_.toAssembly(list), toEnd));
-            this.then_.toAssembly(list);
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        if (this.cond_.executeCondition(frame))
+            this.then_.execute(frame);
+        else if (this.else_ != null)
+            this.else_.execute(frame);
+    }
 
-            PotentialInstruction instruct = new PotentialInstruction(VmOperation.NO_VM_OP);
-            instruct.setAddressLabel(toEnd);
-            list.add(instruct);
+    //  PURPOSE:  To return '*this' statement compiled into a closure.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        BooleanSupplier cond = this.cond_.compileCondition(frame);
+        Runnable then = this.then_.compileStatement(frame);
+
+        if (this.else_ == null) {
+            return (() -> {
+                if (cond.getAsBoolean())
+                    then.run();
+            });
         }
 
-        return (null);
+        Runnable otherwise = this.else_.compileStatement(frame);
+
+        return (() -> {
+            if (cond.getAsBoolean())
+                then.run();
+            else
+                otherwise.run();
+        });
     }
 
     //  V. Member vars:
@@ -1031,6 +2429,21 @@ class WhileDoParseNode extends ParseNode {
     }
 
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns an empty list if the condition folds to 'false', or '*this'
+    //	otherwise.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        this.cond_ = this.cond_.fold();
+        this.body_ = this.body_.fold();
+
+        if (this.cond_.isConstant() && !this.cond_.getConstantValue().getBoolean())
+            return (new BeginListParseNode());
+
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -1042,21 +2455,53 @@ class WhileDoParseNode extends ParseNode {
         long toStart = PotentialInstruction.getNextAddressLabel();
         long toEnd = PotentialInstruction.getNextAddressLabel();
 
+        //  Test once on entry, then again at the bottom, where one
+        //  conditional branch goes back to the body:
+        this.cond_.toBranch(list,PotentialInstruction.NO_ADDRESS_LABEL,toEnd);
+        placeLabel(list,toStart);
+        this.body_.toAssembly(list);
+        this.cond_.toBranch(list,toStart,PotentialInstruction.NO_ADDRESS_LABEL);
+        placeLabel(list,toEnd);
+        return (null);
+    }
 
-        PotentialInstruction instruct = new PotentialInstruction(VmOperation.NO_VM_OP);
-        instruct.setAddressLabel(toStart);
-        list.add(instruct);
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(this.cond_).adoptChildren();
+        adopt(this.body_).adoptChildren();
+    }
 
-        list.add(new VarAddrPotentialInstruction(VmOperation.IF_FALSE_GOTO_VM_OP,this.cond_.toAssembly(list),toEnd));
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        if (this.cond_ == child)
+            this.cond_ = newChild;
+        else
+            this.body_ = newChild;
+    }
 
-        this.body_.toAssembly(list);
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        while (this.cond_.executeCondition(frame))
+            this.body_.execute(frame);
+    }
 
-        list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP,toStart));
+    //  PURPOSE:  To return '*this' statement compiled into a closure.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        BooleanSupplier cond = this.cond_.compileCondition(frame);
+        Runnable body = this.body_.compileStatement(frame);
 
-        PotentialInstruction instruct2 = new PotentialInstruction(VmOperation.NO_VM_OP);
-        instruct2.setAddressLabel(toEnd);
-        list.add(instruct2);
-        return (null);
+        return (() -> {
+            while (cond.getAsBoolean())
+                body.run();
+        });
     }
 
     //  V.  Member vars:
@@ -1124,6 +2569,16 @@ class RepeatUntilParseNode extends ParseNode {
 
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns '*this'.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        this.body_ = this.body_.fold();
+        this.cond_ = this.cond_.fold();
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -1140,10 +2595,51 @@ class RepeatUntilParseNode extends ParseNode {
 
         this.body_.toAssembly(list);
 
-        list.add(new VarAddrPotentialInstruction(VmOperation.IF_FALSE_GOTO_VM_OP,this.cond_.toAssembly(list),toStart));
+        this.cond_.toBranch(list,PotentialInstruction.NO_ADDRESS_LABEL,toStart);
         return (null);
     }
 
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(this.body_).adoptChildren();
+        adopt(this.cond_).adoptChildren();
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        if (this.cond_ == child)
+            this.cond_ = newChild;
+        else
+            this.body_ = newChild;
+    }
+
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        do {
+            this.body_.execute(frame);
+        } while (!this.cond_.executeCondition(frame));
+    }
+
+    //  PURPOSE:  To return '*this' statement compiled into a closure.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        BooleanSupplier cond = this.cond_.compileCondition(frame);
+        Runnable body = this.body_.compileStatement(frame);
+
+        return (() -> {
+            do {
+                body.run();
+            } while (!cond.getAsBoolean());
+        });
+    }
+
     //  V. Member vars:
     //  PURPOSE: To hold the address of the body.
     private
@@ -1224,6 +2720,17 @@ class ForParseNode extends ParseNode {
 
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns '*this'.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        this.initVal_ = this.initVal_.fold();
+        this.finalVal_ = this.finalVal_.fold();
+        this.body_ = this.body_.fold();
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -1237,28 +2744,142 @@ class ForParseNode extends ParseNode {
 
         Variable i = this.var_.toAssembly(list);
         Variable initial = this.initVal_.toAssembly(list);
-        Variable inc = this.direction_ == Direction.UP? VarStore.get().obtainTempVar(new IntegerValue(1)) : VarStore.get().obtainTempVar(new IntegerValue(-1));
-        list.add(new VarVarPotentialInstruction(VmOperation.INT_COPY_VM_OP,i,initial));
 
-        PotentialInstruction instruct = new PotentialInstruction(VmOperation.NO_VM_OP);
-        instruct.setAddressLabel(toStart);
-        list.add(instruct);
+        //  The final value is computed once, before the first iteration.  A
+        //  plain variable is copied, since the body may assign to it:
+        Variable last = this.finalVal_.toAssembly(list);
+
+        if (!last.isConstant() && !last.isTemp()) {
+            Variable copy = VarStore.get().obtainTempVar(Type.INTEGER);
 
-        ParseNode loopCond = this.direction_ == Direction.UP? new BinaryOpParseNode(Operation.LESSER_EQUALS, this.var_, this.finalVal_):new BinaryOpParseNode(Operation.LESSER, this.finalVal_ , this.var_);;
+            list.add(new VarVarPotentialInstruction(VmOperation.INT_COPY_VM_OP,copy,last));
+            last = copy;
+        }
 
+        list.add(new VarVarPotentialInstruction(VmOperation.INT_COPY_VM_OP,i,initial));
 
-        list.add(new VarAddrPotentialInstruction(VmOperation.IF_FALSE_GOTO_VM_OP,loopCond.toAssembly(list),toEnd));
+        //  Test once on entry, then let one counted-loop instruction step
+        //  'i', test it and go back to the body.  It does the same as a
+        //  separate add and test, so the body may assign to 'i' too:
+        VmOperation exitOp = this.direction_ == Direction.UP? VmOperation.INT_GREATER_GOTO_VM_OP : VmOperation.INT_LESSER_EQUAL_GOTO_VM_OP;
+        VmOperation stepOp = this.direction_ == Direction.UP? VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP : VmOperation.INT_DEC_GREATER_GOTO_VM_OP;
 
+        list.add(new VarVarAddrPotentialInstruction(exitOp,i,last,toEnd));
+        placeLabel(list,toStart);
         this.body_.toAssembly(list);
-        list.add(new VarVarPotentialInstruction(VmOperation.INT_ADD_VAR_VAR_VM_OP,i,inc));
-
-        list.add(new AddrPotentialInstruction(VmOperation.GOTO_VM_OP,toStart));
-        PotentialInstruction instruct2 = new PotentialInstruction(VmOperation.NO_VM_OP);
-        instruct2.setAddressLabel(toEnd);
-        list.add(instruct2);
+        list.add(new VarVarAddrPotentialInstruction(stepOp,i,last,toStart));
+        placeLabel(list,toEnd);
         return (null);
     }
 
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        adopt(this.initVal_).adoptChildren();
+        adopt(this.finalVal_).adoptChildren();
+        adopt(this.body_).adoptChildren();
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        if (this.initVal_ == child)
+            this.initVal_ = newChild;
+        else if (this.finalVal_ == child)
+            this.finalVal_ = newChild;
+        else
+            this.body_ = newChild;
+    }
+
+    //  PURPOSE:  To return the node that counts in the slot of the variable.
+    @Override
+    public ParseNode specialize(AstInterpreter frame) {
+        return (SpecializedParseNode.newFor(frame.getSlot(this.var_.getVariable()),
+                this.initVal_,
+                this.finalVal_,
+                this.body_,
+                this.direction_));
+    }
+
+    //  PURPOSE:  To run '*this' statement on 'frame' as 'toAssembly()' lowers
+    //	it: the final value is computed once, and the variable is stepped
+    //	and tested after each iteration, so the body may assign to it.  No
+    //	return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        if (frame.isSpecializing()) {
+            specializeIn(frame).execute(frame);
+            return;
+        }
+
+        Variable i = this.var_.getVariable();
+        long initial = this.initVal_.executeInteger(frame);
+        long last = this.finalVal_.executeInteger(frame);
+
+        frame.getInts()[frame.getSlot(i)] = initial;
+
+        if (this.direction_ == Direction.UP) {
+            if (frame.getInts()[frame.getSlot(i)] > last)
+                return;
+
+            do {
+                this.body_.execute(frame);
+            } while (++frame.getInts()[frame.getSlot(i)] <= last);
+        } else {
+            if (frame.getInts()[frame.getSlot(i)] <= last)
+                return;
+
+            do {
+                this.body_.execute(frame);
+            } while (--frame.getInts()[frame.getSlot(i)] > last);
+        }
+    }
+
+    //  PURPOSE:  To return '*this' statement compiled into a closure that
+    //	counts in the slot of the variable, in the order 'execute()' does.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        long[] ints = frame.getInts();
+        int slot = frame.getSlot(this.var_.getVariable());
+        LongSupplier initVal = this.initVal_.compileInteger(frame);
+        LongSupplier finalVal = this.finalVal_.compileInteger(frame);
+        Runnable body = this.body_.compileStatement(frame);
+
+        if (this.direction_ == Direction.UP) {
+            return (() -> {
+                long initial = initVal.getAsLong();
+                long last = finalVal.getAsLong();
+
+                ints[slot] = initial;
+
+                if (initial > last)
+                    return;
+
+                do {
+                    body.run();
+                } while (++ints[slot] <= last);
+            });
+        }
+
+        return (() -> {
+            long initial = initVal.getAsLong();
+            long last = finalVal.getAsLong();
+
+            ints[slot] = initial;
+
+            if (initial <= last)
+                return;
+
+            do {
+                body.run();
+            } while (--ints[slot] > last);
+        });
+    }
+
     //  V.  Member vars:
     //  PURPOSE: To hold the address of the variable.
     private
@@ -1317,6 +2938,16 @@ class BeginListParseNode extends ParseNode {
             i.check();
     }
 
+    //  PURPOSE:  To fold the all-constant subtrees of '*this' into literals.
+    //	Returns '*this'.
+    @Override
+    public ParseNode fold()
+            throws Exception {
+        for (int i = 0; i < this.dataStruct_.size(); i++)
+            this.dataStruct_.set(i, this.dataStruct_.get(i).fold());
+        return (this);
+    }
+
     //  PURPOSE:  To convert '*this' into PotentialInstruction instances in
     //	'list' that implement '*this'.  Returns Variable that will have the
     //	result of '*this' computation, or 'null' if there is no such value.
@@ -1330,6 +2961,78 @@ class BeginListParseNode extends ParseNode {
         return (null);
     }
 
+    //  PURPOSE:  To make every node below '*this' the child of its parent.
+    //	No return value.
+    @Override
+    public void adoptChildren() {
+        for (ParseNode i : this.dataStruct_)
+            adopt(i).adoptChildren();
+    }
+
+    //  PURPOSE:  To put 'newChild' where 'child' is among the children of
+    //	'*this'.  No return value.
+    @Override
+    public void replaceChild(ParseNode child,
+                             ParseNode newChild
+    ) {
+        this.dataStruct_.set(this.dataStruct_.indexOf(child), newChild);
+    }
+
+    //  PURPOSE:  To return the node that runs the statements of '*this', and
+    //	of the lists nested in it, from one flat array.
+    @Override
+    public ParseNode specialize(AstInterpreter frame) {
+        List<ParseNode> statementList = new ArrayList<>();
+
+        appendStatements(statementList);
+        return (SpecializedParseNode.newBlock(statementList));
+    }
+
+    //  PURPOSE:  To append to 'statementList' the statements of '*this', with
+    //	those of nested lists in their place.  No return value.
+    protected void appendStatements(List<ParseNode> statementList) {
+        for (ParseNode i : this.dataStruct_) {
+            if (i instanceof BeginListParseNode)
+                ((BeginListParseNode) i).appendStatements(statementList);
+            else
+                statementList.add(i);
+        }
+    }
+
+    //  PURPOSE:  To run '*this' statement on 'frame'.  No return value.
+    @Override
+    public void execute(AstInterpreter frame) {
+        if (frame.isSpecializing()) {
+            specializeIn(frame).execute(frame);
+            return;
+        }
+
+        for (ParseNode i : this.dataStruct_)
+            i.execute(frame);
+    }
+
+    //  PURPOSE:  To return '*this' statement, and the lists nested in it,
+    //	compiled into one closure over a flat array.
+    @Override
+    public Runnable compileStatement(AstInterpreter frame) {
+        List<ParseNode> statementList = new ArrayList<>();
+
+        appendStatements(statementList);
+
+        Runnable[] statementArray = new Runnable[statementList.size()];
+
+        for (int i = 0; i < statementArray.length; i++)
+            statementArray[i] = statementList.get(i).compileStatement(frame);
+
+        if (statementArray.length == 1)
+            return (statementArray[0]);
+
+        return (() -> {
+            for (Runnable statement : statementArray)
+                statement.run();
+        });
+    }
+
     //  V. Member vars:
     //  PURPOSE: To hold the addresses of the code to run.
     private
@@ -0,0 +1,130 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        Peephole.java                                              ---*
+ *---                                                                   ---*
+ *---        This file declares a class that rewrites short runs of     ---*
+ *---    adjacent instructions into fewer, equivalent ones.             ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+class Peephole
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the three-variable operation that does what
+  //	two-variable operation 'op' does to its destination, or 'null' if
+  //	there is none.
+  protected static
+  VmOperation	threeVarOpOf	(VmOperation	op)
+  {
+    switch  (op)
+    {
+    case INT_ADD_VAR_VAR_VM_OP :	return(VmOperation.INT_ADD_VM_OP);
+    case REAL_ADD_VAR_VAR_VM_OP :	return(VmOperation.REAL_ADD_VM_OP);
+    case INT_SUB_VAR_VAR_VM_OP :	return(VmOperation.INT_SUB_VM_OP);
+    case REAL_SUB_VAR_VAR_VM_OP :	return(VmOperation.REAL_SUB_VM_OP);
+    case INT_MUL_VAR_VAR_VM_OP :	return(VmOperation.INT_MUL_VM_OP);
+    case REAL_MUL_VAR_VAR_VM_OP :	return(VmOperation.REAL_MUL_VM_OP);
+    }
+
+    return(null);
+  }
+
+  //  PURPOSE:  To return the single three-variable instruction equivalent
+  //	to 'copy' followed by 'op', or 'null' if they cannot be fused.  They
+  //	can when 'copy' is 'dest := src0', 'op' is 'dest := dest <op> src1',
+  //	'src1' is not 'dest' (which 'copy' changed), and no jump lands
+  //	between them.
+  protected static
+  PotentialInstruction
+		fuseCopyOp	(PotentialInstruction	copy,
+				 PotentialInstruction	op
+				)
+  {
+    if  (((copy.getOp() != VmOperation.INT_COPY_VM_OP)  &&
+	  (copy.getOp() != VmOperation.REAL_COPY_VM_OP)
+	 )
+	 ||  (threeVarOpOf(op.getOp()) == null)
+	 ||  (op.getAddressLabel() != PotentialInstruction.NO_ADDRESS_LABEL)
+	)
+    {
+      return(null);
+    }
+
+    VarVarPotentialInstruction	copyVarVar	= (VarVarPotentialInstruction)copy;
+    VarVarPotentialInstruction	opVarVar	= (VarVarPotentialInstruction)op;
+    Variable			dest		= copyVarVar.getDest();
+
+    if  ((opVarVar.getDest() != dest)  ||  (opVarVar.getSrc0() == dest))
+    {
+      return(null);
+    }
+
+    PotentialInstruction	returnMe
+				= new VarVarVarPotentialInstruction
+					(threeVarOpOf(op.getOp()),
+					 dest,
+					 copyVarVar.getSrc0(),
+					 opVarVar.getSrc0()
+					);
+
+    returnMe.setAddressLabel(copy.getAddressLabel());
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which every two-variable arithmetic instruction
+  //	that follows a copy into its destination has been fused with that
+  //	copy into one three-variable instruction.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList)
+  {
+    List<PotentialInstruction>	inList		= new ArrayList<>(instructList);
+    List<PotentialInstruction>	returnMe	= new LinkedList<>();
+    int				numFused	= 0;
+
+    for  (int i = 0;  i < inList.size();  i++)
+    {
+      PotentialInstruction	fused	= null;
+
+      if  (i + 1 < inList.size())
+      {
+	fused	= fuseCopyOp(inList.get(i),inList.get(i + 1));
+      }
+
+      if  (fused == null)
+      {
+	returnMe.add(inList.get(i));
+      }
+      else
+      {
+	returnMe.add(fused);
+	numFused++;
+	i++;
+      }
+    }
+
+    CompileReport.get().record("peephole",
+			       numFused + " copy+op pairs fused"
+			      );
+    return(returnMe);
+  }
+
+  //  VI. Member vars:
+
+}
@@ -15,6 +15,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.util.List;
+import java.util.function.UnaryOperator;
 
 class PotentialInstruction
 {
@@ -57,6 +59,12 @@ class PotentialInstruction
 		    "intToRealOp",
 
 		    // 3 vars
+		    "intAddOp",
+		    "realAddOp",
+		    "intSubOp",
+		    "realSubOp",
+		    "intMulOp",
+		    "realMulOp",
 		    "intDivOp",
 		    "realDivOp",
 		    "modOp",
@@ -74,13 +82,33 @@ class PotentialInstruction
 		    "realGreaterOp",
 		    "intGreaterEqualOp",
 		    "realGreaterEqualOp",
+		    "intDivShiftOp",
+		    "modShiftOp",
+		    "intDivMagicOp",
+		    "modMagicOp",
 
 		    // 1 addr
 		    "gotoOp",
 
 		    // 1 var, 1 addr
 		    "ifFalseGotoOp",
-		    "ifTrueGotoOp"
+		    "ifTrueGotoOp",
+
+		    // 2 vars, 1 addr
+		    "intEqualGotoOp",
+		    "realEqualGotoOp",
+		    "intNotEqualGotoOp",
+		    "realNotEqualGotoOp",
+		    "intLesserGotoOp",
+		    "realLesserGotoOp",
+		    "intLesserEqualGotoOp",
+		    "realLesserEqualGotoOp",
+		    "intGreaterGotoOp",
+		    "realGreaterGotoOp",
+		    "intGreaterEqualGotoOp",
+		    "realGreaterEqualGotoOp",
+		    "intIncLesserEqualGotoOp",
+		    "intDecGreaterGotoOp"
 		   };
 
   //  I. Constructor(s), assignment op(s), factory(s) and destructor:
@@ -115,6 +143,60 @@ class PotentialInstruction
     return (addressLabel_);
   }
 
+  //  PURPOSE: To return the variable that 'this' instruction writes, or
+  //	'null' if it writes none.  No parameters.
+  public
+  Variable	getDefinedVar		()
+  {
+    return (null);
+  }
+
+  //  PURPOSE: To append the variables that 'this' instruction reads to
+  //	'useList'.  No return value.
+  public
+  void		addUsedVars		(List<Variable> useList)
+  {
+  }
+
+  //  PURPOSE: To return the label of the address to which 'this'
+  //	instruction may go, or 'NO_ADDRESS_LABEL' if it never branches.
+  public
+  long		getGotoAddressLabel	()
+  {
+    return (NO_ADDRESS_LABEL);
+  }
+
+  //  PURPOSE: To return 'true' if control may pass from 'this' instruction
+  //	to the one after it, or 'false' otherwise.  No parameters.
+  public
+  boolean	canFallThrough		()
+  {
+    return (op_ != VmOperation.GOTO_VM_OP);
+  }
+
+  //  PURPOSE: To return an instruction like 'this' one, with the same
+  //	address label, that uses 'mapper.apply(var)' wherever 'this' uses
+  //	'var'.
+  public
+  PotentialInstruction
+		remapVars		(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy	= new PotentialInstruction(op_);
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
+  //  PURPOSE: To return an instruction like 'this' one, with the same
+  //	address label, that goes to 'newAddr' wherever 'this' goes to its
+  //	goto address.  Instructions that never branch are just copied.
+  public
+  PotentialInstruction
+		retarget		(long newAddr)
+  {
+    return (remapVars(UnaryOperator.identity()));
+  }
+
   //  III. Mutators:
   //  PURPOSE: To set the address label of 'this' to 'newAddrLabel'.  No
   //	return value.
@@ -188,6 +270,49 @@ class VarPotentialInstruction extends PotentialInstruction
     return (var);
   }
 
+  //  PURPOSE: To return the variable that 'this' instruction clears, or
+  //	'null' if it only prints it.
+  @Override
+  public
+  Variable	getDefinedVar		()
+  {
+    switch  (getOp())
+    {
+    case BOOL_CLEAR_VM_OP :
+    case INT_CLEAR_VM_OP :
+    case REAL_CLEAR_VM_OP :
+      return (var);
+    default :
+      return (null);
+    }
+  }
+
+  //  PURPOSE: To append the variable that 'this' instruction prints, if
+  //	any, to 'useList'.  No return value.
+  @Override
+  public
+  void		addUsedVars		(List<Variable> useList)
+  {
+    if  (getDefinedVar() == null)
+    {
+      useList.add(var);
+    }
+  }
+
+  //  PURPOSE: To return a copy of 'this' whose variable is mapped by
+  //	'mapper'.
+  @Override
+  public
+  PotentialInstruction
+		remapVars		(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy
+		= new VarPotentialInstruction(getOp(),mapper.apply(var));
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
   //  III. Mutators:
 
   //  IV. Methods that do the main and misc work of class:
@@ -241,6 +366,64 @@ class VarVarPotentialInstruction extends PotentialInstruction
     return (src0_);
   }
 
+  //  PURPOSE: To return 'true' if 'this' instruction reads its destination
+  //	before writing it, as the two-operand arithmetic ops do.
+  public
+  boolean	readsDest	()
+  {
+    switch  (getOp())
+    {
+    case INT_ADD_VAR_VAR_VM_OP :
+    case REAL_ADD_VAR_VAR_VM_OP :
+    case INT_SUB_VAR_VAR_VM_OP :
+    case REAL_SUB_VAR_VAR_VM_OP :
+    case INT_MUL_VAR_VAR_VM_OP :
+    case REAL_MUL_VAR_VAR_VM_OP :
+      return (true);
+    default :
+      return (false);
+    }
+  }
+
+  //  PURPOSE: To return the variable that 'this' instruction writes.
+  @Override
+  public
+  Variable	getDefinedVar	()
+  {
+    return (dest_);
+  }
+
+  //  PURPOSE: To append the variables that 'this' instruction reads to
+  //	'useList'.  No return value.
+  @Override
+  public
+  void		addUsedVars	(List<Variable> useList)
+  {
+    if  (readsDest())
+    {
+      useList.add(dest_);
+    }
+
+    useList.add(src0_);
+  }
+
+  //  PURPOSE: To return a copy of 'this' whose variables are mapped by
+  //	'mapper'.
+  @Override
+  public
+  PotentialInstruction
+		remapVars	(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy
+		= new VarVarPotentialInstruction(getOp(),
+						 mapper.apply(dest_),
+						 mapper.apply(src0_)
+						);
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
   //  III.  Mutators:
 
   //  IV.  Methods that do the main and misc work of class:
@@ -311,6 +494,42 @@ class VarVarVarPotentialInstruction extends PotentialInstruction
     return (src1_);
   }
 
+  //  PURPOSE: To return the variable that 'this' instruction writes.
+  @Override
+  public
+  Variable	getDefinedVar	()
+  {
+    return (dest_);
+  }
+
+  //  PURPOSE: To append the variables that 'this' instruction reads to
+  //	'useList'.  No return value.
+  @Override
+  public
+  void		addUsedVars	(List<Variable> useList)
+  {
+    useList.add(src0_);
+    useList.add(src1_);
+  }
+
+  //  PURPOSE: To return a copy of 'this' whose variables are mapped by
+  //	'mapper'.
+  @Override
+  public
+  PotentialInstruction
+		remapVars	(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy
+		= new VarVarVarPotentialInstruction(getOp(),
+						    mapper.apply(dest_),
+						    mapper.apply(src0_),
+						    mapper.apply(src1_)
+						   );
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
   //  III. Mutators:
 
   //  IV. Methods that do the main and misc work of class:
@@ -360,12 +579,39 @@ class AddrPotentialInstruction extends PotentialInstruction
 
   //  II. Accessors:
   //  PURPOSE: To return the label of the address to which to go.
+  @Override
   public final
   long		getGotoAddressLabel()
   {
     return (gotoAddressLabel_);
   }
 
+  //  PURPOSE: To return a copy of 'this'.
+  @Override
+  public
+  PotentialInstruction
+		remapVars	(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy
+		= new AddrPotentialInstruction(getOp(),gotoAddressLabel_);
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
+  //  PURPOSE: To return a copy of 'this' that goes to 'newAddr'.
+  @Override
+  public
+  PotentialInstruction
+		retarget	(long newAddr)
+  {
+    PotentialInstruction	copy
+		= new AddrPotentialInstruction(getOp(),newAddr);
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
   //  III. Mutators:
 
   //  IV. Methods that do the main and misc work of class:
@@ -414,12 +660,52 @@ class VarAddrPotentialInstruction extends PotentialInstruction
   }
 
   //  PURPOSE: To hold the label of the address to which to go.
+  @Override
   public final
   long		getGotoAddressLabel()
   {
     return (gotoAddressLabel_);
   }
 
+  //  PURPOSE: To append the variable that 'this' instruction tests to
+  //	'useList'.  No return value.
+  @Override
+  public
+  void		addUsedVars	(List<Variable> useList)
+  {
+    useList.add(var_);
+  }
+
+  //  PURPOSE: To return a copy of 'this' whose variable is mapped by
+  //	'mapper'.
+  @Override
+  public
+  PotentialInstruction
+		remapVars	(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy
+		= new VarAddrPotentialInstruction(getOp(),
+						  mapper.apply(var_),
+						  gotoAddressLabel_
+						 );
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
+  //  PURPOSE: To return a copy of 'this' that goes to 'newAddr'.
+  @Override
+  public
+  PotentialInstruction
+		retarget	(long newAddr)
+  {
+    PotentialInstruction	copy
+		= new VarAddrPotentialInstruction(getOp(),var_,newAddr);
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
   //  III. Mutators:
 
   //  IV. Methods that do the main and misc work of class:
@@ -447,3 +733,132 @@ class VarAddrPotentialInstruction extends PotentialInstruction
 
 }
 
+class VarVarAddrPotentialInstruction extends PotentialInstruction
+{
+  //  I.  Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE: To initialize 'this' to do operation 'newOp', which compares
+  //	'newSrc0' with 'newSrc1' and goes to 'newAddr' if the comparison
+  //	holds.  No return value.
+  public
+  VarVarAddrPotentialInstruction	(VmOperation	newOp,
+					 final Variable	newSrc0,
+					 final Variable	newSrc1,
+					 long		newAddr
+					)
+  {
+    super(newOp);
+    src0_		= newSrc0;
+    src1_		= newSrc1;
+    gotoAddressLabel_	= newAddr;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE: To return the variable on the left of the comparison.
+  public final
+  Variable	getSrc0		()
+  {
+    return (src0_);
+  }
+
+  //  PURPOSE: To return the variable on the right of the comparison.
+  public final
+  Variable	getSrc1		()
+  {
+    return (src1_);
+  }
+
+  //  PURPOSE: To hold the label of the address to which to go.
+  @Override
+  public final
+  long		getGotoAddressLabel()
+  {
+    return (gotoAddressLabel_);
+  }
+
+  //  PURPOSE: To return the loop counter that a counted-loop instruction
+  //	steps, or 'null' for a plain comparison.  No parameters.
+  @Override
+  public
+  Variable	getDefinedVar	()
+  {
+    switch  (getOp())
+    {
+    case INT_INC_LESSER_EQUAL_GOTO_VM_OP :
+    case INT_DEC_GREATER_GOTO_VM_OP :
+      return (src0_);
+    default :
+      return (null);
+    }
+  }
+
+  //  PURPOSE: To append the variables that 'this' instruction compares to
+  //	'useList'.  No return value.
+  @Override
+  public
+  void		addUsedVars	(List<Variable> useList)
+  {
+    useList.add(src0_);
+    useList.add(src1_);
+  }
+
+  //  PURPOSE: To return a copy of 'this' whose variables are mapped by
+  //	'mapper'.
+  @Override
+  public
+  PotentialInstruction
+		remapVars	(UnaryOperator<Variable> mapper)
+  {
+    PotentialInstruction	copy
+		= new VarVarAddrPotentialInstruction(getOp(),
+						     mapper.apply(src0_),
+						     mapper.apply(src1_),
+						     gotoAddressLabel_
+						    );
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
+  //  PURPOSE: To return a copy of 'this' that goes to 'newAddr'.
+  @Override
+  public
+  PotentialInstruction
+		retarget	(long newAddr)
+  {
+    PotentialInstruction	copy
+		= new VarVarAddrPotentialInstruction(getOp(),src0_,src1_,newAddr);
+
+    copy.setAddressLabel(getAddressLabel());
+    return (copy);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Methods that do the main and misc work of class:
+  //  PURPOSE: To translate 'this' into assembly in 'text'. No return value.
+  @Override
+  public
+  void		toText		(PrintStream file)
+  {
+    printAddress(file);
+    file.println
+	(vmOpNameArray[getOp().ordinal()] + "\t" +
+	 VAR_PREFIX_CHAR + getSrc0().getNameStr() + "," +
+	 VAR_PREFIX_CHAR + getSrc1().getNameStr() + ",label" +
+	 getGotoAddressLabel() + ADDR_LABEL_SUFFIX_CHAR
+	);
+  }
+
+  //  V. Member vars:
+  //  PURPOSE: To hold the variables compared.
+  protected final
+  Variable			src0_;
+
+  protected final
+  Variable			src1_;
+
+  //  PURPOSE: To hold the label of the address to which to go.
+  protected final
+  long				gotoAddressLabel_;
+
+}
@@ -0,0 +1,193 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        ReachingDefinitions.java                                   ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds which writes of each ---*
+ *---    variable may reach each block of a ControlFlowGraph.           ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ReachingDefinitions extends DataflowAnalysis
+{
+  // 0. Constants:
+  //  PURPOSE:  To stand for the value a variable has when the program
+  //	starts, in lists of definition positions.
+  public static final
+  int		INITIAL_VALUE		= -1;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the solved reaching definitions
+  //	of the non-local variables of 'newCfg'.  Each such variable has one
+  //	fact for its initial value, which holds at the entry, and one for
+  //	every instruction that writes it.  No return value.
+  public
+  ReachingDefinitions	(ControlFlowGraph	newCfg)
+  {
+    super(newCfg,true,true);
+
+    List<Variable>	nonLocalList	= newCfg.getNonLocalVars();
+
+    for  (Variable var : nonLocalList)
+    {
+      addFact(var,INITIAL_VALUE);
+    }
+
+    for  (int i = 0;  i < newCfg.getNumInstructs();  i++)
+    {
+      Variable	def	= newCfg.getInstruct(i).getDefinedVar();
+
+      if  (newCfg.getNonLocalIndex(def) >= 0)
+      {
+	factOfPosition_.put(i,positionList_.size());
+	addFact(def,i);
+      }
+    }
+
+    universeSize_	= positionList_.size();
+    solve();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the position of the instruction that fact 'fact'
+  //	stands for, or 'INITIAL_VALUE'.
+  public
+  int		getPosition	(int	fact)
+  {
+    return(positionList_.get(fact));
+  }
+
+  //  PURPOSE:  To return the variable fact 'fact' writes.
+  public
+  Variable	getVar		(int	fact)
+  {
+    return(varList_.get(fact));
+  }
+
+  //  PURPOSE:  To return the facts that write 'var', or an empty set if it
+  //	never carries a value between blocks.  The returned set must not be
+  //	changed.
+  public
+  BitSet	getFactsOf	(Variable	var)
+  {
+    BitSet	returnMe	= factsOfVar_.get(var);
+
+    return((returnMe == null) ? new BitSet() : returnMe);
+  }
+
+  //  PURPOSE:  To return the positions of the writes of 'var' that may
+  //	reach the instruction at position 'position', with 'INITIAL_VALUE'
+  //	standing for the value 'var' starts with.
+  public
+  List<Integer>	getReachingPositions
+				(int		position,
+				 Variable	var
+				)
+  {
+    BasicBlock		block		= cfg_.getBlockOf(position);
+    List<Integer>	returnMe	= new ArrayList<>();
+
+    for  (int i = position - 1;  i >= block.getFirst();  i--)
+    {
+      if  (cfg_.getInstruct(i).getDefinedVar() == var)
+      {
+	returnMe.add(i);
+	return(returnMe);
+      }
+    }
+
+    BitSet	reaching	= (BitSet)getFactsOf(var).clone();
+
+    reaching.and(getIn(block));
+
+    for  (int fact = reaching.nextSetBit(0);
+	  fact >= 0;
+	  fact = reaching.nextSetBit(fact + 1)
+	 )
+    {
+      returnMe.add(getPosition(fact));
+    }
+
+    return(returnMe);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To add the fact that 'var' was last written at 'position'.
+  //	No return value.
+  protected
+  void		addFact		(Variable	var,
+				 int		position
+				)
+  {
+    factsOfVar_.computeIfAbsent(var,v -> new BitSet()).set(positionList_.size());
+    positionList_.add(position);
+    varList_.add(var);
+  }
+
+  //  PURPOSE:  To return the initial values of every non-local variable,
+  //	which reach the entry.
+  @Override
+  protected
+  BitSet	getBoundary	()
+  {
+    BitSet	returnMe	= new BitSet();
+
+    returnMe.set(0,cfg_.getNonLocalVars().size());
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To set 'gen' to the last write in 'block' of each variable
+  //	it writes and 'kill' to every write of those variables.  No return
+  //	value.
+  @Override
+  protected
+  void		computeTransfer	(BasicBlock	block,
+				 BitSet		gen,
+				 BitSet		kill
+				)
+  {
+    for  (int i = block.getLast();  i >= block.getFirst();  i--)
+    {
+      Variable	def	= cfg_.getInstruct(i).getDefinedVar();
+      Integer	fact	= factOfPosition_.get(i);
+
+      if  ((fact != null)  &&  !kill.get(fact))
+      {
+	gen.set(fact);
+	kill.or(getFactsOf(def));
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold, for each fact, the position of its write and the
+  //	variable written.
+  protected
+  List<Integer>			positionList_	= new ArrayList<>();
+
+  protected
+  List<Variable>		varList_	= new ArrayList<>();
+
+  //  PURPOSE:  To map the position of each write of a non-local variable
+  //	to its fact.
+  protected
+  Map<Integer,Integer>		factOfPosition_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the facts of each non-local variable.
+  protected
+  Map<Variable,BitSet>		factsOfVar_	= new HashMap<>();
+
+}
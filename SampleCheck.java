@@ -0,0 +1,196 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        SampleCheck.java                                           ---*
+ *---                                                                   ---*
+ *---        This file declares a class that runs every sample program  ---*
+ *---    under every execution engine, and checks that each prints what ---*
+ *---    the sample's '.expected' file holds.                           ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class SampleCheck
+{
+  // 0. Constants:
+  //  PURPOSE:  To hold the directory the samples are in, unless told
+  //	otherwise.
+  public static final
+  String	DEFAULT_SAMPLE_DIR	= "samples";
+
+  //  PURPOSE:  To hold the extensions of a sample's program and of the
+  //	file holding what it should print.
+  public static final
+  String	PROGRAM_EXTENSION	= ".pas";
+
+  public static final
+  String	EXPECTED_EXTENSION	= ".expected";
+
+  //  PURPOSE:  To hold the engines every sample is run under, by the names
+  //	'--run=' takes.
+  public static final
+  String[]	ENGINE_ARRAY		= { "vm",
+					    "jit",
+					    "mh",
+					    "tiered",
+					    "ast",
+					    "tree",
+					    "closure"
+					  };
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return what the program in 'programFile' prints when run
+  //	under the engine named 'engineName', or the exception it throws if
+  //	it fails to compile or run.
+  protected static
+  String	outputOf	(File		programFile,
+				 String		engineName
+				)
+				throws IOException
+  {
+    ByteArrayOutputStream	bytes	= new ByteArrayOutputStream();
+    PrintStream			stdOut	= System.out;
+
+    VarStore.get().reset();
+    CompileReport.get().reset();
+    System.setOut(new PrintStream(bytes,true,StandardCharsets.UTF_8));
+
+    try  (FileReader reader = new FileReader(programFile))
+    {
+      if  (engineName.equals("ast")  ||  engineName.equals("tree")  ||
+	   engineName.equals("closure")
+	  )
+      {
+	OurPascal.interpret(engineName,OurPascal.parse(reader));
+      }
+      else
+      {
+	OurPascal.run(engineName,OurPascal.compile(reader));
+      }
+    }
+    catch  (Exception error)
+    {
+      System.out.flush();
+      return(bytes.toString(StandardCharsets.UTF_8) + error + "\n");
+    }
+    finally
+    {
+      System.setOut(stdOut);
+    }
+
+    return(bytes.toString(StandardCharsets.UTF_8));
+  }
+
+  //  PURPOSE:  To return the number of the first line at which 'actual'
+  //	and 'expected' differ, counting from 1.
+  protected static
+  int		firstDifferingLine
+				(String		actual,
+				 String		expected
+				)
+  {
+    String[]	actualArray	= actual.split("\n",-1);
+    String[]	expectedArray	= expected.split("\n",-1);
+    int		line		= 0;
+
+    while  ((line < actualArray.length)  &&
+	    (line < expectedArray.length)  &&
+	    actualArray[line].equals(expectedArray[line])
+	   )
+    {
+      line++;
+    }
+
+    return(line + 1);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To run every sample in the directory 'args[0]', or in
+  //	'DEFAULT_SAMPLE_DIR' if none is given, under every engine of
+  //	'ENGINE_ARRAY', and to report each run whose output differs from the
+  //	sample's '.expected' file.  Loops are moved into bytecode at their
+  //	first back edge, so that the tiered engine runs even short loops
+  //	compiled.  Exits with status 1 if any run differs.  No return value.
+  public static
+  void		main		(String[]	args
+				)
+				throws Exception
+  {
+    File	dir		= new File((args.length == 0)
+					   ? DEFAULT_SAMPLE_DIR
+					   : args[0]
+					  );
+    File[]	programArray	= dir.listFiles((parent,name) ->
+						name.endsWith(PROGRAM_EXTENSION)
+					       );
+    int		numFailed	= 0;
+
+    if  ((programArray == null)  ||  (programArray.length == 0))
+    {
+      System.err.println("No samples in " + dir);
+      System.exit(1);
+    }
+
+    Arrays.sort(programArray);
+    TieredVirtualMachine.setThreshold(1);
+
+    for  (File programFile : programArray)
+    {
+      String	name		= programFile.getName();
+      String	baseName	= name.substring(0,
+						 name.length()
+						 - PROGRAM_EXTENSION.length()
+						);
+      String	expected	= new String
+					(Files.readAllBytes
+						(new File(dir,
+							  baseName + EXPECTED_EXTENSION
+							 ).toPath()
+						),
+					 StandardCharsets.UTF_8
+					);
+
+      for  (String engineName : ENGINE_ARRAY)
+      {
+	String	actual	= outputOf(programFile,engineName);
+
+	if  (!actual.equals(expected))
+	{
+	  numFailed++;
+	  System.out.println("FAIL\t" + baseName + " (" + engineName +
+			     "), first difference at line " +
+			     firstDifferingLine(actual,expected)
+			    );
+	}
+      }
+    }
+
+    System.out.println(programArray.length + " samples, " +
+		       ENGINE_ARRAY.length + " engines, " +
+		       numFailed + " failed"
+		      );
+
+    if  (numFailed > 0)
+    {
+      System.exit(1);
+    }
+  }
+
+}
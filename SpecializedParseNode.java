@@ -0,0 +1,854 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        SpecializedParseNode.java                                  ---*
+ *---                                                                   ---*
+ *---        This file declares the nodes that ParseNode instances      ---*
+ *---    rewrite themselves into when the AstInterpreter first runs     ---*
+ *---    them: each does one operation on operands of known types, or   ---*
+ *---    reads and writes one known slot.                               ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.List;
+
+abstract
+class SpecializedParseNode extends ParseNode
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to compute a value of type 'newType',
+  //	or nothing if it is 'NONE'.  No return value.
+  protected
+  SpecializedParseNode		(Type	newType)
+  {
+    type_	= newType;
+  }
+
+  //  PURPOSE:  To return the node that reads slot 'slot' of the array of
+  //	type 'type'.
+  public static
+  ParseNode	newRead		(Type	type,
+				 int	slot
+				)
+  {
+    switch  (type)
+    {
+    case INTEGER :	return(new IntRead(slot));
+    case REAL :		return(new RealRead(slot));
+    case BOOLEAN :	return(new BoolRead(slot));
+    }
+
+    return(new StringRead(slot));
+  }
+
+  //  PURPOSE:  To return the node that does 'operation' on the values of
+  //	'left' and 'right', chosen by their types.  Integer operands of real
+  //	operations are converted.
+  public static
+  ParseNode	newBinary	(Operation	operation,
+				 ParseNode	left,
+				 ParseNode	right
+				)
+  {
+    boolean	isInteger	= (left.getType() == Type.INTEGER)  &&
+				  (right.getType() == Type.INTEGER);
+    boolean	isReal		= !isInteger  &&
+				  isNumeric(left.getType())  &&
+				  isNumeric(right.getType());
+
+    switch  (operation)
+    {
+    case AND :	return(new And(left,right));
+    case OR :	return(new Or(left,right));
+    case DIV :	return(new IntDiv(left,right));
+    case MOD :	return(new IntMod(left,right));
+    case SLASH :return(new RealDiv(asReal(left),asReal(right)));
+    }
+
+    if  (isInteger)
+    {
+      switch  (operation)
+      {
+      case PLUS :		return(new IntAdd(left,right));
+      case MINUS :		return(new IntSub(left,right));
+      case STAR :		return(new IntMul(left,right));
+      case EQUALS :		return(new IntEqual(left,right));
+      case NOT_EQUALS :		return(new IntNotEqual(left,right));
+      case LESSER :		return(new IntLesser(left,right));
+      case LESSER_EQUALS :	return(new IntLesserEqual(left,right));
+      case GREATER :		return(new IntGreater(left,right));
+      case GREATER_EQUALS :	return(new IntGreaterEqual(left,right));
+      }
+    }
+
+    if  (isReal)
+    {
+      left	= asReal(left);
+      right	= asReal(right);
+
+      switch  (operation)
+      {
+      case PLUS :		return(new RealAdd(left,right));
+      case MINUS :		return(new RealSub(left,right));
+      case STAR :		return(new RealMul(left,right));
+      case EQUALS :		return(new RealEqual(left,right));
+      case NOT_EQUALS :		return(new RealNotEqual(left,right));
+      case LESSER :		return(new RealLesser(left,right));
+      case LESSER_EQUALS :	return(new RealLesserEqual(left,right));
+      case GREATER :		return(new RealGreater(left,right));
+      case GREATER_EQUALS :	return(new RealGreaterEqual(left,right));
+      }
+    }
+
+    return(new OtherCompare(operation,left,right));
+  }
+
+  //  PURPOSE:  To return the node that sets slot 'slot' of the array of
+  //	type 'type' to the value of 'expr'.
+  public static
+  ParseNode	newAssign	(Type		type,
+				 int		slot,
+				 ParseNode	expr
+				)
+  {
+    switch  (type)
+    {
+    case INTEGER :	return(new IntAssign(slot,expr));
+    case REAL :		return(new RealAssign(slot,expr));
+    case BOOLEAN :	return(new BoolAssign(slot,expr));
+    }
+
+    return(new StringAssign(slot,expr));
+  }
+
+  //  PURPOSE:  To return the node that prints the value of 'expr', of type
+  //	'type', followed by a newline if 'shouldWriteNewline'.
+  public static
+  ParseNode	newWrite	(Type		type,
+				 boolean	shouldWriteNewline,
+				 ParseNode	expr
+				)
+  {
+    switch  (type)
+    {
+    case INTEGER :	return(new IntWrite(shouldWriteNewline,expr));
+    case REAL :		return(new RealWrite(shouldWriteNewline,expr));
+    case BOOLEAN :	return(new BoolWrite(shouldWriteNewline,expr));
+    }
+
+    return(new StringWrite(shouldWriteNewline,expr));
+  }
+
+  //  PURPOSE:  To return the node that runs 'body' for each value integer
+  //	slot 'slot' takes counting in 'direction' from 'initVal' to
+  //	'finalVal'.
+  public static
+  ParseNode	newFor		(int		slot,
+				 ParseNode	initVal,
+				 ParseNode	finalVal,
+				 ParseNode	body,
+				 Direction	direction
+				)
+  {
+    return((direction == Direction.UP)
+	   ? new ForUp(slot,initVal,finalVal,body)
+	   : new ForDown(slot,initVal,finalVal,body)
+	  );
+  }
+
+  //  PURPOSE:  To return the node that runs the statements in
+  //	'statementList' in order.
+  public static
+  ParseNode	newBlock	(List<ParseNode>	statementList)
+  {
+    return(new Block(statementList.toArray(new ParseNode[0])));
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the type of the value 'this' computes.
+  @Override
+  public
+  Type		getType		()
+  {
+    return(type_);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'type' is INTEGER or REAL.
+  protected static
+  boolean	isNumeric	(Type	type)
+  {
+    return((type == Type.INTEGER)  ||  (type == Type.REAL));
+  }
+
+  //  PURPOSE:  To return 'node', or a node converting its value to a real
+  //	if it is an integer.
+  protected static
+  ParseNode	asReal		(ParseNode	node)
+  {
+    return((node.getType() == Type.INTEGER) ? new IntToReal(node) : node);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To refuse: specialized nodes exist only while a tree runs.
+  @Override
+  public
+  Variable	toAssembly	(List<PotentialInstruction>	list)
+  {
+    throw new UnsupportedOperationException
+		("Specialized nodes cannot be assembled");
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the type of the value 'this' computes.
+  protected final
+  Type				type_;
+
+
+  //  PURPOSE:  To read one slot.
+  static
+  class	IntRead extends SpecializedParseNode
+  {
+    IntRead	(int newSlot)	{ super(Type.INTEGER);  slot_ = newSlot; }
+
+    @Override public long	executeInteger	(AstInterpreter frame)
+				{ return(frame.getInts()[slot_]); }
+
+    final int			slot_;
+  }
+
+  static
+  class	RealRead extends SpecializedParseNode
+  {
+    RealRead	(int newSlot)	{ super(Type.REAL);  slot_ = newSlot; }
+
+    @Override public double	executeReal	(AstInterpreter frame)
+				{ return(frame.getReals()[slot_]); }
+
+    final int			slot_;
+  }
+
+  static
+  class	BoolRead extends SpecializedParseNode
+  {
+    BoolRead	(int newSlot)	{ super(Type.BOOLEAN);  slot_ = newSlot; }
+
+    @Override public boolean	executeBoolean	(AstInterpreter frame)
+				{ return(frame.getBools()[slot_]); }
+
+    final int			slot_;
+  }
+
+  static
+  class	StringRead extends SpecializedParseNode
+  {
+    StringRead	(int newSlot)	{ super(Type.STRING);  slot_ = newSlot; }
+
+    @Override public String	executeString	(AstInterpreter frame)
+				{ return(frame.getStrings()[slot_]); }
+
+    final int			slot_;
+  }
+
+
+  //  PURPOSE:  To convert the value of an integer operand to a real.
+  static
+  class	IntToReal extends SpecializedParseNode
+  {
+    IntToReal	(ParseNode newOperand)
+    {
+      super(Type.REAL);
+      operand_	= adopt(newOperand);
+    }
+
+    @Override public void	replaceChild	(ParseNode child,
+						 ParseNode newChild
+						)
+				{ operand_ = newChild; }
+
+    @Override public double	executeReal	(AstInterpreter frame)
+				{ return(operand_.executeInteger(frame)); }
+
+    ParseNode			operand_;
+  }
+
+
+  //  PURPOSE:  To compute a value from two operands.
+  abstract static
+  class	Binary extends SpecializedParseNode
+  {
+    Binary	(Type		newType,
+		 ParseNode	newLeft,
+		 ParseNode	newRight
+		)
+    {
+      super(newType);
+      left_	= adopt(newLeft);
+      right_	= adopt(newRight);
+    }
+
+    @Override
+    public
+    void	replaceChild	(ParseNode	child,
+				 ParseNode	newChild
+				)
+    {
+      if  (left_ == child)
+      {
+	left_	= newChild;
+      }
+      else
+      {
+	right_	= newChild;
+      }
+    }
+
+    ParseNode			left_;
+    ParseNode			right_;
+  }
+
+  static
+  class	IntAdd extends Binary
+  {
+    IntAdd	(ParseNode l, ParseNode r)	{ super(Type.INTEGER,l,r); }
+
+    @Override public long	executeInteger	(AstInterpreter f)
+	{ return(left_.executeInteger(f) + right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntSub extends Binary
+  {
+    IntSub	(ParseNode l, ParseNode r)	{ super(Type.INTEGER,l,r); }
+
+    @Override public long	executeInteger	(AstInterpreter f)
+	{ return(left_.executeInteger(f) - right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntMul extends Binary
+  {
+    IntMul	(ParseNode l, ParseNode r)	{ super(Type.INTEGER,l,r); }
+
+    @Override public long	executeInteger	(AstInterpreter f)
+	{ return(left_.executeInteger(f) * right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntDiv extends Binary
+  {
+    IntDiv	(ParseNode l, ParseNode r)	{ super(Type.INTEGER,l,r); }
+
+    @Override public long	executeInteger	(AstInterpreter f)
+	{ return(left_.executeInteger(f) / right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntMod extends Binary
+  {
+    IntMod	(ParseNode l, ParseNode r)	{ super(Type.INTEGER,l,r); }
+
+    @Override public long	executeInteger	(AstInterpreter f)
+	{ return(left_.executeInteger(f) % right_.executeInteger(f)); }
+  }
+
+  static
+  class	RealAdd extends Binary
+  {
+    RealAdd	(ParseNode l, ParseNode r)	{ super(Type.REAL,l,r); }
+
+    @Override public double	executeReal	(AstInterpreter f)
+	{ return(left_.executeReal(f) + right_.executeReal(f)); }
+  }
+
+  static
+  class	RealSub extends Binary
+  {
+    RealSub	(ParseNode l, ParseNode r)	{ super(Type.REAL,l,r); }
+
+    @Override public double	executeReal	(AstInterpreter f)
+	{ return(left_.executeReal(f) - right_.executeReal(f)); }
+  }
+
+  static
+  class	RealMul extends Binary
+  {
+    RealMul	(ParseNode l, ParseNode r)	{ super(Type.REAL,l,r); }
+
+    @Override public double	executeReal	(AstInterpreter f)
+	{ return(left_.executeReal(f) * right_.executeReal(f)); }
+  }
+
+  static
+  class	RealDiv extends Binary
+  {
+    RealDiv	(ParseNode l, ParseNode r)	{ super(Type.REAL,l,r); }
+
+    @Override public double	executeReal	(AstInterpreter f)
+	{ return(left_.executeReal(f) / right_.executeReal(f)); }
+  }
+
+  static
+  class	IntEqual extends Binary
+  {
+    IntEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeInteger(f) == right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntNotEqual extends Binary
+  {
+    IntNotEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeInteger(f) != right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntLesser extends Binary
+  {
+    IntLesser	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeInteger(f) < right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntLesserEqual extends Binary
+  {
+    IntLesserEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeInteger(f) <= right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntGreater extends Binary
+  {
+    IntGreater	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeInteger(f) > right_.executeInteger(f)); }
+  }
+
+  static
+  class	IntGreaterEqual extends Binary
+  {
+    IntGreaterEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeInteger(f) >= right_.executeInteger(f)); }
+  }
+
+  static
+  class	RealEqual extends Binary
+  {
+    RealEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeReal(f) == right_.executeReal(f)); }
+  }
+
+  static
+  class	RealNotEqual extends Binary
+  {
+    RealNotEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeReal(f) != right_.executeReal(f)); }
+  }
+
+  static
+  class	RealLesser extends Binary
+  {
+    RealLesser	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeReal(f) < right_.executeReal(f)); }
+  }
+
+  static
+  class	RealLesserEqual extends Binary
+  {
+    RealLesserEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeReal(f) <= right_.executeReal(f)); }
+  }
+
+  static
+  class	RealGreater extends Binary
+  {
+    RealGreater	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeReal(f) > right_.executeReal(f)); }
+  }
+
+  static
+  class	RealGreaterEqual extends Binary
+  {
+    RealGreaterEqual	(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeReal(f) >= right_.executeReal(f)); }
+  }
+
+  //  PURPOSE:  To evaluate both operands for a value, but the right one
+  //	only when the left does not decide the result for a branch.
+  static
+  class	And extends Binary
+  {
+    And		(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeBoolean(f) & right_.executeBoolean(f)); }
+
+    @Override public boolean	executeCondition(AstInterpreter f)
+	{ return(left_.executeCondition(f) && right_.executeCondition(f)); }
+  }
+
+  static
+  class	Or extends Binary
+  {
+    Or		(ParseNode l, ParseNode r)	{ super(Type.BOOLEAN,l,r); }
+
+    @Override public boolean	executeBoolean	(AstInterpreter f)
+	{ return(left_.executeBoolean(f) | right_.executeBoolean(f)); }
+
+    @Override public boolean	executeCondition(AstInterpreter f)
+	{ return(left_.executeCondition(f) || right_.executeCondition(f)); }
+  }
+
+  //  PURPOSE:  To compare booleans or strings, which are rare enough not to
+  //	need a node per comparison.
+  static
+  class	OtherCompare extends Binary
+  {
+    OtherCompare	(Operation	newOperation,
+			 ParseNode	l,
+			 ParseNode	r
+			)
+    {
+      super(Type.BOOLEAN,l,r);
+      operation_	= newOperation;
+    }
+
+    @Override
+    public
+    boolean	executeBoolean	(AstInterpreter	f)
+    {
+      int	comparison
+		= (left_.getType() == Type.BOOLEAN)
+		  ? Boolean.compare(left_.executeBoolean(f),right_.executeBoolean(f))
+		  : left_.executeString(f).compareTo(right_.executeString(f));
+
+      return(BinaryOpParseNode.holds(operation_,comparison));
+    }
+
+    final Operation		operation_;
+  }
+
+
+  //  PURPOSE:  To set one slot to the value of an expression.
+  abstract static
+  class	Assign extends SpecializedParseNode
+  {
+    Assign	(int		newSlot,
+		 ParseNode	newExpr
+		)
+    {
+      super(Type.NONE);
+      slot_	= newSlot;
+      expr_	= adopt(newExpr);
+    }
+
+    @Override public void	replaceChild	(ParseNode child,
+						 ParseNode newChild
+						)
+				{ expr_ = newChild; }
+
+    final int			slot_;
+    ParseNode			expr_;
+  }
+
+  static
+  class	IntAssign extends Assign
+  {
+    IntAssign	(int s, ParseNode e)	{ super(s,e); }
+
+    @Override public void	execute		(AstInterpreter f)
+	{ f.getInts()[slot_] = expr_.executeInteger(f); }
+  }
+
+  static
+  class	RealAssign extends Assign
+  {
+    RealAssign	(int s, ParseNode e)	{ super(s,e); }
+
+    @Override public void	execute		(AstInterpreter f)
+	{ f.getReals()[slot_] = expr_.executeReal(f); }
+  }
+
+  static
+  class	BoolAssign extends Assign
+  {
+    BoolAssign	(int s, ParseNode e)	{ super(s,e); }
+
+    @Override public void	execute		(AstInterpreter f)
+	{ f.getBools()[slot_] = expr_.executeBoolean(f); }
+  }
+
+  static
+  class	StringAssign extends Assign
+  {
+    StringAssign	(int s, ParseNode e)	{ super(s,e); }
+
+    @Override public void	execute		(AstInterpreter f)
+	{ f.getStrings()[slot_] = expr_.executeString(f); }
+  }
+
+
+  //  PURPOSE:  To print the value of an expression.
+  abstract static
+  class	Write extends SpecializedParseNode
+  {
+    Write	(boolean	newShouldWriteNewline,
+		 ParseNode	newExpr
+		)
+    {
+      super(Type.NONE);
+      shouldWriteNewline_	= newShouldWriteNewline;
+      expr_			= adopt(newExpr);
+    }
+
+    @Override public void	replaceChild	(ParseNode child,
+						 ParseNode newChild
+						)
+				{ expr_ = newChild; }
+
+    final boolean		shouldWriteNewline_;
+    ParseNode			expr_;
+  }
+
+  static
+  class	IntWrite extends Write
+  {
+    IntWrite	(boolean n, ParseNode e)	{ super(n,e); }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      if  (shouldWriteNewline_)
+	f.getOut().println(expr_.executeInteger(f));
+      else
+	f.getOut().print(expr_.executeInteger(f));
+    }
+  }
+
+  static
+  class	RealWrite extends Write
+  {
+    RealWrite	(boolean n, ParseNode e)	{ super(n,e); }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      if  (shouldWriteNewline_)
+	f.getOut().println(expr_.executeReal(f));
+      else
+	f.getOut().print(expr_.executeReal(f));
+    }
+  }
+
+  static
+  class	BoolWrite extends Write
+  {
+    BoolWrite	(boolean n, ParseNode e)	{ super(n,e); }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      if  (shouldWriteNewline_)
+	f.getOut().println(expr_.executeBoolean(f));
+      else
+	f.getOut().print(expr_.executeBoolean(f));
+    }
+  }
+
+  static
+  class	StringWrite extends Write
+  {
+    StringWrite	(boolean n, ParseNode e)	{ super(n,e); }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      if  (shouldWriteNewline_)
+	f.getOut().println(expr_.executeString(f));
+      else
+	f.getOut().print(expr_.executeString(f));
+    }
+  }
+
+
+  //  PURPOSE:  To run a for loop as 'ForParseNode.toAssembly()' lowers it:
+  //	both bounds are computed before the variable is set, and the
+  //	variable is stepped and tested after each iteration, so the body may
+  //	assign to it.
+  abstract static
+  class	For extends SpecializedParseNode
+  {
+    For		(int		newSlot,
+		 ParseNode	newInitVal,
+		 ParseNode	newFinalVal,
+		 ParseNode	newBody
+		)
+    {
+      super(Type.NONE);
+      slot_	= newSlot;
+      initVal_	= adopt(newInitVal);
+      finalVal_	= adopt(newFinalVal);
+      body_	= adopt(newBody);
+    }
+
+    @Override
+    public
+    void	replaceChild	(ParseNode	child,
+				 ParseNode	newChild
+				)
+    {
+      if  (initVal_ == child)
+      {
+	initVal_	= newChild;
+      }
+      else
+      if  (finalVal_ == child)
+      {
+	finalVal_	= newChild;
+      }
+      else
+      {
+	body_		= newChild;
+      }
+    }
+
+    final int			slot_;
+    ParseNode			initVal_;
+    ParseNode			finalVal_;
+    ParseNode			body_;
+  }
+
+  static
+  class	ForUp extends For
+  {
+    ForUp	(int s, ParseNode i, ParseNode l, ParseNode b)	{ super(s,i,l,b); }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      final long[]	ints	= f.getInts();
+      final long	initial	= initVal_.executeInteger(f);
+      final long	last	= finalVal_.executeInteger(f);
+
+      ints[slot_]	= initial;
+
+      if  (initial > last)
+      {
+	return;
+      }
+
+      do
+      {
+	body_.execute(f);
+      }
+      while  (++ints[slot_] <= last);
+    }
+  }
+
+  static
+  class	ForDown extends For
+  {
+    ForDown	(int s, ParseNode i, ParseNode l, ParseNode b)	{ super(s,i,l,b); }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      final long[]	ints	= f.getInts();
+      final long	initial	= initVal_.executeInteger(f);
+      final long	last	= finalVal_.executeInteger(f);
+
+      ints[slot_]	= initial;
+
+      if  (initial <= last)
+      {
+	return;
+      }
+
+      do
+      {
+	body_.execute(f);
+      }
+      while  (--ints[slot_] > last);
+    }
+  }
+
+
+  //  PURPOSE:  To run a flat array of statements in order.
+  static
+  class	Block extends SpecializedParseNode
+  {
+    Block	(ParseNode[]	newStatementArray)
+    {
+      super(Type.NONE);
+      statementArray_	= newStatementArray;
+
+      for  (ParseNode statement : statementArray_)
+      {
+	adopt(statement);
+      }
+    }
+
+    @Override
+    public
+    void	replaceChild	(ParseNode	child,
+				 ParseNode	newChild
+				)
+    {
+      for  (int i = 0;  i < statementArray_.length;  i++)
+      {
+	if  (statementArray_[i] == child)
+	{
+	  statementArray_[i]	= newChild;
+	  return;
+	}
+      }
+    }
+
+    @Override
+    public
+    void	execute		(AstInterpreter	f)
+    {
+      for  (ParseNode statement : statementArray_)
+      {
+	statement.execute(f);
+      }
+    }
+
+    final ParseNode[]		statementArray_;
+  }
+
+}
@@ -0,0 +1,416 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        SsaForm.java                                               ---*
+ *---                                                                   ---*
+ *---        This file declares a class that gives every write of a     ---*
+ *---    variable in a ControlFlowGraph its own name, and every read     ---*
+ *---    the name of the one write that reaches it, with phi functions  ---*
+ *---    naming the values that meet where paths join.                  ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class SsaForm
+{
+  //  0. Constants:
+  //  PURPOSE:  To stand for "no name", for instructions that write nothing.
+  public static final
+  int		NO_NAME		= -1;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to be the SSA form of the reachable
+  //	blocks of 'newCfg', whose dominators are 'newDominators'.  The
+  //	instructions are not changed: the Variable objects stay the names of
+  //	the program, and the SSA names are numbers kept beside them.  Phi
+  //	functions are placed, semi-pruned, only for variables that carry a
+  //	value between blocks.  No return value.
+  public
+  SsaForm	(ControlFlowGraph	newCfg,
+		 Dominators		newDominators
+		)
+  {
+    cfg_		= newCfg;
+    dominators_		= newDominators;
+    defNameArray_	= new int[newCfg.getNumInstructs()];
+    useNameMapList_	= new ArrayList<>
+				(Collections.nCopies(newCfg.getNumInstructs(),
+						     Collections.emptyMap()
+						    )
+				);
+    phiListArray_	= new ArrayList<>
+				(Collections.nCopies(newCfg.getNumBlocks(),
+						     Collections.emptyList()
+						    )
+				);
+    Arrays.fill(defNameArray_,NO_NAME);
+
+    if  (newCfg.getEntry() != null)
+    {
+      placePhis();
+      rename();
+    }
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the number of SSA names.  Names run from 0 up.
+  public
+  int		getNumNames	()
+  {
+    return(varOfName_.size());
+  }
+
+  //  PURPOSE:  To return the variable SSA name 'name' is a value of.
+  public
+  Variable	getVariable	(int	name)
+  {
+    return(varOfName_.get(name));
+  }
+
+  //  PURPOSE:  To return the position of the instruction that writes
+  //	'name', or -1 if it is a phi or a variable's value on entry.
+  public
+  int		getDefPosition	(int	name)
+  {
+    return(defPositionOfName_.get(name));
+  }
+
+  //  PURPOSE:  To return the name of the value the instruction at
+  //	'position' writes, or 'NO_NAME' if it writes none or is unreachable.
+  public
+  int		getDefName	(int	position)
+  {
+    return(defNameArray_[position]);
+  }
+
+  //  PURPOSE:  To return the name of the value of 'var' the reachable
+  //	instruction at 'position' reads.
+  public
+  int		getUseName	(int		position,
+				 Variable	var
+				)
+  {
+    return(useNameMapList_.get(position).get(var));
+  }
+
+  //  PURPOSE:  To return the phi functions at the start of 'block'.
+  public
+  List<Phi>	getPhiList	(BasicBlock	block)
+  {
+    return(phiListArray_.get(block.getIndex()));
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return a new name for a value of 'var' written at
+  //	'position' (-1 for phis and values on entry).
+  protected
+  int		newName		(Variable	var,
+				 int		position
+				)
+  {
+    varOfName_.add(var);
+    defPositionOfName_.add(position);
+    return(varOfName_.size() - 1);
+  }
+
+  //  PURPOSE:  To return the name of the value 'var' has on entry,
+  //	giving it one the first time.
+  protected
+  int		entryName	(Variable	var)
+  {
+    Integer	name	= entryNameMap_.get(var);
+
+    if  (name == null)
+    {
+      name	= newName(var,-1);
+      entryNameMap_.put(var,name);
+    }
+
+    return(name);
+  }
+
+  //  PURPOSE:  To put a phi for each non-local variable at the start of
+  //	every block in the iterated dominance frontier of the blocks that
+  //	write it.  No parameters.  No return value.
+  protected
+  void		placePhis	()
+  {
+    List<List<BasicBlock>>	defBlockListArray
+					= new ArrayList<>();
+    int[]			hasPhiFor	= new int[cfg_.getNumBlocks()];
+    int[]			isQueuedFor	= new int[cfg_.getNumBlocks()];
+
+    for  (int i = 0;  i < cfg_.getNonLocalVars().size();  i++)
+    {
+      defBlockListArray.add(new ArrayList<>());
+    }
+
+    for  (BasicBlock block : cfg_.getReversePostorder())
+    {
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	Variable	def	= cfg_.getInstruct(i).getDefinedVar();
+	int		index	= (def == null) ? -1 : cfg_.getNonLocalIndex(def);
+
+	if  (index >= 0)
+	{
+	  List<BasicBlock>	defBlockList	= defBlockListArray.get(index);
+
+	  if  (defBlockList.isEmpty()  ||
+	       (defBlockList.get(defBlockList.size() - 1) != block)
+	      )
+	  {
+	    defBlockList.add(block);
+	  }
+	}
+      }
+    }
+
+    //  Marks hold 1 + the index of the variable last handled, so the
+    //  arrays need no clearing between variables:
+    for  (int index = 0;  index < defBlockListArray.size();  index++)
+    {
+      Variable		var		= cfg_.getNonLocalVars().get(index);
+      Deque<BasicBlock>	workList	= new ArrayDeque<>();
+
+      for  (BasicBlock block : defBlockListArray.get(index))
+      {
+	isQueuedFor[block.getIndex()]	= index + 1;
+	workList.add(block);
+      }
+
+      while  (!workList.isEmpty())
+      {
+	for  (BasicBlock join : dominators_.getFrontier(workList.remove()))
+	{
+	  if  (hasPhiFor[join.getIndex()] == index + 1)
+	  {
+	    continue;
+	  }
+
+	  hasPhiFor[join.getIndex()]	= index + 1;
+
+	  if  (phiListArray_.get(join.getIndex()).isEmpty())
+	  {
+	    phiListArray_.set(join.getIndex(),new ArrayList<>());
+	  }
+
+	  phiListArray_.get(join.getIndex())
+		.add(new Phi(var,
+			     newName(var,-1),
+			     join.getPredList().size()
+			     + ((join == cfg_.getEntry()) ? 1 : 0)
+			    )
+		    );
+
+	  if  (isQueuedFor[join.getIndex()] != index + 1)
+	  {
+	    isQueuedFor[join.getIndex()]	= index + 1;
+	    workList.add(join);
+	  }
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To name every write and read, walking the dominator tree so
+  //	that the name current for each variable is the one whose write
+  //	dominates, or the phi that merges it.  The walk keeps an explicit
+  //	stack, as the tree of a long program is deep.  No parameters.  No
+  //	return value.
+  protected
+  void		rename		()
+  {
+    Map<Variable,Integer>	currentMap	= new HashMap<>();
+    List<Variable>		undoVarList	= new ArrayList<>();
+    List<Integer>		undoNameList	= new ArrayList<>();
+    List<BasicBlock>		blockStack	= new ArrayList<>();
+    Deque<Integer>		markStack	= new ArrayDeque<>();
+    List<Variable>		useList		= new ArrayList<>();
+    BasicBlock			entry		= cfg_.getEntry();
+
+    for  (Phi phi : getPhiList(entry))
+    {
+      phi.setOperandName(entry.getPredList().size(),entryName(phi.getVariable()));
+    }
+
+    blockStack.add(entry);
+
+    while  (!blockStack.isEmpty())
+    {
+      BasicBlock	block	= blockStack.remove(blockStack.size() - 1);
+
+      //  A 'null' marks leaving the block whose undo mark is on top:
+      if  (block == null)
+      {
+	int	mark	= markStack.pop();
+
+	while  (undoVarList.size() > mark)
+	{
+	  int		last	= undoVarList.size() - 1;
+	  Variable	var	= undoVarList.remove(last);
+	  Integer	name	= undoNameList.remove(last);
+
+	  if  (name == null)
+	  {
+	    currentMap.remove(var);
+	  }
+	  else
+	  {
+	    currentMap.put(var,name);
+	  }
+	}
+
+	continue;
+      }
+
+      markStack.push(undoVarList.size());
+      blockStack.add(null);
+
+      for  (Phi phi : getPhiList(block))
+      {
+	undoVarList.add(phi.getVariable());
+	undoNameList.add(currentMap.put(phi.getVariable(),phi.getName()));
+      }
+
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	PotentialInstruction	instruct	= cfg_.getInstruct(i);
+	Variable		def		= instruct.getDefinedVar();
+
+	useList.clear();
+	instruct.addUsedVars(useList);
+
+	if  (!useList.isEmpty())
+	{
+	  Map<Variable,Integer>	useNameMap	= new HashMap<>(4);
+
+	  for  (Variable var : useList)
+	  {
+	    Integer	name	= currentMap.get(var);
+
+	    useNameMap.put(var,(name == null) ? entryName(var) : name);
+	  }
+
+	  useNameMapList_.set(i,useNameMap);
+	}
+
+	if  (def != null)
+	{
+	  defNameArray_[i]	= newName(def,i);
+	  undoVarList.add(def);
+	  undoNameList.add(currentMap.put(def,defNameArray_[i]));
+	}
+      }
+
+      for  (BasicBlock succ : block.getSuccList())
+      {
+	int	predIndex	= succ.getPredList().indexOf(block);
+
+	for  (Phi phi : getPhiList(succ))
+	{
+	  Integer	name	= currentMap.get(phi.getVariable());
+
+	  phi.setOperandName(predIndex,
+			     (name == null) ? entryName(phi.getVariable()) : name
+			    );
+	}
+      }
+
+      List<BasicBlock>	childList	= dominators_.getChildList(block);
+
+      for  (int i = childList.size() - 1;  i >= 0;  i--)
+      {
+	blockStack.add(childList.get(i));
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph named and its dominators.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  Dominators			dominators_;
+
+  //  PURPOSE:  To hold, by name, the variable it is a value of and the
+  //	position of the instruction that writes it (-1 for none).
+  protected
+  List<Variable>		varOfName_		= new ArrayList<>();
+
+  protected
+  List<Integer>			defPositionOfName_	= new ArrayList<>();
+
+  //  PURPOSE:  To hold the name of each variable's value on entry.
+  protected
+  Map<Variable,Integer>		entryNameMap_		= new HashMap<>();
+
+  //  PURPOSE:  To hold, by position, the name each instruction writes and
+  //	the names of the values it reads.
+  protected
+  int[]				defNameArray_;
+
+  protected
+  List<Map<Variable,Integer>>	useNameMapList_;
+
+  //  PURPOSE:  To hold, by block index, the phis at its start.
+  protected
+  List<List<Phi>>		phiListArray_;
+
+
+  //  PURPOSE:  To represent a phi function: a new name for 'var' at the
+  //	start of a join whose value is that of the operand for the edge
+  //	control came in by.
+  static
+  class	Phi
+  {
+    //  PURPOSE:  To initialize 'this' to name 'newName' the value of
+    //	'newVar' merged from 'numOperands' edges.  Operand 'i' is for the
+    //	join's 'i'th predecessor; a join that is the entry has one more,
+    //	last, for the value on entry.
+    Phi		(Variable	newVar,
+		 int		newName,
+		 int		numOperands
+		)
+    {
+      var_		= newVar;
+      name_		= newName;
+      operandNameArray_	= new int[numOperands];
+      Arrays.fill(operandNameArray_,NO_NAME);
+    }
+
+    //  PURPOSE:  To return the variable merged, the name of the merged
+    //	value, and the name coming in by each edge ('NO_NAME' for an
+    //	edge from an unreachable block).
+    Variable	getVariable	()		{ return(var_); }
+    int		getName		()		{ return(name_); }
+    int		getNumOperands	()		{ return(operandNameArray_.length); }
+    int		getOperandName	(int i)		{ return(operandNameArray_[i]); }
+
+    //  PURPOSE:  To set the name coming in by edge 'i' to 'name'.
+    void	setOperandName	(int i, int name) { operandNameArray_[i] = name; }
+
+    //  PURPOSE:  To hold the variable merged, the merged value's name and
+    //	the name coming in by each edge.
+    Variable	var_;
+    int		name_;
+    int[]	operandNameArray_;
+  }
+
+}
@@ -0,0 +1,468 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        StrengthReduction.java                                     ---*
+ *---                                                                   ---*
+ *---        This file declares a class that finds the induction        ---*
+ *---    variables of each loop and replaces products of them with      ---*
+ *---    running sums.                                                  ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+class StrengthReduction
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to reduce the loops of 'newCfg', taking
+  //	any new variables from 'newStore'.  No return value.
+  protected
+  StrengthReduction	(ControlFlowGraph	newCfg,
+			 VarStore		newStore
+			)
+  {
+    cfg_	= newCfg;
+    store_	= newStore;
+    dominators_	= new Dominators(newCfg);
+    editor_	= new LoopEditor(newCfg);
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return 'true' if 'var' has the same value everywhere in
+  //	the loop whose writes are counted in 'numDefsOfVar', or 'false'
+  //	otherwise.
+  protected static
+  boolean	isInvariant	(Variable		var,
+				 Map<Variable,Integer>	numDefsOfVar
+				)
+  {
+    return(var.isConstant()  ||  !numDefsOfVar.containsKey(var));
+  }
+
+  //  PURPOSE:  To return the induction step of 'instruct', which is the
+  //	only write in its loop of the variable it writes, or 'null' if it
+  //	does not add an invariant to that variable.
+  protected
+  InductionStep	stepOf		(PotentialInstruction	instruct,
+				 Map<Variable,Integer>	numDefsOfVar
+				)
+  {
+    Variable	def	= instruct.getDefinedVar();
+    Variable	step	= null;
+    boolean	isDown	= false;
+
+    switch  (instruct.getOp())
+    {
+    case INT_INC_LESSER_EQUAL_GOTO_VM_OP :
+    case INT_DEC_GREATER_GOTO_VM_OP :
+      return(new InductionStep
+		(null,
+		 instruct.getOp() == VmOperation.INT_DEC_GREATER_GOTO_VM_OP
+		)
+	    );
+
+    case INT_ADD_VAR_VAR_VM_OP :
+    case INT_SUB_VAR_VAR_VM_OP :
+      step	= ((VarVarPotentialInstruction)instruct).getSrc0();
+      isDown	= (instruct.getOp() == VmOperation.INT_SUB_VAR_VAR_VM_OP);
+      break;
+
+    case INT_ADD_VM_OP :
+    case INT_SUB_VM_OP :
+      {
+	VarVarVarPotentialInstruction	varVarVar
+				= (VarVarVarPotentialInstruction)instruct;
+
+	isDown	= (instruct.getOp() == VmOperation.INT_SUB_VM_OP);
+
+	if  (varVarVar.getSrc0() == def)
+	{
+	  step	= varVarVar.getSrc1();
+	}
+	else
+	if  (!isDown  &&  (varVarVar.getSrc1() == def))
+	{
+	  step	= varVarVar.getSrc0();
+	}
+      }
+      break;
+
+    default :
+      break;
+    }
+
+    if  ((step == null)  ||  (step == def)  ||  !isInvariant(step,numDefsOfVar))
+    {
+      return(null);
+    }
+
+    return(new InductionStep(step,isDown));
+  }
+
+  //  PURPOSE:  To return the position of the last instruction of 'block'
+  //	after 'position' that reads 'var', or 'position' if none does.
+  protected
+  int		lastUseOf	(Variable	var,
+				 BasicBlock	block,
+				 int		position
+				)
+  {
+    List<Variable>	useList		= new ArrayList<>();
+    int			returnMe	= position;
+
+    for  (int i = position + 1;  i < block.getEnd();  i++)
+    {
+      useList.clear();
+      cfg_.getInstruct(i).addUsedVars(useList);
+
+      if  (useList.contains(var))
+      {
+	returnMe	= i;
+      }
+    }
+
+    return(returnMe);
+  }
+
+  //  PURPOSE:  To find the basic induction variables of 'loop', those
+  //	changed only by adding the same invariant on each iteration, and
+  //	have 'editor_' turn each product of one with an invariant into a
+  //	variable that is stepped alongside it.  Returns 'true' if any
+  //	product was reduced, or 'false' otherwise.
+  protected
+  boolean	planLoop	(NaturalLoop	loop)
+  {
+    Map<Variable,Integer>	numDefsOfVar	= new HashMap<>();
+    Map<Variable,Integer>	defPositionOf	= new HashMap<>();
+    Map<Variable,InductionStep>	stepOfVar	= new HashMap<>();
+    int				numReduced	= 0;
+
+    if  (!editor_.canAddPreheader(loop))
+    {
+      return(false);
+    }
+
+    for  (BasicBlock block : loop.getBlockList())
+    {
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	Variable	def	= cfg_.getInstruct(i).getDefinedVar();
+
+	if  (def != null)
+	{
+	  numDefsOfVar.merge(def,1,Integer::sum);
+	  defPositionOf.put(def,i);
+	}
+      }
+    }
+
+    for  (Map.Entry<Variable,Integer> entry : numDefsOfVar.entrySet())
+    {
+      if  (entry.getValue() == 1)
+      {
+	Variable	var	= entry.getKey();
+	InductionStep	step
+		= stepOf(cfg_.getInstruct(defPositionOf.get(var)),numDefsOfVar);
+
+	if  (step != null)
+	{
+	  stepOfVar.put(var,step);
+	}
+      }
+    }
+
+    if  (stepOfVar.isEmpty())
+    {
+      return(false);
+    }
+
+    for  (BasicBlock block : loop.getBlockList())
+    {
+      for  (int i = block.getFirst();  i < block.getEnd();  i++)
+      {
+	if  (reduce(loop,block,i,numDefsOfVar,defPositionOf,stepOfVar))
+	{
+	  numReduced++;
+	}
+      }
+    }
+
+    numReduced_	+= numReduced;
+    return(numReduced > 0);
+  }
+
+  //  PURPOSE:  To have 'editor_' reduce the instruction at 'position' of
+  //	'block' in 'loop' if it is 'product := iv * invariant' (either way
+  //	round) for a basic induction variable 'iv'.  The product is then
+  //	computed once in the preheader and stepped by 'step * invariant'
+  //	just before 'iv' is stepped, so it always equals 'iv * invariant'.
+  //	That only holds where the multiplication stood if 'product' is used
+  //	only in its block and 'iv' is not stepped between its write and its
+  //	last read.  Returns 'true' if reduced, or 'false' otherwise.
+  protected
+  boolean	reduce		(NaturalLoop			loop,
+				 BasicBlock			block,
+				 int				position,
+				 Map<Variable,Integer>		numDefsOfVar,
+				 Map<Variable,Integer>		defPositionOf,
+				 Map<Variable,InductionStep>	stepOfVar
+				)
+  {
+    PotentialInstruction		instruct	= cfg_.getInstruct(position);
+    VarVarVarPotentialInstruction	mul;
+    Variable				product;
+    Variable				iv;
+    Variable				factor;
+    InductionStep			step;
+    int					stepPosition;
+    Variable				delta;
+    boolean				isDown;
+
+    if  (instruct.getOp() != VmOperation.INT_MUL_VM_OP)
+    {
+      return(false);
+    }
+
+    mul		= (VarVarVarPotentialInstruction)instruct;
+    product	= mul.getDest();
+
+    if  (stepOfVar.containsKey(mul.getSrc0())  &&
+	 isInvariant(mul.getSrc1(),numDefsOfVar)
+	)
+    {
+      iv	= mul.getSrc0();
+      factor	= mul.getSrc1();
+    }
+    else
+    if  (stepOfVar.containsKey(mul.getSrc1())  &&
+	 isInvariant(mul.getSrc0(),numDefsOfVar)
+	)
+    {
+      iv	= mul.getSrc1();
+      factor	= mul.getSrc0();
+    }
+    else
+    {
+      return(false);
+    }
+
+    step		= stepOfVar.get(iv);
+    stepPosition	= defPositionOf.get(iv);
+
+    if  ((numDefsOfVar.get(product) != 1)  ||
+	 (product == iv)  ||
+	 (product == factor)  ||
+	 (cfg_.getNonLocalIndex(product) >= 0)  ||
+	 ((stepPosition > position)  &&
+	  (stepPosition <= lastUseOf(product,block,position))
+	 )
+	)
+    {
+      return(false);
+    }
+
+    //  Work out what to add to 'product' each time 'iv' is stepped:
+    isDown	= step.isDown();
+
+    if  (step.isConstant()  &&  factor.isConstant())
+    {
+      long	value	= step.getConstant() * factor.getValue().getInteger();
+
+      delta	= store_.obtainConstVar(new IntegerValue(isDown ? -value : value));
+      isDown	= false;
+    }
+    else
+    if  (step.isConstant()  &&  (step.getConstant() == 1))
+    {
+      delta	= factor;
+    }
+    else
+    {
+      delta	= store_.obtainTempVar(Type.INTEGER);
+      editor_.addToPreheader(loop,
+			     new VarVarVarPotentialInstruction
+					(VmOperation.INT_MUL_VM_OP,
+					 delta,
+					 step.getStep(),
+					 factor
+					)
+			    );
+    }
+
+    PotentialInstruction	initial
+			= instruct.remapVars(UnaryOperator.identity());
+
+    initial.setAddressLabel(PotentialInstruction.NO_ADDRESS_LABEL);
+    editor_.addToPreheader(loop,initial);
+    editor_.replace(position,null);
+    editor_.insertBefore
+	(stepPosition,
+	 new VarVarPotentialInstruction(isDown ? VmOperation.INT_SUB_VAR_VAR_VM_OP
+					       : VmOperation.INT_ADD_VAR_VAR_VM_OP,
+					product,
+					delta
+				       )
+	);
+    return(true);
+  }
+
+  //  PURPOSE:  To plan the reductions of every loop that does not overlap a
+  //	loop already changed, innermost first.  Returns 'true' if any loop
+  //	was changed, or 'false' otherwise.
+  protected
+  boolean	plan		()
+  {
+    boolean[]	isChangedArray	= new boolean[cfg_.getNumBlocks()];
+    boolean	returnMe	= false;
+
+    for  (NaturalLoop loop : NaturalLoop.findAll(cfg_,dominators_))
+    {
+      boolean	isOverlapping	= false;
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	isOverlapping	|= isChangedArray[block.getIndex()];
+      }
+
+      if  (isOverlapping  ||  !planLoop(loop))
+      {
+	continue;
+      }
+
+      for  (BasicBlock block : loop.getBlockList())
+      {
+	isChangedArray[block.getIndex()]	= true;
+      }
+
+      numLoops_++;
+      returnMe	= true;
+    }
+
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which each product of a loop's induction variable
+  //	and an invariant is kept up to date by addition instead of being
+  //	multiplied out on every iteration.  New variables come from 'store'.
+  public static
+  List<PotentialInstruction>
+		optimize	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    List<PotentialInstruction>	list		= instructList;
+    int				numReduced	= 0;
+    int				numLoops	= 0;
+    int				numCounted	= 0;
+
+    while  (true)
+    {
+      StrengthReduction	reduction
+		= new StrengthReduction(new ControlFlowGraph(list),store);
+
+      if  (!reduction.plan())
+      {
+	break;
+      }
+
+      list	 = reduction.editor_.apply();
+      numReduced += reduction.numReduced_;
+      numLoops	 += reduction.numLoops_;
+    }
+
+    for  (PotentialInstruction instruct : list)
+    {
+      if  ((instruct.getOp() == VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP)  ||
+	   (instruct.getOp() == VmOperation.INT_DEC_GREATER_GOTO_VM_OP)
+	  )
+      {
+	numCounted++;
+      }
+    }
+
+    CompileReport.get().record
+		("induction variables",
+		 numReduced + " multiplications reduced to additions in " +
+		 numLoops + " loops, " + numCounted + " counted loops"
+		);
+    return(new LinkedList<>(list));
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph changed and what is known about it.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  Dominators			dominators_;
+
+  //  PURPOSE:  To hold where new variables come from.
+  protected
+  VarStore			store_;
+
+  //  PURPOSE:  To collect the changes to the graph.
+  protected
+  LoopEditor			editor_;
+
+  //  PURPOSE:  To count the products reduced and the loops changed.
+  protected
+  int				numReduced_;
+
+  protected
+  int				numLoops_;
+
+
+  //  PURPOSE:  To represent how a basic induction variable changes on each
+  //	iteration: by adding, or subtracting, an invariant.
+  static
+  class	InductionStep
+  {
+    //  PURPOSE:  To initialize 'this' to add 'newStep', or subtract it if
+    //	'newIsDown'.  A 'null' step stands for 1, which counted-loop
+    //	instructions add without naming a variable.
+    InductionStep	(Variable	newStep,
+			 boolean	newIsDown
+			)
+    {
+      step_	= newStep;
+      isDown_	= newIsDown;
+    }
+
+    //  PURPOSE:  To return the invariant added ('null' for 1), and whether
+    //	it is subtracted instead.
+    Variable	getStep		()	{ return(step_); }
+    boolean	isDown		()	{ return(isDown_); }
+
+    //  PURPOSE:  To return 'true' if the step is known at compile time, and
+    //	what it is.
+    boolean	isConstant	()
+    {
+      return((step_ == null)  ||  step_.isConstant());
+    }
+
+    long	getConstant	()
+    {
+      return((step_ == null) ? 1 : step_.getValue().getInteger());
+    }
+
+    //  PURPOSE:  To hold the invariant added, and whether it is subtracted
+    //	instead.
+    Variable	step_;
+    boolean	isDown_;
+  }
+
+}
@@ -0,0 +1,272 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        TempSlotAllocator.java                                     ---*
+ *---                                                                   ---*
+ *---        This file declares a class that merges temporaries whose   ---*
+ *---    live ranges do not overlap into shared slots.                  ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+class TempSlotAllocator
+{
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To return a list of instructions equivalent to
+  //	'instructList' in which temporaries of the same Type whose live
+  //	ranges do not overlap share one Variable, found by linear scan over
+  //	the live intervals.  Temporaries that are merged away or never
+  //	referenced are removed from 'store'.
+  public static
+  List<PotentialInstruction>
+		allocate	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    TempSlotAllocator	allocator	= new TempSlotAllocator(instructList);
+
+    allocator.findIntervals();
+    allocator.extendIntervals();
+    return(allocator.assignSlots(store));
+  }
+
+  //  PURPOSE:  To initialize 'this' to allocate the temporaries of
+  //	'instructList'.  No return value.
+  protected
+  TempSlotAllocator	(List<PotentialInstruction>	instructList)
+  {
+    cfg_	= new ControlFlowGraph(instructList);
+    liveness_	= new Liveness(cfg_);
+  }
+
+  //  II. Accessors:
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To record, for every temporary, the span of positions that
+  //	refer to it.  No parameters.  No return value.
+  protected
+  void		findIntervals	()
+  {
+    List<Variable>	useList		= new ArrayList<>();
+
+    for  (int i = 0;  i < cfg_.getNumInstructs();  i++)
+    {
+      PotentialInstruction	instruct	= cfg_.getInstruct(i);
+
+      useList.clear();
+      instruct.addUsedVars(useList);
+      useList.add(instruct.getDefinedVar());
+
+      for  (Variable var : useList)
+      {
+	if  ((var != null)  &&  var.isTemp())
+	{
+	  intervalOfVar_.computeIfAbsent(var,Interval::new).extendTo(i);
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To widen the interval of every temporary to cover each block
+  //	it is live into or out of, and to pin the temporaries that may be
+  //	read before they are written.  No parameters.  No return value.
+  protected
+  void		extendIntervals	()
+  {
+    List<Variable>	liveList	= new ArrayList<>();
+
+    for  (BasicBlock block : cfg_.getBlockList())
+    {
+      liveList.clear();
+      liveness_.addLiveInVars(block,liveList);
+
+      for  (Variable var : liveList)
+      {
+	if  (intervalOfVar_.containsKey(var))
+	{
+	  intervalOfVar_.get(var).extendTo(block.getFirst());
+	}
+      }
+
+      liveList.clear();
+      liveness_.addLiveOutVars(block,liveList);
+
+      for  (Variable var : liveList)
+      {
+	if  (intervalOfVar_.containsKey(var))
+	{
+	  intervalOfVar_.get(var).extendTo(block.getLast());
+	}
+      }
+    }
+
+    //  A temporary live on entry may be read before it is written, so its
+    //  initial value matters:
+    if  (cfg_.getEntry() != null)
+    {
+      liveList.clear();
+      liveness_.addLiveInVars(cfg_.getEntry(),liveList);
+
+      for  (Variable var : liveList)
+      {
+	if  (intervalOfVar_.containsKey(var))
+	{
+	  intervalOfVar_.get(var).isPinned_	= true;
+	}
+      }
+    }
+  }
+
+  //  PURPOSE:  To give each temporary a slot by linear scan, to return the
+  //	rewritten instructions, and to remove the temporaries that are no
+  //	longer referred to from 'store'.
+  protected
+  List<PotentialInstruction>
+		assignSlots	(VarStore	store)
+  {
+    List<Interval>	sortedList	= new ArrayList<>();
+    Map<Variable,Variable>
+			slotOfVar	= new HashMap<>();
+    Map<Type,PriorityQueue<Interval>>
+			activeOfType	= new HashMap<>();
+    Map<Type,Deque<Variable>>
+			freeOfType	= new HashMap<>();
+    int			numMerged	= 0;
+    int			numUnused	= 0;
+    int			numTemps	= 0;
+
+    for  (Interval interval : intervalOfVar_.values())
+    {
+      if  (!interval.isPinned_)
+      {
+	sortedList.add(interval);
+      }
+    }
+
+    sortedList.sort(Comparator.comparingInt((Interval i) -> i.start_));
+
+    for  (Interval interval : sortedList)
+    {
+      Type			type	= interval.var_.getType();
+      PriorityQueue<Interval>	active	= activeOfType.computeIfAbsent
+					(type,
+					 t -> new PriorityQueue<>
+					  (Comparator.comparingInt
+					   ((Interval i) -> i.end_))
+					);
+      Deque<Variable>		free	= freeOfType.computeIfAbsent
+					(type,t -> new ArrayDeque<>());
+
+      //  A slot whose last read is where this interval starts may be
+      //  reused, because every instruction reads its sources before it
+      //  writes its destination:
+      while  (!active.isEmpty()  &&  (active.peek().end_ <= interval.start_))
+      {
+	free.push(active.poll().slot_);
+      }
+
+      interval.slot_	= free.isEmpty() ? interval.var_ : free.pop();
+      active.add(interval);
+
+      if  (interval.slot_ != interval.var_)
+      {
+	slotOfVar.put(interval.var_,interval.slot_);
+	store.remove(interval.var_);
+	numMerged++;
+      }
+    }
+
+    //  Temporaries that no instruction refers to any more:
+    for  (Variable var : new ArrayList<>(store.getVariables()))
+    {
+      if  (var.isTemp())
+      {
+	numTemps++;
+
+	if  (!intervalOfVar_.containsKey(var))
+	{
+	  store.remove(var);
+	  numUnused++;
+	}
+      }
+    }
+
+    CompileReport.get().record
+		("temp slots",
+		 (numTemps + numMerged) + " temps packed into " +
+		 (numTemps - numUnused) + " slots"
+		);
+
+    List<PotentialInstruction>	returnMe	= new LinkedList<>();
+
+    for  (PotentialInstruction instruct : cfg_.getInstructList())
+    {
+      returnMe.add(instruct.remapVars(v -> slotOfVar.getOrDefault(v,v)));
+    }
+
+    return(returnMe);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the graph of the instructions being allocated, and
+  //	which variables are live between its blocks.
+  protected
+  ControlFlowGraph		cfg_;
+
+  protected
+  Liveness			liveness_;
+
+  //  PURPOSE:  To hold the live interval of each temporary.
+  protected
+  Map<Variable,Interval>	intervalOfVar_	= new LinkedHashMap<>();
+
+
+  //  PURPOSE:  To represent the live interval of one temporary.
+  protected static
+  class	Interval
+  {
+    //  PURPOSE:  To initialize 'this' to be the empty interval of 'newVar'.
+    //	No return value.
+    Interval	(Variable	newVar)
+    {
+      var_	= newVar;
+    }
+
+    //  PURPOSE:  To widen 'this' to cover position 'index'.  No return value.
+    void	extendTo	(int	index)
+    {
+      start_	= Math.min(start_,index);
+      end_	= Math.max(end_,index);
+    }
+
+    //  PURPOSE:  To hold the temporary, and its first and last positions.
+    Variable	var_;
+    int		start_		= Integer.MAX_VALUE;
+    int		end_		= -1;
+
+    //  PURPOSE:  To hold 'true' if the temporary must keep a slot of its
+    //	own.
+    boolean	isPinned_;
+
+    //  PURPOSE:  To hold the Variable whose slot the temporary shares.
+    Variable	slot_;
+  }
+
+}
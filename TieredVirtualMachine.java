@@ -0,0 +1,289 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        TieredVirtualMachine.java                                  ---*
+ *---                                                                   ---*
+ *---        This file declares a class that starts running a VmProgram ---*
+ *---    in the VirtualMachine at once, and moves each loop that gets   ---*
+ *---    hot into JVM bytecode in the middle of running it.             ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+class TieredVirtualMachine extends VirtualMachine
+{
+  // 0. Constants:
+  //  PURPOSE:  To tell how many times a pc is jumped back to before the
+  //	loop it heads is compiled, unless told otherwise.
+  public static final
+  int		DEFAULT_THRESHOLD	= 1000;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to run 'newProgram', writing to
+  //	'newOut', compiling loops once they are jumped back to
+  //	'getThreshold()' times.  No return value.
+  public
+  TieredVirtualMachine	(VmProgram	newProgram,
+			 PrintStream	newOut
+			)
+  {
+    super(newProgram,newOut,countingCodeOf(newProgram));
+    backEdgeCounts_	= new int[newProgram.getLength() + 1];
+    backEdgeThreshold_	= threshold_static;
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return how many times a pc is jumped back to before the
+  //	loop it heads is compiled.
+  public static
+  int		getThreshold	()
+  {
+    return(threshold_static);
+  }
+
+  //  PURPOSE:  To return how many loops were compiled, how many times the
+  //	VirtualMachine moved into compiled code, and how many times compiled
+  //	code moved back into the VirtualMachine.
+  public
+  int		getNumCompiled	()
+  {
+    return(regionOfHeader_.size() - numUncompilable_);
+  }
+
+  public
+  long		getNumEntries	()
+  {
+    return(numEntries_);
+  }
+
+  public
+  long		getNumExits	()
+  {
+    return(numExits_);
+  }
+
+  //  III. Mutators:
+  //  PURPOSE:  To make loops be compiled once their head is jumped back to
+  //	'newThreshold' times.  No return value.
+  public static
+  void		setThreshold	(int	newThreshold)
+  {
+    if  (newThreshold < 1)
+    {
+      throw new IllegalArgumentException("OSR threshold must be at least 1");
+    }
+
+    threshold_static	= newThreshold;
+  }
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the offset within an instruction of the operand
+  //	holding the pc that 'opcode' jumps to, or -1 if it does not jump.
+  protected static
+  int		targetOffsetOf	(int	opcode)
+  {
+    if  (opcode == VmProgram.OP_GOTO)
+    {
+      return(VmProgram.OPERAND_A_OFFSET);
+    }
+
+    if  ((opcode == VmProgram.OP_IF_FALSE_GOTO)  ||
+	 (opcode == VmProgram.OP_IF_TRUE_GOTO)
+	)
+    {
+      return(VmProgram.OPERAND_B_OFFSET);
+    }
+
+    if  ((opcode >= VmProgram.OP_INT_EQUAL_GOTO)  &&
+	 (opcode <= VmProgram.OP_INT_DEC_GREATER_GOTO)
+	)
+    {
+      return(VmProgram.OPERAND_C_OFFSET);
+    }
+
+    return(-1);
+  }
+
+  //  PURPOSE:  To return a copy of the code of 'program' that counts back
+  //	edges: each jump to a pc at or before the jumping instruction goes
+  //	instead to an 'OP_COUNT_BACK_EDGE' for its target, placed after the
+  //	program's 'OP_HALT'.  Every other pc is as in 'program', so the
+  //	interpreter and compiled loops can hand pcs to each other.
+  protected static
+  int[]		countingCodeOf	(VmProgram	program)
+  {
+    int[]			code		= program.getCode();
+    int				length		= program.getLength();
+    Map<Integer,Integer>	counterOfHeader	= new HashMap<>();
+
+    for  (int pc = 0;  pc < length;  pc++)
+    {
+      int	index	= pc * VmProgram.STRIDE;
+      int	offset	= targetOffsetOf(code[index + VmProgram.OPCODE_OFFSET]);
+
+      if  ((offset >= 0)  &&  (code[index + offset] <= pc))
+      {
+	counterOfHeader.putIfAbsent(code[index + offset],
+				    length + 1 + counterOfHeader.size()
+				   );
+      }
+    }
+
+    int[]	countingCode	= new int[(length + 1 + counterOfHeader.size())
+					  * VmProgram.STRIDE
+					 ];
+
+    System.arraycopy(code,0,countingCode,0,(length + 1) * VmProgram.STRIDE);
+
+    for  (int pc = 0;  pc < length;  pc++)
+    {
+      int	index	= pc * VmProgram.STRIDE;
+      int	offset	= targetOffsetOf(code[index + VmProgram.OPCODE_OFFSET]);
+
+      if  ((offset >= 0)  &&  (code[index + offset] <= pc))
+      {
+	countingCode[index + offset]	= counterOfHeader.get(code[index + offset]);
+      }
+    }
+
+    for  (Map.Entry<Integer,Integer> entry : counterOfHeader.entrySet())
+    {
+      int	index	= entry.getValue() * VmProgram.STRIDE;
+
+      countingCode[index + VmProgram.OPCODE_OFFSET]	= VmProgram.OP_COUNT_BACK_EDGE;
+      countingCode[index + VmProgram.OPERAND_A_OFFSET]	= entry.getKey();
+    }
+
+    return(countingCode);
+  }
+
+  //  PURPOSE:  To return the last pc of the loop headed by 'headerPc': the
+  //	furthest instruction that jumps back to it.
+  protected
+  int		lastPcOfLoop	(int	headerPc)
+  {
+    int[]	code	= program_.getCode();
+    int		lastPc	= headerPc;
+
+    for  (int pc = headerPc;  pc < program_.getLength();  pc++)
+    {
+      int	index	= pc * VmProgram.STRIDE;
+      int	offset	= targetOffsetOf(code[index + VmProgram.OPCODE_OFFSET]);
+
+      if  ((offset >= 0)  &&  (code[index + offset] == headerPc))
+      {
+	lastPc	= pc;
+      }
+    }
+
+    return(lastPc);
+  }
+
+  //  PURPOSE:  To return the compiled loop headed by 'headerPc', compiling
+  //	it the first time, or 'null' if it cannot be compiled.
+  protected
+  BytecodeRegion
+		regionOf	(int	headerPc)
+  {
+    if  (regionOfHeader_.containsKey(headerPc))
+    {
+      return(regionOfHeader_.get(headerPc));
+    }
+
+    BytecodeRegion	region	= null;
+
+    try
+    {
+      region	= BytecodeCompiler.compileRegion(program_,
+						 headerPc,
+						 lastPcOfLoop(headerPc)
+						);
+    }
+    catch  (UnsupportedOperationException | ReflectiveOperationException error)
+    {
+      numUncompilable_++;
+    }
+
+    regionOfHeader_.put(headerPc,region);
+    return(region);
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To execute the program from its first instruction until it
+  //	halts, interpreting it until a loop gets hot, then running that loop
+  //	as bytecode from the iteration it had reached.  The variables move
+  //	through the frame both ways: compiled code loads them on entry
+  //	and stores them back wherever it leaves the loop, and the
+  //	VirtualMachine resumes at the pc it left at.  Throws
+  //	ArithmeticException on integer division by zero.  No return value.
+  @Override
+  public
+  void		run		()
+  {
+    numExecuted_	= 0;
+
+    try
+    {
+      int	pc	= execute(0);
+
+      while  (pc != HALT_PC)
+      {
+	BytecodeRegion	region	= regionOf(pc);
+
+	if  (region == null)
+	{
+	  //  Never stop at this loop again:
+	  backEdgeCounts_[pc]	= Integer.MIN_VALUE;
+	  pc	= execute(pc);
+	  continue;
+	}
+
+	numEntries_++;
+	pc	= region.run(frame_,strings_,out_);
+	numExits_++;
+	pc	= execute(pc);
+      }
+    }
+    finally
+    {
+      out_.flush();
+      CompileReport.get().record
+		("tiered",
+		 getNumCompiled() + " loops compiled at " +
+		 backEdgeThreshold_ + " back edges, " +
+		 numEntries_ + " entries into and " +
+		 numExits_ + " exits from compiled code"
+		);
+    }
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold how many times a pc is jumped back to before the
+  //	loop it heads is compiled.
+  protected static
+  int				threshold_static	= DEFAULT_THRESHOLD;
+
+  //  PURPOSE:  To map the header of each hot loop to its compiled form, or
+  //	to 'null' if it could not be compiled.
+  protected
+  Map<Integer,BytecodeRegion>	regionOfHeader_	= new HashMap<>();
+
+  //  PURPOSE:  To hold how many hot loops could not be compiled.
+  protected
+  int				numUncompilable_	= 0;
+
+  //  PURPOSE:  To hold how many times the VirtualMachine moved into
+  //	compiled code, and how many times compiled code moved back.
+  protected
+  long				numEntries_	= 0;
+
+  protected
+  long				numExits_	= 0;
+
+}
@@ -11,6 +11,7 @@
  *---                                                                   ---*
  *-------------------------------------------------------------------------*/
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.io.PrintStream;
@@ -46,6 +47,12 @@ public class VarStore
   {
     Variable	existingVar	= (Variable)nameToVarMap_.get(nameStr);
 
+    if  ((existingVar == null)  &&  nameToConstMap_.containsKey(nameStr))
+    {
+       throw new IllegalArgumentException
+			("Attempt to use constant " + nameStr + " as a variable");
+    }
+
     if  (existingVar == null)
     {
        throw new IllegalArgumentException
@@ -55,6 +62,22 @@ public class VarStore
     return existingVar;
   }
 
+  //  PURPOSE:  To return the value of the constant named 'nameStr', or
+  //	'null' if there is no such constant.
+  public
+  Value		findConst	(String	nameStr)
+  {
+    return(nameToConstMap_.get(nameStr));
+  }
+
+  //  PURPOSE:  To return the Variable instances known to 'this'.  No
+  //	parameters.
+  public
+  Collection<Variable>	getVariables	()
+  {
+    return(nameToVarMap_.values());
+  }
+
   //  PURPOSE: To attempt to declare a variable named 'var' to have type 'type'.
   public
   void		declare		(Variable	var,
@@ -63,7 +86,9 @@ public class VarStore
   {
     String	nameStr	= var.getNameStr();
 
-    if  (nameToVarMap_.containsKey(nameStr))
+    if  (nameToVarMap_.containsKey(nameStr)  ||
+	 nameToConstMap_.containsKey(nameStr)
+	)
     {
       throw new IllegalArgumentException
 			("Attempt to double-declare variable " + nameStr);
@@ -73,6 +98,24 @@ public class VarStore
     nameToVarMap_.put(nameStr, var);
   }
 
+  //  PURPOSE: To attempt to declare a constant named 'nameStr' that stands
+  //	for 'value'.
+  public
+  void		declareConst	(String		nameStr,
+				 Value		value
+				)
+  {
+    if  (nameToVarMap_.containsKey(nameStr)  ||
+	 nameToConstMap_.containsKey(nameStr)
+	)
+    {
+      throw new IllegalArgumentException
+			("Attempt to double-declare constant " + nameStr);
+    }
+
+    nameToConstMap_.put(nameStr,value);
+  }
+
 
   //  PURPOSE:  To create and return the address of a new Variable of Type
   //	'type'.
@@ -85,6 +128,7 @@ public class VarStore
     Variable	returnMe	= new Variable(varName);
 
     returnMe.setType(type);
+    returnMe.setIsTemp(true);
     nameToVarMap_.put(varName,returnMe);
     return(returnMe);
   }
@@ -106,6 +150,98 @@ public class VarStore
 
 
 
+  //  PURPOSE:  To return the address of the pooled Variable that holds
+  //	literal 'value', creating it the first time 'value' is seen.  The
+  //	returned Variable is shared by every instruction that reads the same
+  //	literal, so it must never be written.
+  public
+  Variable	obtainConstVar	(Value	value
+  				)
+  {
+    String	key		= constPoolKey(value);
+    Variable	returnMe	= constPool_.get(key);
+
+    numConstRequests_++;
+
+    if  (returnMe == null)
+    {
+      returnMe	= obtainTempVar(value);
+      returnMe.setIsConstant(true);
+      constPool_.put(key,returnMe);
+    }
+
+    return(returnMe);
+  }
+
+
+  //  PURPOSE:  To return the number of literal temps that sharing pooled
+  //	constants has saved.  No parameters.
+  public
+  int		getNumConstTempsSaved	()
+  {
+    return(numConstRequests_ - constPool_.size());
+  }
+
+
+  //  PURPOSE:  To return the number of distinct pooled constants.  No
+  //	parameters.
+  public
+  int		getNumConsts	()
+  {
+    return(constPool_.size());
+  }
+
+
+  //  PURPOSE:  To return the constant pool key of 'value': its type and an
+  //	exact rendering of its contents.
+  private static
+  String	constPoolKey	(Value	value
+  				)
+  {
+    switch  (value.getType())
+    {
+    case REAL :
+      return("R" + Double.doubleToRawLongBits(value.getReal()));
+    case INTEGER :
+      return("I" + value.getInteger());
+    case BOOLEAN :
+      return("B" + value.getBoolean());
+    default :
+      return("S" + value.getString());
+    }
+  }
+
+
+  //  PURPOSE:  To forget variable 'var' once no instruction refers to it
+  //	any more.  A pooled constant leaves the pool too, so that a later
+  //	request for its value makes a new one.  No return value.
+  public
+  void		remove		(Variable	var
+				)
+  {
+    nameToVarMap_.remove(var.getNameStr());
+
+    if  (var.isConstant())
+    {
+      constPool_.remove(constPoolKey(var.getValue()));
+    }
+  }
+
+
+  //  PURPOSE:  To forget every variable held by 'this' so that another
+  //	program may be compiled by the same process.  No parameters.  No
+  //	return value.
+  public
+  void		reset		()
+  {
+    nameToVarMap_.clear();
+    nameToConstMap_.clear();
+    constPool_.clear();
+    numConstRequests_	= 0;
+    nextTempVarIndex_	= 0;
+  }
+
+
   //  PURPOSE:  To print the assembly language representation of '*this' to
   //	'file'.  No return value.
   public
@@ -150,6 +286,18 @@ public class VarStore
   private
   Map<String,Variable>		nameToVarMap_;
 
+  //  PURPOSE: To keep track of the values of the constants.
+  private
+  Map<String,Value>		nameToConstMap_;
+
+  //  PURPOSE: To map the key of each literal to the Variable that holds it.
+  private
+  Map<String,Variable>		constPool_;
+
+  //  PURPOSE: To hold how many times a pooled constant was asked for.
+  private
+  int				numConstRequests_;
+
   //  PURPOSE:  To hold the index of the next temporary var.
   int				nextTempVarIndex_;
 
@@ -163,6 +311,8 @@ public class VarStore
   VarStore			()
   {
     this.nameToVarMap_		= new HashMap<>();
+    this.nameToConstMap_	= new HashMap<>();
+    this.constPool_		= new HashMap<>();
     this.nextTempVarIndex_	= 0;
   }
 
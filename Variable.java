@@ -57,6 +57,22 @@ public class Variable
     return value_.copy();
   }
 
+  //  PURPOSE: To return 'true' if 'this' is a pooled literal that no
+  //	instruction ever writes, or 'false' otherwise.
+  public
+  boolean	isConstant	()
+  {
+    return isConstant_;
+  }
+
+  //  PURPOSE: To return 'true' if 'this' is a compiler-made temporary
+  //	holding an intermediate result, or 'false' otherwise.
+  public
+  boolean	isTemp		()
+  {
+    return isTemp_;
+  }
+
   //  III. Mutators:
   //  PURPOSE: To set the type of 'this' variable to 'type'.
   public
@@ -85,6 +101,21 @@ public class Variable
     }
   }
 
+  //  PURPOSE: To mark 'this' as a pooled literal that no instruction ever
+  //	writes.
+  public
+  void		setIsConstant	(boolean isConstant)
+  {
+    this.isConstant_ = isConstant;
+  }
+
+  //  PURPOSE: To mark 'this' as a compiler-made temporary.
+  public
+  void		setIsTemp	(boolean isTemp)
+  {
+    this.isTemp_ = isTemp;
+  }
+
   //  PURPOSE: To set the value.
   public
   void		setValue	(Value newValue)
@@ -113,4 +144,12 @@ public class Variable
   private
   Value				value_;
 
+  //  PURPOSE: To hold 'true' if 'this' is a pooled literal.
+  private
+  boolean			isConstant_;
+
+  //  PURPOSE: To hold 'true' if 'this' is a compiler-made temporary.
+  private
+  boolean			isTemp_;
+
 }
@@ -0,0 +1,428 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        VirtualMachine.java                                        ---*
+ *---                                                                   ---*
+ *---        This file declares a class that executes a VmProgram in    ---*
+ *---    the same process as the compiler.                              ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.io.PrintStream;
+
+class VirtualMachine
+{
+  // 0. Constants:
+  //  PURPOSE:  To hold what 'execute()' returns when the program halts.
+  public static final
+  int		HALT_PC			= -1;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To initialize 'this' to run 'newProgram', writing to
+  //	'newOut'.  No return value.
+  public
+  VirtualMachine	(VmProgram	newProgram,
+			 PrintStream	newOut
+			)
+  {
+    this(newProgram,newOut,newProgram.getCode());
+  }
+
+  //  PURPOSE:  To initialize 'this' to run 'newProgram', writing to
+  //	'newOut', by dispatching on 'newCode': the program's code with
+  //	instructions the VirtualMachine adds itself.  No return value.
+  protected
+  VirtualMachine	(VmProgram	newProgram,
+			 PrintStream	newOut,
+			 int[]		newCode
+			)
+  {
+    program_	= newProgram;
+    out_	= newOut;
+    code_	= newCode;
+    frame_	= newProgram.newFrame();
+    strings_	= newProgram.getStringTable();
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the number of instructions executed by the last
+  //	call to 'run()'.
+  public
+  long		getNumExecuted	()
+  {
+    return(numExecuted_);
+  }
+
+  //  PURPOSE:  To return the current value of integer variable 'var'.
+  public
+  long		getInteger	(Variable	var)
+  {
+    return(frame_[program_.getSlot(var)]);
+  }
+
+  //  PURPOSE:  To return the current value of real variable 'var'.
+  public
+  double	getReal		(Variable	var)
+  {
+    return(real(frame_[program_.getSlot(var)]));
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To return the real whose raw bits are 'bits', as a real slot
+  //	of the frame holds it.
+  protected static
+  double	real		(long	bits)
+  {
+    return(Double.longBitsToDouble(bits));
+  }
+
+  //  PURPOSE:  To return the raw bits of 'value', as a real slot of the
+  //	frame holds it.
+  protected static
+  long		bits		(double	value)
+  {
+    return(Double.doubleToRawLongBits(value));
+  }
+
+  //  PURPOSE:  To return 1 if 'value' is 'true' or 0 otherwise, as a
+  //	boolean slot of the frame holds it.
+  protected static
+  long		bit		(boolean	value)
+  {
+    return(value ? 1 : 0);
+  }
+
+  //  PURPOSE:  To run the dispatch loop from pc 'startPc' until the program
+  //	halts, and return 'HALT_PC'.  Only code that has an
+  //	'OP_COUNT_BACK_EDGE' counts back edges: it counts each jump back to
+  //	its loop head, and stops and returns that head once the count
+  //	reaches 'backEdgeThreshold_'.
+  protected
+  int		execute		(int	startPc)
+  {
+    final int[]		code		= code_;
+    final long[]	magic		= program_.getMagicArray();
+    final long[]	f		= frame_;
+    final String[]	strings		= strings_;
+    final PrintStream	out		= out_;
+    long		numExecuted	= 0;
+    int			pc		= startPc;
+
+    for  ( ; ; )
+    {
+      final int	index	= pc * VmProgram.STRIDE;
+      final int	a	= code[index + VmProgram.OPERAND_A_OFFSET];
+      final int	b	= code[index + VmProgram.OPERAND_B_OFFSET];
+      final int	c	= code[index + VmProgram.OPERAND_C_OFFSET];
+
+      numExecuted++;
+      pc++;
+
+      switch  (code[index + VmProgram.OPCODE_OFFSET])
+      {
+      case VmProgram.OP_HALT :
+	numExecuted_	+= numExecuted - 1;
+	return(HALT_PC);
+
+      case VmProgram.OP_BOOL_CLEAR :
+      case VmProgram.OP_INT_CLEAR :
+      case VmProgram.OP_REAL_CLEAR :	f[a] = 0;			break;
+
+      case VmProgram.OP_BOOL_PRINT :	out.print(f[a] != 0);		break;
+      case VmProgram.OP_INT_PRINT :	out.print(f[a]);		break;
+      case VmProgram.OP_REAL_PRINT :	out.print(real(f[a]));		break;
+      case VmProgram.OP_STRING_PRINT :	out.print(strings[(int)f[a]]);	break;
+      case VmProgram.OP_BOOL_PRINTLN :	out.println(f[a] != 0);		break;
+      case VmProgram.OP_INT_PRINTLN :	out.println(f[a]);		break;
+      case VmProgram.OP_REAL_PRINTLN :	out.println(real(f[a]));	break;
+      case VmProgram.OP_STRING_PRINTLN : out.println(strings[(int)f[a]]); break;
+
+      case VmProgram.OP_BOOL_COPY :
+      case VmProgram.OP_INT_COPY :
+      case VmProgram.OP_REAL_COPY :
+      case VmProgram.OP_STRING_COPY :	f[a] = f[b];			break;
+
+      case VmProgram.OP_INT_ADD_VAR_VAR :  f[a] += f[b];			   break;
+      case VmProgram.OP_REAL_ADD_VAR_VAR : f[a] = bits(real(f[a]) + real(f[b])); break;
+      case VmProgram.OP_INT_SUB_VAR_VAR :  f[a] -= f[b];			   break;
+      case VmProgram.OP_REAL_SUB_VAR_VAR : f[a] = bits(real(f[a]) - real(f[b])); break;
+      case VmProgram.OP_INT_MUL_VAR_VAR :  f[a] *= f[b];			   break;
+      case VmProgram.OP_REAL_MUL_VAR_VAR : f[a] = bits(real(f[a]) * real(f[b])); break;
+      case VmProgram.OP_INT_TO_REAL :	   f[a] = bits((double)f[b]);		   break;
+
+      case VmProgram.OP_INT_ADD :	f[a] = f[b] + f[c];			break;
+      case VmProgram.OP_REAL_ADD :	f[a] = bits(real(f[b]) + real(f[c]));	break;
+      case VmProgram.OP_INT_SUB :	f[a] = f[b] - f[c];			break;
+      case VmProgram.OP_REAL_SUB :	f[a] = bits(real(f[b]) - real(f[c]));	break;
+      case VmProgram.OP_INT_MUL :	f[a] = f[b] * f[c];			break;
+      case VmProgram.OP_REAL_MUL :	f[a] = bits(real(f[b]) * real(f[c]));	break;
+      case VmProgram.OP_INT_DIV :	f[a] = f[b] / f[c];			break;
+      case VmProgram.OP_REAL_DIV :	f[a] = bits(real(f[b]) / real(f[c]));	break;
+      case VmProgram.OP_MOD :		f[a] = f[b] % f[c];			break;
+      case VmProgram.OP_LOGIC_AND :	f[a] = f[b] & f[c];			break;
+      case VmProgram.OP_LOGIC_OR :	f[a] = f[b] | f[c];			break;
+
+      case VmProgram.OP_INT_EQUAL :	   f[a] = bit(f[b] == f[c]);		    break;
+      case VmProgram.OP_INT_NOT_EQUAL :	   f[a] = bit(f[b] != f[c]);		    break;
+      case VmProgram.OP_REAL_EQUAL :	   f[a] = bit(real(f[b]) == real(f[c])); break;
+      case VmProgram.OP_REAL_NOT_EQUAL :   f[a] = bit(real(f[b]) != real(f[c])); break;
+      case VmProgram.OP_INT_LESSER :	   f[a] = bit(f[b] <  f[c]);		    break;
+      case VmProgram.OP_REAL_LESSER :	   f[a] = bit(real(f[b]) <  real(f[c])); break;
+      case VmProgram.OP_INT_LESSER_EQUAL : f[a] = bit(f[b] <= f[c]);		    break;
+      case VmProgram.OP_REAL_LESSER_EQUAL: f[a] = bit(real(f[b]) <= real(f[c])); break;
+      case VmProgram.OP_INT_GREATER :	   f[a] = bit(f[b] >  f[c]);		    break;
+      case VmProgram.OP_REAL_GREATER :	   f[a] = bit(real(f[b]) >  real(f[c])); break;
+      case VmProgram.OP_INT_GREATER_EQUAL: f[a] = bit(f[b] >= f[c]);		    break;
+      case VmProgram.OP_REAL_GREATER_EQUAL:f[a] = bit(real(f[b]) >= real(f[c])); break;
+
+      case VmProgram.OP_BOOL_EQUAL :	   f[a] = bit(f[b] == f[c]);		    break;
+      case VmProgram.OP_BOOL_NOT_EQUAL :   f[a] = bit(f[b] != f[c]);		    break;
+      case VmProgram.OP_STRING_EQUAL :
+	f[a]	= bit(strings[(int)f[b]].equals(strings[(int)f[c]]));
+	break;
+      case VmProgram.OP_STRING_NOT_EQUAL :
+	f[a]	= bit(!strings[(int)f[b]].equals(strings[(int)f[c]]));
+	break;
+      case VmProgram.OP_BOOL_LESSER :	   f[a] = bit(f[b] <  f[c]);		    break;
+      case VmProgram.OP_BOOL_LESSER_EQUAL: f[a] = bit(f[b] <= f[c]);		    break;
+      case VmProgram.OP_BOOL_GREATER :	   f[a] = bit(f[b] >  f[c]);		    break;
+      case VmProgram.OP_BOOL_GREATER_EQUAL:f[a] = bit(f[b] >= f[c]);		    break;
+      case VmProgram.OP_STRING_LESSER :
+	f[a]	= bit(strings[(int)f[b]].compareTo(strings[(int)f[c]]) <  0);
+	break;
+      case VmProgram.OP_STRING_LESSER_EQUAL :
+	f[a]	= bit(strings[(int)f[b]].compareTo(strings[(int)f[c]]) <= 0);
+	break;
+      case VmProgram.OP_STRING_GREATER :
+	f[a]	= bit(strings[(int)f[b]].compareTo(strings[(int)f[c]]) >  0);
+	break;
+      case VmProgram.OP_STRING_GREATER_EQUAL :
+	f[a]	= bit(strings[(int)f[b]].compareTo(strings[(int)f[c]]) >= 0);
+	break;
+
+      case VmProgram.OP_GOTO :
+	pc	= a;
+	break;
+
+      case VmProgram.OP_IF_FALSE_GOTO :
+	if  (f[a] == 0)
+	{
+	  pc	= b;
+	}
+	break;
+
+      case VmProgram.OP_IF_TRUE_GOTO :
+	if  (f[a] != 0)
+	{
+	  pc	= b;
+	}
+	break;
+
+      case VmProgram.OP_INT_EQUAL_GOTO :
+	if  (f[a] == f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_REAL_EQUAL_GOTO :
+	if  (real(f[a]) == real(f[b]))
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_NOT_EQUAL_GOTO :
+	if  (f[a] != f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_REAL_NOT_EQUAL_GOTO :
+	if  (real(f[a]) != real(f[b]))
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_LESSER_GOTO :
+	if  (f[a] < f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_REAL_LESSER_GOTO :
+	if  (real(f[a]) < real(f[b]))
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_LESSER_EQUAL_GOTO :
+	if  (f[a] <= f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_REAL_LESSER_EQUAL_GOTO :
+	if  (real(f[a]) <= real(f[b]))
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_GREATER_GOTO :
+	if  (f[a] > f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_REAL_GREATER_GOTO :
+	if  (real(f[a]) > real(f[b]))
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_GREATER_EQUAL_GOTO :
+	if  (f[a] >= f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_REAL_GREATER_EQUAL_GOTO :
+	if  (real(f[a]) >= real(f[b]))
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_INC_LESSER_EQUAL_GOTO :
+	if  (++f[a] <= f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_INT_DEC_GREATER_GOTO :
+	if  (--f[a] > f[b])
+	{
+	  pc	= c;
+	}
+	break;
+
+      case VmProgram.OP_COUNT_BACK_EDGE :
+	//  Not an instruction of the program, so not counted as one:
+	numExecuted--;
+	pc	= a;
+
+	if  (++backEdgeCounts_[a] >= backEdgeThreshold_)
+	{
+	  numExecuted_	+= numExecuted;
+	  return(a);
+	}
+	break;
+
+      case VmProgram.OP_INT_DIV_SHIFT :
+	f[a]	= (f[b] + ((f[b] >> 63) >>> (64 - c))) >> c;
+	break;
+
+      case VmProgram.OP_MOD_SHIFT :
+	f[a]	= f[b]
+		  - ((f[b] + ((f[b] >> 63) >>> (64 - c))) & (-1L << c));
+	break;
+
+      case VmProgram.OP_INT_DIV_MAGIC :
+      case VmProgram.OP_MOD_MAGIC :
+	{
+	  final long	n		= f[b];
+	  final long	multiplier	= magic[c + VmProgram.MAGIC_MULTIPLIER_OFFSET];
+	  long		q		= (Math.multiplyHigh(n,multiplier)
+					   + (n & (multiplier >> 63))
+					  )
+					  >> magic[c + VmProgram.MAGIC_SHIFT_OFFSET];
+
+	  q	+= q >>> 63;
+	  f[a]	= (code[index + VmProgram.OPCODE_OFFSET]
+		   == VmProgram.OP_INT_DIV_MAGIC
+		  )
+		  ? q
+		  : n - q * magic[c + VmProgram.MAGIC_DIVISOR_OFFSET];
+	}
+	break;
+
+      default :
+	throw new IllegalStateException
+		("Bad opcode " + code[index + VmProgram.OPCODE_OFFSET] +
+		 " at pc " + (pc - 1)
+		);
+      }
+    }
+  }
+
+  //  V. Methods that do the main and misc work of class:
+  //  PURPOSE:  To execute the program from its first instruction until it
+  //	halts.  Throws ArithmeticException on integer division by zero.  No
+  //	return value.
+  public
+  void		run		()
+  {
+    numExecuted_	= 0;
+
+    try
+    {
+      execute(0);
+    }
+    finally
+    {
+      out_.flush();
+    }
+  }
+
+  //  VI. Member vars:
+  //  PURPOSE:  To hold the program to run.
+  protected final
+  VmProgram			program_;
+
+  //  PURPOSE:  To hold the code the dispatch loop runs.
+  protected final
+  int[]				code_;
+
+  //  PURPOSE:  To hold where the program writes.
+  protected final
+  PrintStream			out_;
+
+  //  PURPOSE:  To hold the frame, one slot per variable as
+  //	'VmProgram.newFrame()' lays it out, and the string table that string
+  //	slots index.
+  protected final
+  long[]			frame_;
+
+  protected final
+  String[]			strings_;
+
+  //  PURPOSE:  To hold the number of instructions executed by the last
+  //	call to 'run()'.
+  protected
+  long				numExecuted_;
+
+  //  PURPOSE:  To hold, if back edges are counted, how many times each pc
+  //	has been jumped back to, and the count at which 'execute()' stops.
+  //	Only 'OP_COUNT_BACK_EDGE' uses them.
+  protected
+  int[]				backEdgeCounts_	= null;
+
+  protected
+  int				backEdgeThreshold_	= Integer.MAX_VALUE;
+
+}
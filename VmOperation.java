@@ -36,6 +36,12 @@ enum	VmOperation
 	 INT_TO_REAL_VM_OP,
 
 	 // 3 vars
+	 INT_ADD_VM_OP,
+	 REAL_ADD_VM_OP,
+	 INT_SUB_VM_OP,
+	 REAL_SUB_VM_OP,
+	 INT_MUL_VM_OP,
+	 REAL_MUL_VM_OP,
 	 INT_DIV_VM_OP,
 	 REAL_DIV_VM_OP,
 	 MOD_VM_OP,
@@ -54,12 +60,38 @@ enum	VmOperation
 	 INT_GREATER_EQUAL_VM_OP,
 	 REAL_GREATER_EQUAL_VM_OP,
 
+	 // 3 vars, the last an integer constant: divide or take the remainder
+	 // by a power of two whose exponent it holds, with shifts, or by the
+	 // divisor it holds, with a multiply-high
+	 INT_DIV_SHIFT_VM_OP,
+	 MOD_SHIFT_VM_OP,
+	 INT_DIV_MAGIC_VM_OP,
+	 MOD_MAGIC_VM_OP,
+
 	 // 1 addr
 	 GOTO_VM_OP,
 
 	 // 1 var, 1 addr
 	 IF_FALSE_GOTO_VM_OP,
-	 IF_TRUE_GOTO_VM_OP
+	 IF_TRUE_GOTO_VM_OP,
+
+	 // 2 vars, 1 addr
+	 INT_EQUAL_GOTO_VM_OP,
+	 REAL_EQUAL_GOTO_VM_OP,
+	 INT_NOT_EQUAL_GOTO_VM_OP,
+	 REAL_NOT_EQUAL_GOTO_VM_OP,
+	 INT_LESSER_GOTO_VM_OP,
+	 REAL_LESSER_GOTO_VM_OP,
+	 INT_LESSER_EQUAL_GOTO_VM_OP,
+	 REAL_LESSER_EQUAL_GOTO_VM_OP,
+	 INT_GREATER_GOTO_VM_OP,
+	 REAL_GREATER_GOTO_VM_OP,
+	 INT_GREATER_EQUAL_GOTO_VM_OP,
+	 REAL_GREATER_EQUAL_GOTO_VM_OP,
+
+	 // 2 vars, 1 addr: step a counted loop and go back unless finished
+	 INT_INC_LESSER_EQUAL_GOTO_VM_OP,
+	 INT_DEC_GREATER_GOTO_VM_OP
 	}
 
 
@@ -0,0 +1,800 @@
+/*-------------------------------------------------------------------------*
+ *---                                                                   ---*
+ *---        VmProgram.java                                             ---*
+ *---                                                                   ---*
+ *---        This file declares a class that holds a pre-decoded,       ---*
+ *---    int-encoded form of a list of PotentialInstruction instances   ---*
+ *---    together with the variable table it reads and writes.          ---*
+ *---                                                                   ---*
+ *---    ----    ----    ----    ----    ----    ----    ----    ----   ---*
+ *---                                                                   ---*
+ *---    Version 1a        2026 October 17                              ---*
+ *---                                                                   ---*
+ *-------------------------------------------------------------------------*/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class VmProgram
+{
+  // 0. Constants:
+  //  PURPOSE:  To tell how many ints each encoded instruction takes:
+  //	the opcode followed by up to three operands.
+  public static final
+  int		STRIDE			= 4;
+
+  //  PURPOSE:  To tell the offsets of the fields of an encoded instruction.
+  public static final
+  int		OPCODE_OFFSET		= 0;
+
+  public static final
+  int		OPERAND_A_OFFSET	= 1;
+
+  public static final
+  int		OPERAND_B_OFFSET	= 2;
+
+  public static final
+  int		OPERAND_C_OFFSET	= 3;
+
+  //  PURPOSE:  To tell how many longs each entry of the table of constant
+  //	divisors takes, and the offsets of its fields: the multiplier whose
+  //	high product approximates the quotient, the shift applied to that
+  //	product, and the divisor itself.
+  public static final
+  int		MAGIC_STRIDE		= 3;
+
+  public static final
+  int		MAGIC_MULTIPLIER_OFFSET	= 0;
+
+  public static final
+  int		MAGIC_SHIFT_OFFSET	= 1;
+
+  public static final
+  int		MAGIC_DIVISOR_OFFSET	= 2;
+
+  //  PURPOSE:  To hold the decoded opcodes.  Unlike VmOperation these are
+  //	specialized by operand type, so the executor never has to look at a
+  //	Variable's Type.  Variable operands are slot indices into the frame,
+  //	address operands are absolute pcs.
+  public static final int	OP_HALT			= 0;
+
+  public static final int	OP_BOOL_CLEAR		= 1;
+  public static final int	OP_INT_CLEAR		= 2;
+  public static final int	OP_REAL_CLEAR		= 3;
+
+  public static final int	OP_BOOL_PRINT		= 4;
+  public static final int	OP_INT_PRINT		= 5;
+  public static final int	OP_REAL_PRINT		= 6;
+  public static final int	OP_STRING_PRINT		= 7;
+  public static final int	OP_BOOL_PRINTLN		= 8;
+  public static final int	OP_INT_PRINTLN		= 9;
+  public static final int	OP_REAL_PRINTLN		= 10;
+  public static final int	OP_STRING_PRINTLN	= 11;
+
+  public static final int	OP_BOOL_COPY		= 12;
+  public static final int	OP_INT_COPY		= 13;
+  public static final int	OP_REAL_COPY		= 14;
+  public static final int	OP_STRING_COPY		= 15;
+
+  public static final int	OP_INT_ADD_VAR_VAR	= 16;
+  public static final int	OP_REAL_ADD_VAR_VAR	= 17;
+  public static final int	OP_INT_SUB_VAR_VAR	= 18;
+  public static final int	OP_REAL_SUB_VAR_VAR	= 19;
+  public static final int	OP_INT_MUL_VAR_VAR	= 20;
+  public static final int	OP_REAL_MUL_VAR_VAR	= 21;
+  public static final int	OP_INT_TO_REAL		= 22;
+
+  public static final int	OP_INT_ADD		= 23;
+  public static final int	OP_REAL_ADD		= 24;
+  public static final int	OP_INT_SUB		= 25;
+  public static final int	OP_REAL_SUB		= 26;
+  public static final int	OP_INT_MUL		= 27;
+  public static final int	OP_REAL_MUL		= 28;
+
+  public static final int	OP_INT_DIV		= 29;
+  public static final int	OP_REAL_DIV		= 30;
+  public static final int	OP_MOD			= 31;
+  public static final int	OP_LOGIC_AND		= 32;
+  public static final int	OP_LOGIC_OR		= 33;
+  public static final int	OP_INT_EQUAL		= 34;
+  public static final int	OP_INT_NOT_EQUAL	= 35;
+  public static final int	OP_REAL_EQUAL		= 36;
+  public static final int	OP_REAL_NOT_EQUAL	= 37;
+  public static final int	OP_INT_LESSER		= 38;
+  public static final int	OP_REAL_LESSER		= 39;
+  public static final int	OP_INT_LESSER_EQUAL	= 40;
+  public static final int	OP_REAL_LESSER_EQUAL	= 41;
+  public static final int	OP_INT_GREATER		= 42;
+  public static final int	OP_REAL_GREATER		= 43;
+  public static final int	OP_INT_GREATER_EQUAL	= 44;
+  public static final int	OP_REAL_GREATER_EQUAL	= 45;
+
+  public static final int	OP_GOTO			= 46;
+  public static final int	OP_IF_FALSE_GOTO	= 47;
+  public static final int	OP_IF_TRUE_GOTO		= 48;
+
+  public static final int	OP_INT_EQUAL_GOTO	= 49;
+  public static final int	OP_REAL_EQUAL_GOTO	= 50;
+  public static final int	OP_INT_NOT_EQUAL_GOTO	= 51;
+  public static final int	OP_REAL_NOT_EQUAL_GOTO	= 52;
+  public static final int	OP_INT_LESSER_GOTO	= 53;
+  public static final int	OP_REAL_LESSER_GOTO	= 54;
+  public static final int	OP_INT_LESSER_EQUAL_GOTO	= 55;
+  public static final int	OP_REAL_LESSER_EQUAL_GOTO	= 56;
+  public static final int	OP_INT_GREATER_GOTO	= 57;
+  public static final int	OP_REAL_GREATER_GOTO	= 58;
+  public static final int	OP_INT_GREATER_EQUAL_GOTO	= 59;
+  public static final int	OP_REAL_GREATER_EQUAL_GOTO	= 60;
+
+  public static final int	OP_INT_INC_LESSER_EQUAL_GOTO	= 61;
+  public static final int	OP_INT_DEC_GREATER_GOTO	= 62;
+
+  //  Operand c of the shift forms is the exponent of the power of two
+  //  divided by, and of the magic forms the index of an entry in the
+  //  table of constant divisors.
+  public static final int	OP_INT_DIV_SHIFT	= 63;
+  public static final int	OP_MOD_SHIFT		= 64;
+  public static final int	OP_INT_DIV_MAGIC	= 65;
+  public static final int	OP_MOD_MAGIC		= 66;
+
+  //  The front end writes comparisons of booleans and strings as real
+  //  comparisons; these compare them by their own type instead.  'false'
+  //  orders before 'true', and strings order lexicographically.
+  public static final int	OP_BOOL_EQUAL		= 67;
+  public static final int	OP_BOOL_NOT_EQUAL	= 68;
+  public static final int	OP_STRING_EQUAL		= 69;
+  public static final int	OP_STRING_NOT_EQUAL	= 70;
+  public static final int	OP_BOOL_LESSER		= 71;
+  public static final int	OP_BOOL_LESSER_EQUAL	= 72;
+  public static final int	OP_BOOL_GREATER		= 73;
+  public static final int	OP_BOOL_GREATER_EQUAL	= 74;
+  public static final int	OP_STRING_LESSER	= 75;
+  public static final int	OP_STRING_LESSER_EQUAL	= 76;
+  public static final int	OP_STRING_GREATER	= 77;
+  public static final int	OP_STRING_GREATER_EQUAL	= 78;
+
+  //  Never assembled.  TieredVirtualMachine places one of these after the
+  //  program for each loop head, and points the back edges to that head at
+  //  it instead.  Operand a is the loop head.
+  public static final int	OP_COUNT_BACK_EDGE	= 79;
+
+  public static final int	NUM_OPCODES		= 80;
+
+  //  I. Constructor(s), assignment op(s), factory(s) and destructor:
+  //  PURPOSE:  To return a VmProgram that implements 'instructList' using
+  //	the variables held in 'store'.  Labels are resolved to absolute pcs
+  //	and label-only 'NO_VM_OP' placeholders are folded away.  Throws
+  //	IllegalArgumentException if an instruction cannot be decoded.
+  public static
+  VmProgram	assemble	(List<PotentialInstruction>	instructList,
+				 VarStore			store
+				)
+  {
+    VmProgram	program	= new VmProgram();
+
+    program.assignSlots(store);
+    program.resolveLabels(instructList);
+    program.encode(instructList);
+    return(program);
+  }
+
+  //  II. Accessors:
+  //  PURPOSE:  To return the encoded instructions, 'STRIDE' ints apiece,
+  //	terminated by an 'OP_HALT'.
+  public
+  int[]		getCode		()
+  {
+    return(code_);
+  }
+
+  //  PURPOSE:  To return the table of constant divisors, 'MAGIC_STRIDE'
+  //	longs apiece.
+  public
+  long[]	getMagicArray	()
+  {
+    return(magicArray_);
+  }
+
+  //  PURPOSE:  To return the number of encoded instructions, not counting
+  //	the terminating 'OP_HALT'.
+  public
+  int		getLength	()
+  {
+    return(length_);
+  }
+
+  //  PURPOSE:  To return the variables that live in the frame, indexed by
+  //	slot.
+  public
+  Variable[]	getSlotVars	()
+  {
+    return(slotVars_);
+  }
+
+  //  PURPOSE:  To return the number of slots in the frame.
+  public
+  int		getNumSlots	()
+  {
+    return(slotVars_.length);
+  }
+
+  //  PURPOSE:  To return the slot of 'var' within the frame, or throw
+  //	IllegalArgumentException if 'var' has no slot.
+  public
+  int		getSlot		(Variable	var)
+  {
+    Integer	slot	= slotOfVar_.get(var);
+
+    if  (slot == null)
+    {
+      throw new IllegalArgumentException
+			("Variable " + var.getNameStr() + " has no slot");
+    }
+
+    return(slot);
+  }
+
+  //  PURPOSE:  To return the interned table of every string the program can
+  //	hold.  A string slot holds an index into it.
+  public
+  String[]	getStringTable	()
+  {
+    return(stringTable_);
+  }
+
+  //  PURPOSE:  To return the pc that address label 'label' resolves to.
+  public
+  int		getPcOfLabel	(long	label)
+  {
+    Integer	pc	= pcOfLabel_.get(label);
+
+    if  (pc == null)
+    {
+      throw new IllegalArgumentException
+			("Jump to undefined label " + label);
+    }
+
+    return(pc);
+  }
+
+  //  PURPOSE:  To return a new frame holding the initial value of every
+  //	slot: an integer as it is, a real as its raw bits, a boolean as 0 or
+  //	1, and a string as its index in 'getStringTable()'.
+  public
+  long[]	newFrame	()
+  {
+    long[]	frame	= new long[slotVars_.length];
+
+    for  (int slot = 0;  slot < slotVars_.length;  slot++)
+    {
+      Value	value	= slotVars_[slot].getValue();
+
+      switch  (slotVars_[slot].getType())
+      {
+      case INTEGER :
+	frame[slot]	= value.getInteger();
+	break;
+      case REAL :
+	frame[slot]	= Double.doubleToRawLongBits(value.getReal());
+	break;
+      case BOOLEAN :
+	frame[slot]	= value.getBoolean() ? 1 : 0;
+	break;
+      case STRING :
+	frame[slot]	= stringIndexOf_.get(value.getString());
+	break;
+      }
+    }
+
+    return(frame);
+  }
+
+  //  III. Mutators:
+
+  //  IV. Protected methods:
+  //  PURPOSE:  To give every variable in 'store' a slot in the frame, and
+  //	to intern the initial value of every string variable into the string
+  //	table.  Strings are only ever copied, so the table holds every string
+  //	the program can hold.  No return value.
+  protected
+  void		assignSlots	(VarStore	store)
+  {
+    List<String>	stringList	= new ArrayList<>();
+
+    for  (Variable var : store.getVariables())
+    {
+      slotOfVar_.put(var,slotOfVar_.size());
+
+      if  (var.getType() == Type.STRING)
+      {
+	String	string	= var.getValue().getString();
+
+	if  (!stringIndexOf_.containsKey(string))
+	{
+	  stringIndexOf_.put(string,stringList.size());
+	  stringList.add(string);
+	}
+      }
+    }
+
+    slotVars_	= new Variable[slotOfVar_.size()];
+    stringTable_ = stringList.toArray(new String[0]);
+
+    for  (Map.Entry<Variable,Integer> entry : slotOfVar_.entrySet())
+    {
+      slotVars_[entry.getValue()] = entry.getKey();
+    }
+  }
+
+  //  PURPOSE:  To map each address label in 'instructList' to the pc of the
+  //	first real instruction at or after it.  No return value.
+  protected
+  void		resolveLabels	(List<PotentialInstruction>	instructList)
+  {
+    int		pc	= 0;
+
+    for  (PotentialInstruction instruct : instructList)
+    {
+      if  (instruct.getAddressLabel() != PotentialInstruction.NO_ADDRESS_LABEL)
+      {
+	pcOfLabel_.put(instruct.getAddressLabel(),pc);
+      }
+
+      if  (instruct.getOp() != VmOperation.NO_VM_OP)
+      {
+	pc++;
+      }
+    }
+
+    length_	= pc;
+  }
+
+  //  PURPOSE:  To fill 'code_' with the encoding of 'instructList'.  No
+  //	return value.
+  protected
+  void		encode		(List<PotentialInstruction>	instructList)
+  {
+    int		index	= 0;
+
+    code_	= new int[(length_ + 1) * STRIDE];
+
+    for  (PotentialInstruction instruct : instructList)
+    {
+      if  (instruct.getOp() == VmOperation.NO_VM_OP)
+      {
+	continue;
+      }
+
+      encodeInstruct(instruct,index);
+      index	+= STRIDE;
+    }
+
+    code_[index + OPCODE_OFFSET]	= OP_HALT;
+    magicArray_			= Arrays.copyOf(magicArray_,
+						magicIndexOfDivisor_.size()
+						* MAGIC_STRIDE
+					       );
+  }
+
+  //  PURPOSE:  To return the index in 'magicArray_' of the entry for
+  //	'divisor', at least 3 and not a power of two, adding it if needed.
+  //	The multiplier and shift are those of Hacker's Delight, section
+  //	10-4: the quotient of 'n' is the high 64 bits of 'n' times the
+  //	multiplier, plus 'n' if the multiplier is negative, shifted right,
+  //	plus one if that is negative.
+  protected
+  int		magicIndexOf	(long	divisor)
+  {
+    Integer	index	= magicIndexOfDivisor_.get(divisor);
+    long	two63	= Long.MIN_VALUE;
+    long	absNc	= two63 - 1 - Long.remainderUnsigned(two63,divisor);
+    long	q1	= Long.divideUnsigned(two63,absNc);
+    long	r1	= two63 - q1 * absNc;
+    long	q2	= Long.divideUnsigned(two63,divisor);
+    long	r2	= two63 - q2 * divisor;
+    int		p	= 63;
+    long	delta;
+
+    if  (index != null)
+    {
+      return(index);
+    }
+
+    do
+    {
+      p++;
+      q1	*= 2;
+      r1	*= 2;
+
+      if  (Long.compareUnsigned(r1,absNc) >= 0)
+      {
+	q1++;
+	r1	-= absNc;
+      }
+
+      q2	*= 2;
+      r2	*= 2;
+
+      if  (Long.compareUnsigned(r2,divisor) >= 0)
+      {
+	q2++;
+	r2	-= divisor;
+      }
+
+      delta	= divisor - r2;
+    }
+    while  ((Long.compareUnsigned(q1,delta) < 0)  ||
+	    ((q1 == delta)  &&  (r1 == 0))
+	   );
+
+    index	= magicIndexOfDivisor_.size() * MAGIC_STRIDE;
+    magicIndexOfDivisor_.put(divisor,index);
+
+    if  (magicArray_.length < index + MAGIC_STRIDE)
+    {
+      magicArray_	= Arrays.copyOf(magicArray_,2 * (index + MAGIC_STRIDE));
+    }
+
+    magicArray_[index + MAGIC_MULTIPLIER_OFFSET]	= q2 + 1;
+    magicArray_[index + MAGIC_SHIFT_OFFSET]		= p - 64;
+    magicArray_[index + MAGIC_DIVISOR_OFFSET]		= divisor;
+    return(index);
+  }
+
+  //  PURPOSE:  To encode 'instruct' into 'code_' starting at 'index'.  No
+  //	return value.
+  protected
+  void		encodeInstruct	(PotentialInstruction	instruct,
+				 int			index
+				)
+  {
+    int		opcode;
+    int		a	= 0;
+    int		b	= 0;
+    int		c	= 0;
+
+    switch  (instruct.getOp())
+    {
+    case BOOL_CLEAR_VM_OP :
+    case INT_CLEAR_VM_OP :
+    case REAL_CLEAR_VM_OP :
+    case STDOUT_PRINT_VM_OP :
+    case STDOUT_PRINTLN_VM_OP :
+      {
+	Variable	var	= ((VarPotentialInstruction)instruct).getVar();
+
+	opcode	= unaryOpcode(instruct.getOp(),var.getType());
+	a	= getSlot(var);
+      }
+      break;
+
+    case INT_COPY_VM_OP :
+    case REAL_COPY_VM_OP :
+    case IDEA_COPY_VM_OP :
+    case INT_ADD_VAR_VAR_VM_OP :
+    case REAL_ADD_VAR_VAR_VM_OP :
+    case INT_SUB_VAR_VAR_VM_OP :
+    case REAL_SUB_VAR_VAR_VM_OP :
+    case INT_MUL_VAR_VAR_VM_OP :
+    case REAL_MUL_VAR_VAR_VM_OP :
+    case INT_TO_REAL_VM_OP :
+      {
+	VarVarPotentialInstruction
+			varVar	= (VarVarPotentialInstruction)instruct;
+
+	opcode	= binaryOpcode(instruct.getOp(),varVar.getDest().getType());
+	a	= getSlot(varVar.getDest());
+	b	= getSlot(varVar.getSrc0());
+      }
+      break;
+
+    case GOTO_VM_OP :
+      opcode	= OP_GOTO;
+      a		= getPcOfLabel
+			(((AddrPotentialInstruction)instruct).getGotoAddressLabel());
+      break;
+
+    case IF_FALSE_GOTO_VM_OP :
+    case IF_TRUE_GOTO_VM_OP :
+      {
+	VarAddrPotentialInstruction
+			varAddr	= (VarAddrPotentialInstruction)instruct;
+
+	opcode	= (instruct.getOp() == VmOperation.IF_FALSE_GOTO_VM_OP)
+		  ? OP_IF_FALSE_GOTO : OP_IF_TRUE_GOTO;
+	a	= getSlot(varAddr.getVar());
+	b	= getPcOfLabel(varAddr.getGotoAddressLabel());
+      }
+      break;
+
+    case INT_EQUAL_GOTO_VM_OP :
+    case INT_NOT_EQUAL_GOTO_VM_OP :
+    case REAL_EQUAL_GOTO_VM_OP :
+    case REAL_NOT_EQUAL_GOTO_VM_OP :
+    case INT_LESSER_GOTO_VM_OP :
+    case REAL_LESSER_GOTO_VM_OP :
+    case INT_LESSER_EQUAL_GOTO_VM_OP :
+    case REAL_LESSER_EQUAL_GOTO_VM_OP :
+    case INT_GREATER_GOTO_VM_OP :
+    case REAL_GREATER_GOTO_VM_OP :
+    case INT_GREATER_EQUAL_GOTO_VM_OP :
+    case REAL_GREATER_EQUAL_GOTO_VM_OP :
+      {
+	VarVarAddrPotentialInstruction
+			varVarAddr = (VarVarAddrPotentialInstruction)instruct;
+
+	opcode	= compareGotoOpcode(instruct.getOp(),
+				    varVarAddr.getSrc0().getType()
+				   );
+	a	= getSlot(varVarAddr.getSrc0());
+	b	= getSlot(varVarAddr.getSrc1());
+	c	= getPcOfLabel(varVarAddr.getGotoAddressLabel());
+      }
+      break;
+
+    case INT_INC_LESSER_EQUAL_GOTO_VM_OP :
+    case INT_DEC_GREATER_GOTO_VM_OP :
+      {
+	VarVarAddrPotentialInstruction
+			varVarAddr = (VarVarAddrPotentialInstruction)instruct;
+
+	opcode	= (instruct.getOp() == VmOperation.INT_INC_LESSER_EQUAL_GOTO_VM_OP)
+		  ? OP_INT_INC_LESSER_EQUAL_GOTO : OP_INT_DEC_GREATER_GOTO;
+	a	= getSlot(varVarAddr.getSrc0());
+	b	= getSlot(varVarAddr.getSrc1());
+	c	= getPcOfLabel(varVarAddr.getGotoAddressLabel());
+      }
+      break;
+
+    case INT_DIV_SHIFT_VM_OP :
+    case MOD_SHIFT_VM_OP :
+    case INT_DIV_MAGIC_VM_OP :
+    case MOD_MAGIC_VM_OP :
+      {
+	VarVarVarPotentialInstruction
+			varVarVar = (VarVarVarPotentialInstruction)instruct;
+	long		constant  = varVarVar.getSrc1().getValue().getInteger();
+
+	opcode	= OP_INT_DIV_SHIFT
+		  + (instruct.getOp().ordinal()
+		     - VmOperation.INT_DIV_SHIFT_VM_OP.ordinal()
+		    );
+	a	= getSlot(varVarVar.getDest());
+	b	= getSlot(varVarVar.getSrc0());
+	c	= (opcode < OP_INT_DIV_MAGIC) ? (int)constant
+					      : magicIndexOf(constant);
+      }
+      break;
+
+    default :
+      {
+	VarVarVarPotentialInstruction
+			varVarVar = (VarVarVarPotentialInstruction)instruct;
+
+	opcode	= ternaryOpcode(instruct.getOp(),
+				varVarVar.getSrc0().getType()
+			       );
+	a	= getSlot(varVarVar.getDest());
+	b	= getSlot(varVarVar.getSrc0());
+	c	= getSlot(varVarVar.getSrc1());
+      }
+      break;
+    }
+
+    code_[index + OPCODE_OFFSET]	= opcode;
+    code_[index + OPERAND_A_OFFSET]	= a;
+    code_[index + OPERAND_B_OFFSET]	= b;
+    code_[index + OPERAND_C_OFFSET]	= c;
+  }
+
+  //  PURPOSE:  To return the opcode that implements one-variable operation
+  //	'op' on a variable of type 'type'.
+  protected static
+  int		unaryOpcode	(VmOperation	op,
+				 Type		type
+				)
+  {
+    switch  (op)
+    {
+    case BOOL_CLEAR_VM_OP :	return(OP_BOOL_CLEAR);
+    case INT_CLEAR_VM_OP :	return(OP_INT_CLEAR);
+    case REAL_CLEAR_VM_OP :	return(OP_REAL_CLEAR);
+    }
+
+    boolean	isPrintLn	= (op == VmOperation.STDOUT_PRINTLN_VM_OP);
+
+    switch  (type)
+    {
+    case BOOLEAN :	return(isPrintLn ? OP_BOOL_PRINTLN   : OP_BOOL_PRINT);
+    case INTEGER :	return(isPrintLn ? OP_INT_PRINTLN    : OP_INT_PRINT);
+    case REAL :		return(isPrintLn ? OP_REAL_PRINTLN   : OP_REAL_PRINT);
+    case STRING :	return(isPrintLn ? OP_STRING_PRINTLN : OP_STRING_PRINT);
+    }
+
+    throw new IllegalArgumentException("Cannot print value of type " + type);
+  }
+
+  //  PURPOSE:  To return the opcode that implements two-variable operation
+  //	'op' whose destination has type 'destType'.
+  protected static
+  int		binaryOpcode	(VmOperation	op,
+				 Type		destType
+				)
+  {
+    switch  (op)
+    {
+    case INT_COPY_VM_OP :		return(OP_INT_COPY);
+    case REAL_COPY_VM_OP :		return(OP_REAL_COPY);
+    case INT_ADD_VAR_VAR_VM_OP :	return(OP_INT_ADD_VAR_VAR);
+    case REAL_ADD_VAR_VAR_VM_OP :	return(OP_REAL_ADD_VAR_VAR);
+    case INT_SUB_VAR_VAR_VM_OP :	return(OP_INT_SUB_VAR_VAR);
+    case REAL_SUB_VAR_VAR_VM_OP :	return(OP_REAL_SUB_VAR_VAR);
+    case INT_MUL_VAR_VAR_VM_OP :	return(OP_INT_MUL_VAR_VAR);
+    case REAL_MUL_VAR_VAR_VM_OP :	return(OP_REAL_MUL_VAR_VAR);
+    case INT_TO_REAL_VM_OP :		return(OP_INT_TO_REAL);
+    }
+
+    switch  (destType)
+    {
+    case BOOLEAN :	return(OP_BOOL_COPY);
+    case INTEGER :	return(OP_INT_COPY);
+    case REAL :		return(OP_REAL_COPY);
+    case STRING :	return(OP_STRING_COPY);
+    }
+
+    throw new IllegalArgumentException("Cannot copy value of type " + destType);
+  }
+
+  //  PURPOSE:  To return the exception that says operation 'op' on
+  //	variables of type 'srcType' has no opcode.
+  protected static
+  IllegalArgumentException
+		cannotDecode	(VmOperation	op,
+				 Type		srcType
+				)
+  {
+    return(new IllegalArgumentException
+		("Cannot decode " +
+		 PotentialInstruction.vmOpNameArray[op.ordinal()] +
+		 " on type " + srcType
+		)
+	  );
+  }
+
+  //  PURPOSE:  To return the opcode that implements three-variable operation
+  //	'op' whose sources have type 'srcType'.  Throws
+  //	IllegalArgumentException if 'op' does not apply to 'srcType'.
+  protected static
+  int		ternaryOpcode	(VmOperation	op,
+				 Type		srcType
+				)
+  {
+    if  (srcType == Type.BOOLEAN)
+    {
+      switch  (op)
+      {
+      case LOGIC_AND_VM_OP :		return(OP_LOGIC_AND);
+      case LOGIC_OR_VM_OP :		return(OP_LOGIC_OR);
+      case REAL_EQUAL_VM_OP :		return(OP_BOOL_EQUAL);
+      case REAL_NOT_EQUAL_VM_OP :	return(OP_BOOL_NOT_EQUAL);
+      case REAL_LESSER_VM_OP :		return(OP_BOOL_LESSER);
+      case REAL_LESSER_EQUAL_VM_OP :	return(OP_BOOL_LESSER_EQUAL);
+      case REAL_GREATER_VM_OP :		return(OP_BOOL_GREATER);
+      case REAL_GREATER_EQUAL_VM_OP :	return(OP_BOOL_GREATER_EQUAL);
+      }
+
+      throw cannotDecode(op,srcType);
+    }
+
+    if  (srcType == Type.STRING)
+    {
+      switch  (op)
+      {
+      case REAL_EQUAL_VM_OP :		return(OP_STRING_EQUAL);
+      case REAL_NOT_EQUAL_VM_OP :	return(OP_STRING_NOT_EQUAL);
+      case REAL_LESSER_VM_OP :		return(OP_STRING_LESSER);
+      case REAL_LESSER_EQUAL_VM_OP :	return(OP_STRING_LESSER_EQUAL);
+      case REAL_GREATER_VM_OP :		return(OP_STRING_GREATER);
+      case REAL_GREATER_EQUAL_VM_OP :	return(OP_STRING_GREATER_EQUAL);
+      }
+
+      throw cannotDecode(op,srcType);
+    }
+
+    switch  (op)
+    {
+    case INT_ADD_VM_OP :		return(OP_INT_ADD);
+    case REAL_ADD_VM_OP :		return(OP_REAL_ADD);
+    case INT_SUB_VM_OP :		return(OP_INT_SUB);
+    case REAL_SUB_VM_OP :		return(OP_REAL_SUB);
+    case INT_MUL_VM_OP :		return(OP_INT_MUL);
+    case REAL_MUL_VM_OP :		return(OP_REAL_MUL);
+    case INT_DIV_VM_OP :		return(OP_INT_DIV);
+    case REAL_DIV_VM_OP :		return(OP_REAL_DIV);
+    case MOD_VM_OP :			return(OP_MOD);
+    case LOGIC_AND_VM_OP :		return(OP_LOGIC_AND);
+    case LOGIC_OR_VM_OP :		return(OP_LOGIC_OR);
+    case INT_EQUAL_VM_OP :		return(OP_INT_EQUAL);
+    case INT_NOT_EQUAL_VM_OP :		return(OP_INT_NOT_EQUAL);
+    case REAL_EQUAL_VM_OP :		return(OP_REAL_EQUAL);
+    case REAL_NOT_EQUAL_VM_OP :		return(OP_REAL_NOT_EQUAL);
+    case INT_LESSER_VM_OP :		return(OP_INT_LESSER);
+    case REAL_LESSER_VM_OP :		return(OP_REAL_LESSER);
+    case INT_LESSER_EQUAL_VM_OP :	return(OP_INT_LESSER_EQUAL);
+    case REAL_LESSER_EQUAL_VM_OP :	return(OP_REAL_LESSER_EQUAL);
+    case INT_GREATER_VM_OP :		return(OP_INT_GREATER);
+    case REAL_GREATER_VM_OP :		return(OP_REAL_GREATER);
+    case INT_GREATER_EQUAL_VM_OP :	return(OP_INT_GREATER_EQUAL);
+    case REAL_GREATER_EQUAL_VM_OP :	return(OP_REAL_GREATER_EQUAL);
+    }
+
+    throw cannotDecode(op,srcType);
+  }
+
+  //  PURPOSE:  To return the opcode that implements compare-and-jump
+  //	operation 'op' whose compared variables have type 'srcType'.  The
+  //	front end fuses only comparisons of integers and reals, so throws
+  //	IllegalArgumentException for any other type.
+  protected static
+  int		compareGotoOpcode
+				(VmOperation	op,
+				 Type		srcType
+				)
+  {
+    if  ((srcType != Type.INTEGER)  &&  (srcType != Type.REAL))
+    {
+      throw cannotDecode(op,srcType);
+    }
+
+    return(OP_INT_EQUAL_GOTO
+	   + (op.ordinal() - VmOperation.INT_EQUAL_GOTO_VM_OP.ordinal())
+	  );
+  }
+
+  //  V. Member vars:
+  //  PURPOSE:  To hold the encoded instructions.
+  protected
+  int[]				code_;
+
+  //  PURPOSE:  To hold the number of encoded instructions.
+  protected
+  int				length_;
+
+  //  PURPOSE:  To map each variable to its slot within the frame.
+  protected
+  Map<Variable,Integer>		slotOfVar_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the variables indexed by slot.
+  protected
+  Variable[]			slotVars_;
+
+  //  PURPOSE:  To hold the interned strings, and the index of each.
+  protected
+  String[]			stringTable_;
+
+  protected
+  Map<String,Integer>		stringIndexOf_	= new HashMap<>();
+
+  //  PURPOSE:  To map each address label to the pc it resolves to.
+  protected
+  Map<Long,Integer>		pcOfLabel_	= new HashMap<>();
+
+  //  PURPOSE:  To hold the table of constant divisors, and the index of
+  //	each divisor's entry.
+  protected
+  long[]			magicArray_	= new long[0];
+
+  protected
+  Map<Long,Integer>		magicIndexOfDivisor_
+						= new HashMap<>();
+
+  //  PURPOSE:  To initialize 'this' to be empty.  No parameters.
+  protected
+  VmProgram			()
+  {
+  }
+
+}
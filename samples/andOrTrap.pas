@@ -0,0 +1,28 @@
+program andOrTrap;
+var
+  f : boolean;
+  t : boolean;
+  b : boolean;
+  i : integer;
+  n : integer;
+  d : integer;
+begin
+  f := false;
+  t := true;
+  n := 5;
+  d := 0;
+  for i := 1 to 3 do
+    d := d + i - 2;
+  if f and (n div d = 0) then writeln('not short') else writeln('and short');
+  if t or (n div d = 0) then writeln('or short');
+  while f and (n div d = 0) do
+    n := n + 1;
+  repeat
+    n := n + 1
+  until t or (n div d = 0);
+  writeln(n);
+  b := t or f;
+  writeln(b);
+  b := f and (n div d = 0);
+  writeln(b)
+end.
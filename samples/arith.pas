@@ -0,0 +1,28 @@
+program arith;
+var
+  a : integer;
+  b : integer;
+  c : integer;
+  x : real;
+  y : real;
+begin
+  a := 17;
+  b := 0 - 5;
+  writeln(a div 5);
+  writeln(a mod 5);
+  writeln(b div 2);
+  writeln(b mod 2);
+  writeln(a div b);
+  writeln(a mod b);
+  writeln(b div 8);
+  writeln(b mod 8);
+  c := a * b - (a + b) * 3;
+  writeln(c);
+  x := a / 4;
+  writeln(x);
+  y := x * 2.5 - b;
+  writeln(y);
+  writeln(x < y);
+  writeln(a >= 17);
+  writeln(a / b)
+end.
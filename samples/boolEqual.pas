@@ -0,0 +1,31 @@
+program boolEqual;
+var
+  p : boolean;
+  q : boolean;
+  r : boolean;
+  i : integer;
+begin
+  p := true;
+  q := false;
+  if p = q then writeln('p = q') else writeln('p <> q');
+  if p <> q then writeln('p <> q again');
+  r := p = true;
+  writeln(r);
+  r := q <> false;
+  writeln(r);
+  for i := 1 to 4 do
+  begin
+    p := i > 2;
+    r := p = q;
+    writeln(r);
+    if p <> q then writeln(i)
+  end;
+  i := 0;
+  while i < 3000 do
+  begin
+    p := i mod 3 = 0;
+    if p = q then q := q = false;
+    i := i + 1
+  end;
+  writeln(q)
+end.
@@ -0,0 +1,33 @@
+program boolOrder;
+var
+  p : boolean;
+  q : boolean;
+  r : boolean;
+  i : integer;
+  n : integer;
+begin
+  p := true;
+  q := false;
+  if q < p then writeln('false < true');
+  if p > q then writeln('true > false');
+  r := p < q;
+  writeln(r);
+  r := p <= p;
+  writeln(r);
+  r := q >= p;
+  writeln(r);
+  r := q > q;
+  writeln(r);
+  n := 0;
+  for i := 1 to 3000 do
+  begin
+    p := i mod 2 = 0;
+    q := i mod 3 = 0;
+    if p < q then n := n + 1;
+    if p <= q then n := n + 10;
+    r := p > q;
+    if r then n := n + 100;
+    if q >= p then n := n + 1000
+  end;
+  writeln(n)
+end.
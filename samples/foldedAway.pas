@@ -0,0 +1,7 @@
+program foldedAway;
+var
+  i : integer;
+begin
+  if 1 > 2 then writeln(1);
+  while false do i := i + 1
+end.
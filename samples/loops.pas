@@ -0,0 +1,36 @@
+program loops;
+var
+  i : integer;
+  j : integer;
+  s : integer;
+  k : integer;
+  x : real;
+begin
+  s := 0;
+  for i := 1 to 100 do
+    for j := i downto 1 do
+      s := s + (i * j) mod 7;
+  writeln(s);
+  k := 27;
+  s := 0;
+  while k <> 1 do
+  begin
+    if k mod 2 = 0 then k := k div 2 else k := 3 * k + 1;
+    s := s + 1
+  end;
+  writeln(s);
+  x := 0.0;
+  i := 0;
+  repeat
+    x := x + 0.5;
+    i := i + 1
+  until (i >= 2000) or (x > 600.0);
+  writeln(i);
+  writeln(x);
+  s := 0;
+  for i := 0 to 50 do
+    if (i mod 3 = 0) and (i mod 5 <> 0) or (i = 50) then s := s + i;
+  writeln(s);
+  for i := 5 downto 3 do write(i);
+  writeln('')
+end.
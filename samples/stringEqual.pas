@@ -0,0 +1,28 @@
+program stringEqual;
+var
+  s : string;
+  t : string;
+  u : string;
+  r : boolean;
+  i : integer;
+  n : integer;
+begin
+  s := 'abc';
+  t := 'abc';
+  u := 'xyz';
+  if s = t then writeln('s = t');
+  if s <> u then writeln('s <> u');
+  r := s = u;
+  writeln(r);
+  r := 'abc' = t;
+  writeln(r);
+  n := 0;
+  for i := 1 to 3000 do
+  begin
+    if i mod 2 = 0 then t := s else t := u;
+    if t = s then n := n + 1;
+    if t <> u then n := n + 1
+  end;
+  writeln(n);
+  writeln(t)
+end.
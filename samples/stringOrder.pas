@@ -0,0 +1,36 @@
+program stringOrder;
+var
+  s : string;
+  t : string;
+  u : string;
+  r : boolean;
+  i : integer;
+  n : integer;
+begin
+  s := 'm';
+  t := 'a';
+  if s < t then writeln('s < t') else writeln('s >= t');
+  if s > t then writeln('s > t');
+  r := s <= t;
+  writeln(r);
+  r := s >= t;
+  writeln(r);
+  r := 'ab' < 'abc';
+  writeln(r);
+  r := 'B' < 'a';
+  writeln(r);
+  r := t <= 'a';
+  writeln(r);
+  n := 0;
+  for i := 1 to 3000 do
+  begin
+    if i mod 3 = 0 then u := 'b' else if i mod 3 = 1 then u := 'm' else u := 'z';
+    if u < s then n := n + 1;
+    if u <= s then n := n + 10;
+    if s > u then n := n + 100;
+    r := u >= s;
+    if r then n := n + 1000
+  end;
+  writeln(n);
+  writeln(u)
+end.